@@ -109,17 +109,34 @@ export const updateApplicationStatus = async (applicationId, status) => {
   }
 };
 
+// Multipart body: the JSON fields as one part, files as their own parts, so the server streams files to
+// storage instead of parsing them out of a base64 JSON string
+const toMultipart = (jsonPartName, data, files) => {
+  const formData = new FormData();
+  formData.append(jsonPartName, new Blob([JSON.stringify(data)], { type: 'application/json' }));
+  files.forEach(({ name, file, fileName }) => formData.append(name, file, fileName || file.name));
+  return formData;
+};
+
+// Turn base64 (as read by FileReader) back into a Blob to upload as a file part
+const base64ToBlob = (base64, type) => {
+  const bytes = atob(base64);
+  const array = new Uint8Array(bytes.length);
+  for (let i = 0; i < bytes.length; i++) {
+    array[i] = bytes.charCodeAt(i);
+  }
+  return new Blob([array], { type: type || 'application/octet-stream' });
+};
+
 // Record job application (add to tracker with full form data)
-export const recordJobApplication = async (applicationData) => {
+// Pass resumeFile (a File) to upload a new resume, or resumeFileId to use the profile resume
+export const recordJobApplication = async (applicationData, resumeFile = null) => {
   try {
     const response = await axios.post(
       'http://localhost:8080/api/applications',
-      applicationData,
+      toMultipart('application', applicationData, resumeFile ? [{ name: 'resume', file: resumeFile }] : []),
       {
         withCredentials: true,
-        headers: {
-          'Content-Type': 'application/json',
-        },
       }
     );
     return response.data;
@@ -129,7 +146,24 @@ export const recordJobApplication = async (applicationData) => {
   }
 };
 
+// Download the resume attached to an application (applicant or the job's industry user)
+export const downloadApplicationResume = async (applicationId) => {
+  const response = await axios.get(
+    `http://localhost:8080/api/applications/${applicationId}/resume`,
+    {
+      withCredentials: true,
+      responseType: 'blob',
+    }
+  );
+  return response.data;
+};
+
 // Profile API functions
+// URLs of the current user's stored profile files, usable directly as an <img>/<iframe> src
+// (append ?v=<fileId> so a replaced file is not served from the browser cache)
+export const MY_PROFILE_PICTURE_URL = 'http://localhost:8080/api/profile/picture';
+export const MY_PROFILE_RESUME_URL = 'http://localhost:8080/api/profile/resume';
+
 export const getUserProfile = async () => {
   try {
     const response = await axios.get(
@@ -148,22 +182,45 @@ export const getUserProfile = async () => {
   }
 };
 
+// Split new files out of profile data into upload parts: resumeFile (a File) or resumeBase64,
+// profilePictureBase64, and certificationFiles[].fileBase64 (each new certificate gets a fileIndex)
+const toProfileMultipart = (profileData) => {
+  const { resumeFile, resumeBase64, profilePictureBase64, certificationFiles, ...fields } = profileData;
+  const files = [];
+  if (resumeFile) {
+    files.push({ name: 'resume', file: resumeFile });
+  } else if (resumeBase64) {
+    files.push({ name: 'resume', file: base64ToBlob(resumeBase64, fields.resumeFileType), fileName: fields.resumeFileName });
+  }
+  if (profilePictureBase64) {
+    files.push({
+      name: 'profilePicture',
+      file: base64ToBlob(profilePictureBase64, fields.profilePictureFileType),
+      fileName: fields.profilePictureFileName,
+    });
+  }
+  let certificateCount = 0;
+  fields.certificationFiles = (certificationFiles || []).map(({ fileBase64, ...cert }) => {
+    if (!fileBase64) return cert;
+    files.push({ name: 'certificates', file: base64ToBlob(fileBase64, cert.fileType), fileName: cert.fileName });
+    return { ...cert, fileIndex: certificateCount++ };
+  });
+  return toMultipart('profile', fields, files);
+};
+
 export const saveUserProfile = async (profileData) => {
   try {
     console.log('Sending profile data to backend:', {
       url: 'http://localhost:8080/api/profile',
       dataKeys: Object.keys(profileData),
-      hasResume: !!profileData.resumeBase64
+      hasResume: !!(profileData.resumeFile || profileData.resumeBase64 || profileData.resumeFileId)
     });
 
     const response = await axios.post(
       'http://localhost:8080/api/profile',
-      profileData,
+      toProfileMultipart(profileData),
       {
         withCredentials: true,
-        headers: {
-          'Content-Type': 'application/json',
-        },
       }
     );
 
@@ -285,6 +342,23 @@ export const updateApplicationStatusByIndustry = async (applicationId, status) =
   }
 };
 
+// Get active jobs within radiusKm of a city (nearest first)
+export const getNearbyJobs = async (location, radiusKm = 50, limit = 20) => {
+  try {
+    const response = await axios.get(
+      'http://localhost:8080/api/jobs/nearby',
+      {
+        params: { location, radiusKm, limit },
+        withCredentials: true,
+      }
+    );
+    return response.data || [];
+  } catch (error) {
+    console.error('Error fetching nearby jobs:', error);
+    throw error;
+  }
+};
+
 // Update a job (INDUSTRY users only)
 export const updateJob = async (jobId, jobData) => {
   try {
@@ -337,12 +411,13 @@ export const getApplicantProfilesByJobId = async (jobId) => {
   }
 };
 
-// Get recommended jobs for authenticated applicant
-export const getRecommendedJobs = async () => {
+// Get recommended jobs for authenticated applicant (best matches first, offset/limit paginated)
+export const getRecommendedJobs = async (offset = 0, limit = 50) => {
   try {
     const response = await axios.get(
       'http://localhost:8080/api/jobs/recommended/jobs',
       {
+        params: { offset, limit },
         withCredentials: true,
       }
     );
@@ -353,6 +428,23 @@ export const getRecommendedJobs = async () => {
   }
 };
 
+// Get best-fit candidates for one of the industry user's jobs (best matches first, offset/limit paginated)
+export const getJobCandidates = async (jobId, offset = 0, limit = 50) => {
+  try {
+    const response = await axios.get(
+      `http://localhost:8080/api/jobs/${jobId}/candidates`,
+      {
+        params: { offset, limit },
+        withCredentials: true,
+      }
+    );
+    return response.data || [];
+  } catch (error) {
+    console.error('Error fetching job candidates:', error);
+    throw error;
+  }
+};
+
 // Hackathon API functions
 export const getAllHackathons = async () => {
   try {
@@ -41,6 +41,69 @@ export const getAllStudents = async (filters = {}) => {
   }
 };
 
+/**
+ * Get facet counts (degree, graduationYear, college, location, availability) for the current filters
+ * @param {Object} filters - Filter criteria currently applied
+ * @returns {Promise} - Response with facets: { facetName: { value: count } }
+ */
+export const getStudentFacets = async (filters = {}) => {
+  try {
+    const queryParams = new URLSearchParams();
+    Object.keys(filters).forEach(key => {
+      if (filters[key]) {
+        queryParams.append(key, filters[key]);
+      }
+    });
+    
+    const url = queryParams.toString()
+      ? `${API_BASE_URL}/facets?${queryParams.toString()}`
+      : `${API_BASE_URL}/facets`;
+    
+    const response = await fetch(url, {
+      method: 'GET',
+      credentials: 'include',
+      headers: {
+        'Content-Type': 'application/json',
+      },
+    });
+    
+    if (!response.ok) {
+      const errorText = await response.text();
+      throw new Error(errorText || 'Failed to fetch student facets');
+    }
+    
+    return await response.json();
+  } catch (error) {
+    console.error('Error fetching student facets:', error);
+    throw error;
+  }
+};
+
+/**
+ * URL that downloads every student matching the filters (PAID users only)
+ * Open it directly (e.g. window.location or an <a download>) so the browser streams the file
+ * @param {Object} filters - Filter criteria currently applied
+ * @param {string} format - 'csv' or 'ndjson'
+ * @returns {string} - Export URL
+ */
+export const getStudentExportUrl = (filters = {}, format = 'csv') => {
+  const queryParams = new URLSearchParams();
+  Object.keys(filters).forEach(key => {
+    if (filters[key]) {
+      queryParams.append(key, filters[key]);
+    }
+  });
+  queryParams.append('format', format);
+  return `${API_BASE_URL}/export?${queryParams.toString()}`;
+};
+
+/**
+ * URL of a student's profile picture (list results only carry profilePictureAvailable)
+ * @param {string} studentId - Student's profile ID
+ * @returns {string} - Image URL, usable directly as an <img> src
+ */
+export const getStudentPictureUrl = (studentId) => `${API_BASE_URL}/${studentId}/picture`;
+
 /**
  * Get a single student by ID
  * @param {string} studentId - Student's profile ID
@@ -148,19 +211,23 @@ export const getShortlistedStudents = async () => {
   }
 };
 
+/**
+ * URL of a student's resume for inline preview
+ * @param {string} studentId - Student's profile ID
+ * @returns {string} - URL usable directly as an <iframe> or <img> src
+ */
+export const getStudentResumeUrl = (studentId) => `${API_BASE_URL}/${studentId}/resume/download?disposition=inline`;
+
 /**
  * Download resume (PAID users only)
  * @param {string} studentId - Student's profile ID
- * @returns {Promise} - Response with resume data (base64)
+ * @returns {Promise} - { blob, fileName } for saving the file
  */
 export const downloadResume = async (studentId) => {
   try {
     const response = await fetch(`${API_BASE_URL}/${studentId}/resume/download`, {
       method: 'GET',
       credentials: 'include',
-      headers: {
-        'Content-Type': 'application/json',
-      },
     });
     
     if (!response.ok) {
@@ -168,13 +235,23 @@ export const downloadResume = async (studentId) => {
       throw new Error(errorText || 'Failed to download resume');
     }
     
-    return await response.json();
+    const blob = await response.blob();
+    return { blob, fileName: fileNameFromDisposition(response.headers.get('Content-Disposition')) };
   } catch (error) {
     console.error('Error downloading resume:', error);
     throw error;
   }
 };
 
+// Read the file name from a Content-Disposition header, preferring the UTF-8 filename* form
+const fileNameFromDisposition = (header) => {
+  if (!header) return null;
+  const encoded = header.match(/filename\*=UTF-8''([^;]+)/i);
+  if (encoded) return decodeURIComponent(encoded[1]);
+  const plain = header.match(/filename="?([^";]+)"?/i);
+  return plain ? plain[1] : null;
+};
+
 /**
  * Get current user's subscription info
  * @returns {Promise} - Response with subscription type and features
@@ -2,7 +2,10 @@ import React, { useState, useEffect } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
 import { toast } from 'react-toastify';
 import { useAuth } from '../context/AuthContext';
-import { getMyPostedJobs, getApplicationsByJobId, updateApplicationStatusByIndustry, updateJob, deleteJob, getApplicantProfilesByJobId } from '../api/jobApi';
+import { getMyPostedJobs, getApplicationsByJobId, updateApplicationStatusByIndustry, updateJob, deleteJob, getApplicantProfilesByJobId, downloadApplicationResume, getJobCandidates } from '../api/jobApi';
+import { getStudentPictureUrl } from '../api/studentDatabaseApi';
+
+const CANDIDATE_PAGE_SIZE = 10;
 
 export default function IndustryApplications() {
   const navigate = useNavigate();
@@ -21,6 +24,10 @@ export default function IndustryApplications() {
   const [selectedProfile, setSelectedProfile] = useState(null);
   const [loadingProfile, setLoadingProfile] = useState(false);
   const [applicationsWithProfiles, setApplicationsWithProfiles] = useState([]);
+  // Best-fit candidates for the selected job, loaded on request (null until then)
+  const [candidates, setCandidates] = useState(null);
+  const [candidatesLoading, setCandidatesLoading] = useState(false);
+  const [hasMoreCandidates, setHasMoreCandidates] = useState(false);
 
   // Search and filter states
   const [jobSearchQuery, setJobSearchQuery] = useState('');
@@ -134,6 +141,27 @@ export default function IndustryApplications() {
     );
   };
 
+  // Candidates belong to one job; drop them when another job is selected
+  useEffect(() => {
+    setCandidates(null);
+    setHasMoreCandidates(false);
+  }, [selectedJob?.id]);
+
+  const loadCandidates = async () => {
+    const offset = candidates ? candidates.length : 0;
+    try {
+      setCandidatesLoading(true);
+      const page = await getJobCandidates(selectedJob.id, offset, CANDIDATE_PAGE_SIZE);
+      setCandidates(prev => (offset > 0 && prev ? [...prev, ...page] : page));
+      setHasMoreCandidates(page.length === CANDIDATE_PAGE_SIZE);
+    } catch (err) {
+      console.error('Error loading candidates:', err);
+      toast.error(err.response?.data || 'Failed to load best-fit candidates');
+    } finally {
+      setCandidatesLoading(false);
+    }
+  };
+
   const loadApplications = async (jobId) => {
     try {
       setApplicationsLoading(true);
@@ -253,8 +281,8 @@ export default function IndustryApplications() {
     }
   };
 
-  const downloadResume = (application) => {
-    if (!application.resumeBase64) {
+  const downloadResume = async (application) => {
+    if (!application.resumeFileId) {
       toast.error('Resume not available', {
         position: "top-right",
         autoClose: 3000,
@@ -263,13 +291,7 @@ export default function IndustryApplications() {
     }
 
     try {
-      const byteCharacters = atob(application.resumeBase64);
-      const byteNumbers = new Array(byteCharacters.length);
-      for (let i = 0; i < byteCharacters.length; i++) {
-        byteNumbers[i] = byteCharacters.charCodeAt(i);
-      }
-      const byteArray = new Uint8Array(byteNumbers);
-      const blob = new Blob([byteArray], { type: application.resumeFileType || 'application/pdf' });
+      const blob = await downloadApplicationResume(application.id);
 
       const url = window.URL.createObjectURL(blob);
       const link = document.createElement('a');
@@ -680,6 +702,60 @@ export default function IndustryApplications() {
               </div>
             </div>
 
+            {/* Best-Fit Candidates */}
+            <div className="bg-white rounded-xl border border-gray-200 shadow-sm p-6">
+              <div className="flex items-center justify-between">
+                <div>
+                  <h3 className="text-lg font-bold text-gray-900">Best-Fit Candidates</h3>
+                  <p className="text-sm text-gray-600">Students whose skills, location and experience match this job</p>
+                </div>
+                {candidates === null && (
+                  <button
+                    onClick={loadCandidates}
+                    disabled={candidatesLoading}
+                    className="px-4 py-2 text-indigo-600 bg-indigo-50 hover:bg-indigo-100 rounded-lg font-semibold text-sm transition-colors border border-indigo-200 disabled:opacity-50"
+                  >
+                    {candidatesLoading ? 'Finding...' : 'Find Candidates'}
+                  </button>
+                )}
+              </div>
+
+              {candidates !== null && candidates.length === 0 && (
+                <p className="mt-4 text-sm text-gray-500">No matching students yet.</p>
+              )}
+
+              {candidates !== null && candidates.length > 0 && (
+                <div className="mt-4 divide-y divide-gray-100">
+                  {candidates.map(({ student, matchPercentage }) => (
+                    <div key={student.studentId} className="flex items-center justify-between py-3">
+                      <div className="min-w-0">
+                        <p className="font-semibold text-gray-900 truncate">{student.fullName || 'Unnamed student'}</p>
+                        <p className="text-xs text-gray-600 truncate">
+                          {[student.degree, student.institution, student.currentLocation].filter(Boolean).join(' • ')}
+                        </p>
+                        {student.skills && student.skills.length > 0 && (
+                          <p className="text-xs text-gray-500 truncate">{student.skills.slice(0, 6).join(', ')}</p>
+                        )}
+                      </div>
+                      <span className="ml-4 flex-shrink-0 px-3 py-1 rounded-full bg-green-50 text-green-700 text-sm font-semibold border border-green-200">
+                        {Math.round(matchPercentage)}% match
+                      </span>
+                    </div>
+                  ))}
+                </div>
+              )}
+
+              {candidates !== null && hasMoreCandidates && (
+                <button
+                  onClick={loadCandidates}
+                  disabled={candidatesLoading}
+                  className="mt-4 w-full px-4 py-2 border border-gray-300 rounded-lg hover:bg-gray-50 text-sm font-medium disabled:opacity-50"
+                >
+                  {candidatesLoading ? 'Loading...' : 'Show more candidates'}
+                </button>
+              )}
+            </div>
+
             {/* Statistics Cards */}
             {applications.length > 0 && (
               <div className="grid grid-cols-2 md:grid-cols-5 gap-4">
@@ -898,7 +974,7 @@ export default function IndustryApplications() {
                   return (
                     <>
                       {/* Profile Picture */}
-                      {selectedProfile.profilePictureBase64 && (
+                      {selectedProfile.profilePictureFileId && (
                         <div className="bg-gradient-to-br from-indigo-50 to-blue-50 rounded-xl border-2 border-indigo-200 shadow-sm p-6">
                           <div className="flex items-center gap-3 mb-4 pb-4 border-b border-indigo-200">
                             <div className="w-10 h-10 bg-indigo-600 rounded-lg flex items-center justify-center">
@@ -911,7 +987,7 @@ export default function IndustryApplications() {
                           <div className="flex justify-center">
                             <div className="w-40 h-40 rounded-full overflow-hidden border-4 border-indigo-300 bg-white shadow-md">
                               <img
-                                src={`data:${selectedProfile.profilePictureFileType};base64,${selectedProfile.profilePictureBase64}`}
+                                src={getStudentPictureUrl(selectedProfile.id)}
                                 alt={selectedProfile.fullName || 'Applicant Profile'}
                                 className="w-full h-full object-cover"
                               />
@@ -76,7 +76,7 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
             }));
             
             // Restore resume if it was saved (only metadata, not the actual file)
-            if (parsedData.resume && parsedData.resume.isFromProfile && parsedData.resume.base64) {
+            if (parsedData.resume && parsedData.resume.isFromProfile && parsedData.resume.fileId) {
               setResume(parsedData.resume);
             } else if (parsedData.resumeFileName && !resume) {
               // If resume was uploaded but we can't restore the file object,
@@ -118,7 +118,7 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
           type: resume.type,
           size: resume.size,
           isFromProfile: resume.isFromProfile || false,
-          base64: resume.base64 || null,
+          fileId: resume.fileId || null,
         } : null,
         resumeFileName: resume?.name || null,
       };
@@ -164,15 +164,15 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
         availability: userProfile.availability || 'Immediately',
       });
 
-      // If profile has resume, create a file object from base64
-      if (userProfile.resumeBase64 && userProfile.resumeFileName) {
+      // If profile has resume, reference its stored file
+      if (userProfile.resumeFileId && userProfile.resumeFileName) {
         // Note: We'll use the profile resume data when submitting
         setResume({
           name: userProfile.resumeFileName,
           type: userProfile.resumeFileType,
           size: userProfile.resumeFileSize,
           isFromProfile: true,
-          base64: userProfile.resumeBase64,
+          fileId: userProfile.resumeFileId,
         });
       }
     }
@@ -239,15 +239,6 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
     }
   };
 
-  const convertFileToBase64 = (file) => {
-    return new Promise((resolve, reject) => {
-      const reader = new FileReader();
-      reader.readAsDataURL(file);
-      reader.onload = () => resolve(reader.result.split(',')[1]); // Remove data:type;base64, prefix
-      reader.onerror = error => reject(error);
-    });
-  };
-
   const handleSubmit = async (e) => {
     e.preventDefault();
     setError(null);
@@ -276,21 +267,21 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
     setIsSubmitting(true);
 
     try {
-      // Get resume base64 - either from uploaded file or profile
-      let resumeBase64;
+      // Get resume - either the uploaded file (sent as a file part) or the profile's stored file
+      let resumeFile = null;
+      let resumeFileId = null;
       let resumeFileName;
       let resumeFileType;
       let resumeFileSize;
 
       if (resume.isFromProfile) {
         // Use resume from profile
-        resumeBase64 = resume.base64;
+        resumeFileId = resume.fileId;
         resumeFileName = resume.name;
         resumeFileType = resume.type;
         resumeFileSize = resume.size;
       } else {
-        // Convert uploaded resume to base64
-        resumeBase64 = await convertFileToBase64(resume);
+        resumeFile = resume;
         resumeFileName = resume.name;
         resumeFileType = resume.type;
         resumeFileSize = resume.size;
@@ -309,7 +300,7 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
         coverLetter: formData.coverLetter,
         resumeFileName: resumeFileName,
         resumeFileType: resumeFileType,
-        resumeBase64: resumeBase64,
+        resumeFileId: resumeFileId,
         resumeFileSize: resumeFileSize,
         linkedInUrl: formData.linkedInUrl,
         portfolioUrl: formData.portfolioUrl,
@@ -317,7 +308,7 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
         availability: formData.availability,
       };
 
-      await recordJobApplication(applicationData);
+      await recordJobApplication(applicationData, resumeFile);
       
       // Clear saved form data after successful submission
       localStorage.removeItem(STORAGE_KEY);
@@ -385,7 +376,7 @@ export default function JobApplicationForm({ job, onClose, onSuccess }) {
         type: resume.type,
         size: resume.size,
         isFromProfile: resume.isFromProfile || false,
-        base64: resume.base64 || null,
+        fileId: resume.fileId || null,
       } : null,
       resumeFileName: resume?.name || null,
     };
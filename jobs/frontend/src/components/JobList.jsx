@@ -2,7 +2,7 @@ import React, { useEffect, useState } from "react";
 import { useLocation } from "react-router-dom";
 import axios from "axios";
 import { toast } from "react-toastify";
-import { fetchJobs, fetchJobDetails, getRecommendedJobs, getUserProfile } from "../api/jobApi";
+import { fetchJobs, fetchJobDetails, getNearbyJobs, getRecommendedJobs, getUserProfile } from "../api/jobApi";
 import { loginWithGoogle } from "../api/authApi";
 import { useAuth } from "../context/AuthContext";
 import JobApplicationForm from "./JobApplicationForm";
@@ -205,6 +205,9 @@ function FormattedJobDescription({ description }) {
   );
 }
 
+const NEARBY_RADIUS_KM = 50;
+const NEARBY_LIMIT = 100;
+
 export default function JobList() {
   const location = useLocation();
   const [jobs, setJobs] = useState([]);
@@ -217,6 +220,9 @@ export default function JobList() {
   const [filterSkill, setFilterSkill] = useState("All");
   const [filterSource, setFilterSource] = useState("All");
   const [filterLocation, setFilterLocation] = useState("All");
+  const [includeNearby, setIncludeNearby] = useState(false);
+  // IDs of local jobs within NEARBY_RADIUS_KM of filterLocation, or null when not looked up
+  const [nearbyJobIds, setNearbyJobIds] = useState(null);
   const [refreshing, setRefreshing] = useState(false);
 
   const [selectedJob, setSelectedJob] = useState(null);
@@ -496,7 +502,8 @@ export default function JobList() {
     
     // Other filters
     const matchesSource = filterSource === "All" || job.source === filterSource;
-    const matchesLocation = filterLocation === "All" || job.location === filterLocation;
+    const matchesLocation = filterLocation === "All" || job.location === filterLocation ||
+      (nearbyJobIds !== null && nearbyJobIds.has(job.id));
     
     return matchesSearch && matchesRole && matchesIndustry && matchesCompany && 
            matchesSkill && matchesSource && matchesLocation;
@@ -508,6 +515,26 @@ export default function JobList() {
     loadUserProfile();
   }, []);
 
+  // Widen the location filter to local jobs within NEARBY_RADIUS_KM (the server geocodes the location)
+  useEffect(() => {
+    if (!includeNearby || filterLocation === "All") {
+      setNearbyJobIds(null);
+      return;
+    }
+    let cancelled = false;
+    getNearbyJobs(filterLocation, NEARBY_RADIUS_KM, NEARBY_LIMIT)
+      .then((nearbyJobs) => {
+        if (!cancelled) setNearbyJobIds(new Set(nearbyJobs.map((job) => job.id)));
+      })
+      .catch(() => {
+        // Unknown place: only exact location matches are shown
+        if (!cancelled) setNearbyJobIds(null);
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [includeNearby, filterLocation]);
+
   // Recalculate match percentages when jobs or user profile changes
   useEffect(() => {
     if (jobs.length > 0 && userProfile) {
@@ -831,6 +858,17 @@ export default function JobList() {
                   ))}
                 </select>
 
+                <label className="flex items-center gap-2 py-2.5 text-sm font-medium text-gray-900">
+                  <input
+                    type="checkbox"
+                    checked={includeNearby}
+                    onChange={(e) => setIncludeNearby(e.target.checked)}
+                    disabled={filterLocation === "All"}
+                    className="h-4 w-4 rounded border-gray-300"
+                  />
+                  Within {NEARBY_RADIUS_KM} km
+                </label>
+
                 <select
                   value={filterSource}
                   onChange={(e) => setFilterSource(e.target.value)}
@@ -867,6 +905,7 @@ export default function JobList() {
                       setFilterSkill("All");
                       setSearchQuery("");
                       setFilterLocation("All");
+                      setIncludeNearby(false);
                       setFilterSource("All");
                     }}
                     className="rounded-lg border border-red-300 bg-red-50 hover:bg-red-100 px-4 py-2.5 text-sm font-semibold text-red-700 transition-all duration-200"
@@ -1,7 +1,7 @@
 import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
 import { toast } from 'react-toastify';
-import { getUserProfile, saveUserProfile } from '../api/jobApi';
+import { getUserProfile, saveUserProfile, MY_PROFILE_PICTURE_URL } from '../api/jobApi';
 import { useAuth } from '../context/AuthContext';
 
 const STORAGE_KEY = 'jobApplicationFormData';
@@ -123,6 +123,7 @@ export default function ProfileBuilder() {
     phoneNumber: '',
     email: '',
     profilePictureBase64: '',
+    profilePictureFileId: '',
     profilePictureFileType: '',
     profilePictureFileName: '',
     profilePictureFileSize: 0,
@@ -184,7 +185,8 @@ export default function ProfileBuilder() {
           fullName: profile.fullName || user?.name || '',
           phoneNumber: profile.phoneNumber || '',
           email: profile.email || user?.email || '',
-          profilePictureBase64: profile.profilePictureBase64 || '',
+          profilePictureBase64: '',
+          profilePictureFileId: profile.profilePictureFileId || '',
           profilePictureFileType: profile.profilePictureFileType || '',
           profilePictureFileName: profile.profilePictureFileName || '',
           profilePictureFileSize: profile.profilePictureFileSize || 0,
@@ -217,13 +219,13 @@ export default function ProfileBuilder() {
         setLocationInput('');
         setHobbiesInput('');
 
-        if (profile.resumeBase64 && profile.resumeFileName) {
+        if (profile.resumeFileId && profile.resumeFileName) {
           const resumeFile = {
             name: profile.resumeFileName,
             type: profile.resumeFileType || 'application/pdf',
             size: profile.resumeFileSize || 0,
             isFromProfile: true,
-            base64: profile.resumeBase64,
+            fileId: profile.resumeFileId,
           };
           setResume(resumeFile);
         }
@@ -235,10 +237,10 @@ export default function ProfileBuilder() {
         PROFILE_SECTIONS.forEach(section => {
           const isComplete = section.fields.every(field => {
             if (field === 'resume') {
-              return profile.resumeBase64 && profile.resumeFileName;
+              return profile.resumeFileId && profile.resumeFileName;
             }
             if (field === 'profilePicture') {
-              return profile.profilePictureBase64 && profile.profilePictureBase64.length > 0;
+              return !!profile.profilePictureFileId;
             }
             const value = profile[field];
             if (field === 'skills' || field === 'preferredLocations' || field === 'hobbies' ||
@@ -280,7 +282,7 @@ export default function ProfileBuilder() {
       return resume !== null;
     }
     if (fieldName === 'profilePicture') {
-      return formData.profilePictureBase64 && formData.profilePictureBase64.length > 0;
+      return !!(formData.profilePictureBase64 || formData.profilePictureFileId);
     }
     if (fieldName === 'skills' || fieldName === 'preferredLocations' || fieldName === 'hobbies' ||
       fieldName === 'professionalExperiences' || fieldName === 'educationEntries' || fieldName === 'certificationFiles' ||
@@ -297,11 +299,38 @@ export default function ProfileBuilder() {
     return section.fields.every(field => isFieldFilled(field));
   };
 
+  // Swap uploaded files for the file IDs the server stored them under, so later saves don't upload them again
+  const adoptSavedFiles = (sentData, savedProfile) => {
+    if (!savedProfile) return;
+    setFormData(prev => ({
+      ...prev,
+      ...(sentData.profilePictureBase64 && prev.profilePictureBase64 === sentData.profilePictureBase64
+        ? { profilePictureBase64: '', profilePictureFileId: savedProfile.profilePictureFileId || '' }
+        : {}),
+      certificationFiles: prev.certificationFiles.map((cert, index) => {
+        const saved = savedProfile.certificationFiles?.[index];
+        return cert.fileBase64 && saved?.fileId && cert.fileBase64 === sentData.certificationFiles?.[index]?.fileBase64
+          ? { ...cert, fileBase64: '', fileId: saved.fileId }
+          : cert;
+      }),
+    }));
+    if (sentData.resumeFile && savedProfile.resumeFileId) {
+      setResume(prev => (prev && !prev.isFromProfile && prev.name === sentData.resumeFileName ? {
+        name: savedProfile.resumeFileName,
+        type: savedProfile.resumeFileType,
+        size: savedProfile.resumeFileSize || 0,
+        isFromProfile: true,
+        fileId: savedProfile.resumeFileId,
+      } : prev));
+    }
+  };
+
   // Auto-save function to save profile to database
   const autoSaveProfile = async (dataToSave) => {
     try {
       console.log('Auto-saving section to database...');
-      await saveUserProfile(dataToSave);
+      const savedProfile = await saveUserProfile(dataToSave);
+      adoptSavedFiles(dataToSave, savedProfile);
       console.log('Section auto-saved successfully');
       return true;
     } catch (err) {
@@ -326,22 +355,18 @@ export default function ProfileBuilder() {
       
       // Include resume if present
       if (resume) {
-        if (resume.isFromProfile && resume.base64) {
+        if (resume.isFromProfile && resume.fileId) {
           profileData.resumeFileName = resume.name;
           profileData.resumeFileType = resume.type;
-          profileData.resumeBase64 = resume.base64;
+          profileData.resumeFileId = resume.fileId;
           profileData.resumeFileSize = resume.size;
         } else if (resume && resume.size) {
-          // For newly selected files, convert to base64
-          const reader = new FileReader();
-          reader.onload = async (e) => {
-            profileData.resumeFileName = resume.name;
-            profileData.resumeFileType = resume.type;
-            profileData.resumeBase64 = e.target.result.split(',')[1];
-            profileData.resumeFileSize = resume.size;
-            await autoSaveProfile(profileData);
-          };
-          reader.readAsDataURL(resume);
+          // Newly selected files are uploaded as a file part
+          profileData.resumeFileName = resume.name;
+          profileData.resumeFileType = resume.type;
+          profileData.resumeFile = resume;
+          profileData.resumeFileSize = resume.size;
+          await autoSaveProfile(profileData);
         }
       } else {
         await autoSaveProfile(profileData);
@@ -683,25 +708,16 @@ export default function ProfileBuilder() {
     handleFileSelect(file);
   };
 
-  const convertFileToBase64 = (file) => {
-    return new Promise((resolve, reject) => {
-      const reader = new FileReader();
-      reader.readAsDataURL(file);
-      reader.onload = () => resolve(reader.result.split(',')[1]);
-      reader.onerror = error => reject(error);
-    });
-  };
-
   const handleSectionChange = async (newIndex) => {
     // Auto-save before changing section
     if (formData.fullName.trim()) {
       const profileData = { ...formData };
       
       if (resume) {
-        if (resume.isFromProfile && resume.base64) {
+        if (resume.isFromProfile && resume.fileId) {
           profileData.resumeFileName = resume.name;
           profileData.resumeFileType = resume.type;
-          profileData.resumeBase64 = resume.base64;
+          profileData.resumeFileId = resume.fileId;
           profileData.resumeFileSize = resume.size;
         }
       }
@@ -753,16 +769,15 @@ export default function ProfileBuilder() {
       const profileData = { ...formData };
 
       if (resume) {
-        if (resume.isFromProfile && resume.base64) {
+        if (resume.isFromProfile && resume.fileId) {
           profileData.resumeFileName = resume.name;
           profileData.resumeFileType = resume.type;
-          profileData.resumeBase64 = resume.base64;
+          profileData.resumeFileId = resume.fileId;
           profileData.resumeFileSize = resume.size;
         } else {
-          const resumeBase64 = await convertFileToBase64(resume);
           profileData.resumeFileName = resume.name;
           profileData.resumeFileType = resume.type;
-          profileData.resumeBase64 = resumeBase64;
+          profileData.resumeFile = resume;
           profileData.resumeFileSize = resume.size;
         }
       }
@@ -780,6 +795,7 @@ export default function ProfileBuilder() {
       console.log('Preferred Locations:', profileData.preferredLocations);
       console.log('Summary:', profileData.summary);
       console.log('Profile Picture Base64:', profileData.profilePictureBase64 ? 'Present (' + profileData.profilePictureBase64.length + ' chars)' : 'Not present');
+      console.log('Profile Picture File ID:', profileData.profilePictureFileId || 'Not present');
       console.log('Profile Picture File Name:', profileData.profilePictureFileName);
       console.log('Profile Picture File Type:', profileData.profilePictureFileType);
       console.log('=========================================');
@@ -1019,15 +1035,17 @@ export default function ProfileBuilder() {
                 <div className="bg-gradient-to-br from-indigo-50 to-blue-50 rounded-xl border-2 border-indigo-200 p-6">
                   <label className="block text-sm font-medium text-gray-700 mb-3 flex items-center gap-2">
                     Profile Picture
-                    {formData.profilePictureBase64 && <span className="text-blue-600 text-xs">✓</span>}
+                    {(formData.profilePictureBase64 || formData.profilePictureFileId) && <span className="text-blue-600 text-xs">✓</span>}
                   </label>
                   <div className="flex items-center gap-6">
                     {/* Profile Picture Preview */}
                     <div className="flex-shrink-0">
-                      {formData.profilePictureBase64 ? (
+                      {(formData.profilePictureBase64 || formData.profilePictureFileId) ? (
                         <div className="w-24 h-24 rounded-full overflow-hidden border-4 border-indigo-300 bg-white flex items-center justify-center">
                           <img
-                            src={`data:${formData.profilePictureFileType};base64,${formData.profilePictureBase64}`}
+                            src={formData.profilePictureBase64
+                              ? `data:${formData.profilePictureFileType};base64,${formData.profilePictureBase64}`
+                              : `${MY_PROFILE_PICTURE_URL}?v=${formData.profilePictureFileId}`}
                             alt="Profile Preview"
                             className="w-full h-full object-cover"
                           />
@@ -1568,6 +1586,7 @@ export default function ProfileBuilder() {
                                           e.stopPropagation();
                                           handleUpdateCertification(index, 'fileName', '');
                                           handleUpdateCertification(index, 'fileBase64', '');
+                                          handleUpdateCertification(index, 'fileId', null);
                                           handleUpdateCertification(index, 'fileSize', 0);
                                           if (certificationFileInputRef.current) certificationFileInputRef.current.value = '';
                                         }}
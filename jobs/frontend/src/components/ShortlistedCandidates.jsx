@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { getShortlistedStudents, removeShortlist } from '../api/studentDatabaseApi';
+import { getShortlistedStudents, getStudentPictureUrl, removeShortlist } from '../api/studentDatabaseApi';
 import { useAuth } from '../context/AuthContext';
 import StudentDetailModal from './StudentDetailModal';
 import { useNavigate } from 'react-router-dom';
@@ -184,9 +184,9 @@ function ShortlistedStudentCard({ student, onViewProfile, onRemoveShortlist }) {
       {/* Header with photo and remove button */}
       <div className="flex items-start justify-between mb-4 mt-2">
         <div className="flex items-center gap-3">
-          {student.profilePictureBase64 ? (
+          {student.profilePictureAvailable ? (
             <img
-              src={`data:image/jpeg;base64,${student.profilePictureBase64}`}
+              src={getStudentPictureUrl(student.studentId)}
               alt={student.fullName}
               className="w-16 h-16 rounded-full object-cover border-2 border-yellow-300"
             />
@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { getAllStudents, shortlistStudent, removeShortlist } from '../api/studentDatabaseApi';
+import { getAllStudents, shortlistStudent, removeShortlist, getStudentPictureUrl } from '../api/studentDatabaseApi';
 import { useAuth } from '../context/AuthContext';
 import StudentDetailModal from './StudentDetailModal';
 
@@ -281,9 +281,10 @@ function StudentCard({ student, subscriptionType, onViewProfile, onShortlist, on
       {/* Header with photo and shortlist button */}
       <div className="flex items-start justify-between mb-4">
         <div className="flex items-center gap-3">
-          {student.profilePictureBase64 ? (
+          {student.profilePictureAvailable ? (
             <img
-              src={`data:image/jpeg;base64,${student.profilePictureBase64}`}
+              src={getStudentPictureUrl(student.studentId)}
+              loading="lazy"
               alt={student.fullName}
               className="w-16 h-16 rounded-full object-cover border-2 border-gray-200"
             />
@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { getAllStudents, shortlistStudent, removeShortlist } from '../api/studentDatabaseApi';
+import { getAllStudents, getStudentFacets, getStudentExportUrl, shortlistStudent, removeShortlist, getStudentPictureUrl } from '../api/studentDatabaseApi';
 import { useAuth } from '../context/AuthContext';
 import StudentDetailModal from './StudentDetailModal';
 
@@ -11,6 +11,12 @@ export default function StudentDatabaseEnhanced() {
   const [subscriptionType, setSubscriptionType] = useState('FREE');
   const [selectedStudent, setSelectedStudent] = useState(null);
   const [showDetailModal, setShowDetailModal] = useState(false);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  // Matching students per filter value for the applied filters: { degree: { 'b.tech': 12 }, ... }
+  const [facets, setFacets] = useState({});
+  // Filters of the students on screen, so an export matches them even while the filter panel is being edited
+  const [appliedFilters, setAppliedFilters] = useState({});
   
   // Hierarchical filter states
   const [filters, setFilters] = useState({
@@ -73,28 +79,41 @@ export default function StudentDatabaseEnhanced() {
     }
   }, [isIndustry]);
 
-  const fetchStudents = async () => {
+  // Build flat filter object for API
+  const buildApiFilters = () => {
+    const apiFilters = {
+      keyword: filters.keyword,
+      degree: filters.education.degree,
+      specialization: filters.education.stream,
+      graduationYear: filters.education.year,
+      location: filters.location.state || filters.location.city,
+      college: filters.college,
+      skills: filters.skills
+    };
+    
+    // Remove empty filters
+    Object.keys(apiFilters).forEach(key => {
+      if (!apiFilters[key]) delete apiFilters[key];
+    });
+    return apiFilters;
+  };
+
+  const fetchStudents = async (cursor = null) => {
     try {
-      setLoading(true);
+      if (cursor) {
+        setLoadingMore(true);
+      } else {
+        setLoading(true);
+      }
       setError(null);
       
-      // Build flat filter object for API
-      const apiFilters = {
-        keyword: filters.keyword,
-        degree: filters.education.degree,
-        specialization: filters.education.stream,
-        graduationYear: filters.education.year,
-        location: filters.location.state || filters.location.city,
-        college: filters.college,
-        skills: filters.skills
-      };
-      
-      // Remove empty filters
-      Object.keys(apiFilters).forEach(key => {
-        if (!apiFilters[key]) delete apiFilters[key];
-      });
+      const apiFilters = buildApiFilters();
+      if (!cursor) {
+        setAppliedFilters(apiFilters);
+        fetchFacets(apiFilters);
+      }
       
-      const response = await getAllStudents(apiFilters);
+      const response = await getAllStudents(cursor ? { ...apiFilters, cursor } : apiFilters);
       
       // Apply gender filter on frontend (if not supported by backend)
       let filteredStudents = response.students || [];
@@ -104,16 +123,34 @@ export default function StudentDatabaseEnhanced() {
         );
       }
       
-      setStudents(filteredStudents);
+      setStudents(prev => cursor ? [...prev, ...filteredStudents] : filteredStudents);
+      setNextCursor(response.nextCursor || null);
       setSubscriptionType(response.subscriptionType || 'FREE');
     } catch (err) {
       setError(err.message || 'Failed to load students');
       console.error('Error fetching students:', err);
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
+  // Counts only annotate the filter options, so a failure leaves the options without them
+  const fetchFacets = async (apiFilters) => {
+    try {
+      const response = await getStudentFacets(apiFilters);
+      setFacets(response.facets || {});
+    } catch (err) {
+      setFacets({});
+    }
+  };
+
+  // Option label with its student count, e.g. "B.Tech (12)"; facet values are trimmed and lower-cased
+  const withCount = (facet, value) => {
+    const count = facets[facet]?.[value.trim().toLowerCase()];
+    return count !== undefined ? `${value} (${count})` : value;
+  };
+
   const handleFilterChange = (category, field, value) => {
     setFilters(prev => {
       const newFilters = { ...prev };
@@ -167,12 +204,17 @@ export default function StudentDatabaseEnhanced() {
     setShowDetailModal(true);
   };
 
+  // Flip one student's flag in place; re-fetching would reset the list to the first page
+  const setShortlisted = (studentId, isShortlisted) => {
+    setStudents(prev => prev.map(s => s.studentId === studentId ? { ...s, isShortlisted } : s));
+  };
+
   const handleShortlist = async (studentId, e) => {
     e.stopPropagation();
     
     try {
       await shortlistStudent(studentId);
-      fetchStudents();
+      setShortlisted(studentId, true);
       alert('Student shortlisted successfully!');
     } catch (err) {
       alert(err.message || 'Failed to shortlist student');
@@ -184,7 +226,7 @@ export default function StudentDatabaseEnhanced() {
     
     try {
       await removeShortlist(studentId);
-      fetchStudents();
+      setShortlisted(studentId, false);
       alert('Student removed from shortlist');
     } catch (err) {
       alert(err.message || 'Failed to remove shortlist');
@@ -258,7 +300,7 @@ export default function StudentDatabaseEnhanced() {
                   >
                     <option value="">Select Degree</option>
                     {filterOptions.degrees.map(degree => (
-                      <option key={degree} value={degree}>{degree}</option>
+                      <option key={degree} value={degree}>{withCount('degree', degree)}</option>
                     ))}
                   </select>
                 </div>
@@ -290,7 +332,7 @@ export default function StudentDatabaseEnhanced() {
                   >
                     <option value="">Select Year</option>
                     {filterOptions.years.map(year => (
-                      <option key={year} value={year}>{year}</option>
+                      <option key={year} value={year}>{withCount('graduationYear', year)}</option>
                     ))}
                   </select>
                 </div>
@@ -333,7 +375,7 @@ export default function StudentDatabaseEnhanced() {
                   >
                     <option value="">Select State</option>
                     {filterOptions.states.map(state => (
-                      <option key={state} value={state}>{state}</option>
+                      <option key={state} value={state}>{withCount('location', state)}</option>
                     ))}
                   </select>
                 </div>
@@ -349,7 +391,7 @@ export default function StudentDatabaseEnhanced() {
                     >
                       <option value="">Select City</option>
                       {filterOptions.cities[filters.location.state].map(city => (
-                        <option key={city} value={city}>{city}</option>
+                        <option key={city} value={city}>{withCount('location', city)}</option>
                       ))}
                     </select>
                   </div>
@@ -530,6 +572,15 @@ export default function StudentDatabaseEnhanced() {
                 Found <span className="font-bold text-gray-900">{students.length}</span> student{students.length !== 1 ? 's' : ''}
               </p>
               <div className="flex gap-2">
+                {subscriptionType === 'PAID' && (
+                  <a
+                    href={getStudentExportUrl(appliedFilters, 'csv')}
+                    download
+                    className="px-4 py-2 border border-gray-300 rounded-lg hover:bg-gray-50 text-sm font-medium"
+                  >
+                    Export CSV
+                  </a>
+                )}
                 <button className="px-4 py-2 border border-gray-300 rounded-lg hover:bg-gray-50 text-sm font-medium">
                   Sort by: Relevance
                 </button>
@@ -575,6 +626,19 @@ export default function StudentDatabaseEnhanced() {
             </div>
           )}
 
+          {/* Load More */}
+          {!loading && !error && nextCursor && (
+            <div className="flex justify-center mt-8">
+              <button
+                onClick={() => fetchStudents(nextCursor)}
+                disabled={loadingMore}
+                className="px-6 py-3 border border-gray-300 rounded-lg hover:bg-gray-50 font-medium disabled:opacity-50"
+              >
+                {loadingMore ? 'Loading...' : 'Load more students'}
+              </button>
+            </div>
+          )}
+
           {/* No Results */}
           {!loading && !error && students.length === 0 && (
             <div className="text-center py-20">
@@ -601,10 +665,10 @@ export default function StudentDatabaseEnhanced() {
         <StudentDetailModal
           student={selectedStudent}
           subscriptionType={subscriptionType}
+          onShortlistChange={setShortlisted}
           onClose={() => {
             setShowDetailModal(false);
             setSelectedStudent(null);
-            fetchStudents();
           }}
         />
       )}
@@ -622,9 +686,10 @@ function StudentCard({ student, subscriptionType, onViewProfile, onShortlist, on
       {/* Header with photo and shortlist button */}
       <div className="flex items-start justify-between mb-4">
         <div className="flex items-center gap-3">
-          {student.profilePictureBase64 ? (
+          {student.profilePictureAvailable ? (
             <img
-              src={`data:image/jpeg;base64,${student.profilePictureBase64}`}
+              src={getStudentPictureUrl(student.studentId)}
+              loading="lazy"
               alt={student.fullName}
               className="w-16 h-16 rounded-full object-cover border-2 border-gray-200"
             />
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
-import { getStudentById, downloadResume, shortlistStudent, removeShortlist } from '../api/studentDatabaseApi';
+import { getStudentById, downloadResume, getStudentPictureUrl, getStudentResumeUrl, shortlistStudent, removeShortlist } from '../api/studentDatabaseApi';
 
-export default function StudentDetailModal({ student: initialStudent, subscriptionType, onClose }) {
+export default function StudentDetailModal({ student: initialStudent, subscriptionType, onClose, onShortlistChange }) {
   const [student, setStudent] = useState(initialStudent);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
@@ -26,22 +26,13 @@ export default function StudentDetailModal({ student: initialStudent, subscripti
 
   const handleDownloadResume = async () => {
     try {
-      const response = await downloadResume(student.studentId);
-      
-      // Convert base64 to blob and download
-      const byteCharacters = atob(response.base64Data);
-      const byteNumbers = new Array(byteCharacters.length);
-      for (let i = 0; i < byteCharacters.length; i++) {
-        byteNumbers[i] = byteCharacters.charCodeAt(i);
-      }
-      const byteArray = new Uint8Array(byteNumbers);
-      const blob = new Blob([byteArray], { type: response.fileType || 'application/pdf' });
+      const { blob, fileName } = await downloadResume(student.studentId);
       
       // Create download link
       const url = window.URL.createObjectURL(blob);
       const link = document.createElement('a');
       link.href = url;
-      link.download = response.fileName || 'resume.pdf';
+      link.download = fileName || student.resumeFileName || 'resume.pdf';
       document.body.appendChild(link);
       link.click();
       document.body.removeChild(link);
@@ -58,10 +49,12 @@ export default function StudentDetailModal({ student: initialStudent, subscripti
       if (student.isShortlisted) {
         await removeShortlist(student.studentId);
         setStudent({ ...student, isShortlisted: false });
+        onShortlistChange?.(student.studentId, false);
         alert('Student removed from shortlist');
       } else {
         await shortlistStudent(student.studentId);
         setStudent({ ...student, isShortlisted: true });
+        onShortlistChange?.(student.studentId, true);
         alert('Student shortlisted successfully!');
       }
     } catch (err) {
@@ -96,9 +89,9 @@ export default function StudentDetailModal({ student: initialStudent, subscripti
           <div className="p-6">
             {/* Profile Header */}
             <div className="flex items-start gap-6 mb-8 pb-6 border-b border-gray-200">
-              {student.profilePictureBase64 ? (
+              {student.profilePictureAvailable ? (
                 <img
-                  src={`data:image/jpeg;base64,${student.profilePictureBase64}`}
+                  src={getStudentPictureUrl(student.studentId)}
                   alt={student.fullName}
                   className="w-24 h-24 rounded-full object-cover border-4 border-gray-200"
                 />
@@ -506,14 +499,14 @@ export default function StudentDetailModal({ student: initialStudent, subscripti
 
               {/* Resume Content */}
               <div className="p-6">
-                {student.resumeBase64 && student.resumeFileName ? (
+                {student.resumeAvailable && student.resumeFileName ? (
                   <div className="bg-gray-50 rounded-lg p-4">
                     {/* PDF Viewer */}
                     {(student.resumeFileName.toLowerCase().endsWith('.pdf') || 
                       student.resumeFileType === 'application/pdf') ? (
                       <div className="w-full">
                         <iframe
-                          src={`data:application/pdf;base64,${student.resumeBase64}`}
+                          src={getStudentResumeUrl(student.studentId)}
                           className="w-full h-[600px] border-2 border-gray-300 rounded-lg"
                           title="Resume Preview"
                         />
@@ -525,7 +518,7 @@ export default function StudentDetailModal({ student: initialStudent, subscripti
                       /* Image Viewer */
                       <div className="text-center">
                         <img
-                          src={`data:image/jpeg;base64,${student.resumeBase64}`}
+                          src={getStudentResumeUrl(student.studentId)}
                           alt="Resume"
                           className="max-w-full h-auto border-2 border-gray-300 rounded-lg mx-auto"
                         />
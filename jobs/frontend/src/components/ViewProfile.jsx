@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { getUserProfile } from '../api/jobApi';
+import { getUserProfile, MY_PROFILE_PICTURE_URL, MY_PROFILE_RESUME_URL } from '../api/jobApi';
 import { useAuth } from '../context/AuthContext';
 
 export default function ViewProfile() {
@@ -110,10 +110,10 @@ export default function ViewProfile() {
 
           <div className="flex items-center justify-between mb-6">
             <div className="flex items-center gap-4">
-              {profile.profilePictureBase64 ? (
+              {profile.profilePictureFileId ? (
                 <div className="w-20 h-20 bg-indigo-50 rounded-xl flex items-center justify-center border-2 border-indigo-300 overflow-hidden">
                   <img
-                    src={`data:${profile.profilePictureFileType};base64,${profile.profilePictureBase64}`}
+                    src={`${MY_PROFILE_PICTURE_URL}?v=${profile.profilePictureFileId}`}
                     alt={profile.fullName || 'Profile'}
                     className="w-full h-full object-cover"
                   />
@@ -722,7 +722,18 @@ export default function ViewProfile() {
                   </svg>
                 </div>
                 <div className="flex-1">
-                  <p className="text-sm font-medium text-gray-800">{profile.resumeFileName}</p>
+                  {profile.resumeFileId ? (
+                    <a
+                      href={`${MY_PROFILE_RESUME_URL}?v=${profile.resumeFileId}`}
+                      target="_blank"
+                      rel="noopener noreferrer"
+                      className="text-sm font-medium text-indigo-600 hover:text-indigo-700 hover:underline"
+                    >
+                      {profile.resumeFileName}
+                    </a>
+                  ) : (
+                    <p className="text-sm font-medium text-gray-800">{profile.resumeFileName}</p>
+                  )}
                   <p className="text-xs text-gray-500 mt-0.5">
                     {formatFileSize(profile.resumeFileSize || 0)} • {profile.resumeFileType || 'Document'}
                   </p>
@@ -0,0 +1,171 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.JobRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generated job catalogs and applicants for the matching benchmarks.
+ *
+ * Skills follow a Zipf distribution over a fixed list (a few skills like Java, Python and SQL appear on
+ * most postings, a long tail on few), with 3-8 skills per job. Locations are mostly gazetteer cities in
+ * the spellings people type ("Bangalore, Karnataka", "Hybrid - Pune"), plus remote and unknown towns.
+ * Everything is seeded, so every run scores the same catalog.
+ */
+final class JobCatalogs {
+
+    static final long SEED = 20_240_601L;
+
+    // Roughly most to least common on postings; Zipf weights follow this order
+    private static final String[] SKILLS = {
+            "Java", "Python", "SQL", "JavaScript", "React", "Spring Boot", "AWS", "Git", "Docker", "Node.js",
+            "TypeScript", "HTML", "CSS", "Kubernetes", "MongoDB", "REST APIs", "Microservices", "Angular",
+            "Machine Learning", "Data Analysis", "C++", "Linux", "PostgreSQL", "Excel", "Django", "Spring",
+            "Azure", "GCP", "Kafka", "Redis", "Jenkins", "Terraform", "Go", "Kotlin", "Flutter", "Android",
+            "iOS", "Swift", "Power BI", "Tableau", "Pandas", "NumPy", "TensorFlow", "PyTorch", "Deep Learning",
+            "NLP", "Computer Vision", "Hadoop", "Spark", "Scala", "C#", ".NET", "PHP", "Laravel", "Vue.js",
+            "GraphQL", "Selenium", "JUnit", "Agile", "Jira", "Figma", "UI/UX Design", "Communication",
+            "Project Management", "Salesforce", "SAP", "Tally", "AutoCAD", "MATLAB", "Embedded C", "VLSI",
+            "Networking", "Cyber Security", "Ethical Hacking", "Blockchain", "Solidity", "Rust", "Elasticsearch",
+            "Ansible", "CI/CD"
+    };
+
+    private static final String[] LOCATIONS = {
+            "Bengaluru", "Bangalore, Karnataka", "Hyderabad", "Pune", "Hybrid - Pune", "Mumbai", "Mumbai, India",
+            "Gurgaon", "Gurugram, Haryana", "Noida", "New Delhi", "Chennai", "Kolkata", "Ahmedabad", "Kochi",
+            "Jaipur", "Indore", "Coimbatore", "Chandigarh", "Remote", "Remote - India", "Singapore", "Kharagpur"
+    };
+    // Relative frequency of each entry in LOCATIONS
+    private static final int[] LOCATION_WEIGHTS = {
+            14, 8, 12, 8, 3, 8, 3, 6, 3, 6, 6, 7, 3, 2, 2, 2, 1, 1, 1, 8, 3, 1, 1
+    };
+
+    private static final String[] EXPERIENCE_VALUES = {
+            "0", "1", "2", "3", "5", "2 years", "3 years", "1-3 years", "3-5 years", "5+ years",
+            "10+ yrs", "Fresher", "6 months", "", null
+    };
+
+    private JobCatalogs() {}
+
+    /**
+     * A catalog of jobs with IDs, skills, locations (geocoded, as saved jobs are) and experience requirements
+     */
+    static List<Job> jobs(int size, Gazetteer gazetteer) {
+        Random random = new Random(SEED);
+        double[] skillCdf = zipfCdf(SKILLS.length, 1.1);
+        int totalLocationWeight = 0;
+        for (int weight : LOCATION_WEIGHTS) {
+            totalLocationWeight += weight;
+        }
+
+        List<Job> jobs = new ArrayList<>(size);
+        LocalDateTime postedAt = LocalDateTime.of(2024, 6, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            Job job = new Job();
+            job.setId(String.format("job-%06d", i));
+            job.setTitle("Job " + i);
+            job.setCreatedAt(postedAt.minusMinutes(i));
+
+            int skillCount = 3 + random.nextInt(6);
+            Set<String> skills = new LinkedHashSet<>();
+            while (skills.size() < skillCount) {
+                skills.add(SKILLS[sample(skillCdf, random)]);
+            }
+            job.setSkills(new ArrayList<>(skills));
+
+            job.setLocation(LOCATIONS[weightedIndex(LOCATION_WEIGHTS, totalLocationWeight, random)]);
+            job.setLocationPoint(gazetteer.resolve(job.getLocation()));
+
+            // A fifth of postings leave experience open
+            job.setYearsOfExperience(random.nextInt(5) == 0 ? null : random.nextInt(11));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    /**
+     * A typical applicant: mainstream backend/frontend skills, two preferred cities, a few years of experience
+     */
+    static UserProfile applicant() {
+        UserProfile profile = new UserProfile();
+        profile.setId("profile-benchmark");
+        profile.setApplicantEmail("applicant@example.com");
+        profile.setUserType("APPLICANT");
+        profile.setSkills(List.of("Java", "Spring Boot", "SQL", "React", "Git", "Docker"));
+        profile.setPreferredLocations(List.of("Bangalore", "Pune"));
+        profile.setExperience("3 years");
+        return profile;
+    }
+
+    /**
+     * Free-text experience values as applicants type them, including blanks
+     */
+    static String[] experienceValues(int size) {
+        Random random = new Random(SEED);
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = EXPERIENCE_VALUES[random.nextInt(EXPERIENCE_VALUES.length)];
+        }
+        return values;
+    }
+
+    /**
+     * JobRepository whose findAll returns the catalog; the benchmarks touch nothing else
+     */
+    static JobRepository repositoryOf(List<Job> catalog) {
+        return (JobRepository) Proxy.newProxyInstance(
+                JobRepository.class.getClassLoader(),
+                new Class<?>[] {JobRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> {
+                        if (args == null || args.length == 0) {
+                            yield catalog;
+                        }
+                        throw new UnsupportedOperationException(method.toString());
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "JobRepository(" + catalog.size() + " jobs)";
+                    default -> throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1.0 / Math.pow(rank, exponent);
+            cdf[rank - 1] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, Random random) {
+        double u = random.nextDouble();
+        int index = Arrays.binarySearch(cdf, u);
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    private static int weightedIndex(int[] weights, int totalWeight, Random random) {
+        int remaining = random.nextInt(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            remaining -= weights[i];
+            if (remaining < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
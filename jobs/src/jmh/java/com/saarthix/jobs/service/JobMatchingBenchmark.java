@@ -0,0 +1,117 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.dto.JobMatch;
+import com.saarthix.jobs.repository.JobRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the job-matching hot path over generated catalogs (see JobCatalogs).
+ *
+ * getRecommendedJobs is one full request: score the catalog and keep the top DEFAULT_RECOMMENDATION_LIMIT.
+ * The other benchmarks run one scoring factor over every job in the catalog per operation, so their ops/s
+ * are catalog passes per second: calculateSkillsMatch and calculateLocationMatch on Job objects, and
+ * scoreRow and calculateSnapshotSkillsMatch on the JobSnapshot rows rankJobs actually scores.
+ * locationScores is the per-request location pass over the snapshot's distinct locations.
+ * Run with the gc profiler (the default in build.gradle) for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JobMatchingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private JobService jobService;
+    private List<Job> catalog;
+    private JobSnapshot snapshot;
+    private UserProfile applicant;
+    // As rankJobs sees them: applicant skills resolved to vocabulary IDs
+    private JobService.MatchPreferences preferences;
+    // As scoreRow sees them: one location score per distinct snapshot location
+    private double[] locationScores;
+    private String[] experienceValues;
+
+    @Setup
+    public void setUp() {
+        Gazetteer gazetteer = new Gazetteer();
+        SkillVocabulary skillVocabulary = new SkillVocabulary();
+        catalog = JobCatalogs.jobs(catalogSize, gazetteer);
+        JobRepository jobRepository = JobCatalogs.repositoryOf(catalog);
+        JobSkillIndex jobSkillIndex = new JobSkillIndex(skillVocabulary);
+        JobSnapshotStore jobSnapshotStore = new JobSnapshotStore(jobRepository, jobSkillIndex, gazetteer, 0);
+        jobService = new JobService(jobRepository, skillVocabulary, jobSkillIndex, gazetteer, jobSnapshotStore);
+        applicant = JobCatalogs.applicant();
+        // Loading the snapshot interns every job's skills before the applicant's are resolved
+        snapshot = jobSnapshotStore.current();
+        preferences = jobService.prepareForSnapshot(jobService.matchPreferencesOf(applicant));
+        locationScores = jobService.locationScores(snapshot, preferences);
+        experienceValues = JobCatalogs.experienceValues(catalogSize);
+    }
+
+    @Benchmark
+    public List<JobMatch> getRecommendedJobs() {
+        return jobService.getRecommendedJobs(applicant, 0, JobService.DEFAULT_RECOMMENDATION_LIMIT);
+    }
+
+    @Benchmark
+    public double calculateSkillsMatch() {
+        double total = 0;
+        for (Job job : catalog) {
+            total += jobService.calculateSkillsMatch(job, preferences);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double calculateLocationMatch() {
+        double total = 0;
+        for (Job job : catalog) {
+            total += jobService.calculateLocationMatch(job, preferences);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double scoreRow() {
+        double total = 0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            total += jobService.scoreRow(snapshot, row, preferences, locationScores);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double calculateSnapshotSkillsMatch() {
+        double total = 0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            total += jobService.calculateSkillsMatch(snapshot, row, preferences);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double[] locationScores() {
+        return jobService.locationScores(snapshot, preferences);
+    }
+
+    @Benchmark
+    public void parseYearsOfExperience(Blackhole blackhole) {
+        for (String experience : experienceValues) {
+            blackhole.consume(jobService.parseYearsOfExperience(experience));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.saarthix.jobs.config;
+
+import com.saarthix.jobs.model.Application;
+import com.saarthix.jobs.model.HackathonApplication;
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.JobRecommendations;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.service.DuplicateApplicationCleanup;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared with @Indexed / @CompoundIndex on our documents.
+ * Spring Boot no longer creates them automatically, so the query paths that rely on them
+ * (student database filters, job search, etc.) would otherwise fall back to collection scans.
+ *
+ * Indexes are built once every bean exists and before the web server starts, so no request runs
+ * against a collection that is still missing its unique indexes. Repeat applications saved before the
+ * job_applicant index existed are removed first (see DuplicateApplicationCleanup).
+ *
+ * A unique index that still cannot be built is logged as an error listing some of the duplicate keys
+ * to remove by hand; startup continues, but until it is built code that relies on the index to reject
+ * duplicates (e.g. one application per job and applicant) will accept them.
+ */
+@Configuration
+public class MongoIndexConfig implements SmartInitializingSingleton {
+
+    // Duplicate keys listed when a unique index cannot be built
+    private static final int DUPLICATE_REPORT_SIZE = 10;
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            UserProfile.class,
+            Application.class,
+            HackathonApplication.class,
+            Job.class,
+            JobRecommendations.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final DuplicateApplicationCleanup duplicateApplicationCleanup;
+
+    public MongoIndexConfig(
+            MongoTemplate mongoTemplate,
+            MongoMappingContext mappingContext,
+            DuplicateApplicationCleanup duplicateApplicationCleanup) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.duplicateApplicationCleanup = duplicateApplicationCleanup;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    public void ensureIndexes() {
+        try {
+            duplicateApplicationCleanup.removeDuplicates();
+        } catch (Exception e) {
+            System.err.println("Warning: Could not remove duplicate applications: " + e.getMessage());
+        }
+
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> documentType : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(documentType);
+            resolver.resolveIndexFor(documentType).forEach(index -> {
+                try {
+                    indexOps.createIndex(index);
+                } catch (Exception e) {
+                    if (isUnique(index)) {
+                        System.err.println("Error: Could not create unique index " + index.getIndexKeys()
+                                + " on " + documentType.getSimpleName() + ": " + e.getMessage()
+                                + ". Duplicates are accepted until it is built. Remove the duplicate keys (up to "
+                                + DUPLICATE_REPORT_SIZE + " shown) and restart: "
+                                + findDuplicateKeys(documentType, index.getIndexKeys()));
+                        return;
+                    }
+                    // A missing plain index only slows queries down; log it so it can be fixed by hand
+                    System.err.println("Warning: Could not create index " + index.getIndexKeys()
+                            + " on " + documentType.getSimpleName() + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static boolean isUnique(IndexDefinition index) {
+        return Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+    }
+
+    /**
+     * Key values held by more than one document, which keep a unique index on keys from being built
+     */
+    private List<Document> findDuplicateKeys(Class<?> documentType, Document keys) {
+        try {
+            Document key = new Document();
+            keys.keySet().forEach(field -> key.append(field.replace('.', '_'), "$" + field));
+            List<Document> pipeline = List.of(
+                    new Document("$group", new Document("_id", key).append("count", new Document("$sum", 1))),
+                    new Document("$match", new Document("count", new Document("$gt", 1))),
+                    new Document("$limit", DUPLICATE_REPORT_SIZE));
+            return mongoTemplate.getCollection(mongoTemplate.getCollectionName(documentType))
+                    .aggregate(pipeline)
+                    .allowDiskUse(true)
+                    .into(new ArrayList<>());
+        } catch (Exception e) {
+            System.err.println("Warning: Could not list duplicate keys: " + e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.saarthix.jobs.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC settings
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // Streamed responses (student exports) run as async requests; the container default of
+    // 30 seconds would cut off large exports part-way through
+    private static final long ASYNC_REQUEST_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    // Multipart uploads (resumes, pictures, certificates): parts above the threshold are buffered in a temp
+    // file by the container rather than on the heap, so request memory does not grow with file size
+    public static final DataSize MAX_UPLOAD_FILE_SIZE = DataSize.ofMegabytes(5);
+    public static final DataSize MAX_UPLOAD_REQUEST_SIZE = DataSize.ofMegabytes(25);
+    private static final DataSize UPLOAD_MEMORY_THRESHOLD = DataSize.ofKilobytes(64);
+
+    @Bean
+    public MultipartConfigElement multipartConfigElement() {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setMaxFileSize(MAX_UPLOAD_FILE_SIZE);
+        factory.setMaxRequestSize(MAX_UPLOAD_REQUEST_SIZE);
+        factory.setFileSizeThreshold(UPLOAD_MEMORY_THRESHOLD);
+        return factory.createMultipartConfig();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(ASYNC_REQUEST_TIMEOUT_MS);
+    }
+}
@@ -10,10 +10,15 @@ import com.saarthix.jobs.repository.JobRepository;
 import com.saarthix.jobs.repository.ResumeAndDetailsRepository;
 import com.saarthix.jobs.repository.UserRepository;
 import com.saarthix.jobs.repository.UserProfileRepository;
+import com.saarthix.jobs.service.ApplicationOutbox;
+import com.saarthix.jobs.service.BlobStore;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import com.saarthix.jobs.service.NotificationService;
 
 import java.util.List;
@@ -31,19 +36,25 @@ public class ApplicationController {
     private final JobRepository jobRepository;
     private final NotificationService notificationService;
     private final UserProfileRepository userProfileRepository;
+    private final BlobStore blobStore;
+    private final ApplicationOutbox applicationOutbox;
 
     public ApplicationController(ApplicationRepository applicationRepository, 
                                 ResumeAndDetailsRepository resumeAndDetailsRepository,
                                 UserRepository userRepository,
                                 JobRepository jobRepository,
                                 NotificationService notificationService,
-                                UserProfileRepository userProfileRepository) {
+                                UserProfileRepository userProfileRepository,
+                                BlobStore blobStore,
+                                ApplicationOutbox applicationOutbox) {
         this.applicationRepository = applicationRepository;
         this.resumeAndDetailsRepository = resumeAndDetailsRepository;
         this.userRepository = userRepository;
         this.jobRepository = jobRepository;
         this.notificationService = notificationService;
         this.userProfileRepository = userProfileRepository;
+        this.blobStore = blobStore;
+        this.applicationOutbox = applicationOutbox;
     }
 
     /**
@@ -72,9 +83,28 @@ public class ApplicationController {
 
     /**
      * Create a new application (alternative endpoint for frontend)
+     * The resume is either sent as resumeBase64, or taken from the applicant's profile by passing its resumeFileId
      */
     @PostMapping
     public ResponseEntity<?> createApplication(@RequestBody Map<String, Object> applicationData, Authentication auth) {
+        return createApplication(applicationData, null, auth);
+    }
+
+    /**
+     * Create a new application, uploading the resume as a file part instead of base64
+     * @param applicationData - "application" part (JSON): the same fields as the JSON endpoint, without resumeBase64
+     * @param resume - "resume" part; omit it to use the profile resume via resumeFileId
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> createApplicationMultipart(
+            @RequestPart("application") Map<String, Object> applicationData,
+            @RequestPart(value = "resume", required = false) MultipartFile resume,
+            Authentication auth) {
+        return createApplication(applicationData, resume, auth);
+    }
+
+    private ResponseEntity<?> createApplication(Map<String, Object> applicationData, MultipartFile resumeUpload,
+                                                Authentication auth) {
         try {
             // Check authentication
             if (auth == null || !auth.isAuthenticated()) {
@@ -116,88 +146,64 @@ public class ApplicationController {
                 System.out.println("This might be an external job or the ID format is different");
             }
 
-            // Check if already applied
-            Optional<Application> existingApp = applicationRepository.findByJobIdAndApplicantEmail(jobId, user.getEmail());
-            if (existingApp.isPresent()) {
-                System.out.println("Application already exists for this job and user");
-                return ResponseEntity.status(400).body("You have already applied to this job");
-            }
-            System.out.println("No existing application found, creating new one");
-
-            // Create new application
-            Application application = new Application();
-            application.setJobId(jobId);
-            application.setApplicantEmail(user.getEmail());
-            application.setApplicantId(user.getId());
-            application.setJobTitle((String) applicationData.getOrDefault("jobTitle", ""));
-            application.setCompany((String) applicationData.getOrDefault("company", "Company confidential"));
-            application.setLocation((String) applicationData.getOrDefault("location", "Location not specified"));
-            application.setJobDescription((String) applicationData.getOrDefault("jobDescription", ""));
-            application.setStatus((String) applicationData.getOrDefault("status", "pending"));
+            // One stored copy of the resume, referenced by both the application and its resume_and_details entry
+            String resumeFileId = storeResume(applicationData, resumeUpload, user);
+
+            Application saved = null;
+            try {
+                // Create new application
+                Application application = new Application();
+                application.setJobId(jobId);
+                application.setApplicantEmail(user.getEmail());
+                application.setApplicantId(user.getId());
+                application.setJobTitle((String) applicationData.getOrDefault("jobTitle", ""));
+                application.setCompany((String) applicationData.getOrDefault("company", "Company confidential"));
+                application.setLocation((String) applicationData.getOrDefault("location", "Location not specified"));
+                application.setJobDescription((String) applicationData.getOrDefault("jobDescription", ""));
+                application.setStatus((String) applicationData.getOrDefault("status", "pending"));
             
-            // Application form fields
-            application.setFullName((String) applicationData.getOrDefault("fullName", user.getName()));
-            application.setPhoneNumber((String) applicationData.getOrDefault("phoneNumber", ""));
-            application.setCoverLetter((String) applicationData.getOrDefault("coverLetter", ""));
-            application.setResumeFileName((String) applicationData.getOrDefault("resumeFileName", ""));
-            application.setResumeFileType((String) applicationData.getOrDefault("resumeFileType", ""));
-            application.setResumeBase64((String) applicationData.getOrDefault("resumeBase64", ""));
-            Object resumeFileSize = applicationData.get("resumeFileSize");
-            if (resumeFileSize != null) {
-                if (resumeFileSize instanceof Number) {
-                    application.setResumeFileSize(((Number) resumeFileSize).longValue());
-                } else if (resumeFileSize instanceof String) {
-                    try {
-                        application.setResumeFileSize(Long.parseLong((String) resumeFileSize));
-                    } catch (NumberFormatException e) {
-                        // Ignore
+                // Application form fields
+                application.setFullName((String) applicationData.getOrDefault("fullName", user.getName()));
+                application.setPhoneNumber((String) applicationData.getOrDefault("phoneNumber", ""));
+                application.setCoverLetter((String) applicationData.getOrDefault("coverLetter", ""));
+                application.setResumeFileName((String) applicationData.getOrDefault("resumeFileName", ""));
+                application.setResumeFileType((String) applicationData.getOrDefault("resumeFileType", ""));
+                application.setResumeFileId(resumeFileId);
+                Object resumeFileSize = applicationData.get("resumeFileSize");
+                if (resumeFileSize != null) {
+                    if (resumeFileSize instanceof Number) {
+                        application.setResumeFileSize(((Number) resumeFileSize).longValue());
+                    } else if (resumeFileSize instanceof String) {
+                        try {
+                            application.setResumeFileSize(Long.parseLong((String) resumeFileSize));
+                        } catch (NumberFormatException e) {
+                            // Ignore
+                        }
                     }
                 }
-            }
-            application.setLinkedInUrl((String) applicationData.getOrDefault("linkedInUrl", ""));
-            application.setPortfolioUrl((String) applicationData.getOrDefault("portfolioUrl", ""));
-            application.setExperience((String) applicationData.getOrDefault("experience", ""));
-            application.setAvailability((String) applicationData.getOrDefault("availability", ""));
-
-            Application saved = applicationRepository.save(application);
-            
-            // Also save to resume_and_details collection
-            ResumeAndDetails resumeAndDetails = new ResumeAndDetails();
-            resumeAndDetails.setJobId(jobId);
-            resumeAndDetails.setJobTitle((String) applicationData.getOrDefault("jobTitle", ""));
-            resumeAndDetails.setCompany((String) applicationData.getOrDefault("company", "Company confidential"));
-            resumeAndDetails.setLocation((String) applicationData.getOrDefault("location", "Location not specified"));
-            resumeAndDetails.setJobDescription((String) applicationData.getOrDefault("jobDescription", ""));
-            resumeAndDetails.setApplicantEmail(user.getEmail());
-            resumeAndDetails.setApplicantId(user.getId());
-            resumeAndDetails.setFullName((String) applicationData.getOrDefault("fullName", user.getName()));
-            resumeAndDetails.setPhoneNumber((String) applicationData.getOrDefault("phoneNumber", ""));
-            resumeAndDetails.setResumeFileName((String) applicationData.getOrDefault("resumeFileName", ""));
-            resumeAndDetails.setResumeFileType((String) applicationData.getOrDefault("resumeFileType", ""));
-            resumeAndDetails.setResumeBase64((String) applicationData.getOrDefault("resumeBase64", ""));
-            Object resumeFileSizeObj = applicationData.get("resumeFileSize");
-            if (resumeFileSizeObj != null) {
-                if (resumeFileSizeObj instanceof Number) {
-                    resumeAndDetails.setResumeFileSize(((Number) resumeFileSizeObj).longValue());
-                } else if (resumeFileSizeObj instanceof String) {
-                    try {
-                        resumeAndDetails.setResumeFileSize(Long.parseLong((String) resumeFileSizeObj));
-                    } catch (NumberFormatException e) {
-                        // Ignore
-                    }
+                application.setLinkedInUrl((String) applicationData.getOrDefault("linkedInUrl", ""));
+                application.setPortfolioUrl((String) applicationData.getOrDefault("portfolioUrl", ""));
+                application.setExperience((String) applicationData.getOrDefault("experience", ""));
+                application.setAvailability((String) applicationData.getOrDefault("availability", ""));
+
+                // Side effects are recorded on the application in the same insert (see ApplicationOutbox)
+                applicationOutbox.prepare(application,
+                        Application.Effect.RESUME_AND_DETAILS, Application.Effect.NOTIFY_INDUSTRY);
+
+                // The unique (jobId, applicantEmail) index rejects a second application, even from concurrent submits
+                saved = applicationRepository.insert(application);
+            } catch (DuplicateKeyException e) {
+                System.out.println("Application already exists for this job and user");
+                return ResponseEntity.status(400).body("You have already applied to this job");
+            } finally {
+                // Nothing references the stored resume unless the application was inserted
+                if (saved == null) {
+                    blobStore.release(resumeFileId);
                 }
             }
-            resumeAndDetails.setCoverLetter((String) applicationData.getOrDefault("coverLetter", ""));
-            resumeAndDetails.setLinkedInUrl((String) applicationData.getOrDefault("linkedInUrl", ""));
-            resumeAndDetails.setPortfolioUrl((String) applicationData.getOrDefault("portfolioUrl", ""));
-            resumeAndDetails.setExperience((String) applicationData.getOrDefault("experience", ""));
-            resumeAndDetails.setAvailability((String) applicationData.getOrDefault("availability", ""));
-            resumeAndDetails.setStatus((String) applicationData.getOrDefault("status", "pending"));
             
-            ResumeAndDetails savedResume = resumeAndDetailsRepository.save(resumeAndDetails);
-            
-            // Create notification for industry user about new application
-            notificationService.createNewApplicationNotification(saved);
+            // resume_and_details copy and industry notification run in the background
+            applicationOutbox.dispatchSoon(saved.getId());
             
             // Log detailed information about the saved application
             System.out.println("=========================================");
@@ -223,28 +229,9 @@ public class ApplicationController {
             System.out.println("Applied At: " + saved.getAppliedAt());
             System.out.println("=========================================");
             
-            // Log resume and details save
-            System.out.println("=========================================");
-            System.out.println("RESUME AND DETAILS SAVED TO MONGODB DATABASE");
-            System.out.println("Collection: resume_and_details");
-            System.out.println("Resume ID: " + savedResume.getId());
-            System.out.println("Applicant Email: " + savedResume.getApplicantEmail());
-            System.out.println("Full Name: " + savedResume.getFullName());
-            System.out.println("Phone: " + savedResume.getPhoneNumber());
-            System.out.println("Resume File: " + savedResume.getResumeFileName() + " (" + 
-                             (savedResume.getResumeFileSize() != null ? savedResume.getResumeFileSize() + " bytes" : "N/A") + ")");
-            System.out.println("Resume Type: " + savedResume.getResumeFileType());
-            System.out.println("Cover Letter Length: " + (savedResume.getCoverLetter() != null ? savedResume.getCoverLetter().length() + " characters" : "Not provided"));
-            System.out.println("LinkedIn: " + (savedResume.getLinkedInUrl() != null && !savedResume.getLinkedInUrl().isEmpty() ? savedResume.getLinkedInUrl() : "Not provided"));
-            System.out.println("Portfolio: " + (savedResume.getPortfolioUrl() != null && !savedResume.getPortfolioUrl().isEmpty() ? savedResume.getPortfolioUrl() : "Not provided"));
-            System.out.println("Experience: " + (savedResume.getExperience() != null && !savedResume.getExperience().isEmpty() ? savedResume.getExperience() : "Not provided"));
-            System.out.println("Availability: " + savedResume.getAvailability());
-            System.out.println("Job Title: " + savedResume.getJobTitle());
-            System.out.println("Company: " + savedResume.getCompany());
-            System.out.println("Applied At: " + savedResume.getAppliedAt());
-            System.out.println("=========================================");
-            
             return ResponseEntity.ok(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             System.err.println("Error creating application: " + e.getMessage());
             e.printStackTrace();
@@ -380,7 +367,7 @@ public class ApplicationController {
                 for (Application app : matchedApplications) {
                     if (!jobId.equals(app.getJobId())) {
                         app.setJobId(jobId);
-                        applicationRepository.save(app);
+                        applicationRepository.updateJobId(app.getId(), jobId);
                     }
                 }
                 applications = matchedApplications;
@@ -469,7 +456,7 @@ public class ApplicationController {
                 for (Application app : matchedApplications) {
                     if (!jobId.equals(app.getJobId())) {
                         app.setJobId(jobId);
-                        applicationRepository.save(app);
+                        applicationRepository.updateJobId(app.getId(), jobId);
                     }
                 }
                 applications = matchedApplications;
@@ -586,8 +573,10 @@ public class ApplicationController {
         String oldStatus = application.getStatus();
         
         // Update status and lastUpdated timestamp
-        application.setStatus(newStatus.toLowerCase());
-        Application updated = applicationRepository.save(application);
+        Application updated = applicationRepository.updateStatus(id, newStatus.toLowerCase());
+        if (updated == null) {
+            return ResponseEntity.status(404).body("Application not found");
+        }
         
         // Create notification for applicant about status update (only if status actually changed)
         if (oldStatus == null || !oldStatus.equalsIgnoreCase(newStatus.toLowerCase())) {
@@ -657,6 +646,103 @@ public class ApplicationController {
         return ResponseEntity.ok(resumeAndDetails);
     }
 
+    /**
+     * Download the resume attached to an application
+     * Available to the applicant and to the industry user who posted the job
+     */
+    @GetMapping("/{id}/resume")
+    public ResponseEntity<?> downloadApplicationResume(@PathVariable String id, Authentication auth) {
+        if (auth == null || !auth.isAuthenticated()) {
+            return ResponseEntity.status(401).body("Must be logged in to download resumes");
+        }
+
+        User user = resolveUserFromOAuth(auth);
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not found");
+        }
+
+        Optional<Application> appOpt = applicationRepository.findById(id);
+        if (appOpt.isEmpty()) {
+            return ResponseEntity.status(404).body("Application not found");
+        }
+
+        Application application = appOpt.get();
+        boolean isApplicant = user.getEmail().equalsIgnoreCase(application.getApplicantEmail());
+        boolean isJobOwner = "INDUSTRY".equals(user.getUserType()) && jobRepository.findById(application.getJobId())
+                .map(job -> user.getId().equals(job.getIndustryId()))
+                .orElse(false);
+        if (!isApplicant && !isJobOwner) {
+            return ResponseEntity.status(403).body("You can only download resumes of your own applications or jobs");
+        }
+
+        BlobStore.Blob resume = blobStore.open(application.getResumeFileId(), application.getResumeBase64(),
+                application.getResumeFileName(), application.getResumeFileType());
+        if (resume == null) {
+            return ResponseEntity.status(404).body("Resume not found");
+        }
+        return FileResponses.stream(resume, true, "application/octet-stream");
+    }
+
+    /**
+     * Download the resume of one of the current user's resume_and_details entries
+     */
+    @GetMapping("/resume-details/{id}/resume")
+    public ResponseEntity<?> downloadResumeAndDetailsResume(@PathVariable String id, Authentication auth) {
+        if (auth == null || !auth.isAuthenticated()) {
+            return ResponseEntity.status(401).body("Must be logged in to download resumes");
+        }
+
+        User user = resolveUserFromOAuth(auth);
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not found");
+        }
+
+        Optional<ResumeAndDetails> detailsOpt = resumeAndDetailsRepository.findById(id);
+        if (detailsOpt.isEmpty() || !user.getEmail().equalsIgnoreCase(detailsOpt.get().getApplicantEmail())) {
+            return ResponseEntity.status(404).body("Resume not found");
+        }
+
+        ResumeAndDetails details = detailsOpt.get();
+        BlobStore.Blob resume = blobStore.open(details.getResumeFileId(), details.getResumeBase64(),
+                details.getResumeFileName(), details.getResumeFileType());
+        if (resume == null) {
+            return ResponseEntity.status(404).body("Resume not found");
+        }
+        return FileResponses.stream(resume, true, "application/octet-stream");
+    }
+
+    /**
+     * Store the resume of a new application
+     * @param resumeUpload - Uploaded resume part, or null when the resume is sent as base64 or taken from the profile
+     * @return File ID, or null if the application has no resume
+     */
+    private String storeResume(Map<String, Object> applicationData, MultipartFile resumeUpload, User user) {
+        if (resumeUpload != null && !resumeUpload.isEmpty()) {
+            // The part carries the file's own name/type/size
+            applicationData.put("resumeFileName", resumeUpload.getOriginalFilename());
+            applicationData.put("resumeFileType", resumeUpload.getContentType());
+            applicationData.put("resumeFileSize", resumeUpload.getSize());
+            return blobStore.store(resumeUpload);
+        }
+
+        String resumeBase64 = (String) applicationData.get("resumeBase64");
+        if (resumeBase64 != null && !resumeBase64.isEmpty()) {
+            return blobStore.storeBase64(resumeBase64,
+                    (String) applicationData.get("resumeFileName"), (String) applicationData.get("resumeFileType"));
+        }
+
+        // Resume taken from the profile: reference the same stored file, which outlives a later profile change
+        String profileResumeId = (String) applicationData.get("resumeFileId");
+        if (profileResumeId == null || profileResumeId.isEmpty()) {
+            return null;
+        }
+        UserProfile profile = userProfileRepository.findByApplicantEmail(user.getEmail()).orElse(null);
+        if (profile == null || !profileResumeId.equals(profile.getResumeFileId())) {
+            throw new IllegalArgumentException("resumeFileId does not match your profile resume");
+        }
+        return blobStore.retain(profileResumeId, profile.getResumeFileName(), profile.getResumeFileType());
+    }
+
     /**
      * Helper method to extract user from OAuth2 principal
      */
@@ -0,0 +1,76 @@
+package com.saarthix.jobs.controller;
+
+import com.saarthix.jobs.service.BlobStore;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Responses that stream a stored file to the client.
+ * The body is copied from the GridFS stream a buffer at a time, and the stream is closed once written.
+ *
+ * Files are uploaded by students and served from the API origin, so their recorded type is not trusted:
+ * only raster images and PDFs are ever rendered, and the browser may neither sniff another type nor let
+ * the file load or run anything.
+ */
+final class FileResponses {
+
+    // Types the browser can show without running anything from the file; the rest (HTML, SVG, XML, ...) could
+    // script the viewer's session, so it is sent as an octet-stream attachment
+    private static final Set<String> RENDERABLE_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "application/pdf");
+    // Not sandboxed for PDFs, which browsers' built-in viewers refuse to render in a sandbox
+    private static final String CONTENT_SECURITY_POLICY = "default-src 'none'; img-src 'self'; style-src 'unsafe-inline'";
+
+    private FileResponses() {}
+
+    /**
+     * Stream a file
+     * @param blob - Open file from BlobStore
+     * @param attachment - true to make browsers save the file, false to display it inline
+     *                     (honoured only for raster images and PDFs)
+     * @param defaultType - Content type when the file has none recorded
+     */
+    static ResponseEntity<InputStreamResource> stream(BlobStore.Blob blob, boolean attachment, String defaultType) {
+        MediaType contentType = contentTypeOf(blob.contentType(), defaultType);
+        boolean pdf = MediaType.APPLICATION_PDF.equalsTypeAndSubtype(contentType);
+        if (!RENDERABLE_TYPES.contains(contentType.getType() + "/" + contentType.getSubtype())) {
+            contentType = MediaType.APPLICATION_OCTET_STREAM;
+            attachment = true;
+        }
+
+        String fileName = blob.fileName() != null && !blob.fileName().isEmpty() ? blob.fileName() : "file";
+        ContentDisposition disposition = (attachment ? ContentDisposition.attachment() : ContentDisposition.inline())
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .header("X-Content-Type-Options", "nosniff")
+                .header("Content-Security-Policy", pdf ? CONTENT_SECURITY_POLICY : CONTENT_SECURITY_POLICY + "; sandbox")
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate());
+        if (blob.length() >= 0) {
+            response.contentLength(blob.length());
+        }
+        return response.body(new InputStreamResource(blob.content()));
+    }
+
+    private static MediaType contentTypeOf(String contentType, String defaultType) {
+        try {
+            if (contentType != null && !contentType.isEmpty()) {
+                return MediaType.parseMediaType(contentType);
+            }
+        } catch (Exception e) {
+            // Client-supplied type; fall back to the default
+        }
+        return MediaType.parseMediaType(defaultType);
+    }
+}
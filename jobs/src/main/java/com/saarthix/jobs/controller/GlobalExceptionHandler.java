@@ -1,10 +1,12 @@
 package com.saarthix.jobs.controller;
 
+import com.saarthix.jobs.config.WebMvcConfig;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -20,6 +22,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
     }
 
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<String> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        System.err.println("Upload rejected: " + ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body("Upload too large: files may be at most " + WebMvcConfig.MAX_UPLOAD_FILE_SIZE.toMegabytes()
+                        + "MB each and " + WebMvcConfig.MAX_UPLOAD_REQUEST_SIZE.toMegabytes() + "MB per request");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
         String errorMessage = "An error occurred: " + ex.getMessage();
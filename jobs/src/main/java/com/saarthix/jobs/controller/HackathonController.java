@@ -8,11 +8,13 @@ import com.saarthix.jobs.model.User;
 
 import com.saarthix.jobs.repository.HackathonRepository;
 import com.saarthix.jobs.repository.UserRepository;
+import com.saarthix.jobs.service.ListingFingerprints;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/hackathons")
@@ -21,10 +23,13 @@ public class HackathonController {
 
     private final HackathonRepository hackathonRepository;
     private final UserRepository userRepository;
+    private final ListingFingerprints listingFingerprints;
 
-    public HackathonController(HackathonRepository hackathonRepository, UserRepository userRepository) {
+    public HackathonController(HackathonRepository hackathonRepository, UserRepository userRepository,
+                               ListingFingerprints listingFingerprints) {
         this.hackathonRepository = hackathonRepository;
         this.userRepository = userRepository;
+        this.listingFingerprints = listingFingerprints;
     }
 
     // --- KEEP ONLY THIS METHOD ---
@@ -42,9 +47,10 @@ public class HackathonController {
     // ------------------------------
 
     // GET all hackathons (public)
+    // Answers 304 from the cached listing fingerprint when If-None-Match still matches
     @GetMapping
-    public List<Hackathon> getAll() {
-        return hackathonRepository.findAll();
+    public List<Hackathon> getAll(WebRequest request) {
+        return listingFingerprints.listing(Hackathon.class, request, hackathonRepository::findAll);
     }
 
     // GET hackathons posted by the authenticated industry user
@@ -4,17 +4,26 @@ import com.saarthix.jobs.model.Application;
 import com.saarthix.jobs.model.Job;
 import com.saarthix.jobs.model.User;
 import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.dto.CandidateMatch;
+import com.saarthix.jobs.model.dto.CursorPage;
+import com.saarthix.jobs.model.dto.JobMatch;
 import com.saarthix.jobs.repository.ApplicationRepository;
 import com.saarthix.jobs.repository.JobRepository;
 import com.saarthix.jobs.repository.UserProfileRepository;
 import com.saarthix.jobs.repository.UserRepository;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
-import com.saarthix.jobs.service.EmailService;
+import org.springframework.web.context.request.WebRequest;
+import com.saarthix.jobs.service.ApplicationOutbox;
 import com.saarthix.jobs.service.JobService;
+import com.saarthix.jobs.service.ListingFingerprints;
+import com.saarthix.jobs.service.RecommendationStore;
+import com.saarthix.jobs.service.StudentDatabaseService;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,34 +36,97 @@ public class JobController {
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
     private final ApplicationRepository applicationRepository;
-    private final EmailService emailService;
+    private final ApplicationOutbox applicationOutbox;
     private final JobService jobService;
     private final UserProfileRepository userProfileRepository;
+    private final RecommendationStore recommendationStore;
+    private final ListingFingerprints listingFingerprints;
+    private final StudentDatabaseService studentDatabaseService;
 
-    public JobController(JobRepository jobRepository, UserRepository userRepository, ApplicationRepository applicationRepository, EmailService emailService, JobService jobService, UserProfileRepository userProfileRepository) {
+    public JobController(JobRepository jobRepository, UserRepository userRepository, ApplicationRepository applicationRepository, ApplicationOutbox applicationOutbox, JobService jobService, UserProfileRepository userProfileRepository, RecommendationStore recommendationStore, ListingFingerprints listingFingerprints, StudentDatabaseService studentDatabaseService) {
         this.jobRepository = jobRepository;
         this.userRepository = userRepository;
         this.applicationRepository = applicationRepository;
-        this.emailService = emailService;
+        this.applicationOutbox = applicationOutbox;
         this.jobService = jobService;
         this.userProfileRepository = userProfileRepository;
+        this.recommendationStore = recommendationStore;
+        this.listingFingerprints = listingFingerprints;
+        this.studentDatabaseService = studentDatabaseService;
     }
 
     // ✅ GET all jobs (public - no auth required)
+    // Answers 304 from the cached listing fingerprint when If-None-Match still matches
     @GetMapping
-    public List<Job> getAllJobs() {
-        return jobRepository.findAll();
+    public List<Job> getAllJobs(WebRequest request) {
+        return listingFingerprints.listing(Job.class, request, jobRepository::findAll);
+    }
+
+    /**
+     * GET search jobs (public - no auth required)
+     * Query params: q (text search over title and description), industry, employmentType, location,
+     * minSalary, maxSalary, yearsOfExperience, active (default true), cursor, limit
+     * Results are newest first; pass the returned nextCursor back as "cursor" to fetch the following page
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchJobs(
+            @RequestParam(required = false) Map<String, String> filters,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<Job> page = jobService.searchJobs(filters, cursor, limit);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("jobs", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.hasMore());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Error searching jobs: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error searching jobs: " + e.getMessage());
+        }
+    }
+
+    /**
+     * GET active jobs near a city, nearest first (public - no auth required)
+     * Query params: location (city name or alias, e.g. "Bangalore"), radiusKm (default 50), limit
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyJobs(
+            @RequestParam String location,
+            @RequestParam(defaultValue = "50") double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(jobService.findJobsNear(location, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Error fetching nearby jobs: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error fetching nearby jobs: " + e.getMessage());
+        }
     }
 
     // ✅ GET a single job by ID (public - no auth required)
     @GetMapping("/{id}")
-    public Optional<Job> getJobById(@PathVariable String id) {
-        return jobRepository.findById(id);
+    public Optional<Job> getJobById(@PathVariable String id, WebRequest request) {
+        Optional<Job> job = jobRepository.findById(id);
+        if (job.isPresent() && request.checkNotModified(
+                ListingFingerprints.etagOf(job.get()), ListingFingerprints.lastModifiedOf(job.get()))) {
+            return null;
+        }
+        return job;
     }
 
     // ✅ GET recommended jobs for authenticated applicant
     @GetMapping("/recommended/jobs")
-    public ResponseEntity<?> getRecommendedJobs(Authentication auth) {
+    public ResponseEntity<?> getRecommendedJobs(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "" + JobService.DEFAULT_RECOMMENDATION_LIMIT) int limit,
+            Authentication auth) {
         try {
             // Check if user is authenticated
             if (auth == null || !auth.isAuthenticated()) {
@@ -78,9 +150,11 @@ public class JobController {
             }
 
             UserProfile profile = profileOpt.get();
-            List<Map<String, Object>> recommendedJobs = jobService.getRecommendedJobs(profile);
+            List<JobMatch> recommendedJobs = recommendationStore.getRecommendedJobs(profile, offset, limit);
 
             return ResponseEntity.ok(recommendedJobs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
         } catch (Exception e) {
             System.err.println("Error fetching recommended jobs: " + e.getMessage());
             e.printStackTrace();
@@ -88,6 +162,48 @@ public class JobController {
         }
     }
 
+    // ✅ GET best-fit candidates for a job (INDUSTRY owner only; best matches first, offset/limit paginated)
+    @GetMapping("/{jobId}/candidates")
+    public ResponseEntity<?> getCandidatesForJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "" + JobService.DEFAULT_RECOMMENDATION_LIMIT) int limit,
+            Authentication auth) {
+        try {
+            if (auth == null || !auth.isAuthenticated()) {
+                return ResponseEntity.status(401).body("Must be logged in to view candidates");
+            }
+
+            User user = resolveUserFromOAuth(auth);
+            if (user == null || !"INDUSTRY".equals(user.getUserType())) {
+                return ResponseEntity.status(403).body("Only INDUSTRY users can view candidates");
+            }
+
+            Optional<Job> jobOpt = jobRepository.findById(jobId);
+            if (jobOpt.isEmpty()) {
+                return ResponseEntity.status(404).body("Job not found");
+            }
+
+            Job job = jobOpt.get();
+
+            // Verify user owns the job
+            if (!user.getId().equals(job.getIndustryId())) {
+                return ResponseEntity.status(403).body("You can only view candidates for your own jobs");
+            }
+
+            List<CandidateMatch> candidates = studentDatabaseService.getCandidatesForJob(user.getEmail(), job, offset, limit);
+            return ResponseEntity.ok(candidates);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Error fetching candidates: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error fetching candidates: " + e.getMessage());
+        }
+    }
+
     // ✅ POST a new job (INDUSTRY users only)
     @PostMapping
     public ResponseEntity<?> createJob(@RequestBody Job job, Authentication auth) {
@@ -230,12 +346,6 @@ public class JobController {
 
         Job job = jobOpt.get();
 
-        // Check if user already applied to this job
-        Optional<Application> existingApp = applicationRepository.findByJobIdAndApplicantEmail(jobId, user.getEmail());
-        if (existingApp.isPresent()) {
-            return ResponseEntity.status(400).body("You have already applied to this job");
-        }
-
         // Create and save application
         Application application = new Application();
         application.setJobId(jobId);
@@ -246,10 +356,18 @@ public class JobController {
         application.setLocation(job.getLocation());
         application.setJobDescription(job.getDescription());
         application.setStatus("pending");
+        applicationOutbox.prepare(application, Application.Effect.CONFIRMATION_EMAIL);
 
-        Application saved = applicationRepository.save(application);
+        // The unique (jobId, applicantEmail) index rejects a second application, even from concurrent submits
+        Application saved;
+        try {
+            saved = applicationRepository.insert(application);
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(400).body("You have already applied to this job");
+        }
 
-        emailService.sendApplicationConfirmation(user, job, saved);
+        // Sent in the background; the email is recorded on the application so a failed send is retried
+        applicationOutbox.dispatchSoon(saved.getId());
         
         // Log detailed information about the saved application
         System.out.println("=========================================");
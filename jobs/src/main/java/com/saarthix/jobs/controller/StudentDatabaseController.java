@@ -1,14 +1,21 @@
 package com.saarthix.jobs.controller;
 
 import com.saarthix.jobs.model.User;
+import com.saarthix.jobs.model.dto.CursorPage;
 import com.saarthix.jobs.model.dto.StudentDatabaseDto;
+import com.saarthix.jobs.model.dto.StudentSummaryDto;
 import com.saarthix.jobs.repository.UserRepository;
+import com.saarthix.jobs.service.BlobStore;
 import com.saarthix.jobs.service.StudentDatabaseService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,12 +35,16 @@ public class StudentDatabaseController {
     }
     
     /**
-     * GET all students with optional filters
+     * GET students with optional filters, one page at a time
+     * Pass the returned nextCursor back as "cursor" to fetch the following page;
+     * there is no total count, hasMore tells whether another page exists
      * INDUSTRY users only
      */
     @GetMapping
     public ResponseEntity<?> getAllStudents(
             @RequestParam(required = false) Map<String, String> filters,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             Authentication auth) {
         try {
             // Check authentication
@@ -61,19 +72,25 @@ public class StudentDatabaseController {
             boolean isPaidUser = "PAID".equals(subscriptionType);
             
             // Get students with filters
-            List<StudentDatabaseDto> students = studentDatabaseService.getAllStudents(
+            CursorPage<StudentSummaryDto> page = studentDatabaseService.getAllStudents(
                     user.getEmail(), 
                     isPaidUser, 
-                    filters
+                    filters,
+                    cursor,
+                    limit
             );
             
             // Return response with subscription info
             Map<String, Object> response = new HashMap<>();
-            response.put("students", students);
+            response.put("students", page.getItems());
             response.put("subscriptionType", subscriptionType);
-            response.put("totalCount", students.size());
+            response.put("count", page.getItems().size());  // Students on this page, not a total
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.hasMore());
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
         } catch (Exception e) {
             System.err.println("Error fetching students: " + e.getMessage());
             e.printStackTrace();
@@ -81,6 +98,88 @@ public class StudentDatabaseController {
         }
     }
     
+    /**
+     * GET facet counts (degree, graduationYear, college, location, availability) for the current filters
+     * INDUSTRY users only
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(
+            @RequestParam(required = false) Map<String, String> filters,
+            Authentication auth) {
+        try {
+            // Check authentication
+            if (auth == null || !auth.isAuthenticated()) {
+                return ResponseEntity.status(401).body("Must be logged in to access student database");
+            }
+            
+            User user = resolveUserFromOAuth(auth);
+            if (user == null) {
+                return ResponseEntity.status(401).body("User not found");
+            }
+            
+            // Check if user is INDUSTRY type
+            if (!"INDUSTRY".equals(user.getUserType())) {
+                return ResponseEntity.status(403).body("Only INDUSTRY users can access student database");
+            }
+            
+            return ResponseEntity.ok(Map.of("facets", studentDatabaseService.getFacets(filters)));
+        } catch (Exception e) {
+            System.err.println("Error fetching student facets: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error fetching student facets: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * GET - Export all students matching the filters as CSV (format=csv, default) or NDJSON (format=ndjson)
+     * Streamed from a database cursor, so exports of any size use constant memory
+     * PAID INDUSTRY users only
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportStudents(
+            @RequestParam(required = false) Map<String, String> filters,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication auth) {
+        try {
+            // Check authentication
+            if (auth == null || !auth.isAuthenticated()) {
+                return ResponseEntity.status(401).body("Must be logged in to export students");
+            }
+            
+            User user = resolveUserFromOAuth(auth);
+            if (user == null) {
+                return ResponseEntity.status(401).body("User not found");
+            }
+            
+            // Check if user is INDUSTRY type
+            if (!"INDUSTRY".equals(user.getUserType())) {
+                return ResponseEntity.status(403).body("Only INDUSTRY users can export students");
+            }
+            
+            if (!"PAID".equals(user.getSubscriptionType())) {
+                return ResponseEntity.status(403).body("Exporting students requires a PAID subscription");
+            }
+            
+            if (!"csv".equals(format) && !"ndjson".equals(format)) {
+                return ResponseEntity.status(400).body("Invalid format. Must be csv or ndjson.");
+            }
+            
+            String industryEmail = user.getEmail();
+            StreamingResponseBody body = out -> studentDatabaseService.exportStudents(industryEmail, filters, format, out);
+            
+            return ResponseEntity.ok()
+                    .contentType("csv".equals(format)
+                            ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                            : MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students." + format + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            System.err.println("Error exporting students: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error exporting students: " + e.getMessage());
+        }
+    }
+    
     /**
      * GET a single student by ID
      * INDUSTRY users only
@@ -137,6 +236,44 @@ public class StudentDatabaseController {
         }
     }
     
+    /**
+     * GET a student's profile picture as an image
+     * List results only carry profilePictureAvailable, cards load the picture from here
+     * INDUSTRY users only
+     */
+    @GetMapping("/{studentId}/picture")
+    public ResponseEntity<?> getStudentPicture(
+            @PathVariable String studentId,
+            Authentication auth) {
+        try {
+            // Check authentication
+            if (auth == null || !auth.isAuthenticated()) {
+                return ResponseEntity.status(401).body("Must be logged in to view student profiles");
+            }
+            
+            User user = resolveUserFromOAuth(auth);
+            if (user == null) {
+                return ResponseEntity.status(401).body("User not found");
+            }
+            
+            // Check if user is INDUSTRY type
+            if (!"INDUSTRY".equals(user.getUserType())) {
+                return ResponseEntity.status(403).body("Only INDUSTRY users can view student profiles");
+            }
+            
+            BlobStore.Blob picture = studentDatabaseService.getProfilePicture(studentId);
+            if (picture == null) {
+                return ResponseEntity.status(404).body("Profile picture not found");
+            }
+            
+            return FileResponses.stream(picture, false, "image/jpeg");
+        } catch (Exception e) {
+            System.err.println("Error fetching profile picture: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error fetching profile picture: " + e.getMessage());
+        }
+    }
+    
     /**
      * POST - Shortlist a student
      * INDUSTRY users only
@@ -249,12 +386,13 @@ public class StudentDatabaseController {
     }
     
     /**
-     * GET - Download resume
+     * GET - Download resume, streamed as a file attachment (?disposition=inline to preview it in the browser)
      * INDUSTRY users only
      */
     @GetMapping("/{studentId}/resume/download")
     public ResponseEntity<?> downloadResume(
             @PathVariable String studentId,
+            @RequestParam(required = false) String disposition,
             Authentication auth) {
         try {
             // Check authentication
@@ -273,18 +411,18 @@ public class StudentDatabaseController {
             }
             
             // Download resume - available for all users
-            Map<String, String> resumeData = studentDatabaseService.downloadResume(
+            BlobStore.Blob resume = studentDatabaseService.downloadResume(
                     studentId, 
                     user.getEmail(), 
                     user.getId(),
                     true  // Allow all users to download resumes
             );
             
-            if (resumeData == null) {
+            if (resume == null) {
                 return ResponseEntity.status(404).body("Resume not found");
             }
             
-            return ResponseEntity.ok(resumeData);
+            return FileResponses.stream(resume, !"inline".equals(disposition), "application/octet-stream");
         } catch (Exception e) {
             System.err.println("Error downloading resume: " + e.getMessage());
             e.printStackTrace();
@@ -409,6 +547,7 @@ public class StudentDatabaseController {
         features.put("viewContactDetails", true);
         features.put("shortlistCandidates", true);
         features.put("unlimitedAccess", true);
+        features.put("exportStudents", "PAID".equals(subscriptionType));
         
         return features;
     }
@@ -4,6 +4,7 @@ import com.saarthix.jobs.repository.UserProfileRepository;
 import com.saarthix.jobs.repository.UserRepository;
 import com.saarthix.jobs.repository.ApplicationRepository;
 import com.saarthix.jobs.repository.HackathonApplicationRepository;
+import com.saarthix.jobs.service.JobScoringEngine;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,16 +20,19 @@ public class TestController {
     private final UserRepository userRepository;
     private final ApplicationRepository applicationRepository;
     private final HackathonApplicationRepository hackathonApplicationRepository;
+    private final JobScoringEngine jobScoringEngine;
     
     public TestController(
             UserProfileRepository userProfileRepository,
             UserRepository userRepository,
             ApplicationRepository applicationRepository,
-            HackathonApplicationRepository hackathonApplicationRepository) {
+            HackathonApplicationRepository hackathonApplicationRepository,
+            JobScoringEngine jobScoringEngine) {
         this.userProfileRepository = userProfileRepository;
         this.userRepository = userRepository;
         this.applicationRepository = applicationRepository;
         this.hackathonApplicationRepository = hackathonApplicationRepository;
+        this.jobScoringEngine = jobScoringEngine;
     }
     
     /**
@@ -90,7 +94,7 @@ public class TestController {
             
             // Count profiles with specific fields
             long profilesWithResume = userProfileRepository.findAll().stream()
-                    .filter(p -> p.getResumeBase64() != null && !p.getResumeBase64().isEmpty())
+                    .filter(p -> p.getResumeFileId() != null || (p.getResumeBase64() != null && !p.getResumeBase64().isEmpty()))
                     .count();
             
             long profilesWithSkills = userProfileRepository.findAll().stream()
@@ -102,7 +106,7 @@ public class TestController {
                     .count();
             
             long profilesWithPhoto = userProfileRepository.findAll().stream()
-                    .filter(p -> p.getProfilePictureBase64() != null && !p.getProfilePictureBase64().isEmpty())
+                    .filter(p -> p.getProfilePictureFileId() != null || (p.getProfilePictureBase64() != null && !p.getProfilePictureBase64().isEmpty()))
                     .count();
             
             result.put("totalProfiles", totalProfiles);
@@ -152,7 +156,7 @@ public class TestController {
                 "id", sampleProfile.getId(),
                 "name", sampleProfile.getFullName() != null ? sampleProfile.getFullName() : "N/A",
                 "email", sampleProfile.getApplicantEmail() != null ? sampleProfile.getApplicantEmail() : "N/A",
-                "hasResume", sampleProfile.getResumeBase64() != null,
+                "hasResume", sampleProfile.getResumeFileId() != null || sampleProfile.getResumeBase64() != null,
                 "skillCount", sampleProfile.getSkills() != null ? sampleProfile.getSkills().size() : 0,
                 "educationCount", sampleProfile.getEducationEntries() != null ? sampleProfile.getEducationEntries().size() : 0,
                 "experienceCount", sampleProfile.getProfessionalExperiences() != null ? sampleProfile.getProfessionalExperiences().size() : 0,
@@ -169,6 +173,14 @@ public class TestController {
         }
     }
     
+    /**
+     * Bulk job scoring throughput since startup (JobScoringEngine.stats)
+     */
+    @GetMapping("/scoring-stats")
+    public ResponseEntity<?> scoringStats() {
+        return ResponseEntity.ok(jobScoringEngine.stats());
+    }
+    
     /**
      * Health check endpoint
      */
@@ -1,6 +1,7 @@
 package com.saarthix.jobs.controller;
 
 import com.saarthix.jobs.model.User;
+import com.saarthix.jobs.repository.UserProfileRepository;
 import com.saarthix.jobs.repository.UserRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -18,9 +19,11 @@ import java.util.Map;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final UserProfileRepository userProfileRepository;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, UserProfileRepository userProfileRepository) {
         this.userRepository = userRepository;
+        this.userProfileRepository = userProfileRepository;
     }
 
     public static record RoleSelectionRequest(String email, String name, String pictureUrl, String userType) {}
@@ -80,6 +83,7 @@ public class UserController {
                     existingUser.setPictureUrl(req.pictureUrl());
                 }
                 userRepository.save(existingUser);
+                userProfileRepository.updateUserTypeByApplicantEmail(existingUser.getEmail(), existingUser.getUserType());
                 return ResponseEntity.ok("User role confirmed as " + req.userType());
             }
             
@@ -90,6 +94,7 @@ public class UserController {
                 existingUser.setPictureUrl(req.pictureUrl());
             }
             userRepository.save(existingUser);
+            userProfileRepository.updateUserTypeByApplicantEmail(existingUser.getEmail(), existingUser.getUserType());
             return ResponseEntity.ok("User role updated to " + req.userType());
         }
 
@@ -4,11 +4,19 @@ import com.saarthix.jobs.model.User;
 import com.saarthix.jobs.model.UserProfile;
 import com.saarthix.jobs.repository.UserProfileRepository;
 import com.saarthix.jobs.repository.UserRepository;
+import com.saarthix.jobs.service.BlobStore;
+import com.saarthix.jobs.service.ListingFingerprints;
+import com.saarthix.jobs.service.RecommendationStore;
+import com.saarthix.jobs.service.StudentSearchIndex;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,19 +26,31 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
 public class UserProfileController {
 
+    // Attempts at a profile save that keeps losing the race against another save of the same profile
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+
     private final UserProfileRepository userProfileRepository;
     private final UserRepository userRepository;
+    private final StudentSearchIndex studentSearchIndex;
+    private final RecommendationStore recommendationStore;
+    private final BlobStore blobStore;
 
-    public UserProfileController(UserProfileRepository userProfileRepository, UserRepository userRepository) {
+    public UserProfileController(UserProfileRepository userProfileRepository, UserRepository userRepository,
+                                 StudentSearchIndex studentSearchIndex, RecommendationStore recommendationStore,
+                                 BlobStore blobStore) {
         this.userProfileRepository = userProfileRepository;
         this.userRepository = userRepository;
+        this.studentSearchIndex = studentSearchIndex;
+        this.recommendationStore = recommendationStore;
+        this.blobStore = blobStore;
     }
 
     /**
      * Get current user's profile
+     * Answers 304 when If-None-Match / If-Modified-Since show the client already has this revision
      */
     @GetMapping
-    public ResponseEntity<?> getMyProfile(Authentication auth) {
+    public ResponseEntity<?> getMyProfile(Authentication auth, WebRequest request) {
         // Check authentication
         if (auth == null || !auth.isAuthenticated()) {
             return ResponseEntity.status(401).body("Must be logged in to view profile");
@@ -43,7 +63,11 @@ public class UserProfileController {
 
         Optional<UserProfile> profileOpt = userProfileRepository.findByApplicantEmail(user.getEmail());
         if (profileOpt.isPresent()) {
-            return ResponseEntity.ok(profileOpt.get());
+            UserProfile profile = profileOpt.get();
+            if (request.checkNotModified(ListingFingerprints.etagOf(profile), ListingFingerprints.lastModifiedOf(profile))) {
+                return null;
+            }
+            return ResponseEntity.ok(profile);
         } else {
             return ResponseEntity.status(404).body("Profile not found. Please create your profile first.");
         }
@@ -51,10 +75,41 @@ public class UserProfileController {
 
     /**
      * Create or update user profile
+     * Files (resume, picture, certificates) are sent as base64 when new; to keep a stored file, send back
+     * its file ID (resumeFileId, profilePictureFileId, certificationFiles[].fileId). Files left out are deleted.
+     * Answers 409 if overlapping saves of the same profile keep writing it between this save's read and write.
      */
     @PostMapping
     public ResponseEntity<?> saveProfile(@RequestBody Map<String, Object> profileData, Authentication auth) {
+        return saveProfile(profileData, null, null, null, auth);
+    }
+
+    /**
+     * Create or update user profile, uploading new files as parts instead of base64
+     * @param profileData - "profile" part (JSON): the same fields as the JSON endpoint, without base64 files;
+     *                      a certificate with a new file sets fileIndex to its position among the certificates parts
+     * @param resume - "resume" part, if the resume is new
+     * @param profilePicture - "profilePicture" part, if the picture is new
+     * @param certificates - "certificates" parts, the new certificate files
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> saveProfileMultipart(
+            @RequestPart("profile") Map<String, Object> profileData,
+            @RequestPart(value = "resume", required = false) MultipartFile resume,
+            @RequestPart(value = "profilePicture", required = false) MultipartFile profilePicture,
+            @RequestPart(value = "certificates", required = false) List<MultipartFile> certificates,
+            Authentication auth) {
+        return saveProfile(profileData, resume, profilePicture, certificates, auth);
+    }
+
+    private ResponseEntity<?> saveProfile(Map<String, Object> profileData, MultipartFile resumeUpload,
+                                          MultipartFile pictureUpload, List<MultipartFile> certificateUploads,
+                                          Authentication auth) {
         try {
+            // An uploaded part carries the file's own name/type/size
+            describeUpload(profileData, "resume", resumeUpload);
+            describeUpload(profileData, "profilePicture", pictureUpload);
+
             System.out.println("=========================================");
             System.out.println("RECEIVED PROFILE SAVE REQUEST");
             System.out.println("Profile data keys: " + profileData.keySet());
@@ -88,342 +143,69 @@ public class UserProfileController {
                 return ResponseEntity.status(403).body("Only APPLICANT users can create profiles");
             }
 
-            // Check if profile already exists
-            Optional<UserProfile> existingProfileOpt = userProfileRepository.findByApplicantEmail(user.getEmail());
-            UserProfile profile;
-            boolean isNewProfile = !existingProfileOpt.isPresent();
-
-            if (existingProfileOpt.isPresent()) {
-                // Update existing profile
-                profile = existingProfileOpt.get();
-                System.out.println("Updating existing profile with ID: " + profile.getId());
-            } else {
-                // Create new profile
-                profile = new UserProfile();
-                profile.setApplicantEmail(user.getEmail());
-                profile.setApplicantId(user.getId());
-                System.out.println("Creating new profile for user: " + user.getEmail());
-            }
-
-            // Update profile fields - ALWAYS set all fields from request to ensure complete state is saved
-            // Use getOrDefault to handle missing fields gracefully
-            
-            // Basic Information
-            String fullName = (String) profileData.getOrDefault("fullName", "");
-            profile.setFullName(fullName != null ? fullName : "");
-            System.out.println("Full Name set: " + (fullName != null && !fullName.isEmpty() ? fullName : "empty"));
-            
-            String phoneNumber = (String) profileData.getOrDefault("phoneNumber", "");
-            profile.setPhoneNumber(phoneNumber != null ? phoneNumber : "");
-            System.out.println("Phone Number set: " + (phoneNumber != null && !phoneNumber.isEmpty() ? phoneNumber : "empty"));
-            
-            String email = (String) profileData.getOrDefault("email", user.getEmail());
-            profile.setEmail(email != null ? email : user.getEmail());
-            System.out.println("Email set: " + (email != null && !email.isEmpty() ? email : "empty"));
-
-            // Resume information
-            String resumeFileName = (String) profileData.getOrDefault("resumeFileName", "");
-            profile.setResumeFileName(resumeFileName != null ? resumeFileName : "");
-            System.out.println("Resume File Name set: " + (resumeFileName != null && !resumeFileName.isEmpty() ? resumeFileName : "empty"));
-            
-            String resumeFileType = (String) profileData.getOrDefault("resumeFileType", "");
-            profile.setResumeFileType(resumeFileType != null ? resumeFileType : "");
-            
-            String resumeBase64 = (String) profileData.getOrDefault("resumeBase64", "");
-            profile.setResumeBase64(resumeBase64 != null ? resumeBase64 : "");
-            System.out.println("Resume Base64 set: " + (resumeBase64 != null && !resumeBase64.isEmpty() ? resumeBase64.length() + " characters" : "empty"));
-            
-            Object resumeFileSize = profileData.get("resumeFileSize");
-            if (resumeFileSize instanceof Number) {
-                profile.setResumeFileSize(((Number) resumeFileSize).longValue());
-            } else if (resumeFileSize instanceof String) {
-                try {
-                    profile.setResumeFileSize(Long.parseLong((String) resumeFileSize));
-                } catch (NumberFormatException e) {
-                    profile.setResumeFileSize(0L);
-                }
-            } else {
-                profile.setResumeFileSize(0L);
-            }
-
-            // Profile Picture Information
-            String profilePictureFileName = (String) profileData.getOrDefault("profilePictureFileName", "");
-            profile.setProfilePictureFileName(profilePictureFileName != null ? profilePictureFileName : "");
-            System.out.println("Profile Picture File Name set: " + (profilePictureFileName != null && !profilePictureFileName.isEmpty() ? profilePictureFileName : "empty"));
-            
-            String profilePictureFileType = (String) profileData.getOrDefault("profilePictureFileType", "");
-            profile.setProfilePictureFileType(profilePictureFileType != null ? profilePictureFileType : "");
-            
-            String profilePictureBase64 = (String) profileData.getOrDefault("profilePictureBase64", "");
-            profile.setProfilePictureBase64(profilePictureBase64 != null ? profilePictureBase64 : "");
-            System.out.println("Profile Picture Base64 set: " + (profilePictureBase64 != null && !profilePictureBase64.isEmpty() ? profilePictureBase64.length() + " characters" : "empty"));
-            
-            Object profilePictureFileSize = profileData.get("profilePictureFileSize");
-            if (profilePictureFileSize instanceof Number) {
-                profile.setProfilePictureFileSize(((Number) profilePictureFileSize).longValue());
-            } else if (profilePictureFileSize instanceof String) {
-                try {
-                    profile.setProfilePictureFileSize(Long.parseLong((String) profilePictureFileSize));
-                } catch (NumberFormatException e) {
-                    profile.setProfilePictureFileSize(0L);
-                }
-            } else {
-                profile.setProfilePictureFileSize(0L);
-            }
+            // New files are stored once; each attempt below applies them to a fresh read of the profile.
+            // Nothing else references them until a write succeeds, so they are released if the save fails.
+            List<String> newFileIds = new ArrayList<>();
+            List<String> replacedFileIds = new ArrayList<>();
+            UserProfile saved = null;
+            try {
+                NewFiles newFiles = storeNewFiles(profileData, resumeUpload, pictureUpload, certificateUploads, newFileIds);
+                for (int attempt = 1; saved == null; attempt++) {
+                    // Check if profile already exists
+                    Optional<UserProfile> existingProfileOpt = userProfileRepository.findByApplicantEmail(user.getEmail());
+                    UserProfile profile;
+                    boolean isNewProfile = !existingProfileOpt.isPresent();
+
+                    if (existingProfileOpt.isPresent()) {
+                        // Update existing profile
+                        profile = existingProfileOpt.get();
+                        System.out.println("Updating existing profile with ID: " + profile.getId());
+                    } else {
+                        // Create new profile
+                        profile = new UserProfile();
+                        profile.setApplicantEmail(user.getEmail());
+                        profile.setApplicantId(user.getId());
+                        System.out.println("Creating new profile for user: " + user.getEmail());
+                    }
+                    long readRevision = profile.getRevision();
+                    profile.setUserType(user.getUserType());
 
-            // Professional information
-            String currentPosition = (String) profileData.getOrDefault("currentPosition", "");
-            profile.setCurrentPosition(currentPosition != null ? currentPosition : "");
-            System.out.println("Current Position set: " + (currentPosition != null && !currentPosition.isEmpty() ? currentPosition : "empty"));
-            
-            String currentCompany = (String) profileData.getOrDefault("currentCompany", "");
-            profile.setCurrentCompany(currentCompany != null ? currentCompany : "");
-            System.out.println("Current Company set: " + (currentCompany != null && !currentCompany.isEmpty() ? currentCompany : "empty"));
-            
-            String experience = (String) profileData.getOrDefault("experience", "");
-            profile.setExperience(experience != null ? experience : "");
-            System.out.println("Experience set: " + (experience != null && !experience.isEmpty() ? experience : "empty"));
-            
-            // Skills - Always set, even if empty
-            Object skillsObj = profileData.get("skills");
-            if (skillsObj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<String> skillsList = (List<String>) skillsObj;
-                profile.setSkills(skillsList != null ? skillsList : new java.util.ArrayList<>());
-                System.out.println("Skills set: " + (skillsList != null ? skillsList.size() + " items" : "0 items"));
-            } else if (skillsObj instanceof String) {
-                String skillsStr = (String) skillsObj;
-                if (skillsStr != null && !skillsStr.trim().isEmpty()) {
-                    profile.setSkills(List.of(skillsStr.split(",")));
-                } else {
-                    profile.setSkills(new java.util.ArrayList<>());
-                }
-            } else {
-                profile.setSkills(new java.util.ArrayList<>());
-            }
-            
-            String summary = (String) profileData.getOrDefault("summary", "");
-            profile.setSummary(summary != null ? summary : "");
-            System.out.println("Summary set: " + (summary != null && !summary.isEmpty() ? summary.substring(0, Math.min(50, summary.length())) + "..." : "empty"));
-
-            // Location preferences
-            String currentLocation = (String) profileData.getOrDefault("currentLocation", "");
-            profile.setCurrentLocation(currentLocation != null ? currentLocation : "");
-            System.out.println("Current Location set: " + (currentLocation != null && !currentLocation.isEmpty() ? currentLocation : "empty"));
-            
-            String preferredLocation = (String) profileData.getOrDefault("preferredLocation", "");
-            profile.setPreferredLocation(preferredLocation != null ? preferredLocation : "");
-            
-            // Preferred Locations - Always set, even if empty
-            Object preferredLocationsObj = profileData.get("preferredLocations");
-            if (preferredLocationsObj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<String> locationsList = (List<String>) preferredLocationsObj;
-                profile.setPreferredLocations(locationsList != null ? locationsList : new java.util.ArrayList<>());
-                System.out.println("Preferred locations set: " + (locationsList != null ? locationsList.size() + " items" : "0 items"));
-            } else {
-                profile.setPreferredLocations(new java.util.ArrayList<>());
-            }
-            
-            String workPreference = (String) profileData.getOrDefault("workPreference", "Remote");
-            profile.setWorkPreference(workPreference != null ? workPreference : "Remote");
-            System.out.println("Work Preference set: " + workPreference);
-            
-            Object willingToRelocate = profileData.get("willingToRelocate");
-            if (willingToRelocate instanceof Boolean) {
-                profile.setWillingToRelocate((Boolean) willingToRelocate);
-            } else if (willingToRelocate instanceof String) {
-                profile.setWillingToRelocate(Boolean.parseBoolean((String) willingToRelocate));
-            } else {
-                profile.setWillingToRelocate(false);
-            }
+                    // Stored files replaced or removed by this attempt, released once the profile is saved
+                    replacedFileIds.clear();
+                    applyProfileData(profile, profileData, user, newFiles, replacedFileIds);
 
-            // Contact & Links
-            String linkedInUrl = (String) profileData.getOrDefault("linkedInUrl", "");
-            profile.setLinkedInUrl(linkedInUrl != null ? linkedInUrl : "");
-            System.out.println("LinkedIn URL set: " + (linkedInUrl != null && !linkedInUrl.isEmpty() ? linkedInUrl : "empty"));
-            
-            String portfolioUrl = (String) profileData.getOrDefault("portfolioUrl", "");
-            profile.setPortfolioUrl(portfolioUrl != null ? portfolioUrl : "");
-            System.out.println("Portfolio URL set: " + (portfolioUrl != null && !portfolioUrl.isEmpty() ? portfolioUrl : "empty"));
-            
-            String githubUrl = (String) profileData.getOrDefault("githubUrl", "");
-            profile.setGithubUrl(githubUrl != null ? githubUrl : "");
-            System.out.println("GitHub URL set: " + (githubUrl != null && !githubUrl.isEmpty() ? githubUrl : "empty"));
-            
-            String websiteUrl = (String) profileData.getOrDefault("websiteUrl", "");
-            profile.setWebsiteUrl(websiteUrl != null ? websiteUrl : "");
-            System.out.println("Website URL set: " + (websiteUrl != null && !websiteUrl.isEmpty() ? websiteUrl : "empty"));
-
-            // Additional information
-            String availability = (String) profileData.getOrDefault("availability", "Immediately");
-            profile.setAvailability(availability != null ? availability : "Immediately");
-            System.out.println("Availability set: " + availability);
-            
-            String expectedSalary = (String) profileData.getOrDefault("expectedSalary", "");
-            profile.setExpectedSalary(expectedSalary != null ? expectedSalary : "");
-            System.out.println("Expected Salary set: " + (expectedSalary != null && !expectedSalary.isEmpty() ? expectedSalary : "empty"));
-            
-            String coverLetterTemplate = (String) profileData.getOrDefault("coverLetterTemplate", "");
-            profile.setCoverLetterTemplate(coverLetterTemplate != null ? coverLetterTemplate : "");
-            System.out.println("Cover Letter Template set: " + (coverLetterTemplate != null && !coverLetterTemplate.isEmpty() ? coverLetterTemplate.length() + " characters" : "empty"));
-            
-            String education = (String) profileData.getOrDefault("education", "");
-            profile.setEducation(education != null ? education : "");
-            System.out.println("Education set: " + (education != null && !education.isEmpty() ? education : "empty"));
+                    // Update lastUpdated timestamp
+                    profile.setLastUpdated(java.time.LocalDateTime.now());
             
-            String certifications = (String) profileData.getOrDefault("certifications", "");
-            profile.setCertifications(certifications != null ? certifications : "");
-            System.out.println("Certifications set: " + (certifications != null && !certifications.isEmpty() ? certifications : "empty"));
-
-            // Professional Experiences - Always set, even if empty
-            Object professionalExperiencesObj = profileData.get("professionalExperiences");
-            if (professionalExperiencesObj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> experiencesList = (List<Map<String, Object>>) professionalExperiencesObj;
-                List<UserProfile.ProfessionalExperience> experiences = new java.util.ArrayList<>();
-                if (experiencesList != null) {
-                    for (Map<String, Object> expMap : experiencesList) {
-                        UserProfile.ProfessionalExperience exp = new UserProfile.ProfessionalExperience();
-                        exp.setJobTitle((String) expMap.getOrDefault("jobTitle", ""));
-                        exp.setCompany((String) expMap.getOrDefault("company", ""));
-                        exp.setStartDate((String) expMap.getOrDefault("startDate", ""));
-                        exp.setEndDate((String) expMap.getOrDefault("endDate", ""));
-                        Object isCurrentJobObj = expMap.get("isCurrentJob");
-                        if (isCurrentJobObj instanceof Boolean) {
-                            exp.setIsCurrentJob((Boolean) isCurrentJobObj);
-                        } else if (isCurrentJobObj instanceof String) {
-                            exp.setIsCurrentJob(Boolean.parseBoolean((String) isCurrentJobObj));
-                        } else {
-                            exp.setIsCurrentJob(false);
-                        }
-                        exp.setDescription((String) expMap.getOrDefault("description", ""));
-                        experiences.add(exp);
+                    // Set createdAt only for new profiles
+                    if (isNewProfile) {
+                        profile.setCreatedAt(java.time.LocalDateTime.now());
                     }
-                }
-                profile.setProfessionalExperiences(experiences);
-                System.out.println("Professional experiences set: " + experiences.size() + " items");
-            } else {
-                profile.setProfessionalExperiences(new java.util.ArrayList<>());
-            }
-
-            // Education Entries - Always set, even if empty
-            Object educationEntriesObj = profileData.get("educationEntries");
-            if (educationEntriesObj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> educationList = (List<Map<String, Object>>) educationEntriesObj;
-                List<UserProfile.EducationEntry> educationEntries = new java.util.ArrayList<>();
-                if (educationList != null) {
-                    for (Map<String, Object> eduMap : educationList) {
-                        UserProfile.EducationEntry edu = new UserProfile.EducationEntry();
-                        edu.setLevel((String) eduMap.getOrDefault("level", ""));
-                        edu.setDegree((String) eduMap.getOrDefault("degree", ""));
-                        edu.setInstitution((String) eduMap.getOrDefault("institution", ""));
-                        edu.setBoard((String) eduMap.getOrDefault("board", ""));
-                        edu.setPassingYear((String) eduMap.getOrDefault("passingYear", ""));
-                        edu.setPercentage((String) eduMap.getOrDefault("percentage", ""));
-                        edu.setStream((String) eduMap.getOrDefault("stream", ""));
-                        educationEntries.add(edu);
-                    }
-                }
-                profile.setEducationEntries(educationEntries);
-                System.out.println("Education entries set: " + educationEntries.size() + " items");
-            } else {
-                profile.setEducationEntries(new java.util.ArrayList<>());
-            }
 
-            // Certification Files - Always set, even if empty
-            Object certificationFilesObj = profileData.get("certificationFiles");
-            if (certificationFilesObj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> certFilesList = (List<Map<String, Object>>) certificationFilesObj;
-                List<UserProfile.CertificationFile> certificationFiles = new java.util.ArrayList<>();
-                if (certFilesList != null) {
-                    for (Map<String, Object> certMap : certFilesList) {
-                        UserProfile.CertificationFile cert = new UserProfile.CertificationFile();
-                        cert.setName((String) certMap.getOrDefault("name", ""));
-                        cert.setFileName((String) certMap.getOrDefault("fileName", ""));
-                        cert.setFileType((String) certMap.getOrDefault("fileType", ""));
-                        cert.setFileBase64((String) certMap.getOrDefault("fileBase64", ""));
-                        Object fileSizeObj = certMap.get("fileSize");
-                        if (fileSizeObj instanceof Number) {
-                            cert.setFileSize(((Number) fileSizeObj).longValue());
-                        } else if (fileSizeObj instanceof String) {
-                            try {
-                                cert.setFileSize(Long.parseLong((String) fileSizeObj));
-                            } catch (NumberFormatException e) {
-                                cert.setFileSize(0L);
-                            }
-                        } else {
-                            cert.setFileSize(0L);
+                    System.out.println("=========================================");
+                    System.out.println("SAVING COMPLETE PROFILE TO MONGODB");
+                    System.out.println("Collection: user_profiles");
+                    System.out.println("Is New Profile: " + isNewProfile);
+                    System.out.println("=========================================");
+            
+                    saved = writeProfile(profile, isNewProfile, readRevision);
+                    if (saved == null) {
+                        System.err.println("Warning: Profile of " + user.getEmail()
+                                + " was saved by another request meanwhile (attempt " + attempt + ")");
+                        if (attempt == MAX_SAVE_ATTEMPTS) {
+                            newFileIds.forEach(blobStore::release);
+                            return ResponseEntity.status(409).body("Profile was changed by another request. Please try again.");
                         }
-                        cert.setIssuingOrganization((String) certMap.getOrDefault("issuingOrganization", ""));
-                        cert.setIssueDate((String) certMap.getOrDefault("issueDate", ""));
-                        cert.setExpiryDate((String) certMap.getOrDefault("expiryDate", ""));
-                        certificationFiles.add(cert);
                     }
                 }
-                profile.setCertificationFiles(certificationFiles);
-                System.out.println("Certification files set: " + certificationFiles.size() + " items");
-            } else {
-                profile.setCertificationFiles(new java.util.ArrayList<>());
+            } catch (RuntimeException e) {
+                newFileIds.forEach(blobStore::release);
+                throw e;
             }
-
-            // Hobbies - Always set, even if empty
-            Object hobbiesObj = profileData.get("hobbies");
-            if (hobbiesObj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<String> hobbiesList = (List<String>) hobbiesObj;
-                profile.setHobbies(hobbiesList != null ? hobbiesList : new java.util.ArrayList<>());
-                System.out.println("Hobbies set: " + (hobbiesList != null ? hobbiesList.size() + " items" : "0 items"));
-            } else if (hobbiesObj instanceof String) {
-                String hobbiesStr = (String) hobbiesObj;
-                if (hobbiesStr != null && !hobbiesStr.trim().isEmpty()) {
-                    profile.setHobbies(List.of(hobbiesStr.split(",")));
-                } else {
-                    profile.setHobbies(new java.util.ArrayList<>());
-                }
-            } else {
-                profile.setHobbies(new java.util.ArrayList<>());
-            }
-
-            // Projects - Always set, even if empty
-            Object projectsObj = profileData.get("projects");
-            if (projectsObj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> projectsList = (List<Map<String, Object>>) projectsObj;
-                List<UserProfile.Project> projects = new java.util.ArrayList<>();
-                if (projectsList != null) {
-                    for (Map<String, Object> projectMap : projectsList) {
-                        UserProfile.Project project = new UserProfile.Project();
-                        project.setName((String) projectMap.getOrDefault("name", ""));
-                        project.setDescription((String) projectMap.getOrDefault("description", ""));
-                        project.setGithubLink((String) projectMap.getOrDefault("githubLink", ""));
-                        project.setWebsiteLink((String) projectMap.getOrDefault("websiteLink", ""));
-                        projects.add(project);
-                    }
-                }
-                profile.setProjects(projects);
-                System.out.println("Projects set: " + projects.size() + " items");
-            } else {
-                profile.setProjects(new java.util.ArrayList<>());
-            }
-
-            // Update lastUpdated timestamp
-            profile.setLastUpdated(java.time.LocalDateTime.now());
-            
-            // Set createdAt only for new profiles
-            if (isNewProfile) {
-                profile.setCreatedAt(java.time.LocalDateTime.now());
-            }
-
-            System.out.println("=========================================");
-            System.out.println("SAVING COMPLETE PROFILE TO MONGODB");
-            System.out.println("Collection: user_profiles");
-            System.out.println("Is New Profile: " + isNewProfile);
-            System.out.println("=========================================");
-            
-            UserProfile saved = userProfileRepository.save(profile);
+            // Only once the write that dropped them has gone through
+            replacedFileIds.forEach(blobStore::release);
+            studentSearchIndex.index(saved);
+            recommendationStore.profileChanged(saved);
             
             System.out.println("=========================================");
             System.out.println("PROFILE SAVED SUCCESSFULLY TO MONGODB");
@@ -492,6 +274,526 @@ public class UserProfileController {
         return saveProfile(profileData, auth);
     }
 
+    /**
+     * Download the current user's resume
+     */
+    @GetMapping("/resume")
+    public ResponseEntity<?> downloadMyResume(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated()) {
+            return ResponseEntity.status(401).body("Must be logged in to download profile files");
+        }
+        User user = resolveUserFromOAuth(auth);
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not found");
+        }
+
+        UserProfile profile = userProfileRepository.findByApplicantEmail(user.getEmail()).orElse(null);
+        if (profile == null) {
+            return ResponseEntity.status(404).body("Profile not found");
+        }
+        BlobStore.Blob resume = blobStore.open(profile.getResumeFileId(), profile.getResumeBase64(),
+                profile.getResumeFileName(), profile.getResumeFileType());
+        if (resume == null) {
+            return ResponseEntity.status(404).body("Resume not found");
+        }
+        return FileResponses.stream(resume, true, "application/octet-stream");
+    }
+
+    /**
+     * Current user's profile picture, for use as an <img> src
+     */
+    @GetMapping("/picture")
+    public ResponseEntity<?> getMyProfilePicture(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated()) {
+            return ResponseEntity.status(401).body("Must be logged in to download profile files");
+        }
+        User user = resolveUserFromOAuth(auth);
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not found");
+        }
+
+        UserProfile profile = userProfileRepository.findByApplicantEmail(user.getEmail()).orElse(null);
+        if (profile == null) {
+            return ResponseEntity.status(404).body("Profile not found");
+        }
+        BlobStore.Blob picture = blobStore.open(profile.getProfilePictureFileId(), profile.getProfilePictureBase64(),
+                profile.getProfilePictureFileName(), profile.getProfilePictureFileType());
+        if (picture == null) {
+            return ResponseEntity.status(404).body("Profile picture not found");
+        }
+        return FileResponses.stream(picture, false, "image/jpeg");
+    }
+
+    /**
+     * Download one of the current user's certificate files
+     * @param fileId - certificationFiles[].fileId
+     */
+    @GetMapping("/certifications/{fileId}")
+    public ResponseEntity<?> downloadMyCertificate(@PathVariable String fileId, Authentication auth) {
+        if (auth == null || !auth.isAuthenticated()) {
+            return ResponseEntity.status(401).body("Must be logged in to download profile files");
+        }
+        User user = resolveUserFromOAuth(auth);
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not found");
+        }
+
+        UserProfile profile = userProfileRepository.findByApplicantEmail(user.getEmail()).orElse(null);
+        if (profile == null || profile.getCertificationFiles() == null) {
+            return ResponseEntity.status(404).body("Certificate not found");
+        }
+        return profile.getCertificationFiles().stream()
+                .filter(cert -> fileId.equals(cert.getFileId()))
+                .findFirst()
+                .map(cert -> blobStore.open(cert.getFileId(), null, cert.getFileName(), cert.getFileType()))
+                .<ResponseEntity<?>>map(certificate -> FileResponses.stream(certificate, true, "application/octet-stream"))
+                .orElseGet(() -> ResponseEntity.status(404).body("Certificate not found"));
+    }
+
+    /**
+     * Apply the fields of a profile save to a profile read from the database
+     * @param newFiles - Files stored for this save (see storeNewFiles)
+     * @param replacedFileIds - Receives the IDs of stored files the save replaces or removes
+     */
+    private void applyProfileData(UserProfile profile, Map<String, Object> profileData, User user, NewFiles newFiles,
+                                  List<String> replacedFileIds) {
+        // Update profile fields - ALWAYS set all fields from request to ensure complete state is saved
+        // Use getOrDefault to handle missing fields gracefully
+        
+        // Basic Information
+        String fullName = (String) profileData.getOrDefault("fullName", "");
+        profile.setFullName(fullName != null ? fullName : "");
+        System.out.println("Full Name set: " + (fullName != null && !fullName.isEmpty() ? fullName : "empty"));
+        
+        String phoneNumber = (String) profileData.getOrDefault("phoneNumber", "");
+        profile.setPhoneNumber(phoneNumber != null ? phoneNumber : "");
+        System.out.println("Phone Number set: " + (phoneNumber != null && !phoneNumber.isEmpty() ? phoneNumber : "empty"));
+        
+        String email = (String) profileData.getOrDefault("email", user.getEmail());
+        profile.setEmail(email != null ? email : user.getEmail());
+        System.out.println("Email set: " + (email != null && !email.isEmpty() ? email : "empty"));
+
+        // Resume information
+        String resumeFileName = (String) profileData.getOrDefault("resumeFileName", "");
+        profile.setResumeFileName(resumeFileName != null ? resumeFileName : "");
+        System.out.println("Resume File Name set: " + (resumeFileName != null && !resumeFileName.isEmpty() ? resumeFileName : "empty"));
+        
+        String resumeFileType = (String) profileData.getOrDefault("resumeFileType", "");
+        profile.setResumeFileType(resumeFileType != null ? resumeFileType : "");
+        
+        profile.setResumeFileId(updateFile(profile.getResumeFileId(), newFiles.resumeId(), profileData.get("resumeFileId"),
+                replacedFileIds));
+        if (profile.getResumeFileId() != null) {
+            profile.setResumeBase64(null);
+        }
+        System.out.println("Resume file set: " + (profile.getResumeFileId() != null ? profile.getResumeFileId() : "none"));
+        
+        Object resumeFileSize = profileData.get("resumeFileSize");
+        if (resumeFileSize instanceof Number) {
+            profile.setResumeFileSize(((Number) resumeFileSize).longValue());
+        } else if (resumeFileSize instanceof String) {
+            try {
+                profile.setResumeFileSize(Long.parseLong((String) resumeFileSize));
+            } catch (NumberFormatException e) {
+                profile.setResumeFileSize(0L);
+            }
+        } else {
+            profile.setResumeFileSize(0L);
+        }
+
+        // Profile Picture Information
+        String profilePictureFileName = (String) profileData.getOrDefault("profilePictureFileName", "");
+        profile.setProfilePictureFileName(profilePictureFileName != null ? profilePictureFileName : "");
+        System.out.println("Profile Picture File Name set: " + (profilePictureFileName != null && !profilePictureFileName.isEmpty() ? profilePictureFileName : "empty"));
+        
+        String profilePictureFileType = (String) profileData.getOrDefault("profilePictureFileType", "");
+        profile.setProfilePictureFileType(profilePictureFileType != null ? profilePictureFileType : "");
+        
+        profile.setProfilePictureFileId(updateFile(profile.getProfilePictureFileId(), newFiles.pictureId(),
+                profileData.get("profilePictureFileId"), replacedFileIds));
+        if (profile.getProfilePictureFileId() != null) {
+            profile.setProfilePictureBase64(null);
+        }
+        System.out.println("Profile Picture file set: " + (profile.getProfilePictureFileId() != null ? profile.getProfilePictureFileId() : "none"));
+        
+        Object profilePictureFileSize = profileData.get("profilePictureFileSize");
+        if (profilePictureFileSize instanceof Number) {
+            profile.setProfilePictureFileSize(((Number) profilePictureFileSize).longValue());
+        } else if (profilePictureFileSize instanceof String) {
+            try {
+                profile.setProfilePictureFileSize(Long.parseLong((String) profilePictureFileSize));
+            } catch (NumberFormatException e) {
+                profile.setProfilePictureFileSize(0L);
+            }
+        } else {
+            profile.setProfilePictureFileSize(0L);
+        }
+
+        // Professional information
+        String currentPosition = (String) profileData.getOrDefault("currentPosition", "");
+        profile.setCurrentPosition(currentPosition != null ? currentPosition : "");
+        System.out.println("Current Position set: " + (currentPosition != null && !currentPosition.isEmpty() ? currentPosition : "empty"));
+        
+        String currentCompany = (String) profileData.getOrDefault("currentCompany", "");
+        profile.setCurrentCompany(currentCompany != null ? currentCompany : "");
+        System.out.println("Current Company set: " + (currentCompany != null && !currentCompany.isEmpty() ? currentCompany : "empty"));
+        
+        String experience = (String) profileData.getOrDefault("experience", "");
+        profile.setExperience(experience != null ? experience : "");
+        System.out.println("Experience set: " + (experience != null && !experience.isEmpty() ? experience : "empty"));
+        
+        // Skills - Always set, even if empty
+        Object skillsObj = profileData.get("skills");
+        if (skillsObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<String> skillsList = (List<String>) skillsObj;
+            profile.setSkills(skillsList != null ? skillsList : new java.util.ArrayList<>());
+            System.out.println("Skills set: " + (skillsList != null ? skillsList.size() + " items" : "0 items"));
+        } else if (skillsObj instanceof String) {
+            String skillsStr = (String) skillsObj;
+            if (skillsStr != null && !skillsStr.trim().isEmpty()) {
+                profile.setSkills(List.of(skillsStr.split(",")));
+            } else {
+                profile.setSkills(new java.util.ArrayList<>());
+            }
+        } else {
+            profile.setSkills(new java.util.ArrayList<>());
+        }
+        
+        String summary = (String) profileData.getOrDefault("summary", "");
+        profile.setSummary(summary != null ? summary : "");
+        System.out.println("Summary set: " + (summary != null && !summary.isEmpty() ? summary.substring(0, Math.min(50, summary.length())) + "..." : "empty"));
+
+        // Location preferences
+        String currentLocation = (String) profileData.getOrDefault("currentLocation", "");
+        profile.setCurrentLocation(currentLocation != null ? currentLocation : "");
+        System.out.println("Current Location set: " + (currentLocation != null && !currentLocation.isEmpty() ? currentLocation : "empty"));
+        
+        String preferredLocation = (String) profileData.getOrDefault("preferredLocation", "");
+        profile.setPreferredLocation(preferredLocation != null ? preferredLocation : "");
+        
+        // Preferred Locations - Always set, even if empty
+        Object preferredLocationsObj = profileData.get("preferredLocations");
+        if (preferredLocationsObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<String> locationsList = (List<String>) preferredLocationsObj;
+            profile.setPreferredLocations(locationsList != null ? locationsList : new java.util.ArrayList<>());
+            System.out.println("Preferred locations set: " + (locationsList != null ? locationsList.size() + " items" : "0 items"));
+        } else {
+            profile.setPreferredLocations(new java.util.ArrayList<>());
+        }
+        
+        String workPreference = (String) profileData.getOrDefault("workPreference", "Remote");
+        profile.setWorkPreference(workPreference != null ? workPreference : "Remote");
+        System.out.println("Work Preference set: " + workPreference);
+        
+        Object willingToRelocate = profileData.get("willingToRelocate");
+        if (willingToRelocate instanceof Boolean) {
+            profile.setWillingToRelocate((Boolean) willingToRelocate);
+        } else if (willingToRelocate instanceof String) {
+            profile.setWillingToRelocate(Boolean.parseBoolean((String) willingToRelocate));
+        } else {
+            profile.setWillingToRelocate(false);
+        }
+
+        // Contact & Links
+        String linkedInUrl = (String) profileData.getOrDefault("linkedInUrl", "");
+        profile.setLinkedInUrl(linkedInUrl != null ? linkedInUrl : "");
+        System.out.println("LinkedIn URL set: " + (linkedInUrl != null && !linkedInUrl.isEmpty() ? linkedInUrl : "empty"));
+        
+        String portfolioUrl = (String) profileData.getOrDefault("portfolioUrl", "");
+        profile.setPortfolioUrl(portfolioUrl != null ? portfolioUrl : "");
+        System.out.println("Portfolio URL set: " + (portfolioUrl != null && !portfolioUrl.isEmpty() ? portfolioUrl : "empty"));
+        
+        String githubUrl = (String) profileData.getOrDefault("githubUrl", "");
+        profile.setGithubUrl(githubUrl != null ? githubUrl : "");
+        System.out.println("GitHub URL set: " + (githubUrl != null && !githubUrl.isEmpty() ? githubUrl : "empty"));
+        
+        String websiteUrl = (String) profileData.getOrDefault("websiteUrl", "");
+        profile.setWebsiteUrl(websiteUrl != null ? websiteUrl : "");
+        System.out.println("Website URL set: " + (websiteUrl != null && !websiteUrl.isEmpty() ? websiteUrl : "empty"));
+
+        // Additional information
+        String availability = (String) profileData.getOrDefault("availability", "Immediately");
+        profile.setAvailability(availability != null ? availability : "Immediately");
+        System.out.println("Availability set: " + availability);
+        
+        String expectedSalary = (String) profileData.getOrDefault("expectedSalary", "");
+        profile.setExpectedSalary(expectedSalary != null ? expectedSalary : "");
+        System.out.println("Expected Salary set: " + (expectedSalary != null && !expectedSalary.isEmpty() ? expectedSalary : "empty"));
+        
+        String coverLetterTemplate = (String) profileData.getOrDefault("coverLetterTemplate", "");
+        profile.setCoverLetterTemplate(coverLetterTemplate != null ? coverLetterTemplate : "");
+        System.out.println("Cover Letter Template set: " + (coverLetterTemplate != null && !coverLetterTemplate.isEmpty() ? coverLetterTemplate.length() + " characters" : "empty"));
+        
+        String education = (String) profileData.getOrDefault("education", "");
+        profile.setEducation(education != null ? education : "");
+        System.out.println("Education set: " + (education != null && !education.isEmpty() ? education : "empty"));
+        
+        String certifications = (String) profileData.getOrDefault("certifications", "");
+        profile.setCertifications(certifications != null ? certifications : "");
+        System.out.println("Certifications set: " + (certifications != null && !certifications.isEmpty() ? certifications : "empty"));
+
+        // Professional Experiences - Always set, even if empty
+        Object professionalExperiencesObj = profileData.get("professionalExperiences");
+        if (professionalExperiencesObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> experiencesList = (List<Map<String, Object>>) professionalExperiencesObj;
+            List<UserProfile.ProfessionalExperience> experiences = new java.util.ArrayList<>();
+            if (experiencesList != null) {
+                for (Map<String, Object> expMap : experiencesList) {
+                    UserProfile.ProfessionalExperience exp = new UserProfile.ProfessionalExperience();
+                    exp.setJobTitle((String) expMap.getOrDefault("jobTitle", ""));
+                    exp.setCompany((String) expMap.getOrDefault("company", ""));
+                    exp.setStartDate((String) expMap.getOrDefault("startDate", ""));
+                    exp.setEndDate((String) expMap.getOrDefault("endDate", ""));
+                    Object isCurrentJobObj = expMap.get("isCurrentJob");
+                    if (isCurrentJobObj instanceof Boolean) {
+                        exp.setIsCurrentJob((Boolean) isCurrentJobObj);
+                    } else if (isCurrentJobObj instanceof String) {
+                        exp.setIsCurrentJob(Boolean.parseBoolean((String) isCurrentJobObj));
+                    } else {
+                        exp.setIsCurrentJob(false);
+                    }
+                    exp.setDescription((String) expMap.getOrDefault("description", ""));
+                    experiences.add(exp);
+                }
+            }
+            profile.setProfessionalExperiences(experiences);
+            System.out.println("Professional experiences set: " + experiences.size() + " items");
+        } else {
+            profile.setProfessionalExperiences(new java.util.ArrayList<>());
+        }
+
+        // Education Entries - Always set, even if empty
+        Object educationEntriesObj = profileData.get("educationEntries");
+        if (educationEntriesObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> educationList = (List<Map<String, Object>>) educationEntriesObj;
+            List<UserProfile.EducationEntry> educationEntries = new java.util.ArrayList<>();
+            if (educationList != null) {
+                for (Map<String, Object> eduMap : educationList) {
+                    UserProfile.EducationEntry edu = new UserProfile.EducationEntry();
+                    edu.setLevel((String) eduMap.getOrDefault("level", ""));
+                    edu.setDegree((String) eduMap.getOrDefault("degree", ""));
+                    edu.setInstitution((String) eduMap.getOrDefault("institution", ""));
+                    edu.setBoard((String) eduMap.getOrDefault("board", ""));
+                    edu.setPassingYear((String) eduMap.getOrDefault("passingYear", ""));
+                    edu.setPercentage((String) eduMap.getOrDefault("percentage", ""));
+                    edu.setStream((String) eduMap.getOrDefault("stream", ""));
+                    educationEntries.add(edu);
+                }
+            }
+            profile.setEducationEntries(educationEntries);
+            System.out.println("Education entries set: " + educationEntries.size() + " items");
+        } else {
+            profile.setEducationEntries(new java.util.ArrayList<>());
+        }
+
+        // Certification Files - Always set, even if empty
+        Object certificationFilesObj = profileData.get("certificationFiles");
+        // A list, not a set: two certificates with the same content hold one reference each
+        List<String> currentCertificateIds = new ArrayList<>();
+        if (profile.getCertificationFiles() != null) {
+            profile.getCertificationFiles().stream()
+                    .map(UserProfile.CertificationFile::getFileId)
+                    .filter(java.util.Objects::nonNull)
+                    .forEach(currentCertificateIds::add);
+        }
+        if (certificationFilesObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> certFilesList = (List<Map<String, Object>>) certificationFilesObj;
+            List<UserProfile.CertificationFile> certificationFiles = new java.util.ArrayList<>();
+            if (certFilesList != null) {
+                for (int i = 0; i < certFilesList.size(); i++) {
+                    Map<String, Object> certMap = certFilesList.get(i);
+                    UserProfile.CertificationFile cert = new UserProfile.CertificationFile();
+                    cert.setName((String) certMap.getOrDefault("name", ""));
+                    cert.setFileName((String) certMap.getOrDefault("fileName", ""));
+                    cert.setFileType((String) certMap.getOrDefault("fileType", ""));
+                    String newFileId = newFiles.certificateIds().get(i);
+                    Object fileId = certMap.get("fileId");
+                    if (newFileId != null) {
+                        cert.setFileId(newFileId);
+                    } else if (fileId instanceof String id && currentCertificateIds.remove(id)) {
+                        cert.setFileId(id);
+                    }
+                    Object fileSizeObj = certMap.get("fileSize");
+                    if (fileSizeObj instanceof Number) {
+                        cert.setFileSize(((Number) fileSizeObj).longValue());
+                    } else if (fileSizeObj instanceof String) {
+                        try {
+                            cert.setFileSize(Long.parseLong((String) fileSizeObj));
+                        } catch (NumberFormatException e) {
+                            cert.setFileSize(0L);
+                        }
+                    } else {
+                        cert.setFileSize(0L);
+                    }
+                    cert.setIssuingOrganization((String) certMap.getOrDefault("issuingOrganization", ""));
+                    cert.setIssueDate((String) certMap.getOrDefault("issueDate", ""));
+                    cert.setExpiryDate((String) certMap.getOrDefault("expiryDate", ""));
+                    certificationFiles.add(cert);
+                }
+            }
+            profile.setCertificationFiles(certificationFiles);
+            System.out.println("Certification files set: " + certificationFiles.size() + " items");
+        } else {
+            profile.setCertificationFiles(new java.util.ArrayList<>());
+        }
+        replacedFileIds.addAll(currentCertificateIds);
+
+        // Hobbies - Always set, even if empty
+        Object hobbiesObj = profileData.get("hobbies");
+        if (hobbiesObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<String> hobbiesList = (List<String>) hobbiesObj;
+            profile.setHobbies(hobbiesList != null ? hobbiesList : new java.util.ArrayList<>());
+            System.out.println("Hobbies set: " + (hobbiesList != null ? hobbiesList.size() + " items" : "0 items"));
+        } else if (hobbiesObj instanceof String) {
+            String hobbiesStr = (String) hobbiesObj;
+            if (hobbiesStr != null && !hobbiesStr.trim().isEmpty()) {
+                profile.setHobbies(List.of(hobbiesStr.split(",")));
+            } else {
+                profile.setHobbies(new java.util.ArrayList<>());
+            }
+        } else {
+            profile.setHobbies(new java.util.ArrayList<>());
+        }
+
+        // Projects - Always set, even if empty
+        Object projectsObj = profileData.get("projects");
+        if (projectsObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> projectsList = (List<Map<String, Object>>) projectsObj;
+            List<UserProfile.Project> projects = new java.util.ArrayList<>();
+            if (projectsList != null) {
+                for (Map<String, Object> projectMap : projectsList) {
+                    UserProfile.Project project = new UserProfile.Project();
+                    project.setName((String) projectMap.getOrDefault("name", ""));
+                    project.setDescription((String) projectMap.getOrDefault("description", ""));
+                    project.setGithubLink((String) projectMap.getOrDefault("githubLink", ""));
+                    project.setWebsiteLink((String) projectMap.getOrDefault("websiteLink", ""));
+                    projects.add(project);
+                }
+            }
+            profile.setProjects(projects);
+            System.out.println("Projects set: " + projects.size() + " items");
+        } else {
+            profile.setProjects(new java.util.ArrayList<>());
+        }
+    }
+
+    /**
+     * Files newly stored for one profile save
+     * @param certificateIds - Per entry of the request's certificationFiles, the new file's ID or null
+     */
+    private record NewFiles(String resumeId, String pictureId, List<String> certificateIds) {}
+
+    /**
+     * Store the files a profile save sends new, as upload parts or base64
+     * @param newFileIds - Receives each file's ID as soon as it is stored, so a failure part way through can release them
+     */
+    private NewFiles storeNewFiles(Map<String, Object> profileData, MultipartFile resumeUpload,
+                                   MultipartFile pictureUpload, List<MultipartFile> certificateUploads,
+                                   List<String> newFileIds) {
+        String resumeId = track(storeNewFile(resumeUpload, (String) profileData.get("resumeBase64"),
+                (String) profileData.get("resumeFileName"), (String) profileData.get("resumeFileType")), newFileIds);
+        String pictureId = track(storeNewFile(pictureUpload, (String) profileData.get("profilePictureBase64"),
+                (String) profileData.get("profilePictureFileName"), (String) profileData.get("profilePictureFileType")),
+                newFileIds);
+
+        List<String> certificateIds = new ArrayList<>();
+        if (profileData.get("certificationFiles") instanceof List<?> certFilesList) {
+            for (Object entry : certFilesList) {
+                String certificateId = null;
+                if (entry instanceof Map<?, ?>) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> certMap = (Map<String, Object>) entry;
+                    MultipartFile certUpload = null;
+                    if (certMap.get("fileIndex") instanceof Number index && certificateUploads != null
+                            && index.intValue() >= 0 && index.intValue() < certificateUploads.size()) {
+                        certUpload = certificateUploads.get(index.intValue());
+                        certMap.put("fileName", certUpload.getOriginalFilename());
+                        certMap.put("fileType", certUpload.getContentType());
+                        certMap.put("fileSize", certUpload.getSize());
+                    }
+                    certificateId = track(storeNewFile(certUpload, (String) certMap.get("fileBase64"),
+                            (String) certMap.get("fileName"), (String) certMap.get("fileType")), newFileIds);
+                }
+                certificateIds.add(certificateId);
+            }
+        }
+        return new NewFiles(resumeId, pictureId, certificateIds);
+    }
+
+    private static String track(String fileId, List<String> newFileIds) {
+        if (fileId != null) {
+            newFileIds.add(fileId);
+        }
+        return fileId;
+    }
+
+    /**
+     * Write a profile save. An existing profile is only replaced if no other save has written it since it was
+     * read, so two overlapping saves can never both release the file they both replaced.
+     * @param readRevision - Revision of the profile when it was read
+     * @return The saved profile, or null if another save got there first
+     */
+    private UserProfile writeProfile(UserProfile profile, boolean isNewProfile, long readRevision) {
+        if (isNewProfile) {
+            return userProfileRepository.save(profile);
+        }
+        return userProfileRepository.replaceIfUnchanged(profile, readRevision) ? profile : null;
+    }
+
+    /**
+     * Store a file of a profile save, sent either as an upload part or as base64
+     * @return File ID, or null if no new file was sent
+     */
+    private String storeNewFile(MultipartFile upload, String base64, String fileName, String fileType) {
+        if (upload != null && !upload.isEmpty()) {
+            return blobStore.store(upload);
+        }
+        return blobStore.storeBase64(base64, fileName, fileType);
+    }
+
+    /**
+     * Copy an uploaded part's name/type/size into the request fields <prefix>FileName/FileType/FileSize
+     */
+    private static void describeUpload(Map<String, Object> profileData, String prefix, MultipartFile upload) {
+        if (upload == null || upload.isEmpty()) {
+            return;
+        }
+        profileData.put(prefix + "FileName", upload.getOriginalFilename());
+        profileData.put(prefix + "FileType", upload.getContentType());
+        profileData.put(prefix + "FileSize", upload.getSize());
+    }
+
+    /**
+     * Apply a file field of a profile save
+     * @param currentId - File ID currently on the profile
+     * @param newId - ID of a newly stored file, if any
+     * @param keptId - File ID the client sent back to keep the current file
+     * @param replacedFileIds - Receives the current file ID if it is replaced or removed
+     * @return File ID to store on the profile
+     */
+    private String updateFile(String currentId, String newId, Object keptId, List<String> replacedFileIds) {
+        if (newId != null) {
+            if (currentId != null) {
+                replacedFileIds.add(currentId);
+            }
+            return newId;
+        }
+        if (currentId != null && currentId.equals(keptId)) {
+            return currentId;
+        }
+        if (currentId != null) {
+            replacedFileIds.add(currentId);
+        }
+        return null;
+    }
+
     /**
      * Helper method to extract user from OAuth2 principal
      */
@@ -1,16 +1,22 @@
 package com.saarthix.jobs.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Document(collection = "all_applied_jobs")
+@CompoundIndex(name = "job_applicant", def = "{'jobId': 1, 'applicantEmail': 1}", unique = true)
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Application {
     @Id
     private String id;
     private String jobId;
+    @Indexed
     private String applicantEmail;
     private String applicantId;  // User ID
     private String jobTitle;
@@ -27,13 +33,32 @@ public class Application {
     private String coverLetter;
     private String resumeFileName;
     private String resumeFileType;  // e.g., "application/pdf", "application/msword"
-    private String resumeBase64;    // Base64 encoded resume file
+    private String resumeFileId;    // GridFS file holding the resume (see BlobStore)
+    @JsonIgnore
+    private String resumeBase64;    // Legacy inline resume; FileBlobMigration moves it to GridFS
     private Long resumeFileSize;    // File size in bytes
     private String linkedInUrl;
     private String portfolioUrl;
     private String experience;      // Years of experience
     private String availability;    // e.g., "Immediately", "2 weeks notice", etc.
 
+    // Outbox: side effects of creating the application that have not run yet, written in the same insert
+    // (see ApplicationOutbox). All three fields are unset once every effect has run.
+    @JsonIgnore
+    private List<Effect> pendingEffects;
+    @JsonIgnore
+    private Integer outboxAttempts;     // Failed dispatch rounds so far
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private LocalDateTime outboxDueAt;  // When the dispatcher should next run the pending effects
+
+    // Side effects of a new application
+    public enum Effect {
+        RESUME_AND_DETAILS,     // Copy into resume_and_details
+        NOTIFY_INDUSTRY,        // Notification for the job's industry user
+        CONFIRMATION_EMAIL      // Confirmation email to the applicant
+    }
+
     // Getters and setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -87,6 +112,9 @@ public class Application {
     public String getResumeFileType() { return resumeFileType; }
     public void setResumeFileType(String resumeFileType) { this.resumeFileType = resumeFileType; }
 
+    public String getResumeFileId() { return resumeFileId; }
+    public void setResumeFileId(String resumeFileId) { this.resumeFileId = resumeFileId; }
+
     public String getResumeBase64() { return resumeBase64; }
     public void setResumeBase64(String resumeBase64) { this.resumeBase64 = resumeBase64; }
 
@@ -104,5 +132,14 @@ public class Application {
 
     public String getAvailability() { return availability; }
     public void setAvailability(String availability) { this.availability = availability; }
+
+    public List<Effect> getPendingEffects() { return pendingEffects; }
+    public void setPendingEffects(List<Effect> pendingEffects) { this.pendingEffects = pendingEffects; }
+
+    public Integer getOutboxAttempts() { return outboxAttempts; }
+    public void setOutboxAttempts(Integer outboxAttempts) { this.outboxAttempts = outboxAttempts; }
+
+    public LocalDateTime getOutboxDueAt() { return outboxDueAt; }
+    public void setOutboxDueAt(LocalDateTime outboxDueAt) { this.outboxDueAt = outboxDueAt; }
 }
 
@@ -2,10 +2,11 @@ package com.saarthix.jobs.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "hackathons")
-public class Hackathon {
+public class Hackathon implements Versioned {
 
     @Id
     private String id;
@@ -49,6 +50,8 @@ public class Hackathon {
     // Metadata
     private String createdByIndustryId;
     private int views;
+    private long revision;                // Bumped on every save; with lastModified, forms the ETag
+    private LocalDateTime lastModified;   // Set on every save (millisecond precision, as stored)
 
     // Constructors
     public Hackathon() {
@@ -231,4 +234,20 @@ public class Hackathon {
     public void setViews(int views) {
         this.views = views;
     }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
 }
@@ -1,20 +1,37 @@
 package com.saarthix.jobs.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "jobs")
+@CompoundIndexes({
+        @CompoundIndex(name = "job_listing", def = "{'active': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "job_industry", def = "{'industry': 1, 'active': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "job_employment_type", def = "{'employmentType': 1, 'active': 1, 'createdAt': -1, '_id': -1}")
+})
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class Job {
+public class Job implements Versioned {
     @Id
     private String id;
+    @TextIndexed(weight = 2)
     private String title;
+    @TextIndexed
     private String description;
     private String company;
     private String location;
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private GeoJsonPoint locationPoint;  // Gazetteer coordinates of location, set on save (null if unknown)
     private String postedBy;
     private String industryId;           // NEW: User ID of the INDUSTRY user who posted
     private String industry;             // Industry type (e.g., Technology, Healthcare, Finance)
@@ -26,6 +43,8 @@ public class Job {
     private Integer yearsOfExperience;   // Required years of experience for this job
     private LocalDateTime createdAt = LocalDateTime.now();
     private boolean active = true;
+    private long revision;                // Bumped on every save; with lastModified, forms the ETag
+    private LocalDateTime lastModified;   // Set on every save (millisecond precision, as stored)
 
     // Getters and setters
     public String getId() { return id; }
@@ -43,6 +62,9 @@ public class Job {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public GeoJsonPoint getLocationPoint() { return locationPoint; }
+    public void setLocationPoint(GeoJsonPoint locationPoint) { this.locationPoint = locationPoint; }
+
     public String getPostedBy() { return postedBy; }
     public void setPostedBy(String postedBy) { this.postedBy = postedBy; }
 
@@ -75,4 +97,10 @@ public class Job {
 
     public Integer getYearsOfExperience() { return yearsOfExperience; }
     public void setYearsOfExperience(Integer yearsOfExperience) { this.yearsOfExperience = yearsOfExperience; }
+
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+    public void setLastModified(LocalDateTime lastModified) { this.lastModified = lastModified; }
 }
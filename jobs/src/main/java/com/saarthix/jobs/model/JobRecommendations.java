@@ -0,0 +1,76 @@
+package com.saarthix.jobs.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An applicant's best job matches, kept up to date by RecommendationStore so
+ * /api/jobs/recommended/jobs doesn't have to rescore every job per request
+ */
+@Document(collection = "job_recommendations")
+@CompoundIndex(name = "matches_job", def = "{'matches.jobId': 1}")  // Lists holding a saved or deleted job
+public class JobRecommendations {
+    @Id
+    private String applicantEmail;
+
+    private List<Match> matches = new ArrayList<>();  // Best first, at most JobService.MAX_RECOMMENDATION_WINDOW
+    private boolean complete;                         // True when matches holds every job scoring above 0
+    @Indexed
+    private double cutoff;                            // Score a job must reach to enter: 0 if complete, else the last match's
+    private int scoringVersion;                       // JobService.SCORING_VERSION the list was scored with
+    private LocalDateTime updatedAt;
+
+    public JobRecommendations() {}
+
+    public JobRecommendations(String applicantEmail, List<Match> matches, boolean complete, int scoringVersion) {
+        this.applicantEmail = applicantEmail;
+        this.matches = matches;
+        this.complete = complete;
+        this.scoringVersion = scoringVersion;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getApplicantEmail() { return applicantEmail; }
+    public void setApplicantEmail(String applicantEmail) { this.applicantEmail = applicantEmail; }
+
+    public List<Match> getMatches() { return matches; }
+    public void setMatches(List<Match> matches) { this.matches = matches; }
+
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+
+    public double getCutoff() { return cutoff; }
+    public void setCutoff(double cutoff) { this.cutoff = cutoff; }
+
+    public int getScoringVersion() { return scoringVersion; }
+    public void setScoringVersion(int scoringVersion) { this.scoringVersion = scoringVersion; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    // Nested class for one scored job
+    public static class Match {
+        @Indexed
+        private String jobId;
+        private double matchPercentage;
+
+        public Match() {}
+
+        public Match(String jobId, double matchPercentage) {
+            this.jobId = jobId;
+            this.matchPercentage = matchPercentage;
+        }
+
+        public String getJobId() { return jobId; }
+        public void setJobId(String jobId) { this.jobId = jobId; }
+
+        public double getMatchPercentage() { return matchPercentage; }
+        public void setMatchPercentage(double matchPercentage) { this.matchPercentage = matchPercentage; }
+    }
+}
@@ -2,6 +2,7 @@ package com.saarthix.jobs.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 
 @Document(collection = "resume_and_details")
@@ -25,7 +26,9 @@ public class ResumeAndDetails {
     // Resume Information
     private String resumeFileName;
     private String resumeFileType;  // e.g., "application/pdf", "application/msword"
-    private String resumeBase64;    // Base64 encoded resume file
+    private String resumeFileId;    // GridFS file holding the resume (see BlobStore)
+    @JsonIgnore
+    private String resumeBase64;    // Legacy inline resume; FileBlobMigration moves it to GridFS
     private Long resumeFileSize;    // File size in bytes
     
     // Additional Information
@@ -77,6 +80,9 @@ public class ResumeAndDetails {
     public String getResumeFileType() { return resumeFileType; }
     public void setResumeFileType(String resumeFileType) { this.resumeFileType = resumeFileType; }
 
+    public String getResumeFileId() { return resumeFileId; }
+    public void setResumeFileId(String resumeFileId) { this.resumeFileId = resumeFileId; }
+
     public String getResumeBase64() { return resumeBase64; }
     public void setResumeBase64(String resumeBase64) { this.resumeBase64 = resumeBase64; }
 
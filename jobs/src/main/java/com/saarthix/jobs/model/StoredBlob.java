@@ -0,0 +1,47 @@
+package com.saarthix.jobs.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * One distinct file content in GridFS, keyed by its SHA-256 so identical uploads are stored once.
+ * Documents reference it by sha256 (their resumeFileId, profilePictureFileId, ...) and BlobStore
+ * deletes the GridFS file when the last reference is released.
+ */
+@Document(collection = "blobs")
+public class StoredBlob {
+    @Id
+    private String sha256;          // Hex SHA-256 of the content; the file ID handed out by BlobStore
+
+    private String gridFsId;        // fs.files _id holding the content
+    private long length;            // Size in bytes
+    private long refCount;          // Documents referencing this content
+    private LocalDateTime createdAt;
+
+    public StoredBlob() {}
+
+    public StoredBlob(String sha256, String gridFsId, long length) {
+        this.sha256 = sha256;
+        this.gridFsId = gridFsId;
+        this.length = length;
+        this.refCount = 1;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public String getGridFsId() { return gridFsId; }
+    public void setGridFsId(String gridFsId) { this.gridFsId = gridFsId; }
+
+    public long getLength() { return length; }
+    public void setLength(long length) { this.length = length; }
+
+    public long getRefCount() { return refCount; }
+    public void setRefCount(long refCount) { this.refCount = refCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -1,20 +1,30 @@
 package com.saarthix.jobs.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "user_profiles")
+@CompoundIndex(name = "student_listing", def = "{'userType': 1, 'lastUpdated': -1, '_id': -1}")
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class UserProfile {
+public class UserProfile implements Versioned {
     @Id
     private String id;
     
     // User Information
+    @Indexed
     private String applicantEmail;
     private String applicantId;
+    private String userType;  // Mirrors users.userType so listings don't need a users lookup per profile
     private String fullName;
     private String phoneNumber;
     private String email;  // Additional email if different
@@ -23,13 +33,17 @@ public class UserProfile {
     // Profile Picture
     private String profilePictureFileName;
     private String profilePictureFileType;
-    private String profilePictureBase64;    // Base64 encoded profile picture
+    private String profilePictureFileId;    // GridFS file holding the picture (see BlobStore)
+    @JsonIgnore
+    private String profilePictureBase64;    // Legacy inline picture; FileBlobMigration moves it to GridFS
     private Long profilePictureFileSize;
     
     // Resume Information
     private String resumeFileName;
     private String resumeFileType;
-    private String resumeBase64;    // Base64 encoded resume file
+    private String resumeFileId;    // GridFS file holding the resume (see BlobStore)
+    @JsonIgnore
+    private String resumeBase64;    // Legacy inline resume; FileBlobMigration moves it to GridFS
     private Long resumeFileSize;
     
     // Professional Information
@@ -44,6 +58,9 @@ public class UserProfile {
     private String currentLocation;
     private List<String> preferredLocations;  // Multiple preferred locations
     private String preferredLocation;  // Keep for backward compatibility
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private List<GeoJsonPoint> preferredLocationPoints;  // Gazetteer coordinates of the match locations, set on save
     private String workPreference;  // Remote, On-site, Hybrid
     private Boolean willingToRelocate;
     
@@ -73,6 +90,12 @@ public class UserProfile {
     // Timestamps
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime lastUpdated = LocalDateTime.now();
+    private long revision;                // Bumped on every save; with lastModified, forms the ETag
+    private LocalDateTime lastModified;   // Set on every save (millisecond precision, as stored)
+
+    // Student database filters
+    @JsonIgnore
+    private FilterValues filterValues;  // Normalized copies of the filtered fields, set on save (see ProfileFilterValues)
 
     // Getters and setters
     public String getId() { return id; }
@@ -84,6 +107,9 @@ public class UserProfile {
     public String getApplicantId() { return applicantId; }
     public void setApplicantId(String applicantId) { this.applicantId = applicantId; }
 
+    public String getUserType() { return userType; }
+    public void setUserType(String userType) { this.userType = userType; }
+
     public String getFullName() { return fullName; }
     public void setFullName(String fullName) { this.fullName = fullName; }
 
@@ -102,6 +128,9 @@ public class UserProfile {
     public String getProfilePictureFileType() { return profilePictureFileType; }
     public void setProfilePictureFileType(String profilePictureFileType) { this.profilePictureFileType = profilePictureFileType; }
 
+    public String getProfilePictureFileId() { return profilePictureFileId; }
+    public void setProfilePictureFileId(String profilePictureFileId) { this.profilePictureFileId = profilePictureFileId; }
+
     public String getProfilePictureBase64() { return profilePictureBase64; }
     public void setProfilePictureBase64(String profilePictureBase64) { this.profilePictureBase64 = profilePictureBase64; }
 
@@ -114,6 +143,9 @@ public class UserProfile {
     public String getResumeFileType() { return resumeFileType; }
     public void setResumeFileType(String resumeFileType) { this.resumeFileType = resumeFileType; }
 
+    public String getResumeFileId() { return resumeFileId; }
+    public void setResumeFileId(String resumeFileId) { this.resumeFileId = resumeFileId; }
+
     public String getResumeBase64() { return resumeBase64; }
     public void setResumeBase64(String resumeBase64) { this.resumeBase64 = resumeBase64; }
 
@@ -144,6 +176,9 @@ public class UserProfile {
     public List<String> getPreferredLocations() { return preferredLocations; }
     public void setPreferredLocations(List<String> preferredLocations) { this.preferredLocations = preferredLocations; }
 
+    public List<GeoJsonPoint> getPreferredLocationPoints() { return preferredLocationPoints; }
+    public void setPreferredLocationPoints(List<GeoJsonPoint> preferredLocationPoints) { this.preferredLocationPoints = preferredLocationPoints; }
+
     public String getWorkPreference() { return workPreference; }
     public void setWorkPreference(String workPreference) { this.workPreference = workPreference; }
 
@@ -198,6 +233,82 @@ public class UserProfile {
     public LocalDateTime getLastUpdated() { return lastUpdated; }
     public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
 
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+    public void setLastModified(LocalDateTime lastModified) { this.lastModified = lastModified; }
+
+    public FilterValues getFilterValues() { return filterValues; }
+    public void setFilterValues(FilterValues filterValues) { this.filterValues = filterValues; }
+
+    // Inner class for the values the student database filters compare against: trimmed and lower-cased
+    // (StudentFilterCriteria.normalize), plus the words of those values (StudentFilterCriteria.tokens).
+    // Filters prefix-match the indexed words, then check the phrase against the values.
+    public static class FilterValues {
+        // Empty constructor for MongoDB
+        public FilterValues() {}
+        private int version;                   // ProfileFilterValues.VERSION these were derived with
+        private List<String> degrees;          // educationEntries.degree
+        private List<String> specializations;  // educationEntries.stream and educationEntries.degree
+        private List<String> skills;
+        private List<String> institutions;     // educationEntries.institution
+        private List<String> locations;        // currentLocation and preferredLocations
+        private String availability;
+        @Indexed
+        private List<String> degreeTokens;
+        @Indexed
+        private List<String> specializationTokens;
+        @Indexed
+        private List<String> skillTokens;
+        @Indexed
+        private List<String> institutionTokens;
+        @Indexed
+        private List<String> locationTokens;
+        @Indexed
+        private List<String> availabilityTokens;
+
+        // Getters and setters
+        public int getVersion() { return version; }
+        public void setVersion(int version) { this.version = version; }
+
+        public List<String> getDegrees() { return degrees; }
+        public void setDegrees(List<String> degrees) { this.degrees = degrees; }
+
+        public List<String> getSpecializations() { return specializations; }
+        public void setSpecializations(List<String> specializations) { this.specializations = specializations; }
+
+        public List<String> getSkills() { return skills; }
+        public void setSkills(List<String> skills) { this.skills = skills; }
+
+        public List<String> getInstitutions() { return institutions; }
+        public void setInstitutions(List<String> institutions) { this.institutions = institutions; }
+
+        public List<String> getLocations() { return locations; }
+        public void setLocations(List<String> locations) { this.locations = locations; }
+
+        public String getAvailability() { return availability; }
+        public void setAvailability(String availability) { this.availability = availability; }
+
+        public List<String> getDegreeTokens() { return degreeTokens; }
+        public void setDegreeTokens(List<String> degreeTokens) { this.degreeTokens = degreeTokens; }
+
+        public List<String> getSpecializationTokens() { return specializationTokens; }
+        public void setSpecializationTokens(List<String> specializationTokens) { this.specializationTokens = specializationTokens; }
+
+        public List<String> getSkillTokens() { return skillTokens; }
+        public void setSkillTokens(List<String> skillTokens) { this.skillTokens = skillTokens; }
+
+        public List<String> getInstitutionTokens() { return institutionTokens; }
+        public void setInstitutionTokens(List<String> institutionTokens) { this.institutionTokens = institutionTokens; }
+
+        public List<String> getLocationTokens() { return locationTokens; }
+        public void setLocationTokens(List<String> locationTokens) { this.locationTokens = locationTokens; }
+
+        public List<String> getAvailabilityTokens() { return availabilityTokens; }
+        public void setAvailabilityTokens(List<String> availabilityTokens) { this.availabilityTokens = availabilityTokens; }
+    }
+
     // Inner class for Professional Experience
     public static class ProfessionalExperience {
         // Empty constructor for MongoDB
@@ -237,6 +348,7 @@ public class UserProfile {
         private String degree;  // "B.Tech", "B.Sc", "M.Tech", etc.
         private String institution;
         private String board;  // For Class 12th
+        @Indexed
         private String passingYear;
         private String percentage;
         private String stream;  // Science, Commerce, Arts, etc.
@@ -271,7 +383,9 @@ public class UserProfile {
         private String name;
         private String fileName;
         private String fileType;
-        private String fileBase64;
+        private String fileId;          // GridFS file holding the certificate (see BlobStore)
+        @JsonIgnore
+        private String fileBase64;      // Legacy inline certificate; FileBlobMigration moves it to GridFS
         private Long fileSize;
         private String issuingOrganization;
         private String issueDate;
@@ -287,6 +401,9 @@ public class UserProfile {
         public String getFileType() { return fileType; }
         public void setFileType(String fileType) { this.fileType = fileType; }
 
+        public String getFileId() { return fileId; }
+        public void setFileId(String fileId) { this.fileId = fileId; }
+
         public String getFileBase64() { return fileBase64; }
         public void setFileBase64(String fileBase64) { this.fileBase64 = fileBase64; }
 
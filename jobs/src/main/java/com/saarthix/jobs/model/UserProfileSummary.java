@@ -0,0 +1,107 @@
+package com.saarthix.jobs.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only projection of a user_profiles document for list views.
+ * Leaves out the base64 resume, picture and certificate payloads; the *Available / has* flags
+ * are computed by MongoDB so the large fields never leave the database.
+ */
+public class UserProfileSummary {
+    private String id;
+    private String applicantEmail;
+    private String applicantId;
+    private String fullName;
+    private String email;
+    private String phoneNumber;
+    private String gender;
+    private List<String> skills;
+    private String experience;
+    private String currentLocation;
+    private List<String> preferredLocations;
+    private String workPreference;
+    private String availability;
+    private String linkedInUrl;
+    private List<UserProfile.EducationEntry> educationEntries;
+    private String resumeFileName;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdated;
+
+    // Computed by the projection
+    private boolean resumeAvailable;
+    private boolean profilePictureAvailable;
+    private boolean hasSummary;
+    private boolean hasProfessionalExperiences;
+    private boolean hasProjects;
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getApplicantEmail() { return applicantEmail; }
+    public void setApplicantEmail(String applicantEmail) { this.applicantEmail = applicantEmail; }
+
+    public String getApplicantId() { return applicantId; }
+    public void setApplicantId(String applicantId) { this.applicantId = applicantId; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+
+    public List<String> getSkills() { return skills; }
+    public void setSkills(List<String> skills) { this.skills = skills; }
+
+    public String getExperience() { return experience; }
+    public void setExperience(String experience) { this.experience = experience; }
+
+    public String getCurrentLocation() { return currentLocation; }
+    public void setCurrentLocation(String currentLocation) { this.currentLocation = currentLocation; }
+
+    public List<String> getPreferredLocations() { return preferredLocations; }
+    public void setPreferredLocations(List<String> preferredLocations) { this.preferredLocations = preferredLocations; }
+
+    public String getWorkPreference() { return workPreference; }
+    public void setWorkPreference(String workPreference) { this.workPreference = workPreference; }
+
+    public String getAvailability() { return availability; }
+    public void setAvailability(String availability) { this.availability = availability; }
+
+    public String getLinkedInUrl() { return linkedInUrl; }
+    public void setLinkedInUrl(String linkedInUrl) { this.linkedInUrl = linkedInUrl; }
+
+    public List<UserProfile.EducationEntry> getEducationEntries() { return educationEntries; }
+    public void setEducationEntries(List<UserProfile.EducationEntry> educationEntries) { this.educationEntries = educationEntries; }
+
+    public String getResumeFileName() { return resumeFileName; }
+    public void setResumeFileName(String resumeFileName) { this.resumeFileName = resumeFileName; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+
+    public boolean isResumeAvailable() { return resumeAvailable; }
+    public void setResumeAvailable(boolean resumeAvailable) { this.resumeAvailable = resumeAvailable; }
+
+    public boolean isProfilePictureAvailable() { return profilePictureAvailable; }
+    public void setProfilePictureAvailable(boolean profilePictureAvailable) { this.profilePictureAvailable = profilePictureAvailable; }
+
+    public boolean isHasSummary() { return hasSummary; }
+    public void setHasSummary(boolean hasSummary) { this.hasSummary = hasSummary; }
+
+    public boolean isHasProfessionalExperiences() { return hasProfessionalExperiences; }
+    public void setHasProfessionalExperiences(boolean hasProfessionalExperiences) { this.hasProfessionalExperiences = hasProfessionalExperiences; }
+
+    public boolean isHasProjects() { return hasProjects; }
+    public void setHasProjects(boolean hasProjects) { this.hasProjects = hasProjects; }
+}
@@ -0,0 +1,18 @@
+package com.saarthix.jobs.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Documents whose revision and lastModified are stamped on every save (see RevisionStamper),
+ * so GET endpoints can answer If-None-Match / If-Modified-Since without resending them.
+ */
+public interface Versioned {
+
+    String getId();
+
+    long getRevision();
+    void setRevision(long revision);
+
+    LocalDateTime getLastModified();
+    void setLastModified(LocalDateTime lastModified);
+}
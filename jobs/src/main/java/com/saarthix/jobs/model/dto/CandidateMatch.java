@@ -0,0 +1,6 @@
+package com.saarthix.jobs.model.dto;
+
+/**
+ * A candidate student and how well they match a job (0-100)
+ */
+public record CandidateMatch(StudentSummaryDto student, double matchPercentage) {}
@@ -0,0 +1,8 @@
+package com.saarthix.jobs.model.dto;
+
+import com.saarthix.jobs.model.Job;
+
+/**
+ * A recommended job and how well it matches the applicant (0-100)
+ */
+public record JobMatch(Job job, double matchPercentage) {}
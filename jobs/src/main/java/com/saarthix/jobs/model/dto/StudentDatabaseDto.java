@@ -13,7 +13,7 @@ public class StudentDatabaseDto {
     private String email;  // Hidden for FREE users
     private String phoneNumber;  // Hidden for FREE users
     private String gender;  // Gender
-    private String profilePictureBase64;
+    private Boolean profilePictureAvailable;  // Picture is served by GET /api/students/{studentId}/picture
     
     // Education info
     private String degree;
@@ -51,7 +51,6 @@ public class StudentDatabaseDto {
     // Resume info (controlled access)
     private String resumeFileName;
     private Boolean resumeAvailable;
-    private String resumeBase64;  // Only for PAID users, blurred for FREE
     
     // Profile completeness
     private Integer profileCompletenessScore;
@@ -82,8 +81,8 @@ public class StudentDatabaseDto {
     public String getGender() { return gender; }
     public void setGender(String gender) { this.gender = gender; }
     
-    public String getProfilePictureBase64() { return profilePictureBase64; }
-    public void setProfilePictureBase64(String profilePictureBase64) { this.profilePictureBase64 = profilePictureBase64; }
+    public Boolean getProfilePictureAvailable() { return profilePictureAvailable; }
+    public void setProfilePictureAvailable(Boolean profilePictureAvailable) { this.profilePictureAvailable = profilePictureAvailable; }
     
     public String getDegree() { return degree; }
     public void setDegree(String degree) { this.degree = degree; }
@@ -154,8 +153,6 @@ public class StudentDatabaseDto {
     public Boolean getResumeAvailable() { return resumeAvailable; }
     public void setResumeAvailable(Boolean resumeAvailable) { this.resumeAvailable = resumeAvailable; }
     
-    public String getResumeBase64() { return resumeBase64; }
-    public void setResumeBase64(String resumeBase64) { this.resumeBase64 = resumeBase64; }
     
     public Integer getProfileCompletenessScore() { return profileCompletenessScore; }
     public void setProfileCompletenessScore(Integer profileCompletenessScore) { this.profileCompletenessScore = profileCompletenessScore; }
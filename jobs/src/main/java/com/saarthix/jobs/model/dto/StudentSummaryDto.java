@@ -0,0 +1,126 @@
+package com.saarthix.jobs.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for Student Database list rows
+ * Carries only what the result cards show; the full profile (resume, picture, projects...)
+ * comes from StudentDatabaseDto via GET /api/students/{studentId}
+ */
+public class StudentSummaryDto {
+    private String studentId;
+    private String fullName;
+    private String email;
+    private String phoneNumber;
+    private String gender;
+    private Boolean profilePictureAvailable;
+    
+    // Education info (from highest education)
+    private String degree;
+    private String specialization;
+    private String institution;
+    private String graduationYear;
+    
+    // Professional info
+    private List<String> skills;
+    private String experience;
+    
+    // Location
+    private String currentLocation;
+    private List<String> preferredLocations;
+    private String workPreference;
+    
+    // Additional info
+    private String availability;
+    
+    // Hackathons and jobs
+    private Integer hackathonsParticipated;
+    private Integer jobsApplied;
+    
+    // Resume info
+    private String resumeFileName;
+    private Boolean resumeAvailable;
+    
+    // Profile completeness
+    private Integer profileCompletenessScore;
+    
+    // Timestamps
+    private LocalDateTime lastUpdated;
+    
+    // Shortlist status (for current industry user)
+    private Boolean isShortlisted;
+    
+    // Constructor
+    public StudentSummaryDto() {}
+    
+    // Getters and Setters
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+    
+    public Boolean getProfilePictureAvailable() { return profilePictureAvailable; }
+    public void setProfilePictureAvailable(Boolean profilePictureAvailable) { this.profilePictureAvailable = profilePictureAvailable; }
+    
+    public String getDegree() { return degree; }
+    public void setDegree(String degree) { this.degree = degree; }
+    
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+    
+    public String getInstitution() { return institution; }
+    public void setInstitution(String institution) { this.institution = institution; }
+    
+    public String getGraduationYear() { return graduationYear; }
+    public void setGraduationYear(String graduationYear) { this.graduationYear = graduationYear; }
+    
+    public List<String> getSkills() { return skills; }
+    public void setSkills(List<String> skills) { this.skills = skills; }
+    
+    public String getExperience() { return experience; }
+    public void setExperience(String experience) { this.experience = experience; }
+    
+    public String getCurrentLocation() { return currentLocation; }
+    public void setCurrentLocation(String currentLocation) { this.currentLocation = currentLocation; }
+    
+    public List<String> getPreferredLocations() { return preferredLocations; }
+    public void setPreferredLocations(List<String> preferredLocations) { this.preferredLocations = preferredLocations; }
+    
+    public String getWorkPreference() { return workPreference; }
+    public void setWorkPreference(String workPreference) { this.workPreference = workPreference; }
+    
+    public String getAvailability() { return availability; }
+    public void setAvailability(String availability) { this.availability = availability; }
+    
+    public Integer getHackathonsParticipated() { return hackathonsParticipated; }
+    public void setHackathonsParticipated(Integer hackathonsParticipated) { this.hackathonsParticipated = hackathonsParticipated; }
+    
+    public Integer getJobsApplied() { return jobsApplied; }
+    public void setJobsApplied(Integer jobsApplied) { this.jobsApplied = jobsApplied; }
+    
+    public String getResumeFileName() { return resumeFileName; }
+    public void setResumeFileName(String resumeFileName) { this.resumeFileName = resumeFileName; }
+    
+    public Boolean getResumeAvailable() { return resumeAvailable; }
+    public void setResumeAvailable(Boolean resumeAvailable) { this.resumeAvailable = resumeAvailable; }
+    
+    public Integer getProfileCompletenessScore() { return profileCompletenessScore; }
+    public void setProfileCompletenessScore(Integer profileCompletenessScore) { this.profileCompletenessScore = profileCompletenessScore; }
+    
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+    
+    public Boolean getIsShortlisted() { return isShortlisted; }
+    public void setIsShortlisted(Boolean isShortlisted) { this.isShortlisted = isShortlisted; }
+}
@@ -7,7 +7,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApplicationRepository extends MongoRepository<Application, String> {
+public interface ApplicationRepository extends MongoRepository<Application, String>, ApplicationRepositoryCustom {
     List<Application> findByApplicantEmail(String applicantEmail);
     List<Application> findByApplicantId(String applicantId);
     Optional<Application> findByJobIdAndApplicantEmail(String jobId, String applicantEmail);
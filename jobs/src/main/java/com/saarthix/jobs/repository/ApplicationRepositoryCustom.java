@@ -0,0 +1,36 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.Application;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Aggregations and targeted updates over all_applied_jobs that need MongoTemplate rather than derived queries.
+ * Updates of existing applications go through $set rather than save, which would write back the outbox
+ * fields (see ApplicationOutbox) as they were read and undo the dispatcher's progress.
+ */
+public interface ApplicationRepositoryCustom {
+
+    /**
+     * Count job applications per applicant in a single $group
+     * @param applicantEmails - Emails of the applicants to count
+     * @return Application count keyed by applicant email (applicants with none are absent)
+     */
+    Map<String, Long> countByApplicantEmails(Collection<String> applicantEmails);
+
+    /**
+     * Set an application's status and lastUpdated
+     * @param id - Application ID
+     * @param status - New status
+     * @return The updated application, or null if it does not exist
+     */
+    Application updateStatus(String id, String status);
+
+    /**
+     * Point an application at a job ID
+     * @param id - Application ID
+     * @param jobId - Job ID to store
+     */
+    void updateJobId(String id, String jobId);
+}
@@ -0,0 +1,53 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.Application;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ApplicationRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, Long> countByApplicantEmails(Collection<String> applicantEmails) {
+        Map<String, Long> counts = new HashMap<>();
+        if (applicantEmails.isEmpty()) {
+            return counts;
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("applicantEmail").in(applicantEmails)),
+                Aggregation.group("applicantEmail").count().as("count"));
+        mongoTemplate.aggregate(aggregation, Application.class, Document.class)
+                .forEach(row -> counts.put(row.getString("_id"), ((Number) row.get("count")).longValue()));
+        return counts;
+    }
+
+    @Override
+    public Application updateStatus(String id, String status) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id)),
+                new Update().set("status", status).set("lastUpdated", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Application.class);
+    }
+
+    @Override
+    public void updateJobId(String id, String jobId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                new Update().set("jobId", jobId), Application.class);
+    }
+}
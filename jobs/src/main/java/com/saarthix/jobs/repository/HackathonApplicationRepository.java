@@ -4,7 +4,7 @@ import com.saarthix.jobs.model.HackathonApplication;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 
-public interface HackathonApplicationRepository extends MongoRepository<HackathonApplication, String> {
+public interface HackathonApplicationRepository extends MongoRepository<HackathonApplication, String>, HackathonApplicationRepositoryCustom {
     List<HackathonApplication> findByApplicantId(String applicantId);
     List<HackathonApplication> findByHackathonId(String hackathonId);
 }
@@ -0,0 +1,17 @@
+package com.saarthix.jobs.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Aggregations over hackathon_applications that need MongoTemplate rather than derived queries
+ */
+public interface HackathonApplicationRepositoryCustom {
+
+    /**
+     * Count hackathon applications per applicant in a single $group
+     * @param applicantIds - User IDs of the applicants to count
+     * @return Application count keyed by applicant ID (applicants with none are absent)
+     */
+    Map<String, Long> countByApplicantIds(Collection<String> applicantIds);
+}
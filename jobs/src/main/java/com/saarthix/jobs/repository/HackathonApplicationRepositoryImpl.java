@@ -0,0 +1,34 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.HackathonApplication;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class HackathonApplicationRepositoryImpl implements HackathonApplicationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public HackathonApplicationRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, Long> countByApplicantIds(Collection<String> applicantIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (applicantIds.isEmpty()) {
+            return counts;
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("applicantId").in(applicantIds)),
+                Aggregation.group("applicantId").count().as("count"));
+        mongoTemplate.aggregate(aggregation, HackathonApplication.class, Document.class)
+                .forEach(row -> counts.put(row.getString("_id"), ((Number) row.get("count")).longValue()));
+        return counts;
+    }
+}
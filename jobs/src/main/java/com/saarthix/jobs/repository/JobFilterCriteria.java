@@ -0,0 +1,89 @@
+package com.saarthix.jobs.repository;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Translates the job search filter map into a MongoDB Criteria on jobs.
+ * industry and employmentType are exact matches so they can use the job_industry / job_employment_type
+ * indexes; location keeps the case-insensitive "contains" semantics of the job list page.
+ * minSalary/maxSalary match jobs whose salary range overlaps the requested one, and yearsOfExperience
+ * matches jobs requiring at most that many years. Only active jobs are matched unless active=false is passed.
+ * The "q" text search is not part of the Criteria (see textOf).
+ */
+public final class JobFilterCriteria {
+
+    private JobFilterCriteria() {}
+
+    public static Criteria fromFilters(Map<String, String> filters) {
+        List<Criteria> clauses = new ArrayList<>();
+        String active = filters != null ? valueOf(filters, "active") : null;
+        clauses.add(Criteria.where("active").is(active == null || Boolean.parseBoolean(active)));
+
+        if (filters != null) {
+            String industry = valueOf(filters, "industry");
+            if (industry != null) {
+                clauses.add(Criteria.where("industry").is(industry));
+            }
+
+            String employmentType = valueOf(filters, "employmentType");
+            if (employmentType != null) {
+                clauses.add(Criteria.where("employmentType").is(employmentType));
+            }
+
+            String location = valueOf(filters, "location");
+            if (location != null) {
+                clauses.add(Criteria.where("location").regex(containsIgnoreCase(location)));
+            }
+
+            Integer minSalary = intValueOf(filters, "minSalary");
+            if (minSalary != null) {
+                clauses.add(Criteria.where("jobMaxSalary").gte(minSalary));
+            }
+
+            Integer maxSalary = intValueOf(filters, "maxSalary");
+            if (maxSalary != null) {
+                clauses.add(Criteria.where("jobMinSalary").lte(maxSalary));
+            }
+
+            Integer yearsOfExperience = intValueOf(filters, "yearsOfExperience");
+            if (yearsOfExperience != null) {
+                clauses.add(Criteria.where("yearsOfExperience").lte(yearsOfExperience));
+            }
+        }
+
+        return new Criteria().andOperator(clauses);
+    }
+
+    /**
+     * Text to search for in title and description (the jobs text index), or null
+     */
+    public static String textOf(Map<String, String> filters) {
+        return filters != null ? valueOf(filters, "q") : null;
+    }
+
+    private static String valueOf(Map<String, String> filters, String key) {
+        String value = filters.get(key);
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+
+    private static Integer intValueOf(Map<String, String> filters, String key) {
+        String value = valueOf(filters, key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+    }
+
+    private static Pattern containsIgnoreCase(String value) {
+        return Pattern.compile(Pattern.quote(value), Pattern.CASE_INSENSITIVE);
+    }
+}
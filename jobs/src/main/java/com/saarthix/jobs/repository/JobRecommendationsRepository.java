@@ -0,0 +1,10 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.JobRecommendations;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobRecommendationsRepository extends MongoRepository<JobRecommendations, String>, JobRecommendationsRepositoryCustom {
+    boolean existsByScoringVersionNot(int scoringVersion);
+}
@@ -0,0 +1,27 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.JobRecommendations;
+
+import java.util.stream.Stream;
+
+/**
+ * Bulk updates and job-driven lookups on job_recommendations
+ */
+public interface JobRecommendationsRepositoryCustom {
+
+    /**
+     * Stream the lists of a scoring version that a saved job may change: those holding the job, and those
+     * whose cutoff is at most maxScore (lists stored before cutoff existed are included). Callers must close the stream.
+     * @param scoringVersion - JobService.SCORING_VERSION
+     * @param jobId - ID of the saved job
+     * @param maxScore - Highest score the job can reach for these applicants, or 0 to find only lists holding it
+     */
+    Stream<JobRecommendations> streamForJob(int scoringVersion, String jobId, double maxScore);
+
+    /**
+     * Remove a job from every applicant's list
+     * @param jobId - ID of the deleted job
+     * @return Number of lists changed
+     */
+    long removeJobFromAll(String jobId);
+}
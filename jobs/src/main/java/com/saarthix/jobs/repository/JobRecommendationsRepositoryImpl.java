@@ -0,0 +1,43 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.JobRecommendations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public class JobRecommendationsRepositoryImpl implements JobRecommendationsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public JobRecommendationsRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<JobRecommendations> streamForJob(int scoringVersion, String jobId, double maxScore) {
+        Criteria holdsJob = Criteria.where("matches.jobId").is(jobId);
+        Criteria criteria = maxScore > 0
+                ? new Criteria().orOperator(holdsJob,
+                        Criteria.where("cutoff").lte(maxScore),
+                        Criteria.where("cutoff").exists(false))
+                : holdsJob;
+        return mongoTemplate.stream(
+                Query.query(new Criteria().andOperator(Criteria.where("scoringVersion").is(scoringVersion), criteria)),
+                JobRecommendations.class);
+    }
+
+    @Override
+    public long removeJobFromAll(String jobId) {
+        // Dropping an entry keeps the rest a correct top list, just a shorter one
+        return mongoTemplate.updateMulti(
+                Query.query(Criteria.where("matches.jobId").is(jobId)),
+                new Update()
+                        .pull("matches", Query.query(Criteria.where("jobId").is(jobId)).getQueryObject())
+                        .set("updatedAt", LocalDateTime.now()),
+                JobRecommendations.class).getModifiedCount();
+    }
+}
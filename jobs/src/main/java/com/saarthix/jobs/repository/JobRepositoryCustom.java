@@ -0,0 +1,47 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.Job;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query methods for jobs that need MongoTemplate rather than derived queries
+ */
+public interface JobRepositoryCustom {
+
+    /** Field job search pages are ordered by (newest first), and that its KeysetCursor holds */
+    String LISTING_SORT_FIELD = "createdAt";
+
+    /**
+     * Find one page of jobs matching the job search filters, evaluated by MongoDB
+     * and ordered by (createdAt desc, _id desc)
+     * @param filters - Map of filter criteria (see JobFilterCriteria)
+     * @param after - Cursor of the last job on the previous page, or null for the first page
+     * @param limit - Maximum number of jobs to return
+     * @return Matching jobs
+     * @throws IllegalArgumentException if a numeric filter is malformed
+     */
+    List<Job> findPageByFilters(Map<String, String> filters, KeysetCursor after, int limit);
+
+    /**
+     * Find active jobs within a radius of a point, nearest first ($nearSphere on the locationPoint 2dsphere index)
+     * @param point - Centre of the search
+     * @param radiusKm - Search radius in kilometres
+     * @param limit - Maximum number of jobs to return
+     * @return Nearby jobs
+     */
+    List<Job> findNear(GeoJsonPoint point, double radiusKm, int limit);
+
+    /**
+     * Find the IDs and locations of jobs that have a location but no locationPoint yet
+     * @return Jobs with only id and location populated
+     */
+    List<Job> findLocationsWithoutPoint();
+
+    /**
+     * Set a job's locationPoint, bumping its revision so its ETag changes
+     */
+    void updateLocationPoint(String jobId, GeoJsonPoint point);
+}
@@ -0,0 +1,68 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.Job;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    private static final Sort LISTING_ORDER = KeysetCursor.order(LISTING_SORT_FIELD);
+
+    private final MongoTemplate mongoTemplate;
+
+    public JobRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Job> findPageByFilters(Map<String, String> filters, KeysetCursor after, int limit) {
+        Criteria criteria = JobFilterCriteria.fromFilters(filters);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, after.toCriteria());
+        }
+        Query query = new Query(criteria).with(LISTING_ORDER).limit(limit);
+
+        // $text must be a top-level clause, so it can't go through the Criteria chain
+        String text = JobFilterCriteria.textOf(filters);
+        if (text != null) {
+            query.addCriteria(TextCriteria.forDefaultLanguage().matching(text));
+        }
+        return mongoTemplate.find(query, Job.class);
+    }
+
+    @Override
+    public List<Job> findNear(GeoJsonPoint point, double radiusKm, int limit) {
+        // With a GeoJSON point, $maxDistance is in metres
+        Query query = Query.query(Criteria.where("active").is(true)
+                        .and("locationPoint").nearSphere(point).maxDistance(radiusKm * 1000))
+                .limit(limit);
+        return mongoTemplate.find(query, Job.class);
+    }
+
+    @Override
+    public List<Job> findLocationsWithoutPoint() {
+        Query query = Query.query(Criteria.where("locationPoint").is(null).and("location").exists(true).ne(null));
+        query.fields().include("location");
+        return mongoTemplate.find(query, Job.class);
+    }
+
+    @Override
+    public void updateLocationPoint(String jobId, GeoJsonPoint point) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(jobId)),
+                Update.update("locationPoint", point)
+                        .inc("revision", 1)
+                        .set("lastModified", LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)),
+                Job.class);
+    }
+}
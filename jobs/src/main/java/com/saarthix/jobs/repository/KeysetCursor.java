@@ -0,0 +1,69 @@
+package com.saarthix.jobs.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (sortField desc, _id desc), e.g. the student listing by lastUpdated
+ * or job search by createdAt. Serialized as an opaque URL-safe token so clients never depend on its contents;
+ * the sort field is not part of the token but supplied by the listing that decodes it.
+ */
+public record KeysetCursor(String sortField, LocalDateTime sortValue, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Listing order the cursor walks: sortField desc, then _id desc
+     */
+    public static Sort order(String sortField) {
+        return Sort.by(Sort.Order.desc(sortField), Sort.Order.desc("_id"));
+    }
+
+    public String encode() {
+        String raw = (sortValue != null ? sortValue.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param sortField - Field the listing is ordered by
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static KeysetCursor decode(String sortField, String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String timestamp = raw.substring(0, separator);
+            return new KeysetCursor(sortField,
+                    timestamp.isEmpty() ? null : LocalDateTime.parse(timestamp),
+                    raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Criteria matching every document that sorts strictly after this cursor.
+     * Documents without the sort field sort last in descending order, so they follow every dated document.
+     */
+    public Criteria toCriteria() {
+        if (sortValue == null) {
+            return new Criteria().andOperator(
+                    Criteria.where(sortField).is(null),
+                    Criteria.where("_id").lt(id));
+        }
+        return new Criteria().orOperator(
+                Criteria.where(sortField).lt(sortValue),
+                new Criteria().andOperator(
+                        Criteria.where(sortField).is(sortValue),
+                        Criteria.where("_id").lt(id)),
+                Criteria.where(sortField).is(null));
+    }
+}
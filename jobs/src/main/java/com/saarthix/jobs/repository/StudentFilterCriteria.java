@@ -0,0 +1,122 @@
+package com.saarthix.jobs.repository;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Translates the student database filter map (degree, specialization, skills, graduationYear,
+ * college, location, availability, keyword) into a MongoDB Criteria on user_profiles.
+ * Text filters keep the old case-insensitive "contains" semantics; graduationYear is an exact match.
+ * Only APPLICANT profiles are ever matched.
+ *
+ * The field filters run against the profile's filterValues. Each word of the filter must start one of the
+ * indexed words of the field (an anchored regex, so an index range scan), and the whole filter must then occur
+ * in one of the lower-cased values. "IIT" finds "IIT Delhi", "react" finds "React.js" and "Maharashtra" finds
+ * "Pune, Maharashtra". Only text starting mid-word ("angalore") no longer matches. The free-text keyword
+ * still runs a contains regex on the raw fields, narrowed by StudentSearchIndex.
+ * When StudentSearchIndex supplies candidate IDs they are added as an _id prefilter; the keyword
+ * clause is still applied so a stale index can never add false matches.
+ */
+public final class StudentFilterCriteria {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private StudentFilterCriteria() {}
+
+    public static Criteria fromFilters(Map<String, String> filters) {
+        return fromFilters(filters, null);
+    }
+
+    public static Criteria fromFilters(Map<String, String> filters, Collection<String> candidateIds) {
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(Criteria.where("userType").is("APPLICANT"));
+        if (candidateIds != null) {
+            clauses.add(Criteria.where("_id").in(candidateIds));
+        }
+
+        if (filters != null) {
+            addContains(clauses, "degrees", "degreeTokens", filters.get("degree"));
+            addContains(clauses, "specializations", "specializationTokens", filters.get("specialization"));
+            addContains(clauses, "skills", "skillTokens", filters.get("skills"));
+
+            String graduationYear = valueOf(filters, "graduationYear");
+            if (graduationYear != null) {
+                clauses.add(Criteria.where("educationEntries.passingYear").is(graduationYear));
+            }
+
+            addContains(clauses, "institutions", "institutionTokens", filters.get("college"));
+            addContains(clauses, "locations", "locationTokens", filters.get("location"));
+            addContains(clauses, "availability", "availabilityTokens", filters.get("availability"));
+
+            String keyword = valueOf(filters, "keyword");
+            if (keyword != null) {
+                Pattern pattern = containsIgnoreCase(keyword);
+                clauses.add(new Criteria().orOperator(
+                        Criteria.where("fullName").regex(pattern),
+                        Criteria.where("skills").regex(pattern),
+                        Criteria.where("educationEntries.institution").regex(pattern)));
+            }
+        }
+
+        return new Criteria().andOperator(clauses);
+    }
+
+    /**
+     * Form of a value stored in UserProfile.FilterValues and compared against by the field filters
+     * @param value - Profile or filter value
+     * @return The trimmed, lower-cased value, or null if that is empty
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Words of a normalized value: its runs of letters and digits, e.g. "react.js" -> [react, js]
+     * @param normalized - Value from normalize
+     * @return Distinct words, in order
+     */
+    public static List<String> tokens(String normalized) {
+        return NON_WORD.splitAsStream(normalized)
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    /**
+     * Require every word of the filter to start an indexed word of the field, then the whole filter
+     * to occur in one of the field's values
+     */
+    private static void addContains(List<Criteria> clauses, String valuesField, String tokensField, String value) {
+        String normalized = normalize(value);
+        if (normalized == null) {
+            return;
+        }
+        // Words are letters and digits only, so they need no regex escaping
+        for (String token : tokens(normalized)) {
+            clauses.add(Criteria.where("filterValues." + tokensField).regex("^" + token));
+        }
+        // Values are lower-cased already, so a case-sensitive match is the old case-insensitive contains
+        clauses.add(Criteria.where("filterValues." + valuesField).regex(Pattern.quote(normalized)));
+    }
+
+    private static String valueOf(Map<String, String> filters, String key) {
+        String value = filters.get(key);
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    private static Pattern containsIgnoreCase(String value) {
+        return Pattern.compile(Pattern.quote(value), Pattern.CASE_INSENSITIVE);
+    }
+}
@@ -6,7 +6,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface UserProfileRepository extends MongoRepository<UserProfile, String> {
+public interface UserProfileRepository extends MongoRepository<UserProfile, String>, UserProfileRepositoryCustom {
     Optional<UserProfile> findByApplicantEmail(String applicantEmail);
     Optional<UserProfile> findByApplicantId(String applicantId);
 }
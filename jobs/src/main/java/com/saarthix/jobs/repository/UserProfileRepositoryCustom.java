@@ -0,0 +1,144 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.UserProfileSummary;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Query methods for user_profiles that need MongoTemplate rather than derived queries
+ */
+public interface UserProfileRepositoryCustom {
+
+    /** Field the student listing is ordered by (most recently updated first), and that its KeysetCursor holds */
+    String LISTING_SORT_FIELD = "lastUpdated";
+
+    /**
+     * Find one page of profile summaries matching the student database filters, evaluated by MongoDB
+     * and ordered by (lastUpdated desc, _id desc). Base64 payloads are not read.
+     * @param filters - Map of filter criteria (see StudentFilterCriteria)
+     * @param candidateIds - Only consider these profile IDs (from StudentSearchIndex), or null for no restriction
+     * @param after - Cursor of the last profile on the previous page, or null for the first page
+     * @param limit - Maximum number of profiles to return
+     * @return Matching profile summaries
+     */
+    List<UserProfileSummary> findSummaryPageByFilters(Map<String, String> filters, Collection<String> candidateIds,
+                                                     KeysetCursor after, int limit);
+
+    /**
+     * Stream every profile summary matching the student database filters, in listing order,
+     * straight from a MongoDB cursor. Callers must close the stream.
+     * @param filters - Map of filter criteria (see StudentFilterCriteria)
+     * @param candidateIds - Only consider these profile IDs (from StudentSearchIndex), or null for no restriction
+     */
+    Stream<UserProfileSummary> streamSummariesByFilters(Map<String, String> filters, Collection<String> candidateIds);
+
+    /**
+     * Count matching profiles per value of each student database facet in a single $facet aggregation
+     * @param filters - Map of filter criteria (see StudentFilterCriteria)
+     * @param candidateIds - Only consider these profile IDs (from StudentSearchIndex), or null for no restriction
+     * @param facetSize - Maximum number of values returned per facet (most frequent first)
+     * @return facet name (degree, graduationYear, college, location, availability) -> value -> profile count;
+     *         values other than graduationYear are lower-cased (StudentFilterCriteria.normalize)
+     */
+    Map<String, Map<String, Long>> countFacetsByFilters(Map<String, String> filters, Collection<String> candidateIds,
+                                                        int facetSize);
+
+    /**
+     * Replace a profile, but only if it is still at the revision it was read at
+     * @param profile - Profile to write; revision and lastModified are stamped as on save
+     * @param readRevision - Revision of the profile when it was read
+     * @return false, writing nothing, if the profile was saved by someone else in the meantime
+     */
+    boolean replaceIfUnchanged(UserProfile profile, long readRevision);
+
+    /**
+     * Load only the profile picture fields of a profile
+     * @param id - Profile ID
+     * @return Profile with just id and profilePicture* populated
+     */
+    Optional<UserProfile> findProfilePictureById(String id);
+
+    /**
+     * Stream every profile with only the fields StudentSearchIndex indexes
+     * (fullName, skills, educationEntries.institution). Callers must close the stream.
+     */
+    Stream<UserProfile> streamSearchFields();
+
+    /**
+     * Stream the profiles whose filterValues are missing or were derived by another version, with only the
+     * fields they are derived from (see ProfileFilterValues). Callers must close the stream.
+     * @param version - Current ProfileFilterValues.VERSION
+     */
+    Stream<UserProfile> streamOutdatedFilterValues(int version);
+
+    /**
+     * Store a profile's filter values unless a save has stored current ones in the meantime
+     * @param id - Profile ID
+     * @param filterValues - Values derived from the profile as read, carrying the current version
+     */
+    void setFilterValuesIfOutdated(String id, UserProfile.FilterValues filterValues);
+
+    /**
+     * Stream every APPLICANT profile with only the fields job matching reads
+     * (applicantEmail, skills, preferredLocations, preferredLocation, currentLocation, preferredLocationPoints, experience).
+     * Callers must close the stream.
+     */
+    Stream<UserProfile> streamMatchFields();
+
+    /**
+     * Find APPLICANT profiles by ID with only the fields job matching reads (see streamMatchFields) plus the ID
+     * @param ids - Profile IDs
+     * @return Profiles found, in no particular order
+     */
+    List<UserProfile> findMatchFieldsByIds(Collection<String> ids);
+
+    /**
+     * Stream APPLICANT profiles having any of the given words in filterValues.skillTokens, with only the fields
+     * job matching reads (see streamMatchFields) plus the ID. Callers must close the stream.
+     * @param skillTokens - Normalized skill words (StudentFilterCriteria.tokens)
+     */
+    Stream<UserProfile> streamMatchFieldsBySkillTokens(Collection<String> skillTokens);
+
+    /**
+     * Find APPLICANT profiles with a preferredLocationPoint within a radius of a point, nearest first
+     * ($nearSphere on the preferredLocationPoints 2dsphere index), with only the fields job matching reads plus the ID
+     * @param point - Centre of the search
+     * @param radiusKm - Search radius in kilometres
+     * @param limit - Maximum number of profiles to return
+     * @return Nearby profiles
+     */
+    List<UserProfile> findMatchFieldsNear(GeoJsonPoint point, double radiusKm, int limit);
+
+    /**
+     * Find APPLICANT profiles by applicant email with only the fields job matching reads (see streamMatchFields)
+     * @param applicantEmails - Applicant emails
+     * @return Profiles found, in no particular order
+     */
+    List<UserProfile> findMatchFieldsByApplicantEmails(Collection<String> applicantEmails);
+
+    /**
+     * Copy a user's role onto all of their profiles (kept in sync by UserController.saveUserRole)
+     * @param applicantEmail - Email of the user
+     * @param userType - APPLICANT or INDUSTRY
+     */
+    void updateUserTypeByApplicantEmail(String applicantEmail, String userType);
+
+    /**
+     * Bulk-set userType on the profiles of the given users
+     * @param applicantEmails - Emails of users sharing the same role
+     * @param userType - APPLICANT or INDUSTRY
+     * @return Number of profiles updated
+     */
+    long updateUserTypeByApplicantEmails(Collection<String> applicantEmails, String userType);
+
+    /**
+     * Emails of profiles that were saved before userType was denormalized onto them
+     */
+    List<String> findApplicantEmailsWithoutUserType();
+}
@@ -0,0 +1,289 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.UserProfileSummary;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.aggregation.SetOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class UserProfileRepositoryImpl implements UserProfileRepositoryCustom {
+
+    private static final Sort LISTING_ORDER = KeysetCursor.order(LISTING_SORT_FIELD);
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserProfileRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<UserProfileSummary> findSummaryPageByFilters(Map<String, String> filters, Collection<String> candidateIds,
+                                                             KeysetCursor after, int limit) {
+        Criteria criteria = StudentFilterCriteria.fromFilters(filters, candidateIds);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, after.toCriteria());
+        }
+        TypedAggregation<UserProfile> aggregation = Aggregation.newAggregation(UserProfile.class,
+                Aggregation.match(criteria),
+                Aggregation.sort(LISTING_ORDER),
+                Aggregation.limit(limit),
+                summaryProjection());
+        return mongoTemplate.aggregate(aggregation, UserProfileSummary.class).getMappedResults();
+    }
+
+    @Override
+    public Stream<UserProfileSummary> streamSummariesByFilters(Map<String, String> filters, Collection<String> candidateIds) {
+        TypedAggregation<UserProfile> aggregation = Aggregation.newAggregation(UserProfile.class,
+                Aggregation.match(StudentFilterCriteria.fromFilters(filters, candidateIds)),
+                Aggregation.sort(LISTING_ORDER),
+                summaryProjection())
+                // The sort covers every matching profile, which can exceed the 100 MB in-memory $sort limit
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).cursorBatchSize(EXPORT_BATCH_SIZE).build());
+        return mongoTemplate.aggregateStream(aggregation, UserProfileSummary.class);
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> countFacetsByFilters(Map<String, String> filters, Collection<String> candidateIds,
+                                                               int facetSize) {
+        // Counted on the normalized filterValues, so each value is one bucket in the form the filters compare
+        FacetOperation facets = Aggregation.facet()
+                .and(arrayFacet("filterValues.degrees", facetSize)).as("degree")
+                .and(arrayFacet("educationEntries.passingYear", facetSize)).as("graduationYear")
+                .and(arrayFacet("filterValues.institutions", facetSize)).as("college")
+                .and(arrayFacet("filterValues.locations", facetSize)).as("location")
+                .and(valueFacet("filterValues.availability", facetSize)).as("availability");
+        TypedAggregation<UserProfile> aggregation = Aggregation.newAggregation(UserProfile.class,
+                Aggregation.match(StudentFilterCriteria.fromFilters(filters, candidateIds)),
+                facets);
+
+        Document result = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (String facet : List.of("degree", "graduationYear", "college", "location", "availability")) {
+            Map<String, Long> valueCounts = new LinkedHashMap<>();
+            if (result != null) {
+                result.getList(facet, Document.class, List.of())
+                        .forEach(row -> valueCounts.put(String.valueOf(row.get("_id")), ((Number) row.get("count")).longValue()));
+            }
+            counts.put(facet, valueCounts);
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean replaceIfUnchanged(UserProfile profile, long readRevision) {
+        // Profiles last saved before revisions existed have none stored, and read as revision 0
+        Criteria revision = readRevision == 0
+                ? Criteria.where("revision").in(0L, null)
+                : Criteria.where("revision").is(readRevision);
+        Query unchanged = Query.query(Criteria.where("_id").is(profile.getId()).andOperator(revision));
+        unchanged.fields().include("_id");
+        // findAndReplace, unlike replace, runs RevisionStamper before mapping the replacement
+        return mongoTemplate.findAndReplace(unchanged, profile) != null;
+    }
+
+    @Override
+    public Optional<UserProfile> findProfilePictureById(String id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("profilePictureFileId", "profilePictureBase64", "profilePictureFileType", "profilePictureFileName");
+        return Optional.ofNullable(mongoTemplate.findOne(query, UserProfile.class));
+    }
+
+    @Override
+    public Stream<UserProfile> streamSearchFields() {
+        Query query = new Query();
+        query.fields().include("fullName", "skills", "educationEntries.institution");
+        return mongoTemplate.stream(query, UserProfile.class);
+    }
+
+    @Override
+    public Stream<UserProfile> streamOutdatedFilterValues(int version) {
+        // $ne also matches profiles without filterValues
+        Query query = Query.query(Criteria.where("filterValues.version").ne(version));
+        query.fields().include("educationEntries.degree", "educationEntries.stream", "educationEntries.institution",
+                "skills", "currentLocation", "preferredLocations", "availability");
+        return mongoTemplate.stream(query, UserProfile.class);
+    }
+
+    @Override
+    public void setFilterValuesIfOutdated(String id, UserProfile.FilterValues filterValues) {
+        // Not an ETag change: filterValues is never serialized, so revision/lastModified stay as they are
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id).and("filterValues.version").ne(filterValues.getVersion())),
+                Update.update("filterValues", filterValues),
+                UserProfile.class);
+    }
+
+    @Override
+    public Stream<UserProfile> streamMatchFields() {
+        return mongoTemplate.stream(matchFieldsQuery(Criteria.where("userType").is("APPLICANT")), UserProfile.class);
+    }
+
+    @Override
+    public List<UserProfile> findMatchFieldsByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return mongoTemplate.find(
+                matchFieldsQuery(Criteria.where("userType").is("APPLICANT").and("_id").in(ids)), UserProfile.class);
+    }
+
+    @Override
+    public Stream<UserProfile> streamMatchFieldsBySkillTokens(Collection<String> skillTokens) {
+        if (skillTokens.isEmpty()) {
+            return Stream.empty();
+        }
+        return mongoTemplate.stream(
+                matchFieldsQuery(Criteria.where("userType").is("APPLICANT").and("filterValues.skillTokens").in(skillTokens)),
+                UserProfile.class);
+    }
+
+    @Override
+    public List<UserProfile> findMatchFieldsNear(GeoJsonPoint point, double radiusKm, int limit) {
+        // With a GeoJSON point, $maxDistance is in metres
+        Query query = matchFieldsQuery(Criteria.where("userType").is("APPLICANT")
+                .and("preferredLocationPoints").nearSphere(point).maxDistance(radiusKm * 1000))
+                .limit(limit);
+        return mongoTemplate.find(query, UserProfile.class);
+    }
+
+    @Override
+    public List<UserProfile> findMatchFieldsByApplicantEmails(Collection<String> applicantEmails) {
+        if (applicantEmails.isEmpty()) {
+            return List.of();
+        }
+        return mongoTemplate.find(
+                matchFieldsQuery(Criteria.where("userType").is("APPLICANT").and("applicantEmail").in(applicantEmails)),
+                UserProfile.class);
+    }
+
+    @Override
+    public void updateUserTypeByApplicantEmail(String applicantEmail, String userType) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("applicantEmail").is(applicantEmail)),
+                userTypeUpdate(userType),
+                UserProfile.class);
+    }
+
+    @Override
+    public long updateUserTypeByApplicantEmails(Collection<String> applicantEmails, String userType) {
+        if (applicantEmails.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.updateMulti(
+                Query.query(Criteria.where("applicantEmail").in(applicantEmails)),
+                userTypeUpdate(userType),
+                UserProfile.class).getModifiedCount();
+    }
+
+    @Override
+    public List<String> findApplicantEmailsWithoutUserType() {
+        Query query = Query.query(Criteria.where("userType").exists(false));
+        query.fields().include("applicantEmail");
+        return mongoTemplate.find(query, UserProfile.class).stream()
+                .map(UserProfile::getApplicantEmail)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static Query matchFieldsQuery(Criteria criteria) {
+        Query query = Query.query(criteria);
+        query.fields().include("applicantEmail", "skills", "preferredLocations", "preferredLocation",
+                "currentLocation", "preferredLocationPoints", "experience");
+        return query;
+    }
+
+    /**
+     * Sets userType and bumps revision/lastModified, since updates bypass RevisionStamper and the profile's ETag must change
+     */
+    private static Update userTypeUpdate(String userType) {
+        return Update.update("userType", userType)
+                .inc("revision", 1)
+                .set("lastModified", LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    /**
+     * Projects the list columns of UserProfileSummary and derives the availability flags server-side
+     */
+    private static ProjectionOperation summaryProjection() {
+        return Aggregation.project(
+                        "applicantEmail", "applicantId", "fullName", "email", "phoneNumber", "gender",
+                        "skills", "experience", "currentLocation", "preferredLocations", "workPreference",
+                        "availability", "linkedInUrl", "educationEntries", "resumeFileName",
+                        "createdAt", "lastUpdated")
+                .and(hasFile("resume")).as("resumeAvailable")
+                .and(hasFile("profilePicture")).as("profilePictureAvailable")
+                .and(isNonEmptyString("summary")).as("hasSummary")
+                .and(isNonEmptyArray("professionalExperiences")).as("hasProfessionalExperiences")
+                .and(isNonEmptyArray("projects")).as("hasProjects");
+    }
+
+    /**
+     * Facet over an array field (or a field inside an array); each profile counts once per distinct value
+     */
+    private static AggregationOperation[] arrayFacet(String field, int facetSize) {
+        return new AggregationOperation[] {
+                Aggregation.project().and(SetOperators.SetUnion.arrayAsSet(
+                        ConditionalOperators.ifNull(field).then(List.of()))).as("facetValues"),
+                Aggregation.unwind("facetValues"),
+                Aggregation.match(Criteria.where("facetValues").nin(null, "")),
+                Aggregation.sortByCount("facetValues"),
+                Aggregation.limit(facetSize)
+        };
+    }
+
+    /**
+     * Facet over a single-valued field
+     */
+    private static AggregationOperation[] valueFacet(String field, int facetSize) {
+        return new AggregationOperation[] {
+                Aggregation.match(Criteria.where(field).nin(null, "")),
+                Aggregation.sortByCount(field),
+                Aggregation.limit(facetSize)
+        };
+    }
+
+    // In BSON order null/missing < "" < any other string, so "> ''" means present and non-empty
+    private static AggregationExpression isNonEmptyString(String field) {
+        return ComparisonOperators.valueOf(field).greaterThanValue("");
+    }
+
+    /**
+     * Whether a profile has a file, stored in GridFS (<prefix>FileId) or still inline (<prefix>Base64)
+     */
+    private static AggregationExpression hasFile(String prefix) {
+        return BooleanOperators.Or.or(isNonEmptyString(prefix + "FileId"), isNonEmptyString(prefix + "Base64"));
+    }
+
+    private static AggregationExpression isNonEmptyArray(String field) {
+        return ComparisonOperators.valueOf(
+                        ArrayOperators.Size.lengthOfArray(ConditionalOperators.ifNull(field).then(List.of())))
+                .greaterThanValue(0);
+    }
+}
@@ -2,9 +2,12 @@ package com.saarthix.jobs.repository;
 
 import com.saarthix.jobs.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
+    List<User> findByEmailIn(Collection<String> emails);
 }
 
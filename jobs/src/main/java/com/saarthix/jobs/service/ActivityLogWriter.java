@@ -0,0 +1,142 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.ActivityLog;
+import com.saarthix.jobs.repository.ActivityLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Writes ActivityLog entries in the background so audit logging doesn't add a MongoDB
+ * round trip to every recruiter request.
+ *
+ * Entries are queued and bulk-inserted once BATCH_SIZE are waiting or FLUSH_INTERVAL_MS has
+ * passed since the first one arrived. When the queue is full the caller saves its entry itself,
+ * so bursts slow down instead of losing audit entries. Anything still queued is written on shutdown;
+ * shutdown closes the queue under a lock that every enqueue holds, so no entry can slip in after the final drain.
+ */
+@Component
+public class ActivityLogWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MS = 1_000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final ActivityLogRepository activityLogRepository;
+    private final BlockingQueue<ActivityLog> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread flusher;
+    // Read-locked by enqueues, write-locked to close the queue
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = true;
+
+    public ActivityLogWriter(ActivityLogRepository activityLogRepository) {
+        this.activityLogRepository = activityLogRepository;
+        this.flusher = new Thread(this::flushLoop, "activity-log-writer");
+        this.flusher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+
+    /**
+     * Queue an entry for writing
+     * @param log - Activity to record
+     */
+    public void write(ActivityLog log) {
+        if (!enqueue(log)) {
+            // Queue full (or shut down): write on the caller's thread rather than drop the entry
+            save(List.of(log));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Once this returns no enqueue is in progress and none will succeed, so the drain below sees every entry
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        // Not interrupted: an in-flight insert must finish; the flusher exits within one FLUSH_INTERVAL_MS poll
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the flusher didn't get to
+        List<ActivityLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            save(remaining);
+        }
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private boolean enqueue(ActivityLog log) {
+        closeLock.readLock().lock();
+        try {
+            return running && queue.offer(log);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void flushLoop() {
+        List<ActivityLog> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                ActivityLog first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Collect until the batch is full or the first entry has waited FLUSH_INTERVAL_MS
+                long deadline = System.currentTimeMillis() + FLUSH_INTERVAL_MS;
+                while (batch.size() < BATCH_SIZE) {
+                    queue.drainTo(batch, BATCH_SIZE - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= BATCH_SIZE || remaining <= 0) {
+                        break;
+                    }
+                    ActivityLog next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Write what we have, then stop
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                save(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void save(List<ActivityLog> logs) {
+        try {
+            activityLogRepository.insert(logs);
+        } catch (Exception e) {
+            // Audit logging must never break the request that triggered it
+            System.err.println("Warning: Could not write " + logs.size() + " activity log entries: " + e.getMessage());
+        }
+    }
+}
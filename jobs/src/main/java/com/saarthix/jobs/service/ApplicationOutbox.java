@@ -0,0 +1,251 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Application;
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.ResumeAndDetails;
+import com.saarthix.jobs.model.User;
+import com.saarthix.jobs.repository.JobRepository;
+import com.saarthix.jobs.repository.ResumeAndDetailsRepository;
+import com.saarthix.jobs.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the side effects of a new application (resume_and_details copy, industry notification,
+ * confirmation email) after the request has returned.
+ *
+ * The request stores the effects on the application itself (pendingEffects / outboxDueAt) in the same
+ * insert, so they are recorded exactly when the application is, then calls dispatchSoon. The dispatcher
+ * thread claims an application by pushing its outboxDueAt out by CLAIM_LEASE, runs each effect and pulls
+ * it from pendingEffects. A failed effect is retried with exponential backoff, up to MAX_ATTEMPTS rounds;
+ * a poll every POLL_INTERVAL_MS picks up retries and anything left over by a restart.
+ *
+ * Effects run at least once. The resume_and_details copy is keyed by the application ID so a repeat is
+ * a no-op; a repeated notification or email is possible if the process dies between running it and
+ * recording it.
+ */
+@Component
+public class ApplicationOutbox {
+
+    private static final long POLL_INTERVAL_MS = 30_000;
+    private static final int POLL_BATCH_SIZE = 100;
+    private static final long CLAIM_LEASE_SECONDS = 300;
+    private static final long BASE_RETRY_DELAY_SECONDS = 30;
+    static final int MAX_ATTEMPTS = 8;
+
+    private final MongoTemplate mongoTemplate;
+    private final ResumeAndDetailsRepository resumeAndDetailsRepository;
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final BlobStore blobStore;
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "application-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ApplicationOutbox(
+            MongoTemplate mongoTemplate,
+            ResumeAndDetailsRepository resumeAndDetailsRepository,
+            JobRepository jobRepository,
+            UserRepository userRepository,
+            NotificationService notificationService,
+            EmailService emailService,
+            BlobStore blobStore) {
+        this.mongoTemplate = mongoTemplate;
+        this.resumeAndDetailsRepository = resumeAndDetailsRepository;
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.emailService = emailService;
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Record side effects on a new application; call before inserting it
+     * @param application - Application about to be inserted
+     * @param effects - Effects to run once it is stored
+     */
+    public void prepare(Application application, Application.Effect... effects) {
+        application.setPendingEffects(new ArrayList<>(Arrays.asList(effects)));
+        application.setOutboxAttempts(0);
+        application.setOutboxDueAt(LocalDateTime.now());
+    }
+
+    /**
+     * Run an inserted application's effects in the background now, rather than at the next poll
+     * @param applicationId - ID of the inserted application
+     */
+    public void dispatchSoon(String applicationId) {
+        dispatcher.execute(() -> {
+            try {
+                Application claimed = claim(applicationId);
+                if (claimed != null) {
+                    dispatch(claimed);
+                }
+            } catch (Exception e) {
+                System.err.println("Warning: Could not dispatch effects of application " + applicationId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        dispatcher.scheduleWithFixedDelay(this::dispatchDue, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Anything not run yet is still recorded on its application and picked up after the restart
+        dispatcher.shutdown();
+    }
+
+    /**
+     * One poll: run the effects of up to POLL_BATCH_SIZE due applications on the calling thread
+     */
+    void dispatchDue() {
+        try {
+            for (int i = 0; i < POLL_BATCH_SIZE; i++) {
+                Application claimed = claim(null);
+                if (claimed == null) {
+                    return;
+                }
+                dispatch(claimed);
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the schedule
+            System.err.println("Warning: Could not dispatch application effects: " + e.getMessage());
+        }
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    /**
+     * Claim an application whose effects are due, so no other dispatcher runs them meanwhile
+     * @param applicationId - Application to claim, or null for any due one
+     * @return The claimed application, or null if none is due
+     */
+    private Application claim(String applicationId) {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria due = Criteria.where("outboxDueAt").lte(now);
+        if (applicationId != null) {
+            due = due.and("_id").is(applicationId);
+        }
+        return mongoTemplate.findAndModify(Query.query(due),
+                new Update().set("outboxDueAt", now.plusSeconds(CLAIM_LEASE_SECONDS)),
+                FindAndModifyOptions.options().returnNew(true),
+                Application.class);
+    }
+
+    private void dispatch(Application application) {
+        Query byId = Query.query(Criteria.where("_id").is(application.getId()));
+        List<Application.Effect> effects = application.getPendingEffects() != null
+                ? application.getPendingEffects()
+                : List.of();
+
+        boolean failed = false;
+        for (Application.Effect effect : effects) {
+            try {
+                run(effect, application);
+                mongoTemplate.updateFirst(byId, new Update().pull("pendingEffects", effect.name()), Application.class);
+            } catch (Exception e) {
+                failed = true;
+                System.err.println("Warning: " + effect + " failed for application " + application.getId() + ": " + e.getMessage());
+            }
+        }
+
+        int attempts = (application.getOutboxAttempts() != null ? application.getOutboxAttempts() : 0) + 1;
+        if (failed && attempts < MAX_ATTEMPTS) {
+            long delaySeconds = BASE_RETRY_DELAY_SECONDS << (attempts - 1);
+            mongoTemplate.updateFirst(byId, new Update()
+                    .set("outboxAttempts", attempts)
+                    .set("outboxDueAt", LocalDateTime.now().plusSeconds(delaySeconds)), Application.class);
+            return;
+        }
+        if (failed) {
+            System.err.println("Warning: Giving up on effects of application " + application.getId()
+                    + " after " + attempts + " attempts");
+        }
+        mongoTemplate.updateFirst(byId, new Update()
+                .unset("pendingEffects")
+                .unset("outboxAttempts")
+                .unset("outboxDueAt"), Application.class);
+    }
+
+    private void run(Application.Effect effect, Application application) {
+        switch (effect) {
+            case RESUME_AND_DETAILS -> copyToResumeAndDetails(application);
+            case NOTIFY_INDUSTRY -> notificationService.createNewApplicationNotification(application);
+            case CONFIRMATION_EMAIL -> sendConfirmationEmail(application);
+        }
+    }
+
+    /**
+     * Save the resume_and_details copy of an application, under the application's ID
+     */
+    private void copyToResumeAndDetails(Application application) {
+        if (resumeAndDetailsRepository.existsById(application.getId())) {
+            return;
+        }
+
+        ResumeAndDetails resumeAndDetails = new ResumeAndDetails();
+        resumeAndDetails.setId(application.getId());
+        resumeAndDetails.setJobId(application.getJobId());
+        resumeAndDetails.setJobTitle(application.getJobTitle());
+        resumeAndDetails.setCompany(application.getCompany());
+        resumeAndDetails.setLocation(application.getLocation());
+        resumeAndDetails.setJobDescription(application.getJobDescription());
+        resumeAndDetails.setApplicantEmail(application.getApplicantEmail());
+        resumeAndDetails.setApplicantId(application.getApplicantId());
+        resumeAndDetails.setFullName(application.getFullName());
+        resumeAndDetails.setPhoneNumber(application.getPhoneNumber());
+        resumeAndDetails.setResumeFileName(application.getResumeFileName());
+        resumeAndDetails.setResumeFileType(application.getResumeFileType());
+        resumeAndDetails.setResumeFileSize(application.getResumeFileSize());
+        resumeAndDetails.setCoverLetter(application.getCoverLetter());
+        resumeAndDetails.setLinkedInUrl(application.getLinkedInUrl());
+        resumeAndDetails.setPortfolioUrl(application.getPortfolioUrl());
+        resumeAndDetails.setExperience(application.getExperience());
+        resumeAndDetails.setAvailability(application.getAvailability());
+        resumeAndDetails.setStatus(application.getStatus());
+        resumeAndDetails.setAppliedAt(application.getAppliedAt());
+
+        // Its own reference to the application's stored resume
+        String resumeFileId = blobStore.retain(application.getResumeFileId(),
+                application.getResumeFileName(), application.getResumeFileType());
+        resumeAndDetails.setResumeFileId(resumeFileId);
+        try {
+            resumeAndDetailsRepository.save(resumeAndDetails);
+        } catch (RuntimeException e) {
+            blobStore.release(resumeFileId);
+            throw e;
+        }
+    }
+
+    private void sendConfirmationEmail(Application application) {
+        User applicant = userRepository.findById(application.getApplicantId()).orElse(null);
+        Job job = jobRepository.findById(application.getJobId()).orElse(null);
+        if (applicant == null || job == null) {
+            System.out.println("Warning: Applicant or job not found for confirmation email of application: " + application.getId());
+            return;
+        }
+        emailService.sendApplicationConfirmation(applicant, job, application);
+    }
+}
@@ -0,0 +1,265 @@
+package com.saarthix.jobs.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.saarthix.jobs.model.StoredBlob;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * File storage (resumes, profile pictures, certificates) in GridFS.
+ *
+ * Documents keep only the returned file ID plus the file's name/type/size; the bytes live in the
+ * fs.files / fs.chunks collections and are read back as a stream of 255 KB chunks, so neither uploads
+ * nor downloads hold a whole file in memory.
+ *
+ * Files are content-addressed: the file ID is the SHA-256 of the bytes, and each distinct content is
+ * stored once with a reference count in the blobs collection (see StoredBlob). A student's resume on
+ * their profile, on every application and on every resume_and_details copy is one GridFS file. Every
+ * store/retain must be balanced by a release when the referencing document drops the file.
+ */
+@Component
+public class BlobStore {
+
+    private final GridFsTemplate gridFsTemplate;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * An open stored file; the caller must close content
+     * @param length - Size in bytes, or -1 if unknown
+     */
+    public record Blob(InputStream content, long length, String contentType, String fileName) {}
+
+    public BlobStore(GridFsTemplate gridFsTemplate, MongoTemplate mongoTemplate) {
+        this.gridFsTemplate = gridFsTemplate;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Store a file, reading the stream to the end. Content that is already stored gains a reference
+     * instead of a second copy.
+     * @return File ID
+     */
+    public String store(InputStream content, String fileName, String contentType) {
+        Path spool = null;
+        try {
+            // Hash while spooling to disk: the ID must be known before deciding whether to write
+            spool = Files.createTempFile("blob-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long length;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(spool), digest)) {
+                length = content.transferTo(out);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+
+            while (!incrementRefCount(sha256)) {
+                if (insert(sha256, spool, length, contentType)) {
+                    break;
+                }
+            }
+            return sha256;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deleteSpool(spool);
+        }
+    }
+
+    /**
+     * Store an uploaded multipart file, streaming it from the container's buffer
+     * @return File ID, or null if the part is empty
+     */
+    public String store(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        try (InputStream content = file.getInputStream()) {
+            return store(content, file.getOriginalFilename(), file.getContentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Store a base64-encoded file (raw base64 or a data URL), decoding it as it is written
+     * @return File ID, or null if base64 is null or empty
+     */
+    public String storeBase64(String base64, String fileName, String contentType) {
+        if (base64 == null || base64.isEmpty()) {
+            return null;
+        }
+        return store(decoding(base64), fileName, contentType);
+    }
+
+    /**
+     * Add a reference to a stored file, for another document that holds the same file
+     * @return ID for that document to store (the same ID, unless the file predates content addressing),
+     *         or null if the file does not exist
+     */
+    public String retain(String fileId, String fileName, String contentType) {
+        if (fileId == null || fileId.isEmpty()) {
+            return null;
+        }
+        if (!ObjectId.isValid(fileId)) {
+            return incrementRefCount(fileId) ? fileId : null;
+        }
+
+        // Stored under its GridFS ID before content addressing: move a copy into the content store
+        Blob blob = open(fileId, null, fileName, contentType);
+        if (blob == null) {
+            return null;
+        }
+        try (InputStream content = blob.content()) {
+            return store(content, fileName, contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drop a reference to a file, deleting it once nothing references it; null or unknown IDs are ignored
+     */
+    public void release(String fileId) {
+        if (fileId == null || fileId.isEmpty()) {
+            return;
+        }
+        if (ObjectId.isValid(fileId)) {
+            // Files stored before content addressing were never shared
+            deleteGridFsFile(fileId);
+            return;
+        }
+
+        StoredBlob blob = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(fileId)),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                StoredBlob.class);
+        if (blob == null || blob.getRefCount() > 0) {
+            return;
+        }
+        // Only if no store revived it in the meantime
+        Query unreferenced = Query.query(Criteria.where("_id").is(fileId).and("refCount").lte(0));
+        if (mongoTemplate.remove(unreferenced, StoredBlob.class).getDeletedCount() > 0) {
+            deleteGridFsFile(blob.getGridFsId());
+        }
+    }
+
+    /**
+     * Open a file for reading
+     * @param fileId - ID from store, or null for a document that still holds its file inline
+     * @param legacyBase64 - The document's inline base64 copy, if it has not been migrated yet (see FileBlobMigration)
+     * @param fileName - Name recorded on the document
+     * @param contentType - Type recorded on the document
+     * @return The file, or null if there is none
+     */
+    public Blob open(String fileId, String legacyBase64, String fileName, String contentType) {
+        if (fileId != null && !fileId.isEmpty()) {
+            GridFSFile file = findFile(fileId);
+            if (file == null) {
+                return null;
+            }
+            GridFsResource resource = gridFsTemplate.getResource(file);
+            try {
+                return new Blob(resource.getInputStream(), file.getLength(), contentType, fileName);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (legacyBase64 != null && !legacyBase64.isEmpty()) {
+            return new Blob(decoding(legacyBase64), -1, contentType, fileName);
+        }
+        return null;
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    /**
+     * @return false if the content is not stored
+     */
+    private boolean incrementRefCount(String sha256) {
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(sha256)),
+                new Update().inc("refCount", 1),
+                StoredBlob.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Write new content to GridFS and record it with one reference
+     * @return false if another request stored the same content first; this copy is then discarded
+     */
+    private boolean insert(String sha256, Path spool, long length, String contentType) throws IOException {
+        String gridFsId;
+        try (InputStream content = Files.newInputStream(spool)) {
+            gridFsId = gridFsTemplate.store(content, sha256, contentType).toHexString();
+        }
+        try {
+            mongoTemplate.insert(new StoredBlob(sha256, gridFsId, length));
+            return true;
+        } catch (DuplicateKeyException e) {
+            deleteGridFsFile(gridFsId);
+            return false;
+        }
+    }
+
+    /**
+     * @param fileId - Content ID, or a GridFS ID for files stored before content addressing
+     */
+    private GridFSFile findFile(String fileId) {
+        String gridFsId = fileId;
+        if (!ObjectId.isValid(fileId)) {
+            StoredBlob blob = mongoTemplate.findById(fileId, StoredBlob.class);
+            if (blob == null || blob.getRefCount() <= 0) {
+                return null;
+            }
+            gridFsId = blob.getGridFsId();
+        }
+        return gridFsTemplate.findOne(Query.query(Criteria.where("_id").is(new ObjectId(gridFsId))));
+    }
+
+    private void deleteGridFsFile(String gridFsId) {
+        gridFsTemplate.delete(Query.query(Criteria.where("_id").is(new ObjectId(gridFsId))));
+    }
+
+    private static void deleteSpool(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete temporary file " + spool + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Decoding stream over base64 text; files were sent either as raw base64 or as a data URL
+     */
+    private static InputStream decoding(String base64) {
+        String payload = base64.startsWith("data:") ? base64.substring(base64.indexOf(',') + 1) : base64;
+        return Base64.getMimeDecoder().wrap(new ByteArrayInputStream(payload.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+}
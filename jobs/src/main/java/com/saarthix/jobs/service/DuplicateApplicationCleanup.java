@@ -0,0 +1,72 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Application;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Removes repeat applications to the same job by the same applicant, saved before the unique
+ * job_applicant index existed, so that MongoIndexConfig can build the index.
+ *
+ * The earliest application of each (jobId, applicantEmail) pair is kept; the others are deleted and
+ * their stored resume references released. Runs only while the index is missing, so it is a one-time
+ * migration: once the index is built no duplicates can be inserted.
+ */
+@Component
+public class DuplicateApplicationCleanup {
+
+    private static final String INDEX_NAME = "job_applicant";
+
+    private final MongoTemplate mongoTemplate;
+    private final BlobStore blobStore;
+
+    public DuplicateApplicationCleanup(MongoTemplate mongoTemplate, BlobStore blobStore) {
+        this.mongoTemplate = mongoTemplate;
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Delete all but the earliest application of every duplicated pair, unless the unique index already exists
+     * @return Number of applications deleted
+     */
+    public long removeDuplicates() {
+        boolean indexed = mongoTemplate.indexOps(Application.class).getIndexInfo().stream()
+                .anyMatch(index -> INDEX_NAME.equals(index.getName()));
+        if (indexed) {
+            return 0;
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.by("appliedAt", "_id")),
+                Aggregation.group("jobId", "applicantEmail").push("_id").as("ids").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        long removed = 0;
+        for (Document duplicates : mongoTemplate.aggregate(aggregation, Application.class, Document.class)) {
+            List<?> ids = duplicates.getList("ids", Object.class);
+            // ids are in appliedAt order; keep the first
+            for (Object id : ids.subList(1, ids.size())) {
+                Application application = mongoTemplate.findAndRemove(
+                        Query.query(Criteria.where("_id").is(id)), Application.class);
+                if (application != null) {
+                    blobStore.release(application.getResumeFileId());
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            System.out.println("Removed " + removed + " duplicate applications before building the "
+                    + INDEX_NAME + " index");
+        }
+        return removed;
+    }
+}
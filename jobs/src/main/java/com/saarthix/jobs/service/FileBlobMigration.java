@@ -0,0 +1,165 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Application;
+import com.saarthix.jobs.model.ResumeAndDetails;
+import com.saarthix.jobs.model.UserProfile;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves files stored inline as base64 (resumes, profile pictures, certificates saved before BlobStore
+ * existed) into GridFS, replacing each with a file ID.
+ *
+ * Runs once per startup on a background thread and is a no-op once nothing inline is left. Documents are
+ * read BATCH_SIZE at a time in _id order with only the file fields projected. Each update is conditional
+ * on the document not having changed since it was read; if it has, the new file reference is released again
+ * and the document is picked up on the next startup. Until then BlobStore.open serves the inline copy.
+ */
+@Component
+public class FileBlobMigration {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final BlobStore blobStore;
+
+    public FileBlobMigration(MongoTemplate mongoTemplate, BlobStore blobStore) {
+        this.mongoTemplate = mongoTemplate;
+        this.blobStore = blobStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        Thread thread = new Thread(this::migrateAll, "file-blob-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private void migrateAll() {
+        try {
+            long migrated = 0;
+            migrated += migrateField(Application.class, "resume");
+            migrated += migrateField(ResumeAndDetails.class, "resume");
+            migrated += migrateField(UserProfile.class, "resume");
+            migrated += migrateField(UserProfile.class, "profilePicture");
+            migrated += migrateCertificates();
+            if (migrated > 0) {
+                System.out.println("Moved " + migrated + " inline files to GridFS");
+            }
+        } catch (Exception e) {
+            System.err.println("Warning: Could not move inline files to GridFS: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Migrate <prefix>Base64 to <prefix>FileId on every document of a type
+     * @param prefix - "resume" or "profilePicture"
+     * @return Number of files moved
+     */
+    private long migrateField(Class<?> documentType, String prefix) {
+        String base64Field = prefix + "Base64";
+        String collection = mongoTemplate.getCollectionName(documentType);
+        boolean versioned = documentType == UserProfile.class;
+        long migrated = 0;
+
+        Object lastId = null;
+        List<Document> batch;
+        do {
+            Criteria criteria = Criteria.where(base64Field).gt("");
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = Query.query(criteria).with(Sort.by("_id")).limit(BATCH_SIZE);
+            query.fields().include(base64Field, prefix + "FileName", prefix + "FileType");
+            batch = mongoTemplate.find(query, Document.class, collection);
+
+            for (Document document : batch) {
+                lastId = document.get("_id");
+                String base64 = document.getString(base64Field);
+                String fileId = blobStore.storeBase64(base64,
+                        document.getString(prefix + "FileName"), document.getString(prefix + "FileType"));
+
+                Update update = new Update().set(prefix + "FileId", fileId).unset(base64Field);
+                if (versioned) {
+                    stampRevision(update);
+                }
+                // Only if the file is still the one we copied
+                Query unchanged = Query.query(Criteria.where("_id").is(lastId).and(base64Field).is(base64));
+                if (mongoTemplate.updateFirst(unchanged, update, collection).getModifiedCount() > 0) {
+                    migrated++;
+                } else {
+                    blobStore.release(fileId);
+                }
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return migrated;
+    }
+
+    /**
+     * Migrate certificationFiles.fileBase64 to certificationFiles.fileId on every profile
+     * @return Number of files moved
+     */
+    private long migrateCertificates() {
+        String collection = mongoTemplate.getCollectionName(UserProfile.class);
+        long migrated = 0;
+
+        Object lastId = null;
+        List<Document> batch;
+        do {
+            Criteria criteria = Criteria.where("certificationFiles.fileBase64").gt("");
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = Query.query(criteria).with(Sort.by("_id")).limit(BATCH_SIZE);
+            query.fields().include("certificationFiles", "revision");
+            batch = mongoTemplate.find(query, Document.class, collection);
+
+            for (Document document : batch) {
+                lastId = document.get("_id");
+                List<Document> certificates = document.getList("certificationFiles", Document.class);
+                List<String> storedIds = new ArrayList<>();
+                for (Document certificate : certificates) {
+                    String fileId = blobStore.storeBase64(certificate.getString("fileBase64"),
+                            certificate.getString("fileName"), certificate.getString("fileType"));
+                    if (fileId != null) {
+                        certificate.put("fileId", fileId);
+                        certificate.remove("fileBase64");
+                        storedIds.add(fileId);
+                    }
+                }
+
+                Update update = new Update().set("certificationFiles", certificates);
+                stampRevision(update);
+                // Only if the profile has not been saved since we read it
+                Query unchanged = Query.query(Criteria.where("_id").is(lastId).and("revision").is(document.get("revision")));
+                if (mongoTemplate.updateFirst(unchanged, update, collection).getModifiedCount() > 0) {
+                    migrated += storedIds.size();
+                } else {
+                    storedIds.forEach(blobStore::release);
+                }
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return migrated;
+    }
+
+    /**
+     * Bump revision/lastModified, since updates bypass RevisionStamper and the profile's ETag must change
+     */
+    private static void stampRevision(Update update) {
+        update.inc("revision", 1).set("lastModified", LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+}
@@ -0,0 +1,144 @@
+package com.saarthix.jobs.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Offline city gazetteer (classpath:gazetteer.csv) that turns free-text locations into coordinates,
+ * so "Bengaluru", "Bangalore" and "Remote / Bangalore, India" all resolve to the same point.
+ *
+ * Lookup normalizes the text (lower-case, letters only) and tries every run of up to MAX_NAME_WORDS
+ * consecutive words, longest and leftmost first, against the city names and aliases.
+ */
+@Component
+public class Gazetteer {
+
+    private static final String RESOURCE = "gazetteer.csv";
+    private static final int MAX_NAME_WORDS = 3;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    // Normalized name or alias -> city coordinates (GeoJSON order: longitude, latitude)
+    private final Map<String, GeoJsonPoint> pointsByName = new HashMap<>();
+
+    public Gazetteer() {
+        this(RESOURCE);
+    }
+
+    /**
+     * @param resource - Classpath CSV to load instead of gazetteer.csv
+     */
+    Gazetteer(String resource) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    addLine(line);
+                } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                    // One bad row only loses that city
+                    System.err.println("Warning: Skipping " + resource + " line " + lineNumber + " (" + line + "): " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            // Location matching falls back to text comparison
+            System.err.println("Warning: Could not load " + resource + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Coordinates of the first known city named in a free-text location
+     * @param location - e.g. "Bangalore, Karnataka" or "Hybrid - New Delhi"
+     * @return City point, or null if no known city is named
+     */
+    public GeoJsonPoint resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String[] words = normalize(location).split(" ");
+        for (int size = Math.min(MAX_NAME_WORDS, words.length); size > 0; size--) {
+            for (int start = 0; start + size <= words.length; start++) {
+                GeoJsonPoint point = pointsByName.get(String.join(" ", Arrays.copyOfRange(words, start, start + size)));
+                if (point != null) {
+                    return point;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Coordinates of the locations that name a known city, without duplicates
+     * @param locations - Free-text locations
+     * @return City points, in the order the locations name them
+     */
+    public List<GeoJsonPoint> resolveAll(List<String> locations) {
+        return locations.stream()
+                .map(this::resolve)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Great-circle distance between two points in kilometres (haversine)
+     */
+    public static double distanceKm(GeoJsonPoint a, GeoJsonPoint b) {
+        double latA = Math.toRadians(a.getY());
+        double latB = Math.toRadians(b.getY());
+        double deltaLat = latB - latA;
+        double deltaLon = Math.toRadians(b.getX() - a.getX());
+        double h = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+                + Math.cos(latA) * Math.cos(latB) * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    /**
+     * Add one "name,latitude,longitude[,alias|alias...]" row
+     */
+    private void addLine(String line) {
+        String[] columns = line.split(",", -1);
+        double latitude = Double.parseDouble(columns[1]);
+        double longitude = Double.parseDouble(columns[2]);
+        if (!(Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180)) {
+            throw new IllegalArgumentException("coordinates out of range");
+        }
+        String name = normalize(columns[0]);
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("no city name");
+        }
+        GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
+        pointsByName.put(name, point);
+        if (columns.length > 3 && !columns[3].isBlank()) {
+            for (String alias : columns[3].split("\\|")) {
+                String normalizedAlias = normalize(alias);
+                if (!normalizedAlias.isEmpty()) {
+                    pointsByName.put(normalizedAlias, point);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}]+", " ").trim();
+    }
+}
@@ -0,0 +1,49 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the in-memory job caches in step with the jobs collection.
+ * Jobs are written from several controllers, so this hooks MongoDB's save/delete events
+ * instead of every call site.
+ */
+@Component
+public class JobChangeListener extends AbstractMongoEventListener<Job> {
+
+    private final JobSkillIndex jobSkillIndex;
+    private final JobSnapshotStore jobSnapshotStore;
+    private final RecommendationStore recommendationStore;
+
+    public JobChangeListener(JobSkillIndex jobSkillIndex, JobSnapshotStore jobSnapshotStore,
+                             RecommendationStore recommendationStore) {
+        this.jobSkillIndex = jobSkillIndex;
+        this.jobSnapshotStore = jobSnapshotStore;
+        this.recommendationStore = recommendationStore;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Job> event) {
+        jobChanged(event.getSource().getId());
+        jobSnapshotStore.jobSaved(event.getSource());
+        recommendationStore.jobChanged(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Job> event) {
+        // Delete events carry the delete query, e.g. {_id: ...}
+        Object id = event.getSource().get("_id");
+        if (id != null) {
+            jobChanged(id.toString());
+            jobSnapshotStore.jobDeleted(id.toString());
+            recommendationStore.jobDeleted(id.toString());
+        }
+    }
+
+    private void jobChanged(String jobId) {
+        jobSkillIndex.evict(jobId);
+    }
+}
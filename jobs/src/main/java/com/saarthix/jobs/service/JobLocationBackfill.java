@@ -0,0 +1,51 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.repository.JobRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Geocodes jobs saved before Job.locationPoint existed, so nearby-job queries find them.
+ * Costs one query for the jobs without a point plus one update per resolvable job, and is a no-op once
+ * every job with a known city has been migrated (unknown locations are looked at again on each startup).
+ */
+@Component
+public class JobLocationBackfill {
+
+    private final JobRepository jobRepository;
+    private final Gazetteer gazetteer;
+    private final ListingFingerprints listingFingerprints;
+
+    public JobLocationBackfill(JobRepository jobRepository, Gazetteer gazetteer, ListingFingerprints listingFingerprints) {
+        this.jobRepository = jobRepository;
+        this.gazetteer = gazetteer;
+        this.listingFingerprints = listingFingerprints;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            List<Job> jobs = jobRepository.findLocationsWithoutPoint();
+            long updated = 0;
+            for (Job job : jobs) {
+                GeoJsonPoint point = gazetteer.resolve(job.getLocation());
+                if (point != null) {
+                    jobRepository.updateLocationPoint(job.getId(), point);
+                    updated++;
+                }
+            }
+            if (updated > 0) {
+                // Updates bypass the mapping events that normally invalidate the listing fingerprint
+                listingFingerprints.changed(Job.class);
+                System.out.println("Backfilled locationPoint on " + updated + " of " + jobs.size() + " jobs");
+            }
+        } catch (Exception e) {
+            System.err.println("Warning: Could not backfill locationPoint on jobs: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.dto.JobMatch;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel version of JobService.rankJobs for bulk rescoring (e.g. rebuilding every stored
+ * recommendation list after a weight change).
+ *
+ * The snapshot's rows are split into partitions of PARTITION_SIZE scored on a dedicated ForkJoinPool
+ * (jobs.scoring.parallelism, default: one thread per core). Each partition keeps its own top-K
+ * heap and the heaps are merged pairwise on the way back up, so no shared state is touched while scoring.
+ */
+@Component
+public class JobScoringEngine {
+
+    private static final int PARTITION_SIZE = 1024;
+
+    private final JobService jobService;
+    private final ForkJoinPool pool;
+
+    // Throughput metrics, see stats()
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder jobsScored = new LongAdder();
+    private final LongAdder scoringNanos = new LongAdder();
+
+    /**
+     * Cumulative scoring throughput since startup
+     * @param runs - Number of rankJobs calls
+     * @param jobsScored - Total jobs scored across all runs
+     * @param jobsPerSecond - jobsScored divided by the wall time spent in rankJobs
+     * @param parallelism - Worker threads in the scoring pool
+     */
+    public record ScoringStats(long runs, long jobsScored, double jobsPerSecond, int parallelism) {}
+
+    public JobScoringEngine(JobService jobService, @Value("${jobs.scoring.parallelism:0}") int parallelism) {
+        this.jobService = jobService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Score a job snapshot for one applicant in parallel, keeping only the best `window`
+     * Same result as JobService.rankJobs
+     * @param snapshot - Jobs to score
+     * @param preferences - Applicant's match inputs
+     * @param window - Number of best matches to keep
+     * @return Matches with a score above 0, best first (ties keep snapshot order)
+     */
+    public List<JobMatch> rankJobs(JobSnapshot snapshot, JobService.MatchPreferences preferences, int window) {
+        long start = System.nanoTime();
+
+        JobService.MatchPreferences snapshotPreferences = jobService.prepareForSnapshot(preferences);
+        double[] locationScores = jobService.locationScores(snapshot, snapshotPreferences);
+        ScoreTask task = new ScoreTask(snapshot, snapshotPreferences, locationScores, window, 0, snapshot.size());
+        TopJobMatches best = snapshot.size() <= PARTITION_SIZE ? task.compute() : pool.invoke(task);
+
+        runs.increment();
+        jobsScored.add(snapshot.size());
+        scoringNanos.add(System.nanoTime() - start);
+        return best.toList();
+    }
+
+    /**
+     * Current throughput metrics, also served read-only at GET /api/test/scoring-stats
+     */
+    public ScoringStats stats() {
+        long nanos = scoringNanos.sum();
+        long scored = jobsScored.sum();
+        double jobsPerSecond = nanos > 0 ? scored / (nanos / 1_000_000_000.0) : 0.0;
+        return new ScoringStats(runs.sum(), scored, jobsPerSecond, pool.getParallelism());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // ============= PRIVATE HELPER CLASSES =============
+
+    /**
+     * Scores snapshot rows [from, to); splits in half until a partition is at most PARTITION_SIZE rows
+     */
+    private final class ScoreTask extends RecursiveTask<TopJobMatches> {
+        private final JobSnapshot snapshot;
+        private final JobService.MatchPreferences preferences;
+        private final double[] locationScores;
+        private final int window;
+        private final int from;
+        private final int to;
+
+        ScoreTask(JobSnapshot snapshot, JobService.MatchPreferences preferences, double[] locationScores,
+                  int window, int from, int to) {
+            this.snapshot = snapshot;
+            this.preferences = preferences;
+            this.locationScores = locationScores;
+            this.window = window;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopJobMatches compute() {
+            if (to - from <= PARTITION_SIZE) {
+                TopJobMatches best = new TopJobMatches(window);
+                for (int row = from; row < to; row++) {
+                    double matchPercentage = jobService.scoreRow(snapshot, row, preferences, locationScores);
+                    if (matchPercentage > 0) {
+                        best.offer(row, snapshot.job(row), matchPercentage);
+                    }
+                }
+                return best;
+            }
+
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(snapshot, preferences, locationScores, window, from, middle);
+            ScoreTask right = new ScoreTask(snapshot, preferences, locationScores, window, middle, to);
+            left.fork();
+            TopJobMatches best = right.compute();
+            best.addAll(left.join());
+            return best;
+        }
+    }
+}
@@ -2,7 +2,11 @@ package com.saarthix.jobs.service;
 
 import com.saarthix.jobs.model.Job;
 import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.dto.CursorPage;
+import com.saarthix.jobs.model.dto.JobMatch;
 import com.saarthix.jobs.repository.JobRepository;
+import com.saarthix.jobs.repository.KeysetCursor;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -10,10 +14,43 @@ import java.util.stream.Collectors;
 @Service
 public class JobService {
 
+    /** Recommendations returned when the client does not ask for a limit */
+    public static final int DEFAULT_RECOMMENDATION_LIMIT = 50;
+    /** Upper bound on offset + limit, which is also the largest heap getRecommendedJobs keeps */
+    public static final int MAX_RECOMMENDATION_WINDOW = 1000;
+
+    /** Job search page size when the client does not ask for one */
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    /** Largest job search page a client can request */
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    /** Bump whenever the match weights or rules change, so stored recommendation lists get rebuilt */
+    public static final int SCORING_VERSION = 3;
+
+    /** Jobs within this distance of a preferred location get the full location score */
+    private static final double LOCAL_RADIUS_KM = 25.0;
+    /** The location score falls linearly to 0 at this distance */
+    static final double MAX_MATCH_DISTANCE_KM = 300.0;
+    /** Largest radius a nearby-jobs query may ask for */
+    public static final double MAX_NEARBY_RADIUS_KM = 500.0;
+    /** Highest score a job listing skills can give an applicant sharing none of them (location 30% + experience 20%) */
+    public static final double MAX_SCORE_WITHOUT_SKILL_MATCH = 50.0;
+    /** Highest score a job listing no skills can give anyone (half skill credit 25% + location 30% + experience 20%) */
+    public static final double MAX_SCORE_WITHOUT_JOB_SKILLS = 75.0;
+
     private final JobRepository jobRepository;
+    private final SkillVocabulary skillVocabulary;
+    private final JobSkillIndex jobSkillIndex;
+    private final Gazetteer gazetteer;
+    private final JobSnapshotStore jobSnapshotStore;
 
-    public JobService(JobRepository jobRepository) {
+    public JobService(JobRepository jobRepository, SkillVocabulary skillVocabulary, JobSkillIndex jobSkillIndex,
+                      Gazetteer gazetteer, JobSnapshotStore jobSnapshotStore) {
         this.jobRepository = jobRepository;
+        this.skillVocabulary = skillVocabulary;
+        this.jobSkillIndex = jobSkillIndex;
+        this.gazetteer = gazetteer;
+        this.jobSnapshotStore = jobSnapshotStore;
     }
 
     // Get all jobs
@@ -26,6 +63,52 @@ public class JobService {
         return jobRepository.findById(id);
     }
 
+    /**
+     * Search jobs with the filters evaluated by MongoDB (text and compound indexes on jobs), newest first
+     * @param filters - Map of filter criteria (q, industry, employmentType, location, minSalary, maxSalary,
+     *                  yearsOfExperience, active; see JobFilterCriteria)
+     * @param cursor - nextCursor from the previous page, or null for the first page
+     * @param pageSize - Requested page size (capped at MAX_SEARCH_PAGE_SIZE)
+     * @return Page of jobs
+     * @throws IllegalArgumentException if the cursor or a numeric filter is malformed
+     */
+    public CursorPage<Job> searchJobs(Map<String, String> filters, String cursor, Integer pageSize) {
+        int limit = pageSize == null || pageSize <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(pageSize, MAX_SEARCH_PAGE_SIZE);
+        KeysetCursor after = cursor == null || cursor.isEmpty()
+                ? null
+                : KeysetCursor.decode(JobRepository.LISTING_SORT_FIELD, cursor);
+
+        // One extra row tells us if there is a next page
+        List<Job> jobs = jobRepository.findPageByFilters(filters, after, limit + 1);
+        String nextCursor = null;
+        if (jobs.size() > limit) {
+            jobs = jobs.subList(0, limit);
+            Job last = jobs.get(limit - 1);
+            nextCursor = new KeysetCursor(JobRepository.LISTING_SORT_FIELD, last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(jobs, nextCursor);
+    }
+
+    /**
+     * Active jobs within a radius of a place, nearest first (2dsphere index on Job.locationPoint)
+     * @param location - City name or alias known to the gazetteer
+     * @param radiusKm - Search radius in kilometres (at most MAX_NEARBY_RADIUS_KM)
+     * @param pageSize - Maximum number of jobs (capped at MAX_SEARCH_PAGE_SIZE)
+     * @return Nearby jobs
+     * @throws IllegalArgumentException if the location is unknown or the radius is out of range
+     */
+    public List<Job> findJobsNear(String location, double radiusKm, Integer pageSize) {
+        if (!Double.isFinite(radiusKm) || radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be a number > 0 and <= " + MAX_NEARBY_RADIUS_KM);
+        }
+        GeoJsonPoint point = gazetteer.resolve(location);
+        if (point == null) {
+            throw new IllegalArgumentException("Unknown location: " + location);
+        }
+        int limit = pageSize == null || pageSize <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(pageSize, MAX_SEARCH_PAGE_SIZE);
+        return jobRepository.findNear(point, radiusKm, limit);
+    }
+
     // Create new job
     public Job createJob(Job job) {
         return jobRepository.save(job);
@@ -61,18 +144,76 @@ public class JobService {
 
     /**
      * Get recommended jobs for an applicant based on their skills, location, and experience
+     * Scores the active jobs in the JobSnapshotStore snapshot, keeping only the best offset + limit
+     * while scoring (bounded min-heap), never the whole scored list
+     * @param userProfile - Applicant's profile
+     * @param offset - Number of best matches to skip
+     * @param limit - Number of matches to return
+     * @return Matches with a score above 0, best first (ties keep job order)
+     * @throws IllegalArgumentException if offset/limit are out of range
      */
-    public List<Map<String, Object>> getRecommendedJobs(UserProfile userProfile) {
-        List<Job> allJobs = jobRepository.findAll();
-        
-        // Extract user preferences
-        List<String> userSkills = userProfile.getSkills() != null ? 
+    public List<JobMatch> getRecommendedJobs(UserProfile userProfile, int offset, int limit) {
+        checkRecommendationWindow(offset, limit);
+
+        List<JobMatch> ranked = rankJobs(jobSnapshotStore.current(), matchPreferencesOf(userProfile), offset + limit);
+        return ranked.subList(Math.min(offset, ranked.size()), ranked.size());
+    }
+
+    /**
+     * Validate recommendation paging
+     * @throws IllegalArgumentException if offset/limit are out of range
+     */
+    public static void checkRecommendationWindow(int offset, int limit) {
+        if (offset < 0 || limit <= 0 || offset + limit > MAX_RECOMMENDATION_WINDOW) {
+            throw new IllegalArgumentException("offset must be >= 0, limit > 0 and offset + limit <= " + MAX_RECOMMENDATION_WINDOW);
+        }
+    }
+
+    /**
+     * An applicant's inputs to the match calculation, extracted once per profile
+     * @param skills - Normalized skills (see SkillVocabulary)
+     * @param skillIds - Vocabulary IDs matching those skills, set by prepareForSnapshot; null otherwise
+     * @param preferredLocations - Lower-cased preferred locations (falls back to the current location)
+     * @param preferredPoints - Gazetteer coordinates of the preferred locations that could be resolved
+     * @param experience - Years of experience, or null if unknown
+     */
+    public record MatchPreferences(List<String> skills, BitSet skillIds, List<String> preferredLocations,
+                                   List<GeoJsonPoint> preferredPoints, Integer experience) {
+        MatchPreferences withSkillIds(BitSet ids) {
+            return new MatchPreferences(skills, ids, preferredLocations, preferredPoints, experience);
+        }
+    }
+
+    /**
+     * Extract the match inputs of a profile
+     */
+    public MatchPreferences matchPreferencesOf(UserProfile userProfile) {
+        List<String> userSkills = userProfile.getSkills() != null ?
             userProfile.getSkills().stream()
-                .map(String::toLowerCase)
+                .filter(Objects::nonNull)
+                .map(SkillVocabulary::normalize)
                 .collect(Collectors.toList()) : new ArrayList<>();
-        
+
+        List<String> preferredLocations = matchLocationsOf(userProfile);
+
+        // Coordinates are stored on save; profiles saved before that are resolved here
+        List<GeoJsonPoint> preferredPoints = userProfile.getPreferredLocationPoints() != null
+            ? userProfile.getPreferredLocationPoints()
+            : gazetteer.resolveAll(preferredLocations);
+
+        // Extract user's years of experience
+        Integer userExperience = parseYearsOfExperience(userProfile.getExperience());
+
+        return new MatchPreferences(userSkills, null, preferredLocations, preferredPoints, userExperience);
+    }
+
+    /**
+     * Lower-cased locations a profile is matched against: its preferred locations, else its current location
+     */
+    public static List<String> matchLocationsOf(UserProfile userProfile) {
         List<String> preferredLocations = userProfile.getPreferredLocations() != null ? 
             userProfile.getPreferredLocations().stream()
+                .filter(Objects::nonNull)
                 .map(String::toLowerCase)
                 .collect(Collectors.toList()) : new ArrayList<>();
         
@@ -85,104 +226,214 @@ public class JobService {
         if (preferredLocations.isEmpty() && userProfile.getCurrentLocation() != null) {
             preferredLocations.add(userProfile.getCurrentLocation().toLowerCase());
         }
+        return preferredLocations;
+    }
 
-        // Extract user's years of experience
-        Integer userExperience = parseYearsOfExperience(userProfile.getExperience());
+    /**
+     * Score a job snapshot for one applicant, keeping only the best `window` (bounded min-heap, no full sort)
+     * @param snapshot - Jobs to score
+     * @param preferences - Applicant's match inputs
+     * @param window - Number of best matches to keep
+     * @return Matches with a score above 0, best first (ties keep snapshot order)
+     */
+    public List<JobMatch> rankJobs(JobSnapshot snapshot, MatchPreferences preferences, int window) {
+        MatchPreferences snapshotPreferences = prepareForSnapshot(preferences);
+        double[] locationScores = locationScores(snapshot, snapshotPreferences);
+
+        TopJobMatches best = new TopJobMatches(window);
+        for (int row = 0; row < snapshot.size(); row++) {
+            double matchPercentage = scoreRow(snapshot, row, snapshotPreferences, locationScores);
+            if (matchPercentage > 0) {
+                best.offer(row, snapshot.job(row), matchPercentage);
+            }
+        }
+        return best.toList();
+    }
+
+    /**
+     * Resolve the applicant's skills to vocabulary IDs once, so each snapshot row is matched with integer lookups
+     * Building a snapshot interns every job's skills, so call this after taking the snapshot
+     * @param preferences - Applicant's match inputs
+     * @return Preferences with skillIds set
+     */
+    MatchPreferences prepareForSnapshot(MatchPreferences preferences) {
+        return preferences.withSkillIds(skillVocabulary.matchingIds(preferences.skills()));
+    }
+
+    /**
+     * Location score of every entry in a snapshot's location table, indexed by location ID
+     */
+    double[] locationScores(JobSnapshot snapshot, MatchPreferences preferences) {
+        double[] scores = new double[snapshot.locationCount()];
+        for (int locationId = 0; locationId < scores.length; locationId++) {
+            scores[locationId] = calculateLocationMatch(
+                snapshot.locationText(locationId), snapshot.locationPoint(locationId), preferences);
+        }
+        return scores;
+    }
+
+    /**
+     * Match percentage of one snapshot row, same weights as calculateJobMatch
+     * @param preferences - Match inputs from prepareForSnapshot
+     * @param locationScores - From locationScores for the same snapshot and preferences
+     */
+    double scoreRow(JobSnapshot snapshot, int row, MatchPreferences preferences, double[] locationScores) {
+        double matchScore = 0.0;
+        matchScore += calculateSkillsMatch(snapshot, row, preferences) * 0.50;
+        matchScore += locationScores[snapshot.locationId(row)] * 0.30;
+        matchScore += calculateExperienceMatch(snapshot.yearsOfExperience(row), preferences.experience()) * 0.20;
+        return Math.min(matchScore, 100.0);
+    }
 
-        // Calculate match percentage for each job
-        List<Map<String, Object>> jobsWithMatch = allJobs.stream()
-            .map(job -> {
-                double matchPercentage = calculateJobMatch(job, userSkills, preferredLocations, userExperience);
-                Map<String, Object> jobWithMatch = new HashMap<>();
-                jobWithMatch.put("job", job);
-                jobWithMatch.put("matchPercentage", matchPercentage);
-                return jobWithMatch;
-            })
-            .filter(jobMap -> (double) jobMap.get("matchPercentage") > 0)
-            .sorted((a, b) -> Double.compare((double) b.get("matchPercentage"), (double) a.get("matchPercentage")))
-            .collect(Collectors.toList());
+    /**
+     * Match percentage of a single job for one applicant
+     */
+    public double scoreJob(Job job, MatchPreferences preferences) {
+        return calculateJobMatch(job, preferences);
+    }
 
-        return jobsWithMatch;
+    /**
+     * Highest score a job can give an applicant who shares none of its skills
+     * @return MAX_SCORE_WITHOUT_SKILL_MATCH, or MAX_SCORE_WITHOUT_JOB_SKILLS if the job lists no skills
+     */
+    public double maxScoreWithoutSkillMatch(Job job) {
+        return jobSkillIndex.skillIds(job).length > 0 ? MAX_SCORE_WITHOUT_SKILL_MATCH : MAX_SCORE_WITHOUT_JOB_SKILLS;
     }
 
     /**
      * Calculate match percentage between a job and user profile (50% skills, 30% location, 20% experience)
      */
-    private double calculateJobMatch(Job job, List<String> userSkills, List<String> preferredLocations, Integer userExperience) {
+    private double calculateJobMatch(Job job, MatchPreferences preferences) {
         double matchScore = 0.0;
         double maxScore = 100.0;
 
         // Skills matching (50% weight)
-        double skillsMatchScore = calculateSkillsMatch(job, userSkills);
+        double skillsMatchScore = calculateSkillsMatch(job, preferences);
         matchScore += skillsMatchScore * 0.50;
 
         // Location matching (30% weight)
-        double locationMatchScore = calculateLocationMatch(job, preferredLocations);
+        double locationMatchScore = calculateLocationMatch(job, preferences);
         matchScore += locationMatchScore * 0.30;
 
         // Experience matching (20% weight)
-        double experienceMatchScore = calculateExperienceMatch(job, userExperience);
+        Integer requiredExperience = job.getYearsOfExperience();
+        double experienceMatchScore = calculateExperienceMatch(
+            requiredExperience != null ? requiredExperience : JobSnapshot.NO_VALUE, preferences.experience());
         matchScore += experienceMatchScore * 0.20;
 
         return Math.min(matchScore, maxScore); // Cap at 100%
     }
 
+    // calculateSkillsMatch, calculateLocationMatch and parseYearsOfExperience are package-private
+    // so JobMatchingBenchmark (src/jmh) can measure them directly
+
     /**
      * Calculate skills match percentage
+     * A job skill matches when it contains, or is contained in, one of the user's skills (see SkillVocabulary.matchingIds)
      */
-    private double calculateSkillsMatch(Job job, List<String> userSkills) {
-        if (userSkills == null || userSkills.isEmpty()) {
+    double calculateSkillsMatch(Job job, MatchPreferences preferences) {
+        if (preferences.skills().isEmpty()) {
             return 0.0;
         }
 
-        List<String> jobSkills = job.getSkills() != null ? 
-            job.getSkills().stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toList()) : new ArrayList<>();
+        int[] jobSkillIds = jobSkillIndex.skillIds(job);
 
-        if (jobSkills.isEmpty()) {
+        if (jobSkillIds.length == 0) {
             return 50.0; // Partial credit if job doesn't list skills
         }
 
         // Calculate percentage of job skills that match user skills
-        long matchedSkills = jobSkills.stream()
-            .filter(skill -> userSkills.stream()
-                .anyMatch(userSkill -> skill.contains(userSkill.trim()) || userSkill.contains(skill.trim())))
-            .count();
+        BitSet userSkillIds = preferences.skillIds();
+        int matchedSkills = 0;
+        for (int skillId : jobSkillIds) {
+            boolean matched = userSkillIds != null
+                ? userSkillIds.get(skillId)
+                : skillVocabulary.matchesAny(skillId, preferences.skills());
+            if (matched) {
+                matchedSkills++;
+            }
+        }
 
-        return (matchedSkills / (double) jobSkills.size()) * 100.0;
+        return (matchedSkills / (double) jobSkillIds.length) * 100.0;
+    }
+
+    /**
+     * Skills match percentage of a snapshot row (preferences must come from prepareForSnapshot)
+     */
+    double calculateSkillsMatch(JobSnapshot snapshot, int row, MatchPreferences preferences) {
+        if (preferences.skills().isEmpty()) {
+            return 0.0;
+        }
+
+        int start = snapshot.skillStart(row);
+        int end = snapshot.skillEnd(row);
+        if (start == end) {
+            return 50.0; // Partial credit if job doesn't list skills
+        }
+
+        BitSet userSkillIds = preferences.skillIds();
+        int matchedSkills = 0;
+        for (int index = start; index < end; index++) {
+            if (userSkillIds.get(snapshot.skillId(index))) {
+                matchedSkills++;
+            }
+        }
+
+        return (matchedSkills / (double) (end - start)) * 100.0;
     }
 
     /**
      * Calculate location match percentage
      */
-    private double calculateLocationMatch(Job job, List<String> preferredLocations) {
+    double calculateLocationMatch(Job job, MatchPreferences preferences) {
+        String jobLocation = job.getLocation() != null ? job.getLocation().toLowerCase() : "";
+        GeoJsonPoint jobPoint = job.getLocationPoint() != null ? job.getLocationPoint() : gazetteer.resolve(job.getLocation());
+        return calculateLocationMatch(jobLocation, jobPoint, preferences);
+    }
+
+    /**
+     * Calculate location match percentage
+     * Full score within LOCAL_RADIUS_KM of a preferred location, falling linearly to 0 at MAX_MATCH_DISTANCE_KM;
+     * a text match still counts when either side isn't in the gazetteer
+     * @param jobLocation - Lower-cased job location ("" if unset)
+     * @param jobPoint - Gazetteer coordinates of the job location, or null if unknown
+     */
+    private double calculateLocationMatch(String jobLocation, GeoJsonPoint jobPoint, MatchPreferences preferences) {
+        List<String> preferredLocations = preferences.preferredLocations();
         if (preferredLocations == null || preferredLocations.isEmpty()) {
             return 50.0; // Neutral score if no preferences
         }
 
-        String jobLocation = job.getLocation() != null ? job.getLocation().toLowerCase() : "";
-        
         // Check for exact or partial location match
         boolean isLocationMatch = preferredLocations.stream()
             .anyMatch(loc -> jobLocation.contains(loc) || loc.contains(jobLocation));
+        double score = isLocationMatch ? 100.0 : 0.0;
+
+        // Distance to the nearest preferred location
+        if (jobPoint != null && preferences.preferredPoints() != null) {
+            for (GeoJsonPoint preferredPoint : preferences.preferredPoints()) {
+                double distanceKm = Gazetteer.distanceKm(jobPoint, preferredPoint);
+                double distanceScore = distanceKm <= LOCAL_RADIUS_KM ? 100.0
+                    : Math.max(0.0, 100.0 * (MAX_MATCH_DISTANCE_KM - distanceKm) / (MAX_MATCH_DISTANCE_KM - LOCAL_RADIUS_KM));
+                score = Math.max(score, distanceScore);
+            }
+        }
 
-        // Check for remote opportunities if user has no location specified
-        if (!isLocationMatch && jobLocation.contains("remote")) {
+        // Remote jobs suit any location
+        if (score < 75.0 && jobLocation.contains("remote")) {
             return 75.0;
         }
 
-        return isLocationMatch ? 100.0 : 0.0;
+        return score;
     }
 
     /**
      * Calculate experience match percentage based on required job experience and user experience
+     * @param requiredExperience - Years the job requires, or JobSnapshot.NO_VALUE if not set
      */
-    private double calculateExperienceMatch(Job job, Integer userExperience) {
-        Integer requiredExperience = job.getYearsOfExperience();
-        
+    private double calculateExperienceMatch(int requiredExperience, Integer userExperience) {
         // If job doesn't specify experience requirement, neutral score
-        if (requiredExperience == null || requiredExperience == 0) {
+        if (requiredExperience == JobSnapshot.NO_VALUE || requiredExperience == 0) {
             return 50.0;
         }
         
@@ -207,7 +458,7 @@ public class JobService {
     /**
      * Parse years of experience from a string value (e.g., "5", "5 years", "5-7 years")
      */
-    private Integer parseYearsOfExperience(String experience) {
+    Integer parseYearsOfExperience(String experience) {
         if (experience == null || experience.trim().isEmpty()) {
             return null;
         }
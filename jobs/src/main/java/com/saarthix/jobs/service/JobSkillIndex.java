@@ -0,0 +1,55 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches each job's skills as a sorted array of SkillVocabulary IDs.
+ * Entries are computed on first use and evicted by JobChangeListener whenever a job is saved or deleted.
+ *
+ * Each entry records the job revision it was computed from and is only served for that revision, and
+ * an older revision never replaces a newer one. A Job read before a save and scored after the eviction
+ * therefore cannot put its old skills back for the saved job (or into JobSnapshot, which adopts them).
+ */
+@Component
+public class JobSkillIndex {
+
+    private final SkillVocabulary skillVocabulary;
+    private final Map<String, Entry> skillIdsByJobId = new ConcurrentHashMap<>();
+
+    private record Entry(long revision, int[] skillIds) {}
+
+    public JobSkillIndex(SkillVocabulary skillVocabulary) {
+        this.skillVocabulary = skillVocabulary;
+    }
+
+    /**
+     * Sorted skill IDs of a job (duplicates kept)
+     */
+    public int[] skillIds(Job job) {
+        if (job.getId() == null) {
+            return skillVocabulary.internAll(job.getSkills());
+        }
+        Entry cached = skillIdsByJobId.get(job.getId());
+        if (cached != null && cached.revision() == job.getRevision()) {
+            return cached.skillIds();
+        }
+        int[] skillIds = skillVocabulary.internAll(job.getSkills());
+        skillIdsByJobId.merge(job.getId(), new Entry(job.getRevision(), skillIds),
+                (current, computed) -> computed.revision() > current.revision() ? computed : current);
+        return skillIds;
+    }
+
+    /**
+     * Drop a job's cached skill IDs
+     * @param jobId - ID of the saved or deleted job
+     */
+    public void evict(String jobId) {
+        if (jobId != null) {
+            skillIdsByJobId.remove(jobId);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable struct-of-arrays view of the active jobs, laid out for scoring.
+ *
+ * Row i describes jobs[i]. Skills are stored CSR-style: the sorted SkillVocabulary IDs of row i are
+ * skillIds[skillOffsets[i] .. skillOffsets[i + 1]). Experience is a primitive column with
+ * NO_VALUE for "not set". Locations are interned: locationIds[i] indexes the location table, so a
+ * location score is computed once per distinct location rather than once per job.
+ *
+ * Never modified after construction; JobSnapshotStore swaps in a new snapshot when jobs change.
+ */
+public final class JobSnapshot {
+
+    /** Stored in the int columns for a field the job leaves empty */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private final Job[] jobs;
+    private final int[] skillOffsets;
+    private final int[] skillIds;
+    private final int[] yearsOfExperience;
+    private final int[] locationIds;
+    // Location table: lower-cased text ("" when unset) and gazetteer point (null when unknown)
+    private final String[] locationTexts;
+    private final GeoJsonPoint[] locationPoints;
+
+    private JobSnapshot(Builder builder) {
+        int size = builder.jobs.size();
+        this.jobs = builder.jobs.toArray(new Job[0]);
+        this.skillOffsets = Arrays.copyOf(builder.skillOffsets, size + 1);
+        this.skillIds = Arrays.copyOf(builder.skillIds, builder.skillCount);
+        this.yearsOfExperience = Arrays.copyOf(builder.yearsOfExperience, size);
+        this.locationIds = Arrays.copyOf(builder.locationIds, size);
+        this.locationTexts = builder.locationTexts.toArray(new String[0]);
+        this.locationPoints = builder.locationPoints.toArray(new GeoJsonPoint[0]);
+    }
+
+    /**
+     * Snapshot of the active jobs in a list, in list order
+     */
+    static JobSnapshot of(List<Job> jobs, JobSkillIndex jobSkillIndex, Gazetteer gazetteer) {
+        Builder builder = new Builder(jobs.size(), gazetteer);
+        for (Job job : jobs) {
+            if (job.isActive()) {
+                builder.add(job, jobSkillIndex.skillIds(job));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copy with a saved job put in place of its old row (appended if new, dropped if no longer active)
+     */
+    JobSnapshot with(Job job, JobSkillIndex jobSkillIndex, Gazetteer gazetteer) {
+        Builder builder = new Builder(jobs.length + 1, gazetteer);
+        boolean replaced = false;
+        for (int row = 0; row < jobs.length; row++) {
+            if (job.getId() != null && job.getId().equals(jobs[row].getId())) {
+                if (job.isActive()) {
+                    builder.add(job, jobSkillIndex.skillIds(job));
+                }
+                replaced = true;
+            } else {
+                builder.add(jobs[row], skillIds, skillOffsets[row], skillOffsets[row + 1]);
+            }
+        }
+        if (!replaced && job.isActive()) {
+            builder.add(job, jobSkillIndex.skillIds(job));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copy without a deleted job's row
+     */
+    JobSnapshot without(String jobId, Gazetteer gazetteer) {
+        Builder builder = new Builder(jobs.length, gazetteer);
+        for (int row = 0; row < jobs.length; row++) {
+            if (!jobs[row].getId().equals(jobId)) {
+                builder.add(jobs[row], skillIds, skillOffsets[row], skillOffsets[row + 1]);
+            }
+        }
+        return builder.build();
+    }
+
+    public int size() { return jobs.length; }
+
+    public Job job(int row) { return jobs[row]; }
+
+    public int skillStart(int row) { return skillOffsets[row]; }
+    public int skillEnd(int row) { return skillOffsets[row + 1]; }
+    public int skillId(int index) { return skillIds[index]; }
+
+    public int yearsOfExperience(int row) { return yearsOfExperience[row]; }
+
+    public int locationId(int row) { return locationIds[row]; }
+    public int locationCount() { return locationTexts.length; }
+    public String locationText(int locationId) { return locationTexts[locationId]; }
+    public GeoJsonPoint locationPoint(int locationId) { return locationPoints[locationId]; }
+
+    // ============= PRIVATE HELPER CLASSES =============
+
+    /**
+     * Appends rows into growable primitive arrays
+     */
+    private static final class Builder {
+        private final Gazetteer gazetteer;
+        private final List<Job> jobs;
+        private int[] skillOffsets;
+        private int[] skillIds;
+        private int skillCount;
+        private int[] yearsOfExperience;
+        private int[] locationIds;
+        private final Map<String, Integer> locationIdsByText = new HashMap<>();
+        private final List<String> locationTexts = new ArrayList<>();
+        private final List<GeoJsonPoint> locationPoints = new ArrayList<>();
+
+        Builder(int expectedSize, Gazetteer gazetteer) {
+            int capacity = Math.max(expectedSize, 16);
+            this.gazetteer = gazetteer;
+            this.jobs = new ArrayList<>(capacity);
+            this.skillOffsets = new int[capacity + 1];
+            this.skillIds = new int[capacity * 4];
+            this.yearsOfExperience = new int[capacity];
+            this.locationIds = new int[capacity];
+        }
+
+        void add(Job job, int[] jobSkillIds) {
+            add(job, jobSkillIds, 0, jobSkillIds.length);
+        }
+
+        /**
+         * Append a row whose skill IDs are jobSkillIds[from, to)
+         */
+        void add(Job job, int[] jobSkillIds, int from, int to) {
+            int count = to - from;
+            int row = jobs.size();
+            if (row == yearsOfExperience.length) {
+                int capacity = row * 2;
+                skillOffsets = Arrays.copyOf(skillOffsets, capacity + 1);
+                yearsOfExperience = Arrays.copyOf(yearsOfExperience, capacity);
+                locationIds = Arrays.copyOf(locationIds, capacity);
+            }
+            if (skillCount + count > skillIds.length) {
+                skillIds = Arrays.copyOf(skillIds, Math.max(skillIds.length * 2, skillCount + count));
+            }
+
+            jobs.add(job);
+            System.arraycopy(jobSkillIds, from, skillIds, skillCount, count);
+            skillCount += count;
+            skillOffsets[row + 1] = skillCount;
+            yearsOfExperience[row] = valueOf(job.getYearsOfExperience());
+            locationIds[row] = locationId(job);
+        }
+
+        JobSnapshot build() {
+            return new JobSnapshot(this);
+        }
+
+        private int locationId(Job job) {
+            String text = job.getLocation() != null ? job.getLocation().toLowerCase() : "";
+            Integer id = locationIdsByText.get(text);
+            if (id == null) {
+                id = locationTexts.size();
+                locationIdsByText.put(text, id);
+                locationTexts.add(text);
+                locationPoints.add(job.getLocationPoint() != null ? job.getLocationPoint() : gazetteer.resolve(job.getLocation()));
+            }
+            return id;
+        }
+
+        private static int valueOf(Integer value) {
+            return value != null ? value : NO_VALUE;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the current JobSnapshot of active jobs for scoring.
+ *
+ * The snapshot is loaded from the jobs collection on first use. Between reloads JobChangeListener
+ * reports each saved or deleted job and a new snapshot is built from the old one with that row
+ * replaced (copy-on-write), so readers always see a complete, unchanging snapshot without locking.
+ * Writers are serialized.
+ *
+ * This assumes a single application instance: a job saved through another instance (or written to
+ * MongoDB directly) fires no JobChangeListener event here, so recommendations and nearby scoring only
+ * see it once the snapshot is reloaded, jobs.job-snapshot.reload-seconds (default 300) after the last
+ * load. The reload runs on the first current() call after that interval, in that caller's thread;
+ * other readers keep the old snapshot meanwhile. Deployments running more than one instance should
+ * lower the interval; 0 never reloads, which is only correct for a single instance.
+ */
+@Component
+public class JobSnapshotStore {
+
+    private final JobRepository jobRepository;
+    private final JobSkillIndex jobSkillIndex;
+    private final Gazetteer gazetteer;
+
+    private final long reloadNanos;
+
+    private volatile JobSnapshot snapshot;
+    // System.nanoTime() of the last load; only written under the lock
+    private volatile long loadedAt;
+    // Set while one caller reloads, so the others keep using the old snapshot instead of waiting
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    public JobSnapshotStore(JobRepository jobRepository, JobSkillIndex jobSkillIndex, Gazetteer gazetteer,
+                            @Value("${jobs.job-snapshot.reload-seconds:300}") long reloadSeconds) {
+        this.jobRepository = jobRepository;
+        this.jobSkillIndex = jobSkillIndex;
+        this.gazetteer = gazetteer;
+        this.reloadNanos = Math.max(0, reloadSeconds) * 1_000_000_000L;
+    }
+
+    /**
+     * Snapshot of the active jobs, loading it on first call and reloading it once the reload interval has passed
+     */
+    public JobSnapshot current() {
+        JobSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    load();
+                }
+                return snapshot;
+            }
+        }
+        if (reloadNanos > 0 && System.nanoTime() - loadedAt >= reloadNanos && reloading.compareAndSet(false, true)) {
+            try {
+                synchronized (this) {
+                    load();
+                    return snapshot;
+                }
+            } catch (Exception e) {
+                // Keep scoring the old snapshot; the next call after the interval tries again
+                System.err.println("Warning: Could not reload job snapshot: " + e.getMessage());
+            } finally {
+                reloading.set(false);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Put a saved job into the snapshot (or take it out if it is no longer active)
+     * Call after the job's cached skill IDs were evicted, so its new skills are used
+     */
+    public synchronized void jobSaved(Job job) {
+        // Not loaded yet: the first load will read the job from the database
+        if (snapshot != null) {
+            snapshot = snapshot.with(job, jobSkillIndex, gazetteer);
+        }
+    }
+
+    /**
+     * Remove a deleted job from the snapshot
+     */
+    public synchronized void jobDeleted(String jobId) {
+        if (snapshot != null) {
+            snapshot = snapshot.without(jobId, gazetteer);
+        }
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    /**
+     * Build the snapshot from the jobs collection; call under the lock, so no saved job is applied to a snapshot it replaces
+     */
+    private void load() {
+        snapshot = JobSnapshot.of(jobRepository.findAll(), jobSkillIndex, gazetteer);
+        loadedAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,171 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Versioned;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * ETag / Last-Modified support for Versioned documents and for whole-collection listings.
+ *
+ * A listing's fingerprint (hash of every document's id, revision and lastModified) is cached per
+ * document type once computed, so a poll whose If-None-Match still matches is answered with 304
+ * without reading the collection. Any save or delete of that type, seen through MongoDB's mapping
+ * events, drops the cached fingerprint; a generation counter keeps a load that raced with a write
+ * from caching a fingerprint of stale data. Both the generation check of a load and the bump of a
+ * write run inside a compute on the type's fingerprint entry, so neither can interleave with the other.
+ *
+ * This assumes a single application instance: writes through another instance (or directly to MongoDB)
+ * fire no events here, so a cached fingerprint only expires after jobs.listing-fingerprints.ttl-seconds
+ * (default 60) and until then conditional GETs can answer 304 for a listing that has changed. Deployments
+ * running more than one instance should lower the TTL, or set it to 0 to disable the cache; every
+ * conditional GET then loads the listing and compares its freshly computed fingerprint.
+ */
+@Component
+public class ListingFingerprints extends AbstractMongoEventListener<Object> {
+
+    /**
+     * @param etag - Strong entity tag (unquoted)
+     * @param lastModified - Epoch milliseconds, or -1 when unknown
+     */
+    public record Fingerprint(String etag, long lastModified) {}
+
+    private record Cached(Fingerprint fingerprint, long expiresAt) {}
+
+    private final long ttlMillis;
+    private final Map<Class<?>, Cached> fingerprints = new ConcurrentHashMap<>();
+    // Only updated inside a compute on the type's fingerprints entry
+    private final Map<Class<?>, Long> generations = new ConcurrentHashMap<>();
+    // Last save/delete seen per type, so a delete also moves a listing's Last-Modified forward
+    private final Map<Class<?>, Long> changedAt = new ConcurrentHashMap<>();
+
+    public ListingFingerprints(@Value("${jobs.listing-fingerprints.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlMillis = Math.max(0, ttlSeconds) * 1000;
+    }
+
+    /**
+     * Load a whole listing for a GET, unless the client's copy is still current
+     * @param type - Document type of the listing
+     * @param request - Request carrying If-None-Match / If-Modified-Since; ETag and Last-Modified are set on its response
+     * @param loader - Loads the listing, in response order
+     * @return The listing, or null if the request was answered with 304
+     */
+    public <T extends Versioned> List<T> listing(Class<T> type, WebRequest request, Supplier<List<T>> loader) {
+        Fingerprint cached = cached(type);
+        if (cached != null && request.checkNotModified(cached.etag(), cached.lastModified())) {
+            return null;
+        }
+        long loadedAt = generation(type);
+        List<T> documents = loader.get();
+        Fingerprint fingerprint = fingerprint(type, documents, loadedAt);
+        if (cached == null && request.checkNotModified(fingerprint.etag(), fingerprint.lastModified())) {
+            return null;
+        }
+        return documents;
+    }
+
+    /**
+     * Cached fingerprint of a type's listing, or null if it has changed since it was last computed or has expired
+     */
+    Fingerprint cached(Class<? extends Versioned> type) {
+        Cached entry = fingerprints.get(type);
+        return entry != null && System.currentTimeMillis() < entry.expiresAt() ? entry.fingerprint() : null;
+    }
+
+    /**
+     * Current generation of a type; read it before loading the listing and pass it to fingerprint()
+     */
+    long generation(Class<? extends Versioned> type) {
+        return generations.getOrDefault(type, 0L);
+    }
+
+    /**
+     * Compute (and cache, unless the type changed since loadedAt) the fingerprint of a listing
+     * @param type - Document type of the listing
+     * @param documents - The whole listing, in response order
+     * @param loadedAt - generation(type) read before the listing was loaded
+     */
+    Fingerprint fingerprint(Class<? extends Versioned> type, List<? extends Versioned> documents, long loadedAt) {
+        MessageDigest digest = sha256();
+        long lastModified = changedAt.getOrDefault(type, -1L);
+        for (Versioned document : documents) {
+            digest.update(etagOf(document).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ';');
+            lastModified = Math.max(lastModified, lastModifiedOf(document));
+        }
+        Fingerprint fingerprint = new Fingerprint(
+                HexFormat.of().formatHex(digest.digest(), 0, 16), lastModified);
+
+        if (ttlMillis > 0) {
+            Cached computed = new Cached(fingerprint, System.currentTimeMillis() + ttlMillis);
+            // Atomic with changed(): a write can't bump the generation between the check and the put
+            fingerprints.compute(type, (t, current) -> generation(type) == loadedAt ? computed : current);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Strong ETag of one document (unquoted): document ID, revision and lastModified
+     */
+    public static String etagOf(Versioned document) {
+        return document.getId() + "-" + document.getRevision() + "-" + Long.toHexString(lastModifiedOf(document));
+    }
+
+    /**
+     * lastModified of one document as epoch milliseconds, or -1 for documents saved before it was tracked
+     */
+    public static long lastModifiedOf(Versioned document) {
+        LocalDateTime lastModified = document.getLastModified();
+        // Stored the way Spring Data converts LocalDateTime: in the system time zone
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof Versioned document) {
+            changed(document.getClass());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        if (event.getType() != null && Versioned.class.isAssignableFrom(event.getType())) {
+            changed(event.getType());
+        }
+    }
+
+    /**
+     * Drop a type's cached fingerprint; called from the mapping events, and directly by writes that bypass them
+     */
+    public void changed(Class<?> type) {
+        fingerprints.compute(type, (t, current) -> {
+            generations.merge(type, 1L, Long::sum);
+            changedAt.put(type, System.currentTimeMillis());
+            return null;
+        });
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
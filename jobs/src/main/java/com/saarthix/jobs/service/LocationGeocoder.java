@@ -0,0 +1,33 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.UserProfile;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves Job.location and a profile's match locations to gazetteer coordinates whenever
+ * a job or profile is saved, so location scoring and nearby-job queries work on points.
+ *
+ * MappingMongoConverter loads its entity callbacks while MongoTemplate is being created, so this
+ * must only depend on beans that don't need MongoDB (a repository-backed service would form a cycle).
+ */
+@Component
+public class LocationGeocoder implements BeforeConvertCallback<Object> {
+
+    private final Gazetteer gazetteer;
+
+    public LocationGeocoder(Gazetteer gazetteer) {
+        this.gazetteer = gazetteer;
+    }
+
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        if (entity instanceof Job job) {
+            job.setLocationPoint(gazetteer.resolve(job.getLocation()));
+        } else if (entity instanceof UserProfile profile) {
+            profile.setPreferredLocationPoints(gazetteer.resolveAll(JobService.matchLocationsOf(profile)));
+        }
+        return entity;
+    }
+}
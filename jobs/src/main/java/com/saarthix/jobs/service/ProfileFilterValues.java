@@ -0,0 +1,81 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.StudentFilterCriteria;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Derives UserProfile.filterValues whenever a profile is saved, whichever repository or controller saves it,
+ * so the student database filters can narrow by indexed words instead of running a regex over every profile.
+ */
+@Component
+public class ProfileFilterValues implements BeforeConvertCallback<UserProfile> {
+
+    /** Bumped when the derivation changes, so ProfileFilterValuesBackfill re-derives stored values */
+    public static final int VERSION = 2;
+
+    @Override
+    public UserProfile onBeforeConvert(UserProfile profile, String collection) {
+        profile.setFilterValues(of(profile));
+        return profile;
+    }
+
+    /**
+     * Filter values of a profile and their words, each list without duplicates
+     * @param profile - Profile with at least the fields the values are derived from
+     */
+    public static UserProfile.FilterValues of(UserProfile profile) {
+        List<UserProfile.EducationEntry> education = profile.getEducationEntries() != null
+                ? profile.getEducationEntries().stream().filter(Objects::nonNull).toList()
+                : List.of();
+
+        UserProfile.FilterValues values = new UserProfile.FilterValues();
+        values.setDegrees(normalizeAll(education.stream().map(UserProfile.EducationEntry::getDegree)));
+        values.setSpecializations(normalizeAll(Stream.concat(
+                education.stream().map(UserProfile.EducationEntry::getStream),
+                education.stream().map(UserProfile.EducationEntry::getDegree))));
+        values.setSkills(normalizeAll(streamOf(profile.getSkills())));
+        values.setInstitutions(normalizeAll(education.stream().map(UserProfile.EducationEntry::getInstitution)));
+        values.setLocations(normalizeAll(Stream.concat(
+                Stream.of(profile.getCurrentLocation()), streamOf(profile.getPreferredLocations()))));
+        values.setAvailability(StudentFilterCriteria.normalize(profile.getAvailability()));
+
+        values.setDegreeTokens(tokensOf(values.getDegrees()));
+        values.setSpecializationTokens(tokensOf(values.getSpecializations()));
+        values.setSkillTokens(tokensOf(values.getSkills()));
+        values.setInstitutionTokens(tokensOf(values.getInstitutions()));
+        values.setLocationTokens(tokensOf(values.getLocations()));
+        values.setAvailabilityTokens(values.getAvailability() != null
+                ? StudentFilterCriteria.tokens(values.getAvailability())
+                : List.of());
+        values.setVersion(VERSION);
+        return values;
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static Stream<String> streamOf(Collection<String> values) {
+        return values != null ? values.stream() : Stream.empty();
+    }
+
+    private static List<String> tokensOf(List<String> normalizedValues) {
+        Set<String> tokens = new LinkedHashSet<>();
+        normalizedValues.forEach(value -> tokens.addAll(StudentFilterCriteria.tokens(value)));
+        return new ArrayList<>(tokens);
+    }
+
+    private static List<String> normalizeAll(Stream<String> values) {
+        Set<String> normalized = new LinkedHashSet<>();
+        values.map(StudentFilterCriteria::normalize).filter(Objects::nonNull).forEach(normalized::add);
+        return new ArrayList<>(normalized);
+    }
+}
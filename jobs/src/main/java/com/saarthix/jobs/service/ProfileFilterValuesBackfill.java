@@ -0,0 +1,43 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Derives filterValues on profiles saved before UserProfile.filterValues existed, or before the current
+ * ProfileFilterValues.VERSION, so the student database filters find them. Costs one query plus one update
+ * per such profile, and is a no-op once every profile is migrated.
+ */
+@Component
+public class ProfileFilterValuesBackfill {
+
+    private final UserProfileRepository userProfileRepository;
+
+    public ProfileFilterValuesBackfill(UserProfileRepository userProfileRepository) {
+        this.userProfileRepository = userProfileRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try (Stream<UserProfile> profiles = userProfileRepository.streamOutdatedFilterValues(ProfileFilterValues.VERSION)) {
+            long updated = 0;
+            Iterator<UserProfile> iterator = profiles.iterator();
+            while (iterator.hasNext()) {
+                UserProfile profile = iterator.next();
+                userProfileRepository.setFilterValuesIfOutdated(profile.getId(), ProfileFilterValues.of(profile));
+                updated++;
+            }
+            if (updated > 0) {
+                System.out.println("Backfilled filterValues on " + updated + " user profiles");
+            }
+        } catch (Exception e) {
+            System.err.println("Warning: Could not backfill filterValues on user profiles: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.User;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import com.saarthix.jobs.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Copies users.userType onto profiles saved before UserProfile.userType existed.
+ * Costs one users query plus one bulk update per role, and is a no-op once every profile is migrated.
+ */
+@Component
+public class ProfileUserTypeBackfill {
+
+    private final UserProfileRepository userProfileRepository;
+    private final UserRepository userRepository;
+
+    public ProfileUserTypeBackfill(UserProfileRepository userProfileRepository, UserRepository userRepository) {
+        this.userProfileRepository = userProfileRepository;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            List<String> emails = userProfileRepository.findApplicantEmailsWithoutUserType();
+            if (emails.isEmpty()) {
+                return;
+            }
+
+            Map<String, List<String>> emailsByUserType = userRepository.findByEmailIn(emails).stream()
+                    .filter(user -> user.getUserType() != null)
+                    .collect(Collectors.groupingBy(User::getUserType,
+                            Collectors.mapping(User::getEmail, Collectors.toList())));
+
+            long updated = emailsByUserType.entrySet().stream()
+                    .mapToLong(entry -> userProfileRepository.updateUserTypeByApplicantEmails(
+                            entry.getValue().stream().filter(Objects::nonNull).toList(), entry.getKey()))
+                    .sum();
+
+            System.out.println("Backfilled userType on " + updated + " of " + emails.size() + " user profiles");
+        } catch (Exception e) {
+            System.err.println("Warning: Could not backfill userType on user profiles: " + e.getMessage());
+        }
+    }
+}
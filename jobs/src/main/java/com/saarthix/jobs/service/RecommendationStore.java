@@ -0,0 +1,392 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.JobRecommendations;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.dto.JobMatch;
+import com.saarthix.jobs.repository.JobRecommendationsRepository;
+import com.saarthix.jobs.repository.JobRepository;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Materialized recommendation lists (job_recommendations), one per applicant.
+ *
+ * Reads are a single fetch by applicant email plus a fetch of the page's jobs. Lists are maintained
+ * in the background: a saved profile is rescored against all jobs, and a saved job is merged into the lists
+ * it can change. Applicants without a list get one built on their first request.
+ * All maintenance runs on one thread, so updates to a list never interleave.
+ *
+ * A saved job only visits the lists that hold it, the lists whose cutoff (the score needed to enter) it can
+ * reach without a skill match, and the lists of applicants sharing one of its skills (StudentSearchIndex,
+ * or whole skill words when the index is off or still loading). Within a list, equal scores are ordered by
+ * JobSnapshot row, the same tie-break TopJobMatches applies when a list is built.
+ */
+@Component
+public class RecommendationStore {
+
+    private static final int PROFILE_BATCH_SIZE = 500;
+    private static final int LIST_BATCH_SIZE = 500;
+
+    private final JobService jobService;
+    private final JobScoringEngine jobScoringEngine;
+    private final JobSnapshotStore jobSnapshotStore;
+    private final JobRepository jobRepository;
+    private final JobRecommendationsRepository jobRecommendationsRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final StudentSearchIndex studentSearchIndex;
+    private final ExecutorService maintainer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "job-recommendations");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Applicants with a rebuild queued -> latest profile to rebuild from; repeated requests queue one rebuild
+    private final Map<String, UserProfile> pendingRebuilds = new ConcurrentHashMap<>();
+
+    public RecommendationStore(
+            JobService jobService,
+            JobScoringEngine jobScoringEngine,
+            JobSnapshotStore jobSnapshotStore,
+            JobRepository jobRepository,
+            JobRecommendationsRepository jobRecommendationsRepository,
+            UserProfileRepository userProfileRepository,
+            StudentSearchIndex studentSearchIndex) {
+        this.jobService = jobService;
+        this.jobScoringEngine = jobScoringEngine;
+        this.jobSnapshotStore = jobSnapshotStore;
+        this.jobRepository = jobRepository;
+        this.jobRecommendationsRepository = jobRecommendationsRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.studentSearchIndex = studentSearchIndex;
+    }
+
+    /**
+     * Get recommended jobs for an applicant from their stored list
+     * Falls back to JobService.getRecommendedJobs (and schedules a rebuild) when the list is missing or too short
+     * @param userProfile - Applicant's profile
+     * @param offset - Number of best matches to skip
+     * @param limit - Number of matches to return
+     * @return Matches with a score above 0, best first
+     * @throws IllegalArgumentException if offset/limit are out of range
+     */
+    public List<JobMatch> getRecommendedJobs(UserProfile userProfile, int offset, int limit) {
+        JobService.checkRecommendationWindow(offset, limit);
+
+        JobRecommendations stored = userProfile.getApplicantEmail() != null
+                ? jobRecommendationsRepository.findById(userProfile.getApplicantEmail()).orElse(null)
+                : null;
+        if (stored != null && stored.getScoringVersion() == JobService.SCORING_VERSION
+                && (stored.isComplete() || offset + limit <= stored.getMatches().size())) {
+            List<JobRecommendations.Match> matches = stored.getMatches();
+            List<JobRecommendations.Match> page = matches.subList(
+                    Math.min(offset, matches.size()), Math.min(offset + limit, matches.size()));
+            Map<String, Job> jobsById = jobRepository.findAllById(page.stream()
+                            .map(JobRecommendations.Match::getJobId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(Job::getId, Function.identity()));
+            return page.stream()
+                    .filter(match -> jobsById.containsKey(match.getJobId()))
+                    .map(match -> new JobMatch(jobsById.get(match.getJobId()), match.getMatchPercentage()))
+                    .collect(Collectors.toList());
+        }
+
+        // Not materialized yet, scored with old weights, or entries were dropped since it was built: score live this time
+        List<JobMatch> live = jobService.getRecommendedJobs(userProfile, offset, limit);
+        profileChanged(userProfile);
+        return live;
+    }
+
+    /**
+     * Rebuild an applicant's list in the background
+     * @param userProfile - Saved profile
+     */
+    public void profileChanged(UserProfile userProfile) {
+        if (userProfile == null || userProfile.getApplicantEmail() == null) {
+            return;
+        }
+        String applicantEmail = userProfile.getApplicantEmail();
+        if (pendingRebuilds.put(applicantEmail, userProfile) == null) {
+            submit("rebuild recommendations for " + applicantEmail, () -> {
+                UserProfile latest = pendingRebuilds.remove(applicantEmail);
+                if (latest != null) {
+                    rebuild(latest);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rescore a created or updated job against the stored lists it can change, in the background
+     * @param job - Saved job
+     */
+    public void jobChanged(Job job) {
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        submit("rescore job " + job.getId(), () -> rescoreJob(job));
+    }
+
+    /**
+     * Remove a deleted job from every stored list in the background
+     * @param jobId - ID of the deleted job
+     */
+    public void jobDeleted(String jobId) {
+        submit("remove job " + jobId, () -> jobRecommendationsRepository.removeJobFromAll(jobId));
+    }
+
+    /**
+     * After a deploy that changed JobService.SCORING_VERSION, rebuild every outdated list in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOutdated() {
+        submit("rebuild outdated recommendations", () -> {
+            if (!jobRecommendationsRepository.existsByScoringVersionNot(JobService.SCORING_VERSION)) {
+                return;
+            }
+            JobSnapshot jobs = jobSnapshotStore.current();
+            long rebuilt = 0;
+            try (Stream<UserProfile> profiles = userProfileRepository.streamMatchFields()) {
+                Iterator<UserProfile> iterator = profiles.iterator();
+                List<UserProfile> batch = new ArrayList<>(PROFILE_BATCH_SIZE);
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() < PROFILE_BATCH_SIZE && iterator.hasNext()) {
+                        continue;
+                    }
+                    Map<String, JobRecommendations> storedByEmail = findStored(batch);
+                    List<JobRecommendations> rescored = new ArrayList<>();
+                    for (UserProfile profile : batch) {
+                        JobRecommendations stored = storedByEmail.get(profile.getApplicantEmail());
+                        if (stored != null && stored.getScoringVersion() != JobService.SCORING_VERSION) {
+                            rescored.add(score(profile, jobs));
+                        }
+                    }
+                    if (!rescored.isEmpty()) {
+                        jobRecommendationsRepository.saveAll(rescored);
+                        rebuilt += rescored.size();
+                    }
+                    batch.clear();
+                }
+            }
+            JobScoringEngine.ScoringStats stats = jobScoringEngine.stats();
+            System.out.println("Rebuilt " + rebuilt + " recommendation lists for scoring version " + JobService.SCORING_VERSION
+                    + " (" + Math.round(stats.jobsPerSecond()) + " jobs/s on " + stats.parallelism() + " threads)");
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintainer.shutdown();
+        try {
+            maintainer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private void submit(String description, Runnable task) {
+        maintainer.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                // Lists self-heal: a missing or short list is rebuilt on the applicant's next request
+                System.err.println("Warning: Could not " + description + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private void rebuild(UserProfile userProfile) {
+        jobRecommendationsRepository.save(score(userProfile, jobSnapshotStore.current()));
+    }
+
+    private JobRecommendations score(UserProfile userProfile, JobSnapshot jobs) {
+        int capacity = JobService.MAX_RECOMMENDATION_WINDOW;
+        List<JobMatch> ranked = jobScoringEngine.rankJobs(jobs, jobService.matchPreferencesOf(userProfile), capacity);
+        List<JobRecommendations.Match> matches = ranked.stream()
+                .map(match -> new JobRecommendations.Match(match.job().getId(), match.matchPercentage()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        JobRecommendations recommendations = new JobRecommendations(userProfile.getApplicantEmail(), matches,
+                ranked.size() < capacity, JobService.SCORING_VERSION);
+        recommendations.setCutoff(cutoffOf(recommendations));
+        return recommendations;
+    }
+
+    private Map<String, JobRecommendations> findStored(List<UserProfile> profiles) {
+        return jobRecommendationsRepository
+                .findAllById(profiles.stream().map(UserProfile::getApplicantEmail).filter(Objects::nonNull).toList())
+                .stream()
+                .collect(Collectors.toMap(JobRecommendations::getApplicantEmail, Function.identity()));
+    }
+
+    /**
+     * Merge a saved job into the current-version lists it can change (outdated ones are replaced by
+     * rebuildOutdated), loading the match fields of each batch's profiles by applicant email
+     */
+    private void rescoreJob(Job job) {
+        Map<String, Integer> rows = rowsByJobId(jobSnapshotStore.current());
+        Set<String> visited = new HashSet<>();
+
+        // Lists holding the job, and lists it can enter without a skill match.
+        // A deactivated job scores 0, so it only has to leave the lists holding it.
+        double maxScore = job.isActive() ? jobService.maxScoreWithoutSkillMatch(job) : 0.0;
+        try (Stream<JobRecommendations> lists = jobRecommendationsRepository.streamForJob(
+                JobService.SCORING_VERSION, job.getId(), maxScore)) {
+            forEachBatch(lists.filter(stored -> visited.add(stored.getApplicantEmail())),
+                    batch -> rescoreLists(job, batch, rows));
+        }
+
+        // Applicants sharing a skill can score above that, whatever their cutoff
+        if (job.isActive() && maxScore < JobService.MAX_SCORE_WITHOUT_JOB_SKILLS) {
+            try (Stream<String> emails = skillMatchEmails(job)) {
+                forEachBatch(emails.filter(visited::add), batch -> rescoreLists(job,
+                        jobRecommendationsRepository.findAllById(batch).stream()
+                                .filter(stored -> stored.getScoringVersion() == JobService.SCORING_VERSION)
+                                .toList(),
+                        rows));
+            }
+        }
+    }
+
+    private void rescoreLists(Job job, List<JobRecommendations> lists, Map<String, Integer> rows) {
+        if (lists.isEmpty()) {
+            return;
+        }
+        Map<String, UserProfile> profilesByEmail = userProfileRepository
+                .findMatchFieldsByApplicantEmails(lists.stream().map(JobRecommendations::getApplicantEmail).toList())
+                .stream()
+                .collect(Collectors.toMap(UserProfile::getApplicantEmail, Function.identity(), (a, b) -> a));
+        List<JobRecommendations> changed = new ArrayList<>();
+        for (JobRecommendations stored : lists) {
+            UserProfile profile = profilesByEmail.get(stored.getApplicantEmail());
+            // No longer an applicant's list; left for the applicant's next request to sort out
+            if (profile == null) {
+                continue;
+            }
+            // Lists only hold active jobs, so a deactivated job scores 0 and is dropped
+            double matchPercentage = job.isActive()
+                    ? jobService.scoreJob(job, jobService.matchPreferencesOf(profile))
+                    : 0.0;
+            if (merge(stored, job.getId(), matchPercentage, rows)) {
+                changed.add(stored);
+            }
+        }
+        if (!changed.isEmpty()) {
+            jobRecommendationsRepository.saveAll(changed);
+        }
+    }
+
+    /**
+     * Applicant emails of the profiles with a skill matching one of the job's. Callers must close the stream.
+     */
+    private Stream<String> skillMatchEmails(Job job) {
+        Set<String> candidateIds = studentSearchIndex.skillCandidates(job.getSkills());
+        if (candidateIds == null) {
+            return userProfileRepository.streamMatchFieldsBySkillTokens(StudentDatabaseService.skillTokensOf(job))
+                    .map(UserProfile::getApplicantEmail)
+                    .filter(Objects::nonNull);
+        }
+        List<String> ids = new ArrayList<>(candidateIds);
+        return IntStream.iterate(0, from -> from < ids.size(), from -> from + LIST_BATCH_SIZE)
+                .mapToObj(from -> userProfileRepository.findMatchFieldsByIds(
+                        ids.subList(from, Math.min(from + LIST_BATCH_SIZE, ids.size()))))
+                .flatMap(List::stream)
+                .map(UserProfile::getApplicantEmail)
+                .filter(Objects::nonNull);
+    }
+
+    private static <T> void forEachBatch(Stream<T> items, Consumer<List<T>> action) {
+        Iterator<T> iterator = items.iterator();
+        List<T> batch = new ArrayList<>(LIST_BATCH_SIZE);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == LIST_BATCH_SIZE || !iterator.hasNext()) {
+                action.accept(batch);
+                batch = new ArrayList<>(LIST_BATCH_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Row of every job in a snapshot, the order TopJobMatches breaks ties by
+     */
+    private static Map<String, Integer> rowsByJobId(JobSnapshot snapshot) {
+        Map<String, Integer> rows = new HashMap<>(snapshot.size() * 2);
+        for (int row = 0; row < snapshot.size(); row++) {
+            rows.put(snapshot.job(row).getId(), row);
+        }
+        return rows;
+    }
+
+    /**
+     * Score a job must reach to enter a list: any positive score if the list is complete, else the last match's
+     */
+    static double cutoffOf(JobRecommendations stored) {
+        List<JobRecommendations.Match> matches = stored.getMatches();
+        return stored.isComplete() || matches.isEmpty() ? 0.0 : matches.get(matches.size() - 1).getMatchPercentage();
+    }
+
+    /**
+     * Put a job's new score into a stored list
+     * @param rows - JobSnapshot row by job ID; among equal scores the lower row ranks first, as in TopJobMatches
+     * @return Whether the list changed
+     */
+    static boolean merge(JobRecommendations stored, String jobId, double matchPercentage, Map<String, Integer> rows) {
+        List<JobRecommendations.Match> matches = stored.getMatches();
+        boolean changed = matches.removeIf(match -> jobId.equals(match.getJobId()));
+
+        if (matchPercentage > 0) {
+            int row = rows.getOrDefault(jobId, Integer.MAX_VALUE);
+            int position = 0;
+            while (position < matches.size() && ranksAhead(matches.get(position), matchPercentage, row, rows)) {
+                position++;
+            }
+            // Past the end of a partial list, unknown jobs may rank ahead of this one, so leave it out
+            if (position < matches.size() || stored.isComplete()) {
+                matches.add(position, new JobRecommendations.Match(jobId, matchPercentage));
+                changed = true;
+                if (matches.size() > JobService.MAX_RECOMMENDATION_WINDOW) {
+                    matches.remove(matches.size() - 1);
+                    stored.setComplete(false);
+                }
+            }
+        }
+
+        if (changed) {
+            stored.setCutoff(cutoffOf(stored));
+            stored.setUpdatedAt(LocalDateTime.now());
+        }
+        return changed;
+    }
+
+    private static boolean ranksAhead(JobRecommendations.Match match, double matchPercentage, int row,
+                                      Map<String, Integer> rows) {
+        return match.getMatchPercentage() > matchPercentage
+                || (match.getMatchPercentage() == matchPercentage
+                        && rows.getOrDefault(match.getJobId(), Integer.MAX_VALUE) < row);
+    }
+}
@@ -0,0 +1,25 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Versioned;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Stamps revision and lastModified on every Versioned document right before it is written,
+ * whichever repository or controller saves it.
+ * lastModified is truncated to milliseconds, MongoDB's date precision, so the ETag of the saved
+ * object matches the ETag of the same document read back.
+ */
+@Component
+public class RevisionStamper implements BeforeConvertCallback<Versioned> {
+
+    @Override
+    public Versioned onBeforeConvert(Versioned document, String collection) {
+        document.setRevision(document.getRevision() + 1);
+        document.setLastModified(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        return document;
+    }
+}
@@ -0,0 +1,127 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.IndustryShortlist;
+import com.saarthix.jobs.repository.IndustryShortlistRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Shortlisted student emails per industry user, so listing and profile views can check
+ * shortlist status without a query.
+ *
+ * Holds the MAX_INDUSTRIES most recently used industries (LRU). StudentDatabaseService
+ * writes through on shortlist/remove after the database write succeeds.
+ *
+ * This assumes a single application instance: shortlist changes made through another instance
+ * (or directly in MongoDB) are not seen here, so a cached shortlist is reloaded only after
+ * jobs.shortlist-cache.ttl-seconds (default 60). Deployments running more than one instance
+ * should lower the TTL, or set it to 0 to disable the cache and read every shortlist from the database.
+ */
+@Component
+public class ShortlistCache {
+
+    private static final int MAX_INDUSTRIES = 1_000;
+
+    private record Cached(Set<String> studentEmails, long expiresAt) {}
+
+    private final IndustryShortlistRepository industryShortlistRepository;
+    private final long ttlMillis;
+
+    // industryEmail -> shortlisted student emails, in access order for LRU eviction
+    private final Map<String, Cached> shortlistsByIndustry = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            return size() > MAX_INDUSTRIES;
+        }
+    };
+    // Bumped on every write so a load that raced with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public ShortlistCache(IndustryShortlistRepository industryShortlistRepository,
+                          @Value("${jobs.shortlist-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.industryShortlistRepository = industryShortlistRepository;
+        this.ttlMillis = Math.max(0, ttlSeconds) * 1000;
+    }
+
+    /**
+     * Shortlisted student emails of an industry user
+     * @param industryEmail - Email of the industry user
+     * @return Read-only set of student emails
+     */
+    public Set<String> getShortlistedEmails(String industryEmail) {
+        Set<String> cached = cached(industryEmail);
+        if (cached != null) {
+            return Collections.unmodifiableSet(cached);
+        }
+
+        long loadedAt = generation.get();
+        Set<String> loaded = industryShortlistRepository.findByIndustryEmail(industryEmail).stream()
+                .map(IndustryShortlist::getStudentEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
+        if (ttlMillis > 0) {
+            synchronized (shortlistsByIndustry) {
+                if (generation.get() == loadedAt) {
+                    shortlistsByIndustry.put(industryEmail,
+                            new Cached(loaded, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(loaded);
+    }
+
+    /**
+     * Whether a student is on an industry user's shortlist
+     */
+    public boolean isShortlisted(String industryEmail, String studentEmail) {
+        return studentEmail != null && getShortlistedEmails(industryEmail).contains(studentEmail);
+    }
+
+    /**
+     * Record a shortlist entry that was just saved
+     */
+    public void added(String industryEmail, String studentEmail) {
+        generation.incrementAndGet();
+        Set<String> cached = cached(industryEmail);
+        if (cached != null && studentEmail != null) {
+            cached.add(studentEmail);
+        }
+    }
+
+    /**
+     * Record a shortlist entry that was just deleted
+     */
+    public void removed(String industryEmail, String studentEmail) {
+        generation.incrementAndGet();
+        Set<String> cached = cached(industryEmail);
+        if (cached != null && studentEmail != null) {
+            cached.remove(studentEmail);
+        }
+    }
+
+    /**
+     * The cached shortlist of an industry user, or null if it is not cached or has expired
+     */
+    private Set<String> cached(String industryEmail) {
+        synchronized (shortlistsByIndustry) {
+            Cached entry = shortlistsByIndustry.get(industryEmail);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= entry.expiresAt()) {
+                shortlistsByIndustry.remove(industryEmail);
+                return null;
+            }
+            return entry.studentEmails();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.saarthix.jobs.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns normalized (trimmed, lower-cased) skill names to small integer IDs so skill sets
+ * can be stored as int arrays and compared without string work.
+ *
+ * IDs are assigned on first sight and never reused; the vocabulary only grows, and its size is
+ * the number of distinct skills ever seen, not the number of jobs or profiles.
+ */
+@Component
+public class SkillVocabulary {
+
+    private final Map<String, Integer> idsBySkill = new ConcurrentHashMap<>();
+    // id -> skill; guarded by itself
+    private final List<String> skillsById = new ArrayList<>();
+
+    /**
+     * ID of a skill, assigning a new one if it hasn't been seen
+     * @param skill - Raw skill name
+     * @return Skill ID, or -1 for null
+     */
+    public int intern(String skill) {
+        if (skill == null) {
+            return -1;
+        }
+        String normalized = normalize(skill);
+        Integer id = idsBySkill.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        synchronized (skillsById) {
+            return idsBySkill.computeIfAbsent(normalized, s -> {
+                skillsById.add(s);
+                return skillsById.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Sorted skill IDs of a skill list (duplicates kept, nulls dropped)
+     */
+    public int[] internAll(Collection<String> skills) {
+        if (skills == null) {
+            return new int[0];
+        }
+        return skills.stream()
+                .mapToInt(this::intern)
+                .filter(id -> id >= 0)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * IDs of every known skill that contains, or is contained in, one of the given skills.
+     * This is the same partial match the recommendations have always used ("react" matches
+     * "react native" and vice versa), evaluated once per vocabulary entry instead of per job.
+     * @param skills - Raw skill names (e.g. a user's skills)
+     * @return Bit set of matching skill IDs
+     */
+    public BitSet matchingIds(Collection<String> skills) {
+        BitSet matches = new BitSet();
+        if (skills == null || skills.isEmpty()) {
+            return matches;
+        }
+        List<String> normalizedSkills = skills.stream()
+                .filter(skill -> skill != null)
+                .map(SkillVocabulary::normalize)
+                .toList();
+
+        List<String> snapshot;
+        synchronized (skillsById) {
+            snapshot = new ArrayList<>(skillsById);
+        }
+        for (int id = 0; id < snapshot.size(); id++) {
+            String known = snapshot.get(id);
+            if (matchesAny(known, normalizedSkills)) {
+                matches.set(id);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Whether one known skill matches any of the given skills, same rule as matchingIds.
+     * Cheaper than matchingIds when only a handful of skill IDs need checking.
+     * @param id - Skill ID
+     * @param normalizedSkills - Skills already normalized with normalize()
+     */
+    public boolean matchesAny(int id, List<String> normalizedSkills) {
+        String known;
+        synchronized (skillsById) {
+            known = skillsById.get(id);
+        }
+        return matchesAny(known, normalizedSkills);
+    }
+
+    private static boolean matchesAny(String known, List<String> normalizedSkills) {
+        for (String skill : normalizedSkills) {
+            if (known.contains(skill) || skill.contains(known)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of distinct skills seen so far
+     */
+    public int size() {
+        return idsBySkill.size();
+    }
+
+    static String normalize(String skill) {
+        return skill.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,74 +1,209 @@
 package com.saarthix.jobs.service;
 
 import com.saarthix.jobs.model.*;
+import com.saarthix.jobs.model.dto.CandidateMatch;
+import com.saarthix.jobs.model.dto.CursorPage;
 import com.saarthix.jobs.model.dto.StudentDatabaseDto;
+import com.saarthix.jobs.model.dto.StudentSummaryDto;
 import com.saarthix.jobs.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class StudentDatabaseService {
     
     private final UserProfileRepository userProfileRepository;
-    private final UserRepository userRepository;
     private final HackathonApplicationRepository hackathonApplicationRepository;
     private final ApplicationRepository applicationRepository;
     private final IndustryShortlistRepository industryShortlistRepository;
-    private final ActivityLogRepository activityLogRepository;
+    private final ActivityLogWriter activityLogWriter;
+    private final StudentSearchIndex studentSearchIndex;
+    private final ShortlistCache shortlistCache;
+    private final JobService jobService;
+    private final BlobStore blobStore;
+    private final ObjectMapper objectMapper;
     
     public StudentDatabaseService(
             UserProfileRepository userProfileRepository,
-            UserRepository userRepository,
             HackathonApplicationRepository hackathonApplicationRepository,
             ApplicationRepository applicationRepository,
             IndustryShortlistRepository industryShortlistRepository,
-            ActivityLogRepository activityLogRepository) {
+            ActivityLogWriter activityLogWriter,
+            StudentSearchIndex studentSearchIndex,
+            ShortlistCache shortlistCache,
+            JobService jobService,
+            BlobStore blobStore,
+            ObjectMapper objectMapper) {
         this.userProfileRepository = userProfileRepository;
-        this.userRepository = userRepository;
         this.hackathonApplicationRepository = hackathonApplicationRepository;
         this.applicationRepository = applicationRepository;
         this.industryShortlistRepository = industryShortlistRepository;
-        this.activityLogRepository = activityLogRepository;
+        this.activityLogWriter = activityLogWriter;
+        this.studentSearchIndex = studentSearchIndex;
+        this.shortlistCache = shortlistCache;
+        this.jobService = jobService;
+        this.blobStore = blobStore;
+        this.objectMapper = objectMapper;
     }
     
+    /** Page size used when the client does not ask for one */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    /** Upper bound on page size so a single request can never pull the whole collection */
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Rows converted per activity-count batch while exporting */
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final List<String> EXPORT_CSV_COLUMNS = List.of(
+            "studentId", "fullName", "email", "phoneNumber", "gender", "degree", "specialization", "institution",
+            "graduationYear", "skills", "experience", "currentLocation", "preferredLocations", "workPreference",
+            "availability", "hackathonsParticipated", "jobsApplied", "resumeAvailable", "profileCompletenessScore",
+            "lastUpdated", "isShortlisted");
+    // Signed numbers and phone numbers: digits with spaces, dots, dashes and parentheses; nothing a formula could call
+    private static final Pattern NUMBER_OR_PHONE = Pattern.compile("[+-]\\(?\\d[\\d ().-]*");
+
+    /** Values returned per facet, most frequent first */
+    public static final int FACET_SIZE = 50;
+    /** Candidate profiles loaded and scored per query when ranking candidates for a job */
+    private static final int CANDIDATE_BATCH_SIZE = 500;
+    /** Heap order for candidate ranking: lowest score on top, ties broken by profile ID */
+    private static final Comparator<ScoredProfile> WORST_CANDIDATE_FIRST = Comparator
+            .comparingDouble(ScoredProfile::matchPercentage)
+            .thenComparing(ScoredProfile::profileId, Comparator.reverseOrder());
+    
     /**
-     * Get all student profiles with filtering
+     * Get one page of student profiles with filtering
+     * Returns list-view summaries; base64 resume/picture payloads are never loaded here
      * @param industryEmail - Email of the industry user (for shortlist status)
      * @param isPaidUser - Whether the industry user has a PAID subscription
      * @param filters - Map of filter criteria
-     * @return List of StudentDatabaseDto
+     * @param cursor - nextCursor from the previous page, or null for the first page
+     * @param pageSize - Requested page size (capped at MAX_PAGE_SIZE)
+     * @return Page of StudentSummaryDto
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<StudentDatabaseDto> getAllStudents(
+    public CursorPage<StudentSummaryDto> getAllStudents(
             String industryEmail, 
             boolean isPaidUser, 
-            Map<String, String> filters) {
-        
-        // Get all profiles
-        List<UserProfile> allProfiles = userProfileRepository.findAll();
-        
-        // Filter only APPLICANT profiles
-        allProfiles = allProfiles.stream()
-                .filter(profile -> {
-                    Optional<User> userOpt = userRepository.findByEmail(profile.getApplicantEmail());
-                    return userOpt.isPresent() && "APPLICANT".equals(userOpt.get().getUserType());
-                })
-                .collect(Collectors.toList());
+            Map<String, String> filters,
+            String cursor,
+            Integer pageSize) {
+        
+        int limit = pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        KeysetCursor after = cursor == null || cursor.isEmpty()
+                ? null
+                : KeysetCursor.decode(UserProfileRepository.LISTING_SORT_FIELD, cursor);
+        
+        // Narrow keyword searches through the inverted index (null = no narrowing)
+        Set<String> candidateIds = studentSearchIndex.candidates(filters);
+        if (candidateIds != null && candidateIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
         
-        // Apply filters
-        List<UserProfile> filteredProfiles = applyFilters(allProfiles, filters);
+        // Get APPLICANT profiles matching the filters (evaluated by MongoDB); one extra row tells us if there is a next page
+        List<UserProfileSummary> filteredProfiles = userProfileRepository.findSummaryPageByFilters(
+                filters, candidateIds, after, limit + 1);
+        String nextCursor = null;
+        if (filteredProfiles.size() > limit) {
+            filteredProfiles = filteredProfiles.subList(0, limit);
+            UserProfileSummary last = filteredProfiles.get(limit - 1);
+            nextCursor = new KeysetCursor(UserProfileRepository.LISTING_SORT_FIELD, last.getLastUpdated(), last.getId()).encode();
+        }
         
         // Get shortlisted student emails for this industry
-        Set<String> shortlistedEmails = industryShortlistRepository
-                .findByIndustryEmail(industryEmail)
-                .stream()
-                .map(IndustryShortlist::getStudentEmail)
-                .collect(Collectors.toSet());
+        Set<String> shortlistedEmails = shortlistCache.getShortlistedEmails(industryEmail);
         
         // Convert to DTOs
-        return filteredProfiles.stream()
-                .map(profile -> convertToDto(profile, isPaidUser, shortlistedEmails.contains(profile.getApplicantEmail())))
+        ActivityCounts counts = countActivity(
+                filteredProfiles.stream().map(UserProfileSummary::getApplicantId),
+                filteredProfiles.stream().map(UserProfileSummary::getApplicantEmail));
+        List<StudentSummaryDto> students = filteredProfiles.stream()
+                .map(profile -> convertToSummaryDto(profile, shortlistedEmails.contains(profile.getApplicantEmail()), counts))
                 .collect(Collectors.toList());
+        return new CursorPage<>(students, nextCursor);
+    }
+    
+    /**
+     * Write every student matching the filters to the output as CSV or NDJSON (one StudentSummaryDto per line).
+     * Rows are read from a MongoDB cursor and written in batches, so memory use does not grow with the result size.
+     * @param industryEmail - Email of the industry user (for shortlist status)
+     * @param filters - Map of filter criteria (same as getAllStudents)
+     * @param format - "csv" or "ndjson"
+     * @param out - Response stream; not closed here
+     */
+    public void exportStudents(String industryEmail, Map<String, String> filters, String format, OutputStream out)
+            throws IOException {
+        boolean csv = "csv".equals(format);
+        Set<String> shortlistedEmails = shortlistCache.getShortlistedEmails(industryEmail);
+        Set<String> candidateIds = studentSearchIndex.candidates(filters);
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(String.join(",", EXPORT_CSV_COLUMNS));
+            writer.write("\r\n");
+        }
+        
+        if (candidateIds == null || !candidateIds.isEmpty()) {
+            try (Stream<UserProfileSummary> profiles = userProfileRepository.streamSummariesByFilters(filters, candidateIds)) {
+                Iterator<UserProfileSummary> iterator = profiles.iterator();
+                List<UserProfileSummary> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() < EXPORT_BATCH_SIZE && iterator.hasNext()) {
+                        continue;
+                    }
+                    
+                    ActivityCounts counts = countActivity(
+                            batch.stream().map(UserProfileSummary::getApplicantId),
+                            batch.stream().map(UserProfileSummary::getApplicantEmail));
+                    for (UserProfileSummary profile : batch) {
+                        StudentSummaryDto dto = convertToSummaryDto(
+                                profile, shortlistedEmails.contains(profile.getApplicantEmail()), counts);
+                        if (csv) {
+                            writeCsvRow(writer, dto);
+                        } else {
+                            writer.write(objectMapper.writeValueAsString(dto));
+                            writer.write("\n");
+                        }
+                    }
+                    writer.flush();
+                    batch.clear();
+                }
+            }
+        }
+        writer.flush();
+    }
+    
+    /**
+     * Count students per degree, graduation year, college, location and availability value
+     * @param filters - Map of filter criteria currently applied (same as getAllStudents)
+     * @return facet name -> value -> number of matching students
+     */
+    public Map<String, Map<String, Long>> getFacets(Map<String, String> filters) {
+        Set<String> candidateIds = studentSearchIndex.candidates(filters);
+        return userProfileRepository.countFacetsByFilters(filters, candidateIds, FACET_SIZE);
+    }
+    
+    /**
+     * Get a student's profile picture
+     * @param studentId - ID of the student
+     * @return Open picture (the caller must close it), or null if the student has no picture
+     */
+    public BlobStore.Blob getProfilePicture(String studentId) {
+        UserProfile profile = userProfileRepository.findProfilePictureById(studentId).orElse(null);
+        if (profile == null) {
+            return null;
+        }
+        return blobStore.open(profile.getProfilePictureFileId(), profile.getProfilePictureBase64(),
+                profile.getProfilePictureFileName(), profile.getProfilePictureFileType());
     }
     
     /**
@@ -93,13 +228,13 @@ public class StudentDatabaseService {
         UserProfile profile = profileOpt.get();
         
         // Check if student is shortlisted
-        boolean isShortlisted = industryShortlistRepository
-                .existsByIndustryEmailAndStudentEmail(industryEmail, profile.getApplicantEmail());
+        boolean isShortlisted = shortlistCache.isShortlisted(industryEmail, profile.getApplicantEmail());
         
         // Log the profile view
         logActivity(industryEmail, industryId, profile.getApplicantEmail(), studentId, "PROFILE_VIEWED");
         
-        return convertToDto(profile, isPaidUser, isShortlisted);
+        return convertToDto(profile, isPaidUser, isShortlisted, countActivity(
+                Stream.of(profile.getApplicantId()), Stream.of(profile.getApplicantEmail())));
     }
     
     /**
@@ -136,6 +271,7 @@ public class StudentDatabaseService {
                 studentId
         );
         industryShortlistRepository.save(shortlist);
+        shortlistCache.added(industryEmail, profile.getApplicantEmail());
         
         // Log the activity
         logActivity(industryEmail, industryId, profile.getApplicantEmail(), studentId, "CANDIDATE_SHORTLISTED");
@@ -157,10 +293,95 @@ public class StudentDatabaseService {
         
         UserProfile profile = profileOpt.get();
         industryShortlistRepository.deleteByIndustryEmailAndStudentEmail(industryEmail, profile.getApplicantEmail());
+        shortlistCache.removed(industryEmail, profile.getApplicantEmail());
         
         return "Student removed from shortlist";
     }
     
+    /**
+     * Rank APPLICANT profiles against a job with the job recommendation score (JobService), best first
+     * Profiles sharing a skill with the job (StudentSearchIndex.skillCandidates, or whole skill words through
+     * filterValues.skillTokens when the index is disabled) are loaded and scored in batches, keeping the best
+     * offset + limit in a bounded min-heap. Others can still score up to JobService.MAX_SCORE_WITHOUT_SKILL_MATCH
+     * on location and experience; unless the heap is already full of candidates above that, the applicants whose
+     * preferred locations are nearest the job (within JobService.MAX_MATCH_DISTANCE_KM) are scored as well.
+     * Applicants matching on neither are never read, so a profile scoring only on experience, a remote job or
+     * an ungeocoded location text can be left out.
+     * @param industryEmail - Email of the industry user (for shortlist status)
+     * @param job - Job to find candidates for
+     * @param offset - Number of best candidates to skip
+     * @param limit - Number of candidates to return
+     * @return Candidates with a score above 0, best first
+     * @throws IllegalArgumentException if offset/limit are out of range or the job lists no skills
+     * @throws IllegalStateException if the search index is still being built
+     */
+    public List<CandidateMatch> getCandidatesForJob(String industryEmail, Job job, int offset, int limit) {
+        JobService.checkRecommendationWindow(offset, limit);
+        if (job.getSkills() == null || job.getSkills().stream().allMatch(skill -> skill == null || skill.isBlank())) {
+            throw new IllegalArgumentException("Job lists no skills to match candidates on");
+        }
+        Set<String> candidateIds = studentSearchIndex.skillCandidates(job.getSkills());
+        if (candidateIds == null && studentSearchIndex.isEnabled()) {
+            throw new IllegalStateException("Candidate index is still loading, please try again shortly");
+        }
+        
+        int window = offset + limit;
+        PriorityQueue<ScoredProfile> best = new PriorityQueue<>(WORST_CANDIDATE_FIRST);
+        Set<String> scoredIds = new HashSet<>();
+        if (candidateIds != null) {
+            List<String> ids = new ArrayList<>(candidateIds);
+            for (int from = 0; from < ids.size(); from += CANDIDATE_BATCH_SIZE) {
+                List<UserProfile> batch = userProfileRepository.findMatchFieldsByIds(
+                        ids.subList(from, Math.min(from + CANDIDATE_BATCH_SIZE, ids.size())));
+                for (UserProfile profile : batch) {
+                    offerCandidate(best, window, job, profile);
+                }
+            }
+            scoredIds.addAll(candidateIds);
+        } else {
+            try (Stream<UserProfile> profiles = userProfileRepository.streamMatchFieldsBySkillTokens(skillTokensOf(job))) {
+                profiles.forEach(profile -> {
+                    offerCandidate(best, window, job, profile);
+                    scoredIds.add(profile.getId());
+                });
+            }
+        }
+        if (job.getLocationPoint() != null
+                && (best.size() < window || best.peek().matchPercentage() <= JobService.MAX_SCORE_WITHOUT_SKILL_MATCH)) {
+            // Nearest first, so these are the location-only candidates with the best location scores
+            userProfileRepository.findMatchFieldsNear(job.getLocationPoint(), JobService.MAX_MATCH_DISTANCE_KM,
+                            Math.max(window, CANDIDATE_BATCH_SIZE)).stream()
+                    .filter(profile -> !scoredIds.contains(profile.getId()))
+                    .forEach(profile -> offerCandidate(best, window, job, profile));
+        }
+        
+        List<ScoredProfile> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_CANDIDATE_FIRST.reversed());
+        List<ScoredProfile> page = ranked.subList(Math.min(offset, ranked.size()), ranked.size());
+        if (page.isEmpty()) {
+            return List.of();
+        }
+        
+        // List rows for the page only
+        Map<String, UserProfileSummary> summariesById = userProfileRepository.findSummaryPageByFilters(
+                        null, page.stream().map(ScoredProfile::profileId).toList(), null, page.size())
+                .stream()
+                .collect(Collectors.toMap(UserProfileSummary::getId, summary -> summary));
+        Set<String> shortlistedEmails = shortlistCache.getShortlistedEmails(industryEmail);
+        ActivityCounts counts = countActivity(
+                summariesById.values().stream().map(UserProfileSummary::getApplicantId),
+                summariesById.values().stream().map(UserProfileSummary::getApplicantEmail));
+        return page.stream()
+                .filter(scored -> summariesById.containsKey(scored.profileId()))
+                .map(scored -> {
+                    UserProfileSummary summary = summariesById.get(scored.profileId());
+                    return new CandidateMatch(
+                            convertToSummaryDto(summary, shortlistedEmails.contains(summary.getApplicantEmail()), counts),
+                            scored.matchPercentage());
+                })
+                .collect(Collectors.toList());
+    }
+    
     /**
      * Get all shortlisted students for an industry user
      * @param industryEmail - Email of the industry user
@@ -170,13 +391,17 @@ public class StudentDatabaseService {
     public List<StudentDatabaseDto> getShortlistedStudents(String industryEmail, boolean isPaidUser) {
         List<IndustryShortlist> shortlists = industryShortlistRepository.findByIndustryEmail(industryEmail);
         
-        return shortlists.stream()
-                .map(shortlist -> {
-                    Optional<UserProfile> profileOpt = userProfileRepository.findByApplicantEmail(shortlist.getStudentEmail());
-                    return profileOpt.map(profile -> convertToDto(profile, isPaidUser, true)).orElse(null);
-                })
+        List<UserProfile> profiles = shortlists.stream()
+                .map(shortlist -> userProfileRepository.findByApplicantEmail(shortlist.getStudentEmail()).orElse(null))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        
+        ActivityCounts counts = countActivity(
+                profiles.stream().map(UserProfile::getApplicantId),
+                profiles.stream().map(UserProfile::getApplicantEmail));
+        return profiles.stream()
+                .map(profile -> convertToDto(profile, isPaidUser, true, counts))
+                .collect(Collectors.toList());
     }
     
     /**
@@ -185,9 +410,9 @@ public class StudentDatabaseService {
      * @param industryEmail - Email of the industry user
      * @param industryId - ID of the industry user
      * @param isPaidUser - Whether the industry user has a PAID subscription
-     * @return Resume data or null
+     * @return Open resume (the caller must close it), or null if the student has none
      */
-    public Map<String, String> downloadResume(
+    public BlobStore.Blob downloadResume(
             String studentId, 
             String industryEmail, 
             String industryId,
@@ -199,134 +424,32 @@ public class StudentDatabaseService {
         }
         
         UserProfile profile = profileOpt.get();
+        BlobStore.Blob resume = blobStore.open(profile.getResumeFileId(), profile.getResumeBase64(),
+                profile.getResumeFileName(), profile.getResumeFileType());
+        if (resume == null) {
+            return null;
+        }
         
         // Log the activity
         logActivity(industryEmail, industryId, profile.getApplicantEmail(), studentId, "RESUME_DOWNLOADED");
         
-        Map<String, String> resumeData = new HashMap<>();
-        resumeData.put("fileName", profile.getResumeFileName());
-        resumeData.put("fileType", profile.getResumeFileType());
-        resumeData.put("base64Data", profile.getResumeBase64());
-        
-        return resumeData;
+        return resume;
     }
     
     // ============= PRIVATE HELPER METHODS =============
     
-    /**
-     * Apply filters to the list of profiles
-     */
-    private List<UserProfile> applyFilters(List<UserProfile> profiles, Map<String, String> filters) {
-        if (filters == null || filters.isEmpty()) {
-            return profiles;
-        }
-        
-        return profiles.stream()
-                .filter(profile -> {
-                    // Filter by degree
-                    if (filters.containsKey("degree") && !filters.get("degree").isEmpty()) {
-                        String filterDegree = filters.get("degree").toLowerCase();
-                        boolean matchesDegree = false;
-                        if (profile.getEducationEntries() != null) {
-                            matchesDegree = profile.getEducationEntries().stream()
-                                    .anyMatch(edu -> edu.getDegree() != null && 
-                                            edu.getDegree().toLowerCase().contains(filterDegree));
-                        }
-                        if (!matchesDegree) return false;
-                    }
-                    
-                    // Filter by specialization
-                    if (filters.containsKey("specialization") && !filters.get("specialization").isEmpty()) {
-                        String filterSpec = filters.get("specialization").toLowerCase();
-                        boolean matchesSpec = false;
-                        if (profile.getEducationEntries() != null) {
-                            matchesSpec = profile.getEducationEntries().stream()
-                                    .anyMatch(edu -> (edu.getStream() != null && edu.getStream().toLowerCase().contains(filterSpec)) ||
-                                                     (edu.getDegree() != null && edu.getDegree().toLowerCase().contains(filterSpec)));
-                        }
-                        if (!matchesSpec) return false;
-                    }
-                    
-                    // Filter by skills
-                    if (filters.containsKey("skills") && !filters.get("skills").isEmpty()) {
-                        String filterSkill = filters.get("skills").toLowerCase();
-                        if (profile.getSkills() == null || 
-                            profile.getSkills().stream().noneMatch(skill -> skill.toLowerCase().contains(filterSkill))) {
-                            return false;
-                        }
-                    }
-                    
-                    // Filter by graduation year
-                    if (filters.containsKey("graduationYear") && !filters.get("graduationYear").isEmpty()) {
-                        String filterYear = filters.get("graduationYear");
-                        boolean matchesYear = false;
-                        if (profile.getEducationEntries() != null) {
-                            matchesYear = profile.getEducationEntries().stream()
-                                    .anyMatch(edu -> edu.getPassingYear() != null && 
-                                            edu.getPassingYear().equals(filterYear));
-                        }
-                        if (!matchesYear) return false;
-                    }
-                    
-                    // Filter by college/institution
-                    if (filters.containsKey("college") && !filters.get("college").isEmpty()) {
-                        String filterCollege = filters.get("college").toLowerCase();
-                        boolean matchesCollege = false;
-                        if (profile.getEducationEntries() != null) {
-                            matchesCollege = profile.getEducationEntries().stream()
-                                    .anyMatch(edu -> edu.getInstitution() != null && 
-                                            edu.getInstitution().toLowerCase().contains(filterCollege));
-                        }
-                        if (!matchesCollege) return false;
-                    }
-                    
-                    // Filter by location
-                    if (filters.containsKey("location") && !filters.get("location").isEmpty()) {
-                        String filterLocation = filters.get("location").toLowerCase();
-                        boolean matchesLocation = 
-                            (profile.getCurrentLocation() != null && profile.getCurrentLocation().toLowerCase().contains(filterLocation)) ||
-                            (profile.getPreferredLocations() != null && 
-                             profile.getPreferredLocations().stream().anyMatch(loc -> loc.toLowerCase().contains(filterLocation)));
-                        if (!matchesLocation) return false;
-                    }
-                    
-                    // Filter by availability
-                    if (filters.containsKey("availability") && !filters.get("availability").isEmpty()) {
-                        String filterAvail = filters.get("availability").toLowerCase();
-                        if (profile.getAvailability() == null || 
-                            !profile.getAvailability().toLowerCase().contains(filterAvail)) {
-                            return false;
-                        }
-                    }
-                    
-                    // Filter by keyword (name, skill, college)
-                    if (filters.containsKey("keyword") && !filters.get("keyword").isEmpty()) {
-                        String keyword = filters.get("keyword").toLowerCase();
-                        boolean matchesKeyword = 
-                            (profile.getFullName() != null && profile.getFullName().toLowerCase().contains(keyword)) ||
-                            (profile.getSkills() != null && profile.getSkills().stream().anyMatch(s -> s.toLowerCase().contains(keyword))) ||
-                            (profile.getEducationEntries() != null && profile.getEducationEntries().stream()
-                                    .anyMatch(edu -> edu.getInstitution() != null && edu.getInstitution().toLowerCase().contains(keyword)));
-                        if (!matchesKeyword) return false;
-                    }
-                    
-                    return true;
-                })
-                .collect(Collectors.toList());
-    }
-    
     /**
      * Convert UserProfile to StudentDatabaseDto
      * Applies access control based on subscription type
      */
-    private StudentDatabaseDto convertToDto(UserProfile profile, boolean isPaidUser, boolean isShortlisted) {
+    private StudentDatabaseDto convertToDto(UserProfile profile, boolean isPaidUser, boolean isShortlisted, ActivityCounts counts) {
         StudentDatabaseDto dto = new StudentDatabaseDto();
         
         // Always visible fields
         dto.setStudentId(profile.getId());
         dto.setFullName(profile.getFullName());
         dto.setGender(profile.getGender());
-        dto.setProfilePictureBase64(profile.getProfilePictureBase64());
+        dto.setProfilePictureAvailable(hasProfilePicture(profile));
         dto.setSkills(profile.getSkills());
         dto.setExperience(profile.getExperience());
         dto.setSummary(profile.getSummary());
@@ -354,11 +477,7 @@ public class StudentDatabaseService {
             dto.setEducationEntries(eduDtos);
             
             // Extract graduation info from highest education
-            UserProfile.EducationEntry graduation = profile.getEducationEntries().stream()
-                    .filter(e -> "Graduation".equalsIgnoreCase(e.getLevel()) || 
-                                 "Post Graduation".equalsIgnoreCase(e.getLevel()))
-                    .findFirst()
-                    .orElse(null);
+            UserProfile.EducationEntry graduation = findGraduation(profile.getEducationEntries());
             
             if (graduation != null) {
                 dto.setDegree(graduation.getDegree());
@@ -384,38 +503,15 @@ public class StudentDatabaseService {
             dto.setProjects(projDtos);
         }
         
-        // Hackathons participated (with error handling)
-        try {
-            List<HackathonApplication> hackathonApps = hackathonApplicationRepository
-                    .findByApplicantId(profile.getApplicantId());
-            dto.setHackathonsParticipated(hackathonApps != null ? hackathonApps.size() : 0);
-        } catch (Exception e) {
-            // If there's an error fetching hackathon data, set to 0
-            System.err.println("Warning: Could not fetch hackathon applications for " + profile.getApplicantId() + ": " + e.getMessage());
-            dto.setHackathonsParticipated(0);
-        }
-        
-        // Jobs applied (with error handling)
-        try {
-            List<Application> jobApps = applicationRepository
-                    .findByApplicantEmail(profile.getApplicantEmail());
-            dto.setJobsApplied(jobApps != null ? jobApps.size() : 0);
-        } catch (Exception e) {
-            // If there's an error fetching job applications, set to 0
-            System.err.println("Warning: Could not fetch job applications for " + profile.getApplicantEmail() + ": " + e.getMessage());
-            dto.setJobsApplied(0);
-        }
+        // Hackathons participated and jobs applied (counted per page, see countActivity)
+        dto.setHackathonsParticipated(counts.hackathonsByApplicantId()
+                .getOrDefault(profile.getApplicantId(), 0L).intValue());
+        dto.setJobsApplied(counts.jobsByApplicantEmail()
+                .getOrDefault(profile.getApplicantEmail(), 0L).intValue());
         
         // Resume info
         dto.setResumeFileName(profile.getResumeFileName());
-        dto.setResumeAvailable(profile.getResumeBase64() != null && !profile.getResumeBase64().isEmpty());
-        
-        // Resume access - available for all users
-        if (profile.getResumeBase64() != null) {
-            dto.setResumeBase64(profile.getResumeBase64());
-        } else {
-            dto.setResumeBase64(null);
-        }
+        dto.setResumeAvailable(hasResume(profile));
         
         // Profile completeness score
         dto.setProfileCompletenessScore(calculateProfileCompleteness(profile));
@@ -423,6 +519,189 @@ public class StudentDatabaseService {
         return dto;
     }
     
+    /**
+     * Convert UserProfileSummary to the list-view StudentSummaryDto
+     */
+    private StudentSummaryDto convertToSummaryDto(UserProfileSummary profile, boolean isShortlisted, ActivityCounts counts) {
+        StudentSummaryDto dto = new StudentSummaryDto();
+        
+        dto.setStudentId(profile.getId());
+        dto.setFullName(profile.getFullName());
+        dto.setGender(profile.getGender());
+        dto.setProfilePictureAvailable(profile.isProfilePictureAvailable());
+        dto.setSkills(profile.getSkills());
+        dto.setExperience(profile.getExperience());
+        dto.setCurrentLocation(profile.getCurrentLocation());
+        dto.setPreferredLocations(profile.getPreferredLocations());
+        dto.setWorkPreference(profile.getWorkPreference());
+        dto.setAvailability(profile.getAvailability());
+        dto.setLastUpdated(profile.getLastUpdated());
+        dto.setIsShortlisted(isShortlisted);
+        
+        // Contact details - available for all users
+        dto.setEmail(profile.getEmail() != null ? profile.getEmail() : profile.getApplicantEmail());
+        dto.setPhoneNumber(profile.getPhoneNumber());
+        
+        // Graduation info from highest education
+        UserProfile.EducationEntry graduation = findGraduation(profile.getEducationEntries());
+        if (graduation != null) {
+            dto.setDegree(graduation.getDegree());
+            dto.setSpecialization(graduation.getStream());
+            dto.setInstitution(graduation.getInstitution());
+            dto.setGraduationYear(graduation.getPassingYear());
+        }
+        
+        dto.setHackathonsParticipated(counts.hackathonsByApplicantId()
+                .getOrDefault(profile.getApplicantId(), 0L).intValue());
+        dto.setJobsApplied(counts.jobsByApplicantEmail()
+                .getOrDefault(profile.getApplicantEmail(), 0L).intValue());
+        
+        dto.setResumeFileName(profile.getResumeFileName());
+        dto.setResumeAvailable(profile.isResumeAvailable());
+        
+        dto.setProfileCompletenessScore(calculateProfileCompleteness(
+                isNotEmpty(profile.getFullName()),
+                isNotEmpty(profile.getEmail()),
+                isNotEmpty(profile.getPhoneNumber()),
+                profile.isProfilePictureAvailable(),
+                profile.isResumeAvailable(),
+                profile.getSkills() != null && !profile.getSkills().isEmpty(),
+                profile.getEducationEntries() != null && !profile.getEducationEntries().isEmpty(),
+                profile.isHasProfessionalExperiences(),
+                profile.isHasProjects(),
+                profile.isHasSummary(),
+                isNotEmpty(profile.getLinkedInUrl()),
+                isNotEmpty(profile.getCurrentLocation())));
+        
+        return dto;
+    }
+    
+    /**
+     * Write one export row in EXPORT_CSV_COLUMNS order
+     */
+    private void writeCsvRow(Writer writer, StudentSummaryDto dto) throws IOException {
+        List<Object> values = Arrays.asList(
+                dto.getStudentId(), dto.getFullName(), dto.getEmail(), dto.getPhoneNumber(), dto.getGender(),
+                dto.getDegree(), dto.getSpecialization(), dto.getInstitution(), dto.getGraduationYear(),
+                dto.getSkills() != null ? String.join("; ", dto.getSkills()) : null,
+                dto.getExperience(), dto.getCurrentLocation(),
+                dto.getPreferredLocations() != null ? String.join("; ", dto.getPreferredLocations()) : null,
+                dto.getWorkPreference(), dto.getAvailability(), dto.getHackathonsParticipated(), dto.getJobsApplied(),
+                dto.getResumeAvailable(), dto.getProfileCompletenessScore(), dto.getLastUpdated(), dto.getIsShortlisted());
+        writer.write(values.stream().map(StudentDatabaseService::csvField).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+    }
+    
+    /**
+     * Quote a CSV field when needed; text a spreadsheet would evaluate as a formula (starting with = or @,
+     * or with + or - unless it is a number or phone number such as +91 98765 43210) is prefixed with '
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!(value instanceof Number) && isFormula(text)) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            text = "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private static boolean isFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '@'
+                || ((first == '+' || first == '-') && !NUMBER_OR_PHONE.matcher(text).matches());
+    }
+    
+    /**
+     * First Graduation / Post Graduation entry, or null
+     */
+    private UserProfile.EducationEntry findGraduation(List<UserProfile.EducationEntry> entries) {
+        if (entries == null) {
+            return null;
+        }
+        return entries.stream()
+                .filter(e -> "Graduation".equalsIgnoreCase(e.getLevel()) || 
+                             "Post Graduation".equalsIgnoreCase(e.getLevel()))
+                .findFirst()
+                .orElse(null);
+    }
+    
+    /**
+     * Normalized words of a job's skills, for matching filterValues.skillTokens
+     */
+    static Set<String> skillTokensOf(Job job) {
+        return job.getSkills().stream()
+                .map(StudentFilterCriteria::normalize)
+                .filter(Objects::nonNull)
+                .flatMap(skill -> StudentFilterCriteria.tokens(skill).stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+    
+    /**
+     * Score a profile against a job and keep it if it belongs among the best window candidates
+     * @param best - Bounded min-heap of the best candidates so far (WORST_CANDIDATE_FIRST)
+     */
+    private void offerCandidate(PriorityQueue<ScoredProfile> best, int window, Job job, UserProfile profile) {
+        double matchPercentage = jobService.scoreJob(job, jobService.matchPreferencesOf(profile));
+        if (matchPercentage <= 0) {
+            return;
+        }
+        ScoredProfile scored = new ScoredProfile(profile.getId(), matchPercentage);
+        if (best.size() < window) {
+            best.add(scored);
+        } else if (WORST_CANDIDATE_FIRST.compare(scored, best.peek()) > 0) {
+            best.poll();
+            best.add(scored);
+        }
+    }
+    
+    /**
+     * A candidate's profile ID and match score for one job
+     */
+    private record ScoredProfile(String profileId, double matchPercentage) {}
+    
+    /**
+     * Hackathon and job application counts for a batch of profiles
+     */
+    private record ActivityCounts(Map<String, Long> hackathonsByApplicantId, Map<String, Long> jobsByApplicantEmail) {}
+    
+    /**
+     * Count hackathon and job applications for all given profiles with one $group aggregation per collection
+     * instead of loading every application document per profile
+     */
+    private ActivityCounts countActivity(Stream<String> applicantIds, Stream<String> applicantEmails) {
+        Map<String, Long> hackathonCounts;
+        try {
+            hackathonCounts = hackathonApplicationRepository.countByApplicantIds(applicantIds
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+        } catch (Exception e) {
+            // If there's an error fetching hackathon data, counts default to 0
+            System.err.println("Warning: Could not count hackathon applications: " + e.getMessage());
+            hackathonCounts = Map.of();
+        }
+        
+        Map<String, Long> jobCounts;
+        try {
+            jobCounts = applicationRepository.countByApplicantEmails(applicantEmails
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+        } catch (Exception e) {
+            // If there's an error fetching job applications, counts default to 0
+            System.err.println("Warning: Could not count job applications: " + e.getMessage());
+            jobCounts = Map.of();
+        }
+        
+        return new ActivityCounts(hackathonCounts, jobCounts);
+    }
+    
     /**
      * Convert education entry to DTO
      */
@@ -468,31 +747,50 @@ public class StudentDatabaseService {
      * Calculate profile completeness score (0-100)
      */
     private Integer calculateProfileCompleteness(UserProfile profile) {
+        return calculateProfileCompleteness(
+                isNotEmpty(profile.getFullName()),
+                isNotEmpty(profile.getEmail()),
+                isNotEmpty(profile.getPhoneNumber()),
+                hasProfilePicture(profile),
+                hasResume(profile),
+                profile.getSkills() != null && !profile.getSkills().isEmpty(),
+                profile.getEducationEntries() != null && !profile.getEducationEntries().isEmpty(),
+                profile.getProfessionalExperiences() != null && !profile.getProfessionalExperiences().isEmpty(),
+                profile.getProjects() != null && !profile.getProjects().isEmpty(),
+                isNotEmpty(profile.getSummary()),
+                isNotEmpty(profile.getLinkedInUrl()),
+                isNotEmpty(profile.getCurrentLocation()));
+    }
+    
+    /**
+     * One point per completed section, scaled to 0-100
+     */
+    private Integer calculateProfileCompleteness(boolean... sections) {
         int score = 0;
-        int maxScore = 12;
-        
-        if (profile.getFullName() != null && !profile.getFullName().isEmpty()) score++;
-        if (profile.getEmail() != null && !profile.getEmail().isEmpty()) score++;
-        if (profile.getPhoneNumber() != null && !profile.getPhoneNumber().isEmpty()) score++;
-        if (profile.getProfilePictureBase64() != null && !profile.getProfilePictureBase64().isEmpty()) score++;
-        if (profile.getResumeBase64() != null && !profile.getResumeBase64().isEmpty()) score++;
-        if (profile.getSkills() != null && !profile.getSkills().isEmpty()) score++;
-        if (profile.getEducationEntries() != null && !profile.getEducationEntries().isEmpty()) score++;
-        if (profile.getProfessionalExperiences() != null && !profile.getProfessionalExperiences().isEmpty()) score++;
-        if (profile.getProjects() != null && !profile.getProjects().isEmpty()) score++;
-        if (profile.getSummary() != null && !profile.getSummary().isEmpty()) score++;
-        if (profile.getLinkedInUrl() != null && !profile.getLinkedInUrl().isEmpty()) score++;
-        if (profile.getCurrentLocation() != null && !profile.getCurrentLocation().isEmpty()) score++;
-        
-        return (score * 100) / maxScore;
+        for (boolean completed : sections) {
+            if (completed) score++;
+        }
+        return (score * 100) / sections.length;
+    }
+    
+    private static boolean hasResume(UserProfile profile) {
+        return isNotEmpty(profile.getResumeFileId()) || isNotEmpty(profile.getResumeBase64());
+    }
+    
+    private static boolean hasProfilePicture(UserProfile profile) {
+        return isNotEmpty(profile.getProfilePictureFileId()) || isNotEmpty(profile.getProfilePictureBase64());
+    }
+    
+    private static boolean isNotEmpty(String value) {
+        return value != null && !value.isEmpty();
     }
     
     /**
-     * Log activity
+     * Log activity (written in the background by ActivityLogWriter)
      */
     private void logActivity(String industryEmail, String industryId, String studentEmail, String studentId, String actionType) {
         ActivityLog log = new ActivityLog(industryEmail, industryId, studentEmail, studentId, actionType);
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
     }
 }
 
@@ -0,0 +1,306 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index for the student database "keyword" filter, the one filter that still matches
+ * substrings (the facet filters are indexed equalities, see StudentFilterCriteria).
+ *
+ * Terms are the normalized (trimmed, lower-cased) skill, name and institution values, each mapped to
+ * the IDs of the profiles that have them. Terms are in turn indexed by their short substrings (see TermIndex),
+ * so finding the terms that contain a query - the old case-insensitive "contains" semantics - reads a few
+ * gram entries instead of scanning the vocabulary.
+ *
+ * The skill postings also back reverse matching (skillCandidates), which finds the profiles worth scoring for a job.
+ *
+ * The index is built from user_profiles at startup and kept current by UserProfileController.saveProfile.
+ * It only narrows the candidate set; StudentFilterCriteria still applies the text clauses in MongoDB.
+ *
+ * This assumes a single application instance: a profile saved through another instance (or written to
+ * MongoDB directly) is missing from this instance's index until it restarts, so searches here can leave it
+ * out. Deployments running more than one instance should set jobs.student-search-index.enabled=false,
+ * which makes searches use the plain MongoDB filters and candidate ranking find skill matches by
+ * whole words (filterValues.skillTokens) instead.
+ */
+@Component
+public class StudentSearchIndex {
+
+    /** Above this many candidates an _id prefilter costs more than it saves, so none is returned */
+    public static final int MAX_CANDIDATES = 1000;
+
+    // Longest substring a term is indexed under; longer queries are looked up by their rarest gram of this length
+    private static final int GRAM_LENGTH = 3;
+
+    private final UserProfileRepository userProfileRepository;
+    private final boolean enabled;
+
+    // skillCandidates: skills; "keyword" filter: fullName, skills, institutions
+    private final TermIndex skillTerms = new TermIndex();
+    private final TermIndex keywordTerms = new TermIndex();
+    // profile ID -> its indexed terms, so a re-save can drop the old ones
+    private final Map<String, IndexedTerms> termsByProfileId = new HashMap<>();
+    // Profiles saved while the startup build is running; the build must not overwrite them with older data
+    private final Set<String> savedDuringBuild = new HashSet<>();
+
+    private volatile boolean ready;
+    private boolean building;
+
+    private record IndexedTerms(Set<String> skills, Set<String> keywords) {}
+
+    public StudentSearchIndex(UserProfileRepository userProfileRepository,
+                              @Value("${jobs.student-search-index.enabled:true}") boolean enabled) {
+        this.userProfileRepository = userProfileRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            System.out.println("Student search index disabled");
+            return;
+        }
+        synchronized (this) {
+            building = true;
+        }
+        try (Stream<UserProfile> profiles = userProfileRepository.streamSearchFields()) {
+            profiles.forEach(profile -> {
+                synchronized (this) {
+                    if (!savedDuringBuild.contains(profile.getId())) {
+                        put(profile);
+                    }
+                }
+            });
+            ready = true;
+            System.out.println("Student search index built: " + termsByProfileId.size() + " profiles, "
+                    + keywordTerms.size() + " terms");
+        } catch (Exception e) {
+            // Searches fall back to the plain MongoDB filters
+            System.err.println("Warning: Could not build student search index: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                building = false;
+                savedDuringBuild.clear();
+            }
+        }
+    }
+
+    /**
+     * Add or replace a profile in the index
+     * @param profile - Saved profile
+     */
+    public synchronized void index(UserProfile profile) {
+        if (!enabled || profile == null || profile.getId() == null) {
+            return;
+        }
+        if (building) {
+            savedDuringBuild.add(profile.getId());
+        }
+        put(profile);
+    }
+
+    /**
+     * Whether the index is in use at all (see the class comment); when it is not, candidates and
+     * skillCandidates always return null
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * IDs of the profiles that can match the "keyword" filter
+     * @param filters - Student database filter map
+     * @return Candidate profile IDs, or null when the index can't narrow the search
+     *         (not built yet, no keyword, or more than MAX_CANDIDATES candidates)
+     */
+    public Set<String> candidates(Map<String, String> filters) {
+        if (!ready || filters == null) {
+            return null;
+        }
+        String keyword = normalize(filters.get("keyword"));
+        if (keyword == null) {
+            return null;
+        }
+        Set<String> result = lookup(keywordTerms, keyword);
+        return result.size() <= MAX_CANDIDATES ? result : null;
+    }
+
+    /**
+     * IDs of the profiles with a skill matching any of the given skills, using the rule job matching uses
+     * (one skill contains the other, see SkillVocabulary)
+     * @param skills - Skills to match, e.g. a job's required skills
+     * @return Matching profile IDs, or null when the index is not built yet (or disabled)
+     */
+    public Set<String> skillCandidates(Collection<String> skills) {
+        if (!ready) {
+            return null;
+        }
+        Set<String> normalizedSkills = normalizeAll(skills != null ? skills.stream().filter(Objects::nonNull) : Stream.empty());
+        Set<String> ids = new HashSet<>();
+        for (String skill : normalizedSkills) {
+            skillTerms.termsContaining(skill).forEach(term -> ids.addAll(skillTerms.ids(term)));
+            skillTerms.termsWithin(skill).forEach(term -> ids.addAll(skillTerms.ids(term)));
+        }
+        return ids;
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    /**
+     * Searches don't take the lock, so the new terms are added before the old ones are removed:
+     * a search running meanwhile finds the profile under its old or its new terms, never under neither
+     */
+    private void put(UserProfile profile) {
+        String id = profile.getId();
+        Set<String> skills = normalizeAll(profile.getSkills() != null ? profile.getSkills().stream() : Stream.empty());
+        Set<String> keywords = new HashSet<>(skills);
+        String fullName = normalize(profile.getFullName());
+        if (fullName != null) {
+            keywords.add(fullName);
+        }
+        if (profile.getEducationEntries() != null) {
+            keywords.addAll(normalizeAll(profile.getEducationEntries().stream()
+                    .filter(Objects::nonNull)
+                    .map(UserProfile.EducationEntry::getInstitution)));
+        }
+
+        skills.forEach(term -> skillTerms.add(term, id));
+        keywords.forEach(term -> keywordTerms.add(term, id));
+        IndexedTerms old = termsByProfileId.put(id, new IndexedTerms(skills, keywords));
+        if (old != null) {
+            old.skills().stream().filter(term -> !skills.contains(term)).forEach(term -> skillTerms.remove(term, id));
+            old.keywords().stream().filter(term -> !keywords.contains(term)).forEach(term -> keywordTerms.remove(term, id));
+        }
+    }
+
+    /**
+     * Union of the posting lists of every term containing the query
+     */
+    private static Set<String> lookup(TermIndex index, String query) {
+        Set<String> ids = new HashSet<>();
+        index.termsContaining(query).forEach(term -> ids.addAll(index.ids(term)));
+        return ids;
+    }
+
+    private static Set<String> normalizeAll(Stream<String> values) {
+        return values.map(StudentSearchIndex::normalize)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Posting lists of one filter's terms, plus a gram index over the terms themselves: every term is listed
+     * under each of its substrings of up to GRAM_LENGTH characters. A query that short reads its matching terms
+     * straight from the gram index; a longer one only checks the terms listed under its rarest gram.
+     * Writes happen under the StudentSearchIndex lock; reads may run concurrently with them.
+     */
+    private static final class TermIndex {
+
+        // term -> profile IDs
+        private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+        // gram -> terms containing it
+        private final Map<String, Set<String>> termsByGram = new ConcurrentHashMap<>();
+
+        void add(String term, String id) {
+            Set<String> ids = postings.get(term);
+            if (ids != null) {
+                ids.add(id);
+                return;
+            }
+            // A new term is published only once its posting list and grams are complete
+            ids = ConcurrentHashMap.newKeySet();
+            ids.add(id);
+            grams(term).forEach(gram -> termsByGram.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(term));
+            postings.put(term, ids);
+        }
+
+        void remove(String term, String id) {
+            Set<String> ids = postings.get(term);
+            if (ids == null) {
+                return;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                grams(term).forEach(gram -> termsByGram.computeIfPresent(gram, (g, terms) -> {
+                    terms.remove(term);
+                    return terms.isEmpty() ? null : terms;
+                }));
+            }
+        }
+
+        Set<String> ids(String term) {
+            return postings.getOrDefault(term, Set.of());
+        }
+
+        int size() {
+            return postings.size();
+        }
+
+        /**
+         * Terms that contain the query
+         */
+        Set<String> termsContaining(String query) {
+            if (query.length() <= GRAM_LENGTH) {
+                return termsByGram.getOrDefault(query, Set.of());
+            }
+            Set<String> rarest = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                Set<String> terms = termsByGram.getOrDefault(query.substring(i, i + GRAM_LENGTH), Set.of());
+                if (rarest == null || terms.size() < rarest.size()) {
+                    rarest = terms;
+                }
+            }
+            return rarest.stream().filter(term -> term.contains(query)).collect(Collectors.toSet());
+        }
+
+        /**
+         * Terms that the value contains, found by looking up each of its substrings
+         */
+        Set<String> termsWithin(String value) {
+            Set<String> terms = new HashSet<>();
+            for (int start = 0; start < value.length(); start++) {
+                for (int end = start + 1; end <= value.length(); end++) {
+                    String substring = value.substring(start, end);
+                    if (postings.containsKey(substring)) {
+                        terms.add(substring);
+                    }
+                }
+            }
+            return terms;
+        }
+
+        private static Set<String> grams(String term) {
+            Set<String> grams = new HashSet<>();
+            for (int length = 1; length <= GRAM_LENGTH; length++) {
+                for (int i = 0; i + length <= term.length(); i++) {
+                    grams.add(term.substring(i, i + length));
+                }
+            }
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.dto.JobMatch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded top-K selection of scored jobs: a min-heap whose head is the worst kept match.
+ * Ranks by score, then by catalog position so equal scores keep job order.
+ * Not thread-safe; parallel scorers keep one each and merge them with addAll.
+ */
+final class TopJobMatches {
+
+    private static final Comparator<Entry> WORST_FIRST = Comparator
+            .comparingDouble(Entry::matchPercentage)
+            .thenComparing(Comparator.comparingInt(Entry::position).reversed());
+
+    private record Entry(int position, double matchPercentage, Job job) {}
+
+    private final int capacity;
+    private final PriorityQueue<Entry> heap;
+
+    TopJobMatches(int capacity) {
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity + 1, WORST_FIRST);
+    }
+
+    /**
+     * Keep a scored job if it ranks among the best `capacity` seen so far
+     * @param position - Index of the job in the catalog being scored
+     */
+    void offer(int position, Job job, double matchPercentage) {
+        if (heap.size() < capacity) {
+            heap.add(new Entry(position, matchPercentage, job));
+            return;
+        }
+        Entry worst = heap.peek();
+        // Checked before allocating, since most jobs don't make the cut
+        if (matchPercentage > worst.matchPercentage()
+                || (matchPercentage == worst.matchPercentage() && position < worst.position())) {
+            heap.poll();
+            heap.add(new Entry(position, matchPercentage, job));
+        }
+    }
+
+    /**
+     * Merge another partition's matches into this one
+     */
+    void addAll(TopJobMatches other) {
+        for (Entry entry : other.heap) {
+            offer(entry.position(), entry.job(), entry.matchPercentage());
+        }
+    }
+
+    /**
+     * Kept matches, best first
+     */
+    List<JobMatch> toList() {
+        List<Entry> ranked = new ArrayList<>(heap);
+        ranked.sort(WORST_FIRST.reversed());
+        List<JobMatch> matches = new ArrayList<>(ranked.size());
+        for (Entry entry : ranked) {
+            matches.add(new JobMatch(entry.job(), entry.matchPercentage()));
+        }
+        return matches;
+    }
+}
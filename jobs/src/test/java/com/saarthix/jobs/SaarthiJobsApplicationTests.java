@@ -3,7 +3,17 @@ package com.saarthix.jobs;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+/**
+ * Wires the whole application with mail and OAuth stubbed and no MongoDB running, so a bean cycle
+ * (e.g. a mapping callback that needs MongoTemplate) fails here rather than at deploy time.
+ * Startup work that needs the database only logs warnings once the short server selection timeout passes.
+ */
+@SpringBootTest(properties = {
+		"spring.data.mongodb.uri=mongodb://localhost:1/jobs-test?serverSelectionTimeoutMS=100&connectTimeoutMS=100",
+		"spring.mail.host=localhost",
+		"spring.security.oauth2.client.registration.google.client-id=test-client",
+		"spring.security.oauth2.client.registration.google.client-secret=test-secret"
+})
 class SaarthiJobsApplicationTests {
 
 	@Test
@@ -0,0 +1,136 @@
+package com.saarthix.jobs.controller;
+
+import com.saarthix.jobs.model.Application;
+import com.saarthix.jobs.repository.ApplicationRepository;
+import com.saarthix.jobs.repository.JobRepository;
+import com.saarthix.jobs.repository.ResumeAndDetailsRepository;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import com.saarthix.jobs.service.ApplicationOutbox;
+import com.saarthix.jobs.service.BlobStore;
+import com.saarthix.jobs.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.saarthix.jobs.controller.SignedInApplicant.NEW_FILE_BASE64;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The resume an application stores, as base64 or as an upload part, is released whenever no application
+ * ends up referencing it
+ */
+class ApplicationControllerTest {
+
+    private final SignedInApplicant applicant = new SignedInApplicant();
+    private final Authentication auth = applicant.auth;
+    private final BlobStore blobStore = applicant.blobStore;
+    private final ApplicationRepository applicationRepository = mock(ApplicationRepository.class);
+    private ApplicationController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ApplicationController(applicationRepository, mock(ResumeAndDetailsRepository.class),
+                applicant.userRepository, mock(JobRepository.class), mock(NotificationService.class),
+                mock(UserProfileRepository.class), blobStore, mock(ApplicationOutbox.class));
+    }
+
+    @Test
+    void storedApplicationKeepsItsResume() {
+        when(applicationRepository.insert(any(Application.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ResponseEntity<?> response = controller.createApplication(request(), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        verify(blobStore, never()).release(any());
+    }
+
+    @Test
+    void duplicateApplicationReleasesItsResume() {
+        when(applicationRepository.insert(any(Application.class))).thenThrow(new DuplicateKeyException("duplicate"));
+
+        ResponseEntity<?> response = controller.createApplication(request(), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        verify(blobStore).release("mine");
+    }
+
+    @Test
+    void failedInsertReleasesItsResume() {
+        when(applicationRepository.insert(any(Application.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        ResponseEntity<?> response = controller.createApplication(request(), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        verify(blobStore).release("mine");
+    }
+
+    @Test
+    void malformedFieldReleasesItsResume() {
+        Map<String, Object> request = request();
+        request.put("coverLetter", 42);
+
+        ResponseEntity<?> response = controller.createApplication(request, auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        verify(blobStore).release("mine");
+        verify(applicationRepository, never()).insert(any(Application.class));
+    }
+
+    @Test
+    void multipartApplicationStoresThePartWithItsOwnNameAndSize() {
+        MultipartFile resume = new MockMultipartFile("resume", "cv.pdf", "application/pdf", new byte[] {1, 2, 3});
+        when(blobStore.store(resume)).thenReturn("resume-part");
+        when(applicationRepository.insert(any(Application.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Map<String, Object> request = request();
+        request.remove("resumeBase64");
+
+        ResponseEntity<?> response = controller.createApplicationMultipart(request, resume, auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        Application saved = (Application) response.getBody();
+        assertThat(saved.getResumeFileId()).isEqualTo("resume-part");
+        assertThat(saved.getResumeFileName()).isEqualTo("cv.pdf");
+        assertThat(saved.getResumeFileSize()).isEqualTo(3L);
+        verify(blobStore, never()).storeBase64(any(), any(), any());
+        verify(blobStore, never()).release(any());
+    }
+
+    @Test
+    void duplicateMultipartApplicationReleasesItsPart() {
+        MultipartFile resume = new MockMultipartFile("resume", "cv.pdf", "application/pdf", new byte[] {1, 2, 3});
+        when(blobStore.store(resume)).thenReturn("resume-part");
+        when(applicationRepository.insert(any(Application.class))).thenThrow(new DuplicateKeyException("duplicate"));
+
+        ResponseEntity<?> response = controller.createApplicationMultipart(request(), resume, auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        verify(blobStore).release("resume-part");
+        // The part wins over any base64 sent alongside it
+        verify(blobStore, never()).storeBase64(any(), any(), any());
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static Map<String, Object> request() {
+        Map<String, Object> request = new HashMap<>();
+        request.put("jobId", "job-1");
+        request.put("resumeBase64", NEW_FILE_BASE64);
+        request.put("resumeFileName", "resume.pdf");
+        request.put("resumeFileType", "application/pdf");
+        return request;
+    }
+}
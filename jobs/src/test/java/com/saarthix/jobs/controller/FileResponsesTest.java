@@ -0,0 +1,60 @@
+package com.saarthix.jobs.controller;
+
+import com.saarthix.jobs.service.BlobStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileResponsesTest {
+
+    @Test
+    void rasterImageIsServedInline() {
+        ResponseEntity<InputStreamResource> response = FileResponses.stream(blob("image/png"), false, "image/jpeg");
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).startsWith("inline");
+        assertThat(response.getHeaders().getFirst("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getHeaders().getFirst("Content-Security-Policy")).contains("default-src 'none'", "sandbox");
+    }
+
+    @Test
+    void pdfIsServedInlineWithoutSandbox() {
+        ResponseEntity<InputStreamResource> response = FileResponses.stream(blob("application/pdf"), false,
+                "application/octet-stream");
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PDF);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).startsWith("inline");
+        assertThat(response.getHeaders().getFirst("Content-Security-Policy"))
+                .contains("default-src 'none'")
+                .doesNotContain("sandbox");
+    }
+
+    @Test
+    void scriptableTypesAreOnlyEverDownloaded() {
+        for (String type : new String[] {"text/html", "image/svg+xml", "application/xhtml+xml", "text/xml", "Text/HTML"}) {
+            ResponseEntity<InputStreamResource> response = FileResponses.stream(blob(type), false, "image/jpeg");
+
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment");
+            assertThat(response.getHeaders().getFirst("X-Content-Type-Options")).isEqualTo("nosniff");
+        }
+    }
+
+    @Test
+    void unparseableTypeFallsBackToTheDefault() {
+        ResponseEntity<InputStreamResource> response = FileResponses.stream(blob("not a type"), false, "image/jpeg");
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).startsWith("inline");
+    }
+
+    private static BlobStore.Blob blob(String contentType) {
+        return new BlobStore.Blob(new ByteArrayInputStream(new byte[] {1, 2, 3}), 3, contentType, "file");
+    }
+}
@@ -0,0 +1,39 @@
+package com.saarthix.jobs.controller;
+
+import com.saarthix.jobs.model.User;
+import com.saarthix.jobs.repository.UserRepository;
+import com.saarthix.jobs.service.BlobStore;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * An APPLICANT signed in with OAuth, shared by the controller tests: the UserRepository that finds them,
+ * their Authentication, and a BlobStore that stores the file NEW_FILE_BASE64 as "mine"
+ */
+final class SignedInApplicant {
+
+    static final String EMAIL = "student@example.com";
+    static final String NEW_FILE_BASE64 = "bmV3";
+
+    final UserRepository userRepository = mock(UserRepository.class);
+    final Authentication auth = mock(Authentication.class);
+    final BlobStore blobStore = mock(BlobStore.class);
+
+    SignedInApplicant() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(new User("Student", EMAIL, null, "APPLICANT")));
+
+        OAuth2User principal = mock(OAuth2User.class);
+        when(principal.getAttribute("email")).thenReturn(EMAIL);
+        when(auth.isAuthenticated()).thenReturn(true);
+        when(auth.getPrincipal()).thenReturn(principal);
+
+        when(blobStore.storeBase64(eq(NEW_FILE_BASE64), any(), any())).thenReturn("mine");
+    }
+}
@@ -0,0 +1,195 @@
+package com.saarthix.jobs.controller;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import com.saarthix.jobs.service.BlobStore;
+import com.saarthix.jobs.service.RecommendationStore;
+import com.saarthix.jobs.service.StudentSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.saarthix.jobs.controller.SignedInApplicant.EMAIL;
+import static com.saarthix.jobs.controller.SignedInApplicant.NEW_FILE_BASE64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * File references of overlapping profile saves: a save only releases the files it replaced once its own
+ * write has gone through, and never leaks the files it stored, whether sent as base64 or as upload parts
+ */
+class UserProfileControllerTest {
+
+    private final SignedInApplicant applicant = new SignedInApplicant();
+    private final Authentication auth = applicant.auth;
+    private final BlobStore blobStore = applicant.blobStore;
+    private final UserProfileRepository userProfileRepository = mock(UserProfileRepository.class);
+    private UserProfileController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new UserProfileController(userProfileRepository, applicant.userRepository,
+                mock(StudentSearchIndex.class), mock(RecommendationStore.class), blobStore);
+    }
+
+    @Test
+    void saveReleasesTheReplacedResumeAfterItsWrite() {
+        when(userProfileRepository.findByApplicantEmail(EMAIL)).thenReturn(Optional.of(profile(4, "old")));
+        when(userProfileRepository.replaceIfUnchanged(any(), eq(4L))).thenReturn(true);
+
+        ResponseEntity<?> response = controller.saveProfile(newResumeRequest(), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(((UserProfile) response.getBody()).getResumeFileId()).isEqualTo("mine");
+        verify(blobStore).release("old");
+        verify(blobStore, never()).release("mine");
+    }
+
+    @Test
+    void saveThatLosesTheRaceRetriesAgainstTheOtherSavesProfile() {
+        // Another save replaced "old" with "theirs" between this save's read and its write
+        when(userProfileRepository.findByApplicantEmail(EMAIL))
+                .thenReturn(Optional.of(profile(4, "old")))
+                .thenReturn(Optional.of(profile(5, "theirs")));
+        when(userProfileRepository.replaceIfUnchanged(any(), eq(4L))).thenReturn(false);
+        when(userProfileRepository.replaceIfUnchanged(any(), eq(5L))).thenReturn(true);
+
+        ResponseEntity<?> response = controller.saveProfile(newResumeRequest(), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        // "old" is the other save's to release
+        verify(blobStore, never()).release("old");
+        verify(blobStore).release("theirs");
+        verify(blobStore, never()).release("mine");
+        // The new resume is stored once, not once per attempt
+        verify(blobStore, times(1)).storeBase64(eq(NEW_FILE_BASE64), any(), any());
+    }
+
+    @Test
+    void saveThatKeepsLosingTheRaceAnswers409AndReleasesItsNewFiles() {
+        when(userProfileRepository.findByApplicantEmail(EMAIL)).thenReturn(Optional.of(profile(4, "old")));
+        when(userProfileRepository.replaceIfUnchanged(any(), eq(4L))).thenReturn(false);
+
+        ResponseEntity<?> response = controller.saveProfile(newResumeRequest(), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(409);
+        verify(blobStore, never()).release("old");
+        verify(blobStore).release("mine");
+    }
+
+    @Test
+    void failedSaveReleasesItsNewFilesAndKeepsTheOldOnes() {
+        when(userProfileRepository.findByApplicantEmail(EMAIL)).thenReturn(Optional.of(profile(4, "old")));
+        when(userProfileRepository.replaceIfUnchanged(any(), eq(4L))).thenThrow(new IllegalStateException("write failed"));
+
+        ResponseEntity<?> response = controller.saveProfile(newResumeRequest(), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        verify(blobStore, never()).release("old");
+        verify(blobStore).release("mine");
+    }
+
+    @Test
+    void malformedRequestReleasesFilesStoredBeforeTheError() {
+        when(userProfileRepository.findByApplicantEmail(EMAIL)).thenReturn(Optional.of(profile(4, "old")));
+        Map<String, Object> request = newResumeRequest();
+        request.put("fullName", 42);
+
+        ResponseEntity<?> response = controller.saveProfile(request, auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        verify(userProfileRepository, never()).replaceIfUnchanged(any(), anyLong());
+        verify(blobStore, never()).release("old");
+        verify(blobStore).release("mine");
+    }
+
+    @Test
+    void multipartSaveStoresThePartsWithTheirOwnNamesAndSizes() {
+        MultipartFile resume = new MockMultipartFile("resume", "cv.pdf", "application/pdf", new byte[] {1, 2, 3});
+        MultipartFile certificate = new MockMultipartFile("certificates", "aws.pdf", "application/pdf", new byte[] {4});
+        when(blobStore.store(resume)).thenReturn("resume-part");
+        when(blobStore.store(certificate)).thenReturn("certificate-part");
+        when(userProfileRepository.findByApplicantEmail(EMAIL)).thenReturn(Optional.empty());
+        when(userProfileRepository.save(any(UserProfile.class))).thenAnswer(call -> call.getArgument(0));
+
+        ResponseEntity<?> response = controller.saveProfileMultipart(multipartRequest(), resume, null,
+                List.of(certificate), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        UserProfile saved = (UserProfile) response.getBody();
+        assertThat(saved.getResumeFileId()).isEqualTo("resume-part");
+        assertThat(saved.getResumeFileName()).isEqualTo("cv.pdf");
+        assertThat(saved.getResumeFileSize()).isEqualTo(3L);
+        assertThat(saved.getCertificationFiles()).singleElement().satisfies(cert -> {
+            assertThat(cert.getFileId()).isEqualTo("certificate-part");
+            assertThat(cert.getFileName()).isEqualTo("aws.pdf");
+            assertThat(cert.getFileSize()).isEqualTo(1L);
+        });
+        verify(blobStore, never()).release(any());
+    }
+
+    @Test
+    void multipartSaveThatKeepsLosingTheRaceReleasesItsParts() {
+        MultipartFile resume = new MockMultipartFile("resume", "cv.pdf", "application/pdf", new byte[] {1, 2, 3});
+        MultipartFile certificate = new MockMultipartFile("certificates", "aws.pdf", "application/pdf", new byte[] {4});
+        when(blobStore.store(resume)).thenReturn("resume-part");
+        when(blobStore.store(certificate)).thenReturn("certificate-part");
+        when(userProfileRepository.findByApplicantEmail(EMAIL)).thenReturn(Optional.of(profile(4, "old")));
+        when(userProfileRepository.replaceIfUnchanged(any(), eq(4L))).thenReturn(false);
+
+        ResponseEntity<?> response = controller.saveProfileMultipart(multipartRequest(), resume, null,
+                List.of(certificate), auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(409);
+        verify(blobStore).release("resume-part");
+        verify(blobStore).release("certificate-part");
+        verify(blobStore, never()).release("old");
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static UserProfile profile(long revision, String resumeFileId) {
+        UserProfile profile = new UserProfile();
+        profile.setId("profile-1");
+        profile.setApplicantEmail(EMAIL);
+        profile.setRevision(revision);
+        profile.setResumeFileId(resumeFileId);
+        return profile;
+    }
+
+    private static Map<String, Object> newResumeRequest() {
+        Map<String, Object> request = new HashMap<>();
+        request.put("fullName", "Student");
+        request.put("resumeFileName", "resume.pdf");
+        request.put("resumeFileType", "application/pdf");
+        request.put("resumeBase64", NEW_FILE_BASE64);
+        return request;
+    }
+
+    private static Map<String, Object> multipartRequest() {
+        Map<String, Object> certificate = new HashMap<>();
+        certificate.put("name", "AWS Certified Developer");
+        certificate.put("fileIndex", 0);
+        Map<String, Object> request = new HashMap<>();
+        request.put("fullName", "Student");
+        request.put("certificationFiles", new ArrayList<>(List.of(certificate)));
+        return request;
+    }
+}
@@ -0,0 +1,37 @@
+package com.saarthix.jobs.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Student filters only ever match APPLICANT profiles, with or without other filters
+ */
+class StudentFilterCriteriaTest {
+
+    private static final Document APPLICANTS_ONLY = new Document("userType", "APPLICANT");
+
+    @Test
+    void noFiltersStillMatchOnlyApplicants() {
+        assertThat(clauses(StudentFilterCriteria.fromFilters(null).getCriteriaObject())).containsExactly(APPLICANTS_ONLY);
+        assertThat(clauses(StudentFilterCriteria.fromFilters(Map.of()).getCriteriaObject())).containsExactly(APPLICANTS_ONLY);
+    }
+
+    @Test
+    void applicantClauseIsKeptAlongsideOtherFilters() {
+        Document criteria = StudentFilterCriteria.fromFilters(Map.of("graduationYear", "2024"), List.of("p1")).getCriteriaObject();
+
+        assertThat(clauses(criteria)).contains(
+                APPLICANTS_ONLY,
+                new Document("_id", new Document("$in", List.of("p1"))),
+                new Document("educationEntries.passingYear", "2024"));
+    }
+
+    private static List<Document> clauses(Document criteria) {
+        return criteria.getList("$and", Document.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.saarthix.jobs.repository;
+
+import com.saarthix.jobs.model.UserProfileSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * List pages project only the summary columns: file availability is derived in MongoDB, the base64 payloads stay there.
+ * Exports may sort on disk. Facet counts come from one $facet over the filtered profiles.
+ */
+class UserProfileRepositoryImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final UserProfileRepositoryImpl repository = new UserProfileRepositoryImpl(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(UserProfileSummary.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+    }
+
+    @Test
+    void summaryPageLeavesFilePayloadsInTheDatabase() {
+        repository.findSummaryPageByFilters(Map.of(), null, null, 21);
+
+        Document projection = lastStage(summaryPipeline()).get("$project", Document.class);
+        assertThat(projection).containsKeys("fullName", "skills", "educationEntries", "resumeFileName",
+                "resumeAvailable", "profilePictureAvailable");
+        assertThat(projection).doesNotContainKeys("resumeBase64", "profilePictureBase64", "summary",
+                "professionalExperiences", "projects");
+    }
+
+    @Test
+    void summaryPageIsLimitedBeforeProjecting() {
+        repository.findSummaryPageByFilters(Map.of(), null, null, 21);
+
+        List<Document> pipeline = summaryPipeline();
+        assertThat(pipeline.get(pipeline.size() - 2)).isEqualTo(new Document("$limit", 21L));
+    }
+
+    @Test
+    void exportMayDiskSortAndReadsInBatches() {
+        repository.streamSummariesByFilters(Map.of(), null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<TypedAggregation<?>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregateStream(aggregation.capture(), eq(UserProfileSummary.class));
+        assertThat(aggregation.getValue().getOptions().isAllowDiskUse()).isTrue();
+        assertThat(aggregation.getValue().getOptions().getCursorBatchSize()).isPositive();
+    }
+
+    @Test
+    void facetsAreCountedOverTheFilteredApplicants() {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        repository.countFacetsByFilters(Map.of("graduationYear", "2024"), List.of("p1"), 20);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<TypedAggregation<?>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertThat(pipeline).hasSize(2);
+        assertThat(pipeline.get(0).get("$match", Document.class))
+                .isEqualTo(StudentFilterCriteria.fromFilters(Map.of("graduationYear", "2024"), List.of("p1")).getCriteriaObject());
+        assertThat(pipeline.get(1).get("$facet", Document.class))
+                .containsOnlyKeys("degree", "graduationYear", "college", "location", "availability");
+    }
+
+    @Test
+    void facetBucketsAreReadInCountOrderAndMissingFacetsAreEmpty() {
+        Document result = new Document("degree", List.of(bucket("b.tech", 5), bucket("mca", 2)))
+                .append("graduationYear", List.of(bucket("2024", 3)))
+                .append("location", List.of());
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+
+        Map<String, Map<String, Long>> counts = repository.countFacetsByFilters(Map.of(), null, 20);
+
+        assertThat(counts).containsOnlyKeys("degree", "graduationYear", "college", "location", "availability");
+        assertThat(counts.get("degree")).containsExactly(Map.entry("b.tech", 5L), Map.entry("mca", 2L));
+        assertThat(counts.get("graduationYear")).containsExactly(Map.entry("2024", 3L));
+        assertThat(counts.get("college")).isEmpty();
+        assertThat(counts.get("availability")).isEmpty();
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private List<Document> summaryPipeline() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<TypedAggregation<?>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(UserProfileSummary.class));
+        return aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    private static Document lastStage(List<Document> pipeline) {
+        return pipeline.get(pipeline.size() - 1);
+    }
+
+    private static Document bucket(String value, int count) {
+        return new Document("_id", value).append("count", count);
+    }
+}
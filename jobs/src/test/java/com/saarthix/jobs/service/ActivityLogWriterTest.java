@@ -0,0 +1,89 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.ActivityLog;
+import com.saarthix.jobs.repository.ActivityLogRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every entry handed to the writer is inserted exactly once, including those written while it shuts down
+ */
+class ActivityLogWriterTest {
+
+    private final List<ActivityLog> inserted = Collections.synchronizedList(new ArrayList<>());
+    private final ActivityLogRepository activityLogRepository = mock(ActivityLogRepository.class);
+
+    ActivityLogWriterTest() {
+        when(activityLogRepository.insert(anyList())).thenAnswer(invocation -> {
+            inserted.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    @Test
+    void queuedEntriesAreWrittenByShutdown() {
+        ActivityLogWriter writer = new ActivityLogWriter(activityLogRepository);
+        writer.start();
+        for (int i = 0; i < 1_200; i++) {
+            writer.write(log(i));
+        }
+
+        writer.shutdown();
+
+        assertThat(inserted).hasSize(1_200);
+    }
+
+    @Test
+    void entriesWrittenDuringShutdownAreNotLost() throws Exception {
+        ActivityLogWriter writer = new ActivityLogWriter(activityLogRepository);
+        writer.start();
+        int writers = 4;
+        int perWriter = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch started = new CountDownLatch(writers);
+        for (int w = 0; w < writers; w++) {
+            pool.execute(() -> {
+                started.countDown();
+                for (int i = 0; i < perWriter; i++) {
+                    writer.write(log(i));
+                }
+            });
+        }
+        started.await();
+
+        writer.shutdown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(inserted).hasSize(writers * perWriter);
+    }
+
+    @Test
+    void entryWrittenAfterShutdownIsSavedDirectly() {
+        ActivityLogWriter writer = new ActivityLogWriter(activityLogRepository);
+        writer.start();
+        writer.shutdown();
+
+        writer.write(log(1));
+
+        assertThat(inserted).hasSize(1);
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static ActivityLog log(int i) {
+        return new ActivityLog("industry@example.com", "industry-1", "student" + i + "@example.com", "student-" + i, "VIEW");
+    }
+}
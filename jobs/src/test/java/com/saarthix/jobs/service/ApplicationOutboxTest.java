@@ -0,0 +1,192 @@
+package com.saarthix.jobs.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.saarthix.jobs.model.Application;
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.User;
+import com.saarthix.jobs.repository.JobRepository;
+import com.saarthix.jobs.repository.ResumeAndDetailsRepository;
+import com.saarthix.jobs.repository.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Claiming, retrying and giving up on application effects, against an in-memory stand-in for the
+ * one application in all_applied_jobs
+ */
+class ApplicationOutboxTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private Application stored;
+    private ApplicationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Application.class))).thenAnswer(call -> claim(call.getArgument(0), call.getArgument(1)));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Application.class))).thenAnswer(call -> {
+            apply(call.getArgument(1));
+            return UpdateResult.acknowledged(1, 1L, null);
+        });
+
+        UserRepository userRepository = mock(UserRepository.class);
+        JobRepository jobRepository = mock(JobRepository.class);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(new User()));
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(new Job()));
+
+        outbox = new ApplicationOutbox(mongoTemplate, mock(ResumeAndDetailsRepository.class), jobRepository,
+                userRepository, notificationService, emailService, mock(BlobStore.class));
+
+        stored = new Application();
+        stored.setId("application-1");
+        stored.setJobId("job-1");
+        stored.setApplicantId("user-1");
+        outbox.prepare(stored, Application.Effect.NOTIFY_INDUSTRY, Application.Effect.CONFIRMATION_EMAIL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.shutdown();
+    }
+
+    @Test
+    void failedEffectIsRetriedWithoutRerunningTheOthers() {
+        doThrow(new RuntimeException("SMTP down"))
+                .doNothing()
+                .when(emailService).sendApplicationConfirmation(any(), any(), any());
+
+        outbox.dispatchDue();
+
+        assertThat(stored.getPendingEffects()).containsExactly(Application.Effect.CONFIRMATION_EMAIL);
+        assertThat(stored.getOutboxAttempts()).isEqualTo(1);
+        assertThat(stored.getOutboxDueAt()).isAfter(LocalDateTime.now());
+
+        // Not due again until the backoff has passed
+        outbox.dispatchDue();
+        verify(emailService, times(1)).sendApplicationConfirmation(any(), any(), any());
+
+        backoffPassed();
+        outbox.dispatchDue();
+
+        verify(emailService, times(2)).sendApplicationConfirmation(any(), any(), any());
+        verify(notificationService, times(1)).createNewApplicationNotification(any());
+        assertDone();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        doThrow(new RuntimeException("SMTP down")).when(emailService).sendApplicationConfirmation(any(), any(), any());
+
+        for (int attempt = 1; attempt < ApplicationOutbox.MAX_ATTEMPTS; attempt++) {
+            outbox.dispatchDue();
+            assertThat(stored.getOutboxAttempts()).isEqualTo(attempt);
+            backoffPassed();
+        }
+        outbox.dispatchDue();
+
+        verify(emailService, times(ApplicationOutbox.MAX_ATTEMPTS)).sendApplicationConfirmation(any(), any(), any());
+        assertDone();
+
+        outbox.dispatchDue();
+        verify(emailService, times(ApplicationOutbox.MAX_ATTEMPTS)).sendApplicationConfirmation(any(), any(), any());
+    }
+
+    @Test
+    void expiredLeaseIsClaimedAgain() {
+        doNothing().when(emailService).sendApplicationConfirmation(any(), any(), any());
+        // Claimed by a dispatcher that died before running anything: its lease is still live
+        stored.setOutboxDueAt(LocalDateTime.now().plusMinutes(5));
+
+        outbox.dispatchDue();
+        verify(notificationService, never()).createNewApplicationNotification(any());
+        assertThat(stored.getPendingEffects()).hasSize(2);
+
+        // The lease runs out
+        stored.setOutboxDueAt(LocalDateTime.now().minusSeconds(1));
+        outbox.dispatchDue();
+
+        verify(notificationService, times(1)).createNewApplicationNotification(any());
+        verify(emailService, times(1)).sendApplicationConfirmation(any(), any(), any());
+        assertDone();
+    }
+
+    private void backoffPassed() {
+        if (stored.getOutboxDueAt() != null) {
+            stored.setOutboxDueAt(LocalDateTime.now().minusSeconds(1));
+        }
+    }
+
+    private void assertDone() {
+        assertThat(stored.getPendingEffects()).isNull();
+        assertThat(stored.getOutboxAttempts()).isNull();
+        assertThat(stored.getOutboxDueAt()).isNull();
+    }
+
+    /**
+     * findAndModify on {outboxDueAt: {$lte: now}}: the stored application, leased, or null if it is not due
+     */
+    private Application claim(Query query, Update update) {
+        Document due = query.getQueryObject().get("outboxDueAt", Document.class);
+        LocalDateTime now = (LocalDateTime) due.get("$lte");
+        if (stored.getOutboxDueAt() == null || stored.getOutboxDueAt().isAfter(now)) {
+            return null;
+        }
+        apply(update);
+
+        Application claimed = new Application();
+        claimed.setId(stored.getId());
+        claimed.setJobId(stored.getJobId());
+        claimed.setApplicantId(stored.getApplicantId());
+        claimed.setPendingEffects(new ArrayList<>(stored.getPendingEffects()));
+        claimed.setOutboxAttempts(stored.getOutboxAttempts());
+        claimed.setOutboxDueAt(stored.getOutboxDueAt());
+        return claimed;
+    }
+
+    private void apply(Update update) {
+        Document operations = update.getUpdateObject();
+        Document set = operations.get("$set", new Document());
+        if (set.containsKey("outboxDueAt")) {
+            stored.setOutboxDueAt((LocalDateTime) set.get("outboxDueAt"));
+        }
+        if (set.containsKey("outboxAttempts")) {
+            stored.setOutboxAttempts((Integer) set.get("outboxAttempts"));
+        }
+        Document pull = operations.get("$pull", new Document());
+        if (pull.containsKey("pendingEffects")) {
+            List<Application.Effect> remaining = new ArrayList<>(stored.getPendingEffects());
+            remaining.remove(Application.Effect.valueOf((String) pull.get("pendingEffects")));
+            stored.setPendingEffects(remaining);
+        }
+        Document unset = operations.get("$unset", new Document());
+        if (unset.containsKey("pendingEffects")) {
+            stored.setPendingEffects(null);
+            stored.setOutboxAttempts(null);
+            stored.setOutboxDueAt(null);
+        }
+    }
+}
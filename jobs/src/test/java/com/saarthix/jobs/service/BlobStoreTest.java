@@ -0,0 +1,173 @@
+package com.saarthix.jobs.service;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.saarthix.jobs.model.StoredBlob;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reference counting of BlobStore, against an in-memory stand-in for the blobs collection and GridFS
+ */
+class BlobStoreTest {
+
+    private final Map<String, StoredBlob> blobs = new HashMap<>();
+    private final Set<ObjectId> gridFsFiles = new HashSet<>();
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        GridFsTemplate gridFsTemplate = mock(GridFsTemplate.class);
+
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(StoredBlob.class))).thenAnswer(call -> {
+            StoredBlob blob = incrementRefCount(call.getArgument(0), call.getArgument(1));
+            return UpdateResult.acknowledged(blob != null ? 1 : 0, blob != null ? 1L : 0L, null);
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(StoredBlob.class))).thenAnswer(call -> incrementRefCount(call.getArgument(0), call.getArgument(1)));
+        when(mongoTemplate.remove(any(Query.class), eq(StoredBlob.class))).thenAnswer(call -> {
+            String sha256 = idOf(call.getArgument(0));
+            StoredBlob blob = blobs.get(sha256);
+            if (blob == null || blob.getRefCount() > 0) {
+                return DeleteResult.acknowledged(0);
+            }
+            blobs.remove(sha256);
+            return DeleteResult.acknowledged(1);
+        });
+        when(mongoTemplate.insert(any(StoredBlob.class))).thenAnswer(call -> {
+            StoredBlob blob = call.getArgument(0);
+            if (blobs.putIfAbsent(blob.getSha256(), blob) != null) {
+                throw new DuplicateKeyException(blob.getSha256());
+            }
+            return blob;
+        });
+        when(gridFsTemplate.store(any(InputStream.class), anyString(), anyString())).thenAnswer(call -> {
+            ObjectId id = new ObjectId();
+            gridFsFiles.add(id);
+            return id;
+        });
+        doAnswer(call -> {
+            Query query = call.getArgument(0);
+            gridFsFiles.remove(query.getQueryObject().get("_id"));
+            return null;
+        }).when(gridFsTemplate).delete(any(Query.class));
+
+        blobStore = new BlobStore(gridFsTemplate, mongoTemplate);
+    }
+
+    @Test
+    void sameContentIsStoredOnceWithOneReferencePerStore() {
+        String first = store("resume");
+        String second = store("resume");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(gridFsFiles).hasSize(1);
+        assertThat(blobs.get(first).getRefCount()).isEqualTo(2);
+    }
+
+    @Test
+    void differentContentIsStoredSeparately() {
+        String resume = store("resume");
+        String picture = store("picture");
+
+        assertThat(picture).isNotEqualTo(resume);
+        assertThat(gridFsFiles).hasSize(2);
+    }
+
+    @Test
+    void fileIsDeletedOnlyWhenTheLastReferenceIsReleased() {
+        String fileId = store("resume");
+        assertThat(blobStore.retain(fileId, "resume.pdf", "application/pdf")).isEqualTo(fileId);
+
+        blobStore.release(fileId);
+        assertThat(blobs.get(fileId).getRefCount()).isEqualTo(1);
+        assertThat(gridFsFiles).hasSize(1);
+
+        blobStore.release(fileId);
+        assertThat(blobs).doesNotContainKey(fileId);
+        assertThat(gridFsFiles).isEmpty();
+    }
+
+    @Test
+    void storingReleasedContentAgainStartsAFreshReference() {
+        String fileId = store("resume");
+        blobStore.release(fileId);
+
+        assertThat(store("resume")).isEqualTo(fileId);
+        assertThat(blobs.get(fileId).getRefCount()).isEqualTo(1);
+        assertThat(gridFsFiles).hasSize(1);
+    }
+
+    @Test
+    void retainOfAnUnknownFileReturnsNull() {
+        assertThat(blobStore.retain("0".repeat(64), "resume.pdf", "application/pdf")).isNull();
+        assertThat(blobStore.retain(null, "resume.pdf", "application/pdf")).isNull();
+    }
+
+    @Test
+    void releaseIgnoresNullAndUnknownIds() {
+        String fileId = store("resume");
+
+        blobStore.release(null);
+        blobStore.release("");
+        blobStore.release("0".repeat(64));
+
+        assertThat(blobs.get(fileId).getRefCount()).isEqualTo(1);
+        assertThat(gridFsFiles).hasSize(1);
+    }
+
+    @Test
+    void releaseOfAFileStoredBeforeContentAddressingDeletesItDirectly() {
+        ObjectId legacyId = new ObjectId();
+        gridFsFiles.add(legacyId);
+
+        blobStore.release(legacyId.toHexString());
+
+        assertThat(gridFsFiles).isEmpty();
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private String store(String content) {
+        return blobStore.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                content + ".pdf", "application/pdf");
+    }
+
+    private StoredBlob incrementRefCount(Query query, Update update) {
+        StoredBlob blob = blobs.get(idOf(query));
+        if (blob != null) {
+            Document inc = (Document) update.getUpdateObject().get("$inc");
+            blob.setRefCount(blob.getRefCount() + ((Number) inc.get("refCount")).longValue());
+        }
+        return blob;
+    }
+
+    private static String idOf(Query query) {
+        return (String) query.getQueryObject().get("_id");
+    }
+}
@@ -0,0 +1,80 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Application;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * The earliest application of a duplicated pair survives, and only the removed ones release their resumes
+ */
+class DuplicateApplicationCleanupTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+    private final BlobStore blobStore = mock(BlobStore.class);
+    private final List<Object> removedIds = new ArrayList<>();
+    private DuplicateApplicationCleanup cleanup;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.indexOps(Application.class)).thenReturn(indexOps);
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Application.class))).thenAnswer(call -> {
+            Object id = call.<Query>getArgument(0).getQueryObject().get("_id");
+            removedIds.add(id);
+            Application application = new Application();
+            application.setId(id.toString());
+            application.setResumeFileId("resume-" + id);
+            return application;
+        });
+        cleanup = new DuplicateApplicationCleanup(mongoTemplate, blobStore);
+    }
+
+    @Test
+    void keepsTheFirstApplicationOfEachPair() {
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+        List<Document> groups = List.of(
+                new Document("ids", List.of("a1", "a2", "a3")).append("count", 3),
+                new Document("ids", List.of("b1", "b2")).append("count", 2));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Application.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(groups, new Document()));
+
+        long removed = cleanup.removeDuplicates();
+
+        assertThat(removed).isEqualTo(3);
+        assertThat(removedIds).containsExactly("a2", "a3", "b2");
+        verify(blobStore).release("resume-a2");
+        verify(blobStore).release("resume-a3");
+        verify(blobStore).release("resume-b2");
+        verify(blobStore, never()).release("resume-a1");
+    }
+
+    @Test
+    void doesNothingOnceTheUniqueIndexExists() {
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(), "job_applicant", true, false, "")));
+
+        assertThat(cleanup.removeDuplicates()).isZero();
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Application.class), eq(Document.class));
+        verifyNoInteractions(blobStore);
+    }
+}
@@ -0,0 +1,35 @@
+package com.saarthix.jobs.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A malformed gazetteer row is skipped on its own; the rows around it still load
+ */
+class GazetteerTest {
+
+    private final Gazetteer gazetteer = new Gazetteer("gazetteer-with-bad-lines.csv");
+
+    @Test
+    void goodRowsLoadAroundBadOnes() {
+        assertThat(gazetteer.resolve("Bangalore, Karnataka")).isEqualTo(new GeoJsonPoint(77.5946, 12.9716));
+        assertThat(gazetteer.resolve("Hybrid - Poona")).isEqualTo(new GeoJsonPoint(73.8567, 18.5204));
+        assertThat(gazetteer.resolve("Calcutta")).isEqualTo(new GeoJsonPoint(88.3639, 22.5726));
+    }
+
+    @Test
+    void badRowsAreSkipped() {
+        assertThat(gazetteer.resolve("Atlantis")).isNull();
+        assertThat(gazetteer.resolve("Nowhere")).isNull();
+        assertThat(gazetteer.resolve("Chennai")).isNull();
+        // Neither the nameless row nor the empty alias makes punctuation resolve
+        assertThat(gazetteer.resolve(" - ")).isNull();
+    }
+
+    @Test
+    void missingResourceLeavesAnEmptyGazetteer() {
+        assertThat(new Gazetteer("no-such-gazetteer.csv").resolve("Bengaluru")).isNull();
+    }
+}
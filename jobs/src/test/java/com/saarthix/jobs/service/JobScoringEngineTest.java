@@ -0,0 +1,85 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.dto.JobMatch;
+import com.saarthix.jobs.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The parallel ranking matches JobService.rankJobs row for row, ties included, across many partitions
+ */
+class JobScoringEngineTest {
+
+    private static final List<List<String>> SKILLS = List.of(
+            List.of("Java", "Spring"), List.of("Java"), List.of("Go"), List.of("Python", "Java"), List.of());
+    private static final List<String> LOCATIONS = List.of("Pune", "Mumbai", "Remote", "Delhi");
+
+    private final SkillVocabulary skillVocabulary = new SkillVocabulary();
+    private final JobSkillIndex jobSkillIndex = new JobSkillIndex(skillVocabulary);
+    private final Gazetteer gazetteer = new Gazetteer();
+    private final JobService jobService = new JobService(mock(JobRepository.class), skillVocabulary, jobSkillIndex,
+            gazetteer, mock(JobSnapshotStore.class));
+    private final JobScoringEngine engine = new JobScoringEngine(jobService, 4);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void parallelRankingEqualsSinglePass() {
+        // Few distinct jobs repeated many times: most scores tie, so the merge must keep snapshot order
+        JobSnapshot snapshot = JobSnapshot.of(jobs(5_000), jobSkillIndex, gazetteer);
+        JobService.MatchPreferences preferences = jobService.matchPreferencesOf(applicant());
+
+        for (int window : new int[] {1, 50, JobService.MAX_RECOMMENDATION_WINDOW}) {
+            assertThat(engine.rankJobs(snapshot, preferences, window))
+                    .isEqualTo(jobService.rankJobs(snapshot, preferences, window));
+        }
+    }
+
+    @Test
+    void statsCountEveryRun() {
+        JobSnapshot snapshot = JobSnapshot.of(jobs(3_000), jobSkillIndex, gazetteer);
+        JobService.MatchPreferences preferences = jobService.matchPreferencesOf(applicant());
+
+        engine.rankJobs(snapshot, preferences, 10);
+        engine.rankJobs(snapshot, preferences, 10);
+
+        JobScoringEngine.ScoringStats stats = engine.stats();
+        assertThat(stats.runs()).isEqualTo(2);
+        assertThat(stats.jobsScored()).isEqualTo(6_000);
+        assertThat(stats.parallelism()).isEqualTo(4);
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static List<Job> jobs(int count) {
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Job job = new Job();
+            job.setId("job-" + i);
+            job.setSkills(SKILLS.get(i % SKILLS.size()));
+            job.setLocation(LOCATIONS.get(i % LOCATIONS.size()));
+            job.setYearsOfExperience(i % 7);
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private static UserProfile applicant() {
+        UserProfile profile = new UserProfile();
+        profile.setSkills(List.of("Java", "Spring"));
+        profile.setPreferredLocations(List.of("Pune"));
+        profile.setExperience("2 years");
+        return profile;
+    }
+}
@@ -0,0 +1,95 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.dto.JobMatch;
+import com.saarthix.jobs.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Nearby-job search rejects radii MongoDB can't use before querying.
+ * Recommendation pages are slices of one ranking, within MAX_RECOMMENDATION_WINDOW.
+ */
+class JobServiceTest {
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final SkillVocabulary skillVocabulary = new SkillVocabulary();
+    private final JobSkillIndex jobSkillIndex = new JobSkillIndex(skillVocabulary);
+    private final Gazetteer gazetteer = new Gazetteer();
+    private final JobSnapshotStore jobSnapshotStore = mock(JobSnapshotStore.class);
+    private final JobService jobService = new JobService(jobRepository, skillVocabulary, jobSkillIndex, gazetteer,
+            jobSnapshotStore);
+
+    @Test
+    void nonFiniteOrOutOfRangeRadiusIsRejected() {
+        for (double radiusKm : new double[] {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                0, -5, JobService.MAX_NEARBY_RADIUS_KM + 1}) {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> jobService.findJobsNear("Pune", radiusKm, null))
+                    .withMessageContaining("radiusKm");
+        }
+        verify(jobRepository, never()).findNear(any(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void recommendationPagesAreSlicesOfTheFullRanking() {
+        when(jobSnapshotStore.current()).thenReturn(JobSnapshot.of(List.of(
+                job("job-1", "Java", "Spring"), job("job-2", "Java"), job("job-3", "Go"),
+                job("job-4", "Java", "Go"), job("job-5", "Spring")), jobSkillIndex, gazetteer));
+        UserProfile applicant = applicant("Java", "Spring");
+
+        List<String> ranking = jobIds(jobService.getRecommendedJobs(applicant, 0, 10));
+        List<String> paged = new ArrayList<>();
+        for (int offset = 0; offset < 10; offset += 2) {
+            paged.addAll(jobIds(jobService.getRecommendedJobs(applicant, offset, 2)));
+        }
+
+        // Equal scores keep snapshot order
+        assertThat(ranking).startsWith("job-1").containsSubsequence("job-1", "job-2", "job-5");
+        assertThat(paged).isEqualTo(ranking);
+        assertThat(jobService.getRecommendedJobs(applicant, ranking.size(), 5)).isEmpty();
+    }
+
+    @Test
+    void recommendationWindowOutOfRangeIsRejectedBeforeScoring() {
+        int[][] windows = {{-1, 10}, {0, 0}, {0, -1}, {JobService.MAX_RECOMMENDATION_WINDOW, 1}};
+        for (int[] window : windows) {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> jobService.getRecommendedJobs(applicant("Java"), window[0], window[1]))
+                    .withMessageContaining("offset");
+        }
+        verify(jobSnapshotStore, never()).current();
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static Job job(String id, String... skills) {
+        Job job = new Job();
+        job.setId(id);
+        job.setSkills(List.of(skills));
+        return job;
+    }
+
+    private static UserProfile applicant(String... skills) {
+        UserProfile profile = new UserProfile();
+        profile.setSkills(List.of(skills));
+        return profile;
+    }
+
+    private static List<String> jobIds(List<JobMatch> matches) {
+        return matches.stream().map(match -> match.job().getId()).toList();
+    }
+}
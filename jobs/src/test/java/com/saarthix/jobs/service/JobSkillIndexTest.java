@@ -0,0 +1,48 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A job read before a save cannot put its old skills back into the cache for the saved job
+ */
+class JobSkillIndexTest {
+
+    private final SkillVocabulary skillVocabulary = new SkillVocabulary();
+    private final JobSkillIndex jobSkillIndex = new JobSkillIndex(skillVocabulary);
+
+    @Test
+    void staleJobScoredAfterEvictionDoesNotReplaceSavedSkills() {
+        Job stale = job(1, "Java");
+        Job saved = job(2, "Python");
+        jobSkillIndex.skillIds(stale);
+
+        // Save: the listener evicts, then a request still holding the old Job scores it
+        jobSkillIndex.evict("job-1");
+        assertThat(jobSkillIndex.skillIds(stale)).containsExactly(skillVocabulary.intern("java"));
+
+        assertThat(jobSkillIndex.skillIds(saved)).containsExactly(skillVocabulary.intern("python"));
+    }
+
+    @Test
+    void olderRevisionDoesNotOverwriteNewerEntry() {
+        Job saved = job(2, "Python");
+        int[] cached = jobSkillIndex.skillIds(saved);
+
+        jobSkillIndex.skillIds(job(1, "Java"));
+
+        assertThat(jobSkillIndex.skillIds(saved)).isSameAs(cached);
+    }
+
+    private static Job job(long revision, String skill) {
+        Job job = new Job();
+        job.setId("job-1");
+        job.setRevision(revision);
+        job.setSkills(List.of(skill));
+        return job;
+    }
+}
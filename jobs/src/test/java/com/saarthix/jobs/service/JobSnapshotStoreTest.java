@@ -0,0 +1,69 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Jobs written where no change event reaches this instance show up once the snapshot is reloaded
+ */
+class JobSnapshotStoreTest {
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final SkillVocabulary skillVocabulary = new SkillVocabulary();
+    private final JobSkillIndex jobSkillIndex = new JobSkillIndex(skillVocabulary);
+    private final Gazetteer gazetteer = new Gazetteer();
+
+    @Test
+    void snapshotIsReloadedAfterTheInterval() throws InterruptedException {
+        when(jobRepository.findAll()).thenReturn(List.of(job("job-1")))
+                .thenReturn(List.of(job("job-1"), job("job-2")));
+        JobSnapshotStore jobSnapshotStore = new JobSnapshotStore(jobRepository, jobSkillIndex, gazetteer, 1);
+
+        assertThat(jobSnapshotStore.current().size()).isEqualTo(1);
+        assertThat(jobSnapshotStore.current().size()).isEqualTo(1);
+
+        Thread.sleep(1_100);
+
+        assertThat(jobSnapshotStore.current().size()).isEqualTo(2);
+        verify(jobRepository, times(2)).findAll();
+    }
+
+    @Test
+    void failedReloadKeepsTheOldSnapshot() throws InterruptedException {
+        when(jobRepository.findAll()).thenReturn(List.of(job("job-1"))).thenThrow(new RuntimeException("timeout"));
+        JobSnapshotStore jobSnapshotStore = new JobSnapshotStore(jobRepository, jobSkillIndex, gazetteer, 1);
+        JobSnapshot loaded = jobSnapshotStore.current();
+
+        Thread.sleep(1_100);
+
+        assertThat(jobSnapshotStore.current()).isSameAs(loaded);
+    }
+
+    @Test
+    void zeroIntervalLoadsOnce() {
+        when(jobRepository.findAll()).thenReturn(List.of(job("job-1")));
+        JobSnapshotStore jobSnapshotStore = new JobSnapshotStore(jobRepository, jobSkillIndex, gazetteer, 0);
+
+        jobSnapshotStore.current();
+        jobSnapshotStore.jobSaved(job("job-2"));
+
+        assertThat(jobSnapshotStore.current().size()).isEqualTo(2);
+        verify(jobRepository, times(1)).findAll();
+    }
+
+    private static Job job(String id) {
+        Job job = new Job();
+        job.setId(id);
+        job.setSkills(List.of("Java"));
+        return job;
+    }
+}
@@ -0,0 +1,126 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Copy-on-write updates of a snapshot keep every other row (skills, experience, location) intact
+ */
+class JobSnapshotTest {
+
+    private final Gazetteer gazetteer = new Gazetteer();
+    private final JobSkillIndex jobSkillIndex = new JobSkillIndex(new SkillVocabulary());
+
+    @Test
+    void snapshotHoldsTheActiveJobsInListOrder() {
+        Job inactive = job("b", "Pune", 1, "Go");
+        inactive.setActive(false);
+
+        JobSnapshot snapshot = JobSnapshot.of(List.of(job("a", "Pune", 2, "Java", "SQL"), inactive,
+                job("c", "Remote", null, "React")), jobSkillIndex, gazetteer);
+
+        assertThat(ids(snapshot)).containsExactly("a", "c");
+        assertThat(snapshot.yearsOfExperience(1)).isEqualTo(JobSnapshot.NO_VALUE);
+        assertRowsMatchTheirJobs(snapshot);
+    }
+
+    @Test
+    void savedJobReplacesItsRowInPlace() {
+        JobSnapshot snapshot = JobSnapshot.of(catalog(), jobSkillIndex, gazetteer);
+        Job edited = job("b", "Mumbai", 5, "Kotlin", "Android", "Git");
+        jobSkillIndex.evict(edited.getId());
+
+        JobSnapshot updated = snapshot.with(edited, jobSkillIndex, gazetteer);
+
+        assertThat(ids(updated)).containsExactly("a", "b", "c");
+        assertThat(updated.job(1)).isSameAs(edited);
+        assertThat(updated.yearsOfExperience(1)).isEqualTo(5);
+        assertThat(updated.locationText(updated.locationId(1))).isEqualTo("mumbai");
+        assertRowsMatchTheirJobs(updated);
+        // The old snapshot is untouched
+        assertThat(snapshot.locationText(snapshot.locationId(1))).isEqualTo("hyderabad");
+    }
+
+    @Test
+    void newJobIsAppendedAndDeactivatedJobDropped() {
+        JobSnapshot snapshot = JobSnapshot.of(catalog(), jobSkillIndex, gazetteer);
+        Job deactivated = job("a", "Pune", 2, "Java", "SQL");
+        deactivated.setActive(false);
+
+        JobSnapshot updated = snapshot.with(job("d", "Chennai", 1, "Python"), jobSkillIndex, gazetteer)
+                .with(deactivated, jobSkillIndex, gazetteer);
+
+        assertThat(ids(updated)).containsExactly("b", "c", "d");
+        assertRowsMatchTheirJobs(updated);
+    }
+
+    @Test
+    void deletedJobsRowIsRemoved() {
+        JobSnapshot snapshot = JobSnapshot.of(catalog(), jobSkillIndex, gazetteer);
+
+        JobSnapshot updated = snapshot.without("b", gazetteer);
+
+        assertThat(ids(updated)).containsExactly("a", "c");
+        assertRowsMatchTheirJobs(updated);
+        assertThat(snapshot.without("missing", gazetteer).size()).isEqualTo(3);
+    }
+
+    @Test
+    void copiesGrowPastTheBuilderCapacity() {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            jobs.add(job("job-" + i, i % 2 == 0 ? "Pune" : "Remote", i, "Java", "Skill " + i, "SQL", "Git", "Docker"));
+        }
+        JobSnapshot snapshot = JobSnapshot.of(jobs, jobSkillIndex, gazetteer);
+
+        JobSnapshot updated = snapshot.with(job("new", "Noida", 3, "Rust"), jobSkillIndex, gazetteer);
+
+        assertThat(updated.size()).isEqualTo(41);
+        assertThat(updated.locationCount()).isEqualTo(3);
+        assertRowsMatchTheirJobs(updated);
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private List<Job> catalog() {
+        return List.of(job("a", "Pune", 2, "Java", "SQL"), job("b", "Hyderabad", null, "Python"),
+                job("c", "Remote", 0, "React", "JavaScript", "CSS"));
+    }
+
+    private void assertRowsMatchTheirJobs(JobSnapshot snapshot) {
+        for (int row = 0; row < snapshot.size(); row++) {
+            Job job = snapshot.job(row);
+            int[] skills = new int[snapshot.skillEnd(row) - snapshot.skillStart(row)];
+            for (int i = 0; i < skills.length; i++) {
+                skills[i] = snapshot.skillId(snapshot.skillStart(row) + i);
+            }
+            assertThat(skills).as("skills of row %d", row).isEqualTo(jobSkillIndex.skillIds(job));
+            assertThat(snapshot.yearsOfExperience(row)).isEqualTo(
+                    job.getYearsOfExperience() != null ? job.getYearsOfExperience() : JobSnapshot.NO_VALUE);
+            assertThat(snapshot.locationText(snapshot.locationId(row))).isEqualTo(job.getLocation().toLowerCase());
+        }
+    }
+
+    private static List<String> ids(JobSnapshot snapshot) {
+        List<String> ids = new ArrayList<>();
+        for (int row = 0; row < snapshot.size(); row++) {
+            ids.add(snapshot.job(row).getId());
+        }
+        return ids;
+    }
+
+    private static Job job(String id, String location, Integer yearsOfExperience, String... skills) {
+        Job job = new Job();
+        job.setId(id);
+        job.setLocation(location);
+        job.setYearsOfExperience(yearsOfExperience);
+        job.setSkills(Arrays.asList(skills));
+        return job;
+    }
+}
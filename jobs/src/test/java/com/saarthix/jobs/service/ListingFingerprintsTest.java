@@ -0,0 +1,69 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listings answer 304 from the cached fingerprint until a write or the TTL drops it
+ */
+class ListingFingerprintsTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<List<Job>> loader = () -> {
+        loads.incrementAndGet();
+        return List.of(job());
+    };
+
+    @Test
+    void unchangedListingIsAnsweredFromTheCache() {
+        ListingFingerprints listingFingerprints = new ListingFingerprints(60);
+        String etag = firstLoad(listingFingerprints);
+
+        assertThat(listingFingerprints.listing(Job.class, conditional(etag), loader)).isNull();
+        assertThat(loads).hasValue(1);
+
+        listingFingerprints.changed(Job.class);
+        listingFingerprints.listing(Job.class, conditional(etag), loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void disabledCacheStillAnswers304AfterLoading() {
+        ListingFingerprints listingFingerprints = new ListingFingerprints(0);
+        String etag = firstLoad(listingFingerprints);
+
+        assertThat(listingFingerprints.listing(Job.class, conditional(etag), loader)).isNull();
+        assertThat(loads).hasValue(2);
+    }
+
+    private String firstLoad(ListingFingerprints listingFingerprints) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Job> jobs = listingFingerprints.listing(Job.class,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/jobs"), response), loader);
+        assertThat(jobs).hasSize(1);
+        assertThat(response.getHeader("ETag")).isNotNull();
+        return response.getHeader("ETag");
+    }
+
+    private static ServletWebRequest conditional(String etag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+        request.addHeader("If-None-Match", etag);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static Job job() {
+        Job job = new Job();
+        job.setId("job-1");
+        job.setRevision(3);
+        return job;
+    }
+}
@@ -0,0 +1,138 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.StudentFilterCriteria;
+import org.bson.BsonRegularExpression;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A profile's filter values hold the same normalized form the field filters compare against, and the
+ * filters keep the old case-insensitive "contains" semantics for text that starts a word
+ */
+class ProfileFilterValuesTest {
+
+    @Test
+    void valuesAreTrimmedLowerCasedAndDeduplicated() {
+        UserProfile.FilterValues values = ProfileFilterValues.of(profile());
+
+        assertThat(values.getDegrees()).containsExactly("b.tech");
+        assertThat(values.getSpecializations()).containsExactly("computer science", "b.tech");
+        assertThat(values.getSkills()).containsExactly("react.js", "c++");
+        assertThat(values.getInstitutions()).containsExactly("iit delhi", "bombay university");
+        assertThat(values.getLocations()).containsExactly("pune, maharashtra", "bangalore");
+        assertThat(values.getAvailability()).isEqualTo("immediately");
+        assertThat(values.getSkillTokens()).containsExactly("react", "js", "c");
+        assertThat(values.getLocationTokens()).containsExactly("pune", "maharashtra", "bangalore");
+        assertThat(values.getVersion()).isEqualTo(ProfileFilterValues.VERSION);
+    }
+
+    @Test
+    void filtersMatchTextThatStartsAWordOfAValue() {
+        UserProfile.FilterValues values = ProfileFilterValues.of(profile());
+
+        assertThat(matches(values, Map.of("college", "IIT"))).isTrue();
+        assertThat(matches(values, Map.of("college", "iit del"))).isTrue();
+        assertThat(matches(values, Map.of("skills", "react"))).isTrue();
+        assertThat(matches(values, Map.of("skills", "C++"))).isTrue();
+        assertThat(matches(values, Map.of("location", "Maharashtra"))).isTrue();
+        assertThat(matches(values, Map.of("degree", "B.Tech", "specialization", "computer"))).isTrue();
+        assertThat(matches(values, Map.of("availability", "Immediate"))).isTrue();
+    }
+
+    @Test
+    void filtersRejectWhatContainsNeverMatched() {
+        UserProfile.FilterValues values = ProfileFilterValues.of(profile());
+
+        // Words from two different institutions are not one institution
+        assertThat(matches(values, Map.of("college", "IIT Bombay"))).isFalse();
+        assertThat(matches(values, Map.of("skills", "angular"))).isFalse();
+        assertThat(matches(values, Map.of("degree", "M.Tech"))).isFalse();
+        assertThat(matches(values, Map.of("location", "Karnataka"))).isFalse();
+    }
+
+    @Test
+    void textStartingMidWordNoLongerMatches() {
+        assertThat(matches(ProfileFilterValues.of(profile()), Map.of("location", "angalore"))).isFalse();
+    }
+
+    @Test
+    void onlyTheKeywordRegexIsUnanchoredOnARawField() {
+        List<Document> clauses = clauses(Map.of("college", "IIT", "keyword", "rao"));
+
+        assertThat(clauses.stream().filter(clause -> clause.containsKey("filterValues.institutionTokens")).toList())
+                .singleElement()
+                .satisfies(clause -> assertThat(regexOf(clause.get("filterValues.institutionTokens")).pattern())
+                        .isEqualTo("^iit"));
+        assertThat(clauses.stream().filter(clause -> clause.containsKey("$or")).toList())
+                .singleElement()
+                .satisfies(keyword -> assertThat(keyword.getList("$or", Document.class))
+                        .allSatisfy(field -> assertThat(field.keySet()).noneMatch(key -> key.startsWith("filterValues"))));
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static UserProfile profile() {
+        UserProfile.EducationEntry graduation = new UserProfile.EducationEntry();
+        graduation.setDegree(" B.Tech ");
+        graduation.setStream("Computer Science");
+        graduation.setInstitution("IIT Delhi");
+        UserProfile.EducationEntry postGraduation = new UserProfile.EducationEntry();
+        postGraduation.setDegree("b.tech");
+        postGraduation.setInstitution("Bombay University");
+        UserProfile profile = new UserProfile();
+        profile.setEducationEntries(List.of(graduation, postGraduation));
+        profile.setSkills(List.of("React.js", "REACT.JS", "C++", " "));
+        profile.setCurrentLocation("Pune, Maharashtra");
+        profile.setPreferredLocations(List.of("Bangalore", "pune, maharashtra"));
+        profile.setAvailability("Immediately ");
+        return profile;
+    }
+
+    private static List<Document> clauses(Map<String, String> filters) {
+        return StudentFilterCriteria.fromFilters(filters).getCriteriaObject().getList("$and", Document.class);
+    }
+
+    /**
+     * Evaluate the filterValues clauses the way MongoDB does: a regex on an array matches if any element matches
+     */
+    private static boolean matches(UserProfile.FilterValues values, Map<String, String> filters) {
+        Map<String, List<String>> fields = Map.ofEntries(
+                Map.entry("filterValues.degrees", values.getDegrees()),
+                Map.entry("filterValues.degreeTokens", values.getDegreeTokens()),
+                Map.entry("filterValues.specializations", values.getSpecializations()),
+                Map.entry("filterValues.specializationTokens", values.getSpecializationTokens()),
+                Map.entry("filterValues.skills", values.getSkills()),
+                Map.entry("filterValues.skillTokens", values.getSkillTokens()),
+                Map.entry("filterValues.institutions", values.getInstitutions()),
+                Map.entry("filterValues.institutionTokens", values.getInstitutionTokens()),
+                Map.entry("filterValues.locations", values.getLocations()),
+                Map.entry("filterValues.locationTokens", values.getLocationTokens()),
+                Map.entry("filterValues.availability", List.of(values.getAvailability())),
+                Map.entry("filterValues.availabilityTokens", values.getAvailabilityTokens()));
+        for (Document clause : clauses(filters)) {
+            for (Map.Entry<String, Object> condition : clause.entrySet()) {
+                if (!condition.getKey().startsWith("filterValues.")) {
+                    continue;
+                }
+                Pattern pattern = regexOf(condition.getValue());
+                if (fields.get(condition.getKey()).stream().noneMatch(value -> pattern.matcher(value).find())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Pattern regexOf(Object condition) {
+        return condition instanceof BsonRegularExpression regex
+                ? Pattern.compile(regex.getPattern())
+                : (Pattern) condition;
+    }
+}
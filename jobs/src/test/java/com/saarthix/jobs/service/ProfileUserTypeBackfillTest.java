@@ -0,0 +1,63 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.User;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import com.saarthix.jobs.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Profiles without a userType get their user's role in one bulk update per role
+ */
+class ProfileUserTypeBackfillTest {
+
+    private final UserProfileRepository userProfileRepository = mock(UserProfileRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ProfileUserTypeBackfill backfill = new ProfileUserTypeBackfill(userProfileRepository, userRepository);
+
+    @Test
+    void copiesEachUsersRoleWithOneUpdatePerRole() {
+        List<String> emails = List.of("a@example.com", "b@example.com", "c@example.com", "orphan@example.com");
+        when(userProfileRepository.findApplicantEmailsWithoutUserType()).thenReturn(emails);
+        when(userRepository.findByEmailIn(emails)).thenReturn(List.of(
+                new User("A", "a@example.com", null, "APPLICANT"),
+                new User("B", "b@example.com", null, "INDUSTRY"),
+                new User("C", "c@example.com", null, "APPLICANT"),
+                new User("No role", "d@example.com", null, null)));
+
+        backfill.backfill();
+
+        verify(userProfileRepository).updateUserTypeByApplicantEmails(
+                List.of("a@example.com", "c@example.com"), "APPLICANT");
+        verify(userProfileRepository).updateUserTypeByApplicantEmails(List.of("b@example.com"), "INDUSTRY");
+        verify(userProfileRepository, never()).updateUserTypeByApplicantEmails(anyCollection(), isNull());
+    }
+
+    @Test
+    void doesNothingOnceEveryProfileHasAUserType() {
+        when(userProfileRepository.findApplicantEmailsWithoutUserType()).thenReturn(List.of());
+
+        backfill.backfill();
+
+        verify(userRepository, never()).findByEmailIn(any());
+        verify(userProfileRepository, never()).updateUserTypeByApplicantEmails(anyCollection(), any());
+    }
+
+    @Test
+    void failureIsLoggedNotThrown() {
+        when(userProfileRepository.findApplicantEmailsWithoutUserType()).thenThrow(new IllegalStateException("down"));
+
+        assertThatCode(backfill::backfill).doesNotThrowAnyException();
+        verify(userProfileRepository, never()).updateUserTypeByApplicantEmails(anyCollection(), any());
+    }
+}
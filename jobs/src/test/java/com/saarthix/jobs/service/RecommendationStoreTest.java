@@ -0,0 +1,157 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.JobRecommendations;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.JobRecommendationsRepository;
+import com.saarthix.jobs.repository.JobRepository;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A saved job is merged only into the lists it can change, with ties ordered by snapshot row as in TopJobMatches
+ */
+class RecommendationStoreTest {
+
+    private static final Map<String, Integer> ROWS = Map.of("job-a", 0, "job-b", 1, "job-c", 2);
+
+    private final SkillVocabulary skillVocabulary = new SkillVocabulary();
+    private final JobSkillIndex jobSkillIndex = new JobSkillIndex(skillVocabulary);
+    private final Gazetteer gazetteer = new Gazetteer();
+    private final JobSnapshotStore jobSnapshotStore = mock(JobSnapshotStore.class);
+    private final JobRecommendationsRepository jobRecommendationsRepository = mock(JobRecommendationsRepository.class);
+    private final UserProfileRepository userProfileRepository = mock(UserProfileRepository.class);
+    private final StudentSearchIndex studentSearchIndex = mock(StudentSearchIndex.class);
+    private RecommendationStore store;
+
+    @BeforeEach
+    void setUp() {
+        JobService jobService = new JobService(mock(JobRepository.class), skillVocabulary, jobSkillIndex, gazetteer,
+                jobSnapshotStore);
+        store = new RecommendationStore(jobService, mock(JobScoringEngine.class), jobSnapshotStore,
+                mock(JobRepository.class), jobRecommendationsRepository, userProfileRepository, studentSearchIndex);
+        when(jobSnapshotStore.current()).thenReturn(JobSnapshot.of(
+                List.of(job("job-a", "Go"), job("job-b", "Java")), jobSkillIndex, gazetteer));
+        when(userProfileRepository.findMatchFieldsByApplicantEmails(anyCollection())).thenAnswer(call ->
+                call.<Collection<String>>getArgument(0).stream().map(email -> profile(email, email)).toList());
+    }
+
+    @Test
+    void equalScoreIsPlacedBySnapshotRow() {
+        JobRecommendations stored = list(true, match("job-a", 60), match("job-c", 60));
+
+        assertThat(RecommendationStore.merge(stored, "job-b", 60, ROWS)).isTrue();
+
+        assertThat(jobIds(stored)).containsExactly("job-a", "job-b", "job-c");
+        assertThat(stored.getCutoff()).isZero();
+    }
+
+    @Test
+    void partialListOnlyTakesJobsRankingAheadOfItsLastMatch() {
+        JobRecommendations stored = list(false, match("job-a", 80), match("job-b", 60));
+
+        // Ties with the last match but comes later in the snapshot: unknown jobs may rank in between
+        assertThat(RecommendationStore.merge(stored, "job-c", 60, ROWS)).isFalse();
+        assertThat(jobIds(stored)).containsExactly("job-a", "job-b");
+
+        assertThat(RecommendationStore.merge(stored, "job-c", 70, ROWS)).isTrue();
+        assertThat(jobIds(stored)).containsExactly("job-a", "job-c", "job-b");
+
+        assertThat(RecommendationStore.merge(stored, "job-b", 0, ROWS)).isTrue();
+        assertThat(jobIds(stored)).containsExactly("job-a", "job-c");
+        assertThat(stored.getCutoff()).isEqualTo(70);
+    }
+
+    @Test
+    void savedJobVisitsListsHoldingItAndSkillMatchesOnce() {
+        Job saved = job("job-b", "Java");
+        JobRecommendations holding = list("held@example.com", true, match("job-a", 40), match("job-b", 10));
+        JobRecommendations skillMatch = list("skilled@example.com", true);
+        when(jobRecommendationsRepository.streamForJob(JobService.SCORING_VERSION, "job-b",
+                JobService.MAX_SCORE_WITHOUT_SKILL_MATCH)).thenReturn(Stream.of(holding));
+        when(studentSearchIndex.skillCandidates(saved.getSkills())).thenReturn(Set.of("p-held", "p-skilled"));
+        when(userProfileRepository.findMatchFieldsByIds(anyCollection())).thenReturn(List.of(
+                profile("p-held", "held@example.com"), profile("p-skilled", "skilled@example.com")));
+        when(jobRecommendationsRepository.findAllById(List.of("skilled@example.com"))).thenReturn(List.of(skillMatch));
+
+        store.jobChanged(saved);
+        store.shutdown();
+
+        // The holding list was already visited, so only the other skill match is loaded
+        verify(jobRecommendationsRepository).findAllById(List.of("skilled@example.com"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<JobRecommendations>> changed = ArgumentCaptor.forClass(List.class);
+        verify(jobRecommendationsRepository, times(2)).saveAll(changed.capture());
+        assertThat(changed.getAllValues()).flatExtracting(lists -> lists).containsExactly(holding, skillMatch);
+        assertThat(jobIds(holding)).containsExactly("job-b", "job-a");
+        assertThat(jobIds(skillMatch)).containsExactly("job-b");
+    }
+
+    @Test
+    void deactivatedJobOnlyLeavesListsHoldingIt() {
+        Job deactivated = job("job-b", "Java");
+        deactivated.setActive(false);
+        JobRecommendations holding = list("held@example.com", true, match("job-a", 40), match("job-b", 10));
+        when(jobRecommendationsRepository.streamForJob(JobService.SCORING_VERSION, "job-b", 0.0))
+                .thenReturn(Stream.of(holding));
+
+        store.jobChanged(deactivated);
+        store.shutdown();
+
+        assertThat(jobIds(holding)).containsExactly("job-a");
+        verify(studentSearchIndex, never()).skillCandidates(any());
+        verify(jobRecommendationsRepository, never()).findAllById(any());
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static Job job(String id, String... skills) {
+        Job job = new Job();
+        job.setId(id);
+        job.setSkills(List.of(skills));
+        return job;
+    }
+
+    private static UserProfile profile(String id, String applicantEmail) {
+        UserProfile profile = new UserProfile();
+        profile.setId(id);
+        profile.setApplicantEmail(applicantEmail);
+        profile.setSkills(List.of("Java"));
+        return profile;
+    }
+
+    private static JobRecommendations.Match match(String jobId, double matchPercentage) {
+        return new JobRecommendations.Match(jobId, matchPercentage);
+    }
+
+    private static JobRecommendations list(boolean complete, JobRecommendations.Match... matches) {
+        return list("applicant@example.com", complete, matches);
+    }
+
+    private static JobRecommendations list(String applicantEmail, boolean complete, JobRecommendations.Match... matches) {
+        return new JobRecommendations(applicantEmail, new ArrayList<>(List.of(matches)), complete,
+                JobService.SCORING_VERSION);
+    }
+
+    private static List<String> jobIds(JobRecommendations stored) {
+        return stored.getMatches().stream().map(JobRecommendations.Match::getJobId).toList();
+    }
+}
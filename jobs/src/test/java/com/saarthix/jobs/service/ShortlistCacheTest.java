@@ -0,0 +1,69 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.IndustryShortlist;
+import com.saarthix.jobs.repository.IndustryShortlistRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shortlists are read once per industry user and kept current by write-through, unless the cache is disabled
+ */
+class ShortlistCacheTest {
+
+    private static final String INDUSTRY = "hr@example.com";
+
+    private final IndustryShortlistRepository industryShortlistRepository = mock(IndustryShortlistRepository.class);
+
+    @Test
+    void shortlistIsReadOnceAndKeptCurrentByWrites() {
+        when(industryShortlistRepository.findByIndustryEmail(INDUSTRY)).thenReturn(List.of(entry("asha@example.com")));
+        ShortlistCache shortlistCache = new ShortlistCache(industryShortlistRepository, 60);
+
+        assertThat(shortlistCache.getShortlistedEmails(INDUSTRY)).containsExactly("asha@example.com");
+        shortlistCache.added(INDUSTRY, "ravi@example.com");
+        shortlistCache.removed(INDUSTRY, "asha@example.com");
+
+        assertThat(shortlistCache.getShortlistedEmails(INDUSTRY)).containsExactly("ravi@example.com");
+        assertThat(shortlistCache.isShortlisted(INDUSTRY, "ravi@example.com")).isTrue();
+        verify(industryShortlistRepository, times(1)).findByIndustryEmail(INDUSTRY);
+    }
+
+    @Test
+    void loadThatRacedWithAWriteIsNotCached() {
+        ShortlistCache shortlistCache = new ShortlistCache(industryShortlistRepository, 60);
+        // Another request shortlists a student while this load is reading
+        when(industryShortlistRepository.findByIndustryEmail(INDUSTRY)).thenAnswer(call -> {
+            shortlistCache.added(INDUSTRY, "ravi@example.com");
+            return List.of(entry("asha@example.com"));
+        }).thenReturn(List.of(entry("asha@example.com"), entry("ravi@example.com")));
+
+        shortlistCache.getShortlistedEmails(INDUSTRY);
+
+        assertThat(shortlistCache.getShortlistedEmails(INDUSTRY))
+                .containsExactlyInAnyOrder("asha@example.com", "ravi@example.com");
+        verify(industryShortlistRepository, times(2)).findByIndustryEmail(INDUSTRY);
+    }
+
+    @Test
+    void disabledCacheReadsEveryShortlist() {
+        when(industryShortlistRepository.findByIndustryEmail(INDUSTRY)).thenReturn(List.of(entry("asha@example.com")));
+        ShortlistCache shortlistCache = new ShortlistCache(industryShortlistRepository, 0);
+
+        shortlistCache.getShortlistedEmails(INDUSTRY);
+        shortlistCache.added(INDUSTRY, "ravi@example.com");
+
+        assertThat(shortlistCache.getShortlistedEmails(INDUSTRY)).containsExactly("asha@example.com");
+        verify(industryShortlistRepository, times(2)).findByIndustryEmail(INDUSTRY);
+    }
+
+    private static IndustryShortlist entry(String studentEmail) {
+        return new IndustryShortlist(INDUSTRY, "industry-1", studentEmail, null);
+    }
+}
@@ -0,0 +1,162 @@
+package com.saarthix.jobs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.model.UserProfileSummary;
+import com.saarthix.jobs.model.dto.StudentSummaryDto;
+import com.saarthix.jobs.repository.ApplicationRepository;
+import com.saarthix.jobs.repository.HackathonApplicationRepository;
+import com.saarthix.jobs.repository.IndustryShortlistRepository;
+import com.saarthix.jobs.repository.JobRepository;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CSV export fields: formulas are neutralised, numbers and phone numbers are written as they are.
+ * Candidate ranking only reads skill matches and applicants near the job, never every profile.
+ * Activity counts come from one count per collection for the whole page.
+ */
+class StudentDatabaseServiceTest {
+
+    private static final GeoJsonPoint PUNE = new GeoJsonPoint(73.8567, 18.5204);
+
+    private final UserProfileRepository userProfileRepository = mock(UserProfileRepository.class);
+    private final StudentSearchIndex studentSearchIndex = mock(StudentSearchIndex.class);
+    private final HackathonApplicationRepository hackathonApplicationRepository = mock(HackathonApplicationRepository.class);
+    private final ApplicationRepository applicationRepository = mock(ApplicationRepository.class);
+    private final ShortlistCache shortlistCache = mock(ShortlistCache.class);
+    private final SkillVocabulary skillVocabulary = new SkillVocabulary();
+    private final StudentDatabaseService service = new StudentDatabaseService(userProfileRepository,
+            hackathonApplicationRepository, applicationRepository,
+            mock(IndustryShortlistRepository.class), mock(ActivityLogWriter.class), studentSearchIndex,
+            shortlistCache,
+            new JobService(mock(JobRepository.class), skillVocabulary, new JobSkillIndex(skillVocabulary),
+                    new Gazetteer(), mock(JobSnapshotStore.class)),
+            mock(BlobStore.class), new ObjectMapper());
+
+    @Test
+    void formulasArePrefixedWithAQuote() {
+        assertThat(StudentDatabaseService.csvField("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(StudentDatabaseService.csvField("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(StudentDatabaseService.csvField("+cmd|' /C calc'!A0")).isEqualTo("'+cmd|' /C calc'!A0");
+        assertThat(StudentDatabaseService.csvField("-2+SUM(A1)")).isEqualTo("'-2+SUM(A1)");
+    }
+
+    @Test
+    void numbersAndPhoneNumbersAreLeftAlone() {
+        assertThat(StudentDatabaseService.csvField("+91 98765 43210")).isEqualTo("+91 98765 43210");
+        assertThat(StudentDatabaseService.csvField("+91-98765-43210")).isEqualTo("+91-98765-43210");
+        assertThat(StudentDatabaseService.csvField("+1 (415) 555-0100")).isEqualTo("+1 (415) 555-0100");
+        assertThat(StudentDatabaseService.csvField("-12.5")).isEqualTo("-12.5");
+        assertThat(StudentDatabaseService.csvField(-3)).isEqualTo("-3");
+        assertThat(StudentDatabaseService.csvField("Asha")).isEqualTo("Asha");
+    }
+
+    @Test
+    void candidatesAreSkillMatchesThenApplicantsNearTheJob() {
+        when(studentSearchIndex.isEnabled()).thenReturn(true);
+        when(studentSearchIndex.skillCandidates(List.of("Java"))).thenReturn(Set.of("skilled"));
+        when(userProfileRepository.findMatchFieldsByIds(any()))
+                .thenReturn(List.of(profile("skilled", List.of("Java"), List.of())));
+        when(userProfileRepository.findMatchFieldsNear(eq(PUNE), anyDouble(), anyInt())).thenReturn(List.of(
+                profile("skilled", List.of("Java"), List.of()),
+                profile("nearby", List.of("Excel"), List.of("Pune"))));
+
+        service.getCandidatesForJob("hr@example.com", job(), 0, 10);
+
+        verify(userProfileRepository).findSummaryPageByFilters(isNull(), eq(List.of("skilled", "nearby")), isNull(), eq(2));
+        verify(userProfileRepository, never()).streamMatchFields();
+    }
+
+    @Test
+    void withoutTheIndexSkillMatchesComeFromSkillWords() {
+        when(studentSearchIndex.isEnabled()).thenReturn(false);
+        when(studentSearchIndex.skillCandidates(any())).thenReturn(null);
+        Job job = job();
+        job.setSkills(List.of(" Spring Boot", "JAVA"));
+        job.setLocationPoint(null);
+
+        service.getCandidatesForJob("hr@example.com", job, 0, 10);
+
+        verify(userProfileRepository).streamMatchFieldsBySkillTokens(Set.of("spring", "boot", "java"));
+        verify(userProfileRepository, never()).findMatchFieldsNear(any(), anyDouble(), anyInt());
+        verify(userProfileRepository, never()).streamMatchFields();
+    }
+
+    @Test
+    void activityIsCountedOncePerPage() {
+        when(userProfileRepository.findSummaryPageByFilters(any(), any(), any(), anyInt())).thenReturn(List.of(
+                summary("p1", "u1", "asha@example.com"), summary("p2", "u2", "ravi@example.com")));
+        when(studentSearchIndex.candidates(any())).thenReturn(null);
+        when(shortlistCache.getShortlistedEmails("hr@example.com")).thenReturn(Set.of());
+        when(hackathonApplicationRepository.countByApplicantIds(Set.of("u1", "u2"))).thenReturn(Map.of("u1", 3L));
+        when(applicationRepository.countByApplicantEmails(Set.of("asha@example.com", "ravi@example.com")))
+                .thenReturn(Map.of("ravi@example.com", 2L));
+
+        List<StudentSummaryDto> students = service.getAllStudents("hr@example.com", false, Map.of(), null, 10).getItems();
+
+        assertThat(students).extracting(StudentSummaryDto::getHackathonsParticipated).containsExactly(3, 0);
+        assertThat(students).extracting(StudentSummaryDto::getJobsApplied).containsExactly(0, 2);
+        verify(hackathonApplicationRepository, times(1)).countByApplicantIds(any());
+        verify(applicationRepository, times(1)).countByApplicantEmails(any());
+    }
+
+    @Test
+    void failedCountShowsZeroInsteadOfFailingThePage() {
+        when(userProfileRepository.findSummaryPageByFilters(any(), any(), any(), anyInt()))
+                .thenReturn(List.of(summary("p1", "u1", "asha@example.com")));
+        when(studentSearchIndex.candidates(any())).thenReturn(null);
+        when(shortlistCache.getShortlistedEmails("hr@example.com")).thenReturn(Set.of());
+        when(hackathonApplicationRepository.countByApplicantIds(any())).thenThrow(new RuntimeException("timeout"));
+        when(applicationRepository.countByApplicantEmails(any())).thenReturn(Map.of("asha@example.com", 4L));
+
+        List<StudentSummaryDto> students = service.getAllStudents("hr@example.com", false, Map.of(), null, 10).getItems();
+
+        assertThat(students).extracting(StudentSummaryDto::getHackathonsParticipated).containsExactly(0);
+        assertThat(students).extracting(StudentSummaryDto::getJobsApplied).containsExactly(4);
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static Job job() {
+        Job job = new Job();
+        job.setSkills(List.of("Java"));
+        job.setLocation("Pune");
+        job.setLocationPoint(PUNE);
+        return job;
+    }
+
+    private static UserProfile profile(String id, List<String> skills, List<String> preferredLocations) {
+        UserProfile profile = new UserProfile();
+        profile.setId(id);
+        profile.setSkills(skills);
+        profile.setPreferredLocations(preferredLocations);
+        return profile;
+    }
+
+    private static UserProfileSummary summary(String id, String applicantId, String applicantEmail) {
+        UserProfileSummary summary = new UserProfileSummary();
+        summary.setId(id);
+        summary.setApplicantId(applicantId);
+        summary.setApplicantEmail(applicantEmail);
+        return summary;
+    }
+}
@@ -0,0 +1,113 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.UserProfile;
+import com.saarthix.jobs.repository.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Substring lookups through the gram index match what a scan of every term with contains would.
+ * A search running during a re-save still finds the profile under the terms it keeps.
+ */
+class StudentSearchIndexTest {
+
+    private final UserProfileRepository userProfileRepository = mock(UserProfileRepository.class);
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(userProfileRepository.streamSearchFields()).thenReturn(Stream.of(
+                profile("1", "Asha Rao", "Java", "Spring Boot"),
+                profile("2", "Ravi Kumar", "JavaScript", "React"),
+                profile("3", "Meera Iyer", "C", "Go")));
+        index = new StudentSearchIndex(userProfileRepository, true);
+        index.build();
+    }
+
+    @Test
+    void keywordMatchesAnyPartOfANameOrSkill() {
+        assertThat(index.candidates(Map.of("keyword", "RAO"))).containsExactly("1");
+        assertThat(index.candidates(Map.of("keyword", "java"))).containsExactlyInAnyOrder("1", "2");
+        assertThat(index.candidates(Map.of("keyword", "script"))).containsExactly("2");
+        assertThat(index.candidates(Map.of("keyword", "boot"))).containsExactly("1");
+    }
+
+    @Test
+    void shortQueriesReadTheGramIndexDirectly() {
+        // "c" is in "javascript", "react" and "c"
+        assertThat(index.candidates(Map.of("keyword", "c"))).containsExactlyInAnyOrder("2", "3");
+        assertThat(index.candidates(Map.of("keyword", "go"))).containsExactly("3");
+        assertThat(index.candidates(Map.of("keyword", "xyz"))).isEmpty();
+    }
+
+    @Test
+    void facetFiltersAreLeftToMongo() {
+        assertThat(index.candidates(Map.of("skills", "java"))).isNull();
+    }
+
+    @Test
+    void skillCandidatesMatchEitherWay() {
+        // "spring boot" contains the job's "spring"; the job's "golang" contains "go"
+        assertThat(index.skillCandidates(List.of("Spring"))).containsExactly("1");
+        assertThat(index.skillCandidates(List.of("golang"))).containsExactly("3");
+        assertThat(index.skillCandidates(List.of("rust"))).isEmpty();
+    }
+
+    @Test
+    void resavedProfileDropsItsOldTerms() {
+        index.index(profile("2", "Ravi Kumar", "Python"));
+
+        assertThat(index.candidates(Map.of("keyword", "javascript"))).isEmpty();
+        assertThat(index.candidates(Map.of("keyword", "java"))).containsExactly("1");
+        assertThat(index.candidates(Map.of("keyword", "pyth"))).containsExactly("2");
+    }
+
+    @Test
+    void searchDuringResaveStillFindsKeptTerms() throws InterruptedException {
+        AtomicBoolean saving = new AtomicBoolean(true);
+        Thread saver = new Thread(() -> {
+            for (int i = 0; saving.get(); i++) {
+                index.index(i % 2 == 0 ? profile("1", "Asha Rao", "Java", "Kotlin") : profile("1", "Asha Rao", "Java"));
+            }
+        });
+        saver.start();
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                assertThat(index.candidates(Map.of("keyword", "rao"))).containsExactly("1");
+                assertThat(index.skillCandidates(List.of("Java"))).contains("1");
+            }
+        } finally {
+            saving.set(false);
+            saver.join();
+        }
+    }
+
+    @Test
+    void disabledIndexNeverNarrows() {
+        StudentSearchIndex disabled = new StudentSearchIndex(userProfileRepository, false);
+        disabled.build();
+        disabled.index(profile("1", "Asha Rao", "Java"));
+
+        assertThat(disabled.candidates(Map.of("keyword", "java"))).isNull();
+        assertThat(disabled.skillCandidates(List.of("Java"))).isNull();
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static UserProfile profile(String id, String fullName, String... skills) {
+        UserProfile profile = new UserProfile();
+        profile.setId(id);
+        profile.setFullName(fullName);
+        profile.setSkills(List.of(skills));
+        return profile;
+    }
+}
@@ -0,0 +1,81 @@
+package com.saarthix.jobs.service;
+
+import com.saarthix.jobs.model.Job;
+import com.saarthix.jobs.model.dto.JobMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Top-K selection keeps the best scores, breaks ties by catalog position, and merges partitions
+ * into the same result as a single pass
+ */
+class TopJobMatchesTest {
+
+    private static final double[] SCORES = {40, 90, 75, 90, 10, 75, 60, 90, 75, 20};
+
+    @Test
+    void keepsTheBestMatchesBestFirst() {
+        TopJobMatches top = new TopJobMatches(4);
+        for (int position = 0; position < SCORES.length; position++) {
+            top.offer(position, job(position), SCORES[position]);
+        }
+
+        // Three 90s in catalog order, then the first 75
+        assertThat(ids(top.toList())).containsExactly("job-1", "job-3", "job-7", "job-2");
+    }
+
+    @Test
+    void equalScoreOfferedLaterCannotDisplaceAnEarlierPosition() {
+        TopJobMatches top = new TopJobMatches(1);
+        top.offer(5, job(5), 50);
+        top.offer(7, job(7), 50);
+        top.offer(2, job(2), 50);
+
+        assertThat(ids(top.toList())).containsExactly("job-2");
+    }
+
+    @Test
+    void mergedPartitionsMatchASinglePass() {
+        TopJobMatches single = new TopJobMatches(5);
+        for (int position = 0; position < SCORES.length; position++) {
+            single.offer(position, job(position), SCORES[position]);
+        }
+
+        // Partitions as a parallel scorer splits them, merged in a different order
+        TopJobMatches merged = new TopJobMatches(5);
+        for (int[] range : new int[][] {{7, 10}, {0, 3}, {3, 7}}) {
+            TopJobMatches partition = new TopJobMatches(5);
+            for (int position = range[0]; position < range[1]; position++) {
+                partition.offer(position, job(position), SCORES[position]);
+            }
+            merged.addAll(partition);
+        }
+
+        assertThat(ids(merged.toList())).isEqualTo(ids(single.toList()));
+        assertThat(ids(merged.toList())).containsExactly("job-1", "job-3", "job-7", "job-2", "job-5");
+    }
+
+    @Test
+    void fewerJobsThanCapacityAreAllKept() {
+        TopJobMatches top = new TopJobMatches(10);
+        top.offer(0, job(0), 30);
+        top.offer(1, job(1), 70);
+
+        assertThat(top.toList()).extracting(JobMatch::matchPercentage).containsExactly(70.0, 30.0);
+    }
+
+    // ============= PRIVATE HELPER METHODS =============
+
+    private static Job job(int position) {
+        Job job = new Job();
+        job.setId("job-" + position);
+        return job;
+    }
+
+    private static List<String> ids(List<JobMatch> matches) {
+        return matches.stream().map(match -> match.job().getId()).toList();
+    }
+}